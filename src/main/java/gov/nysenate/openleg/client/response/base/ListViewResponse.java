@@ -31,6 +31,13 @@ public class ListViewResponse<ViewType> extends PaginationResponse
         return new ListViewResponse<>(ListView.of(items), total, limitOffset);
     }
 
+    public static <ViewType extends ViewObject> ListViewResponse<ViewType> of(List<ViewType> items, int total,
+                                                                           LimitOffset limitOffset, String nextCursor) {
+        ListViewResponse<ViewType> response = of(items, total, limitOffset);
+        response.nextCursor = nextCursor;
+        return response;
+    }
+
     public static ListViewResponse<String> ofStringList(List<String> items, int total, LimitOffset limitOffset) {
         return new ListViewResponse<>(ListView.ofStringList(items), total, limitOffset);
     }
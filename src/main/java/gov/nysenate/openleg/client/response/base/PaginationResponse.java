@@ -1,5 +1,6 @@
 package gov.nysenate.openleg.client.response.base;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 
 public abstract class PaginationResponse extends BaseResponse
@@ -9,6 +10,9 @@ public abstract class PaginationResponse extends BaseResponse
     protected int offsetEnd;
     protected int limit;
 
+    /** Token for requesting the next page when paging with a cursor, null otherwise. */
+    protected String nextCursor;
+
     public PaginationResponse(int total, int offsetStart, int offsetEnd, int limit) {
         this.total = total;
         this.offsetStart = offsetStart;
@@ -35,4 +39,9 @@ public abstract class PaginationResponse extends BaseResponse
     public int getLimit() {
         return limit;
     }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public String getNextCursor() {
+        return nextCursor;
+    }
 }
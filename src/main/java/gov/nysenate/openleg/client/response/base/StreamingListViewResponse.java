@@ -0,0 +1,45 @@
+package gov.nysenate.openleg.client.response.base;
+
+import gov.nysenate.openleg.client.view.base.StreamingListView;
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.dao.base.LimitOffset;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A list response whose result items are created as they are written to the response body.
+ * Use this in place of {@link ListViewResponse} for listings that can be large, e.g. full bill listings,
+ * so that the response is written in bounded memory and the first bytes are sent right away.
+ *
+ * Since the output is written while the items are being created, an error that occurs part way
+ * through will result in a truncated response rather than an error response.
+ */
+public class StreamingListViewResponse<ViewType> extends PaginationResponse
+{
+    protected StreamingListView<ViewType> result;
+
+    protected StreamingListViewResponse(StreamingListView<ViewType> result, int total, LimitOffset limitOffset) {
+        super(total, limitOffset);
+        this.result = result;
+        if (result != null) {
+            success = true;
+            this.responseType = result.getViewType();
+        }
+    }
+
+    public static <SourceType, ViewType extends ViewObject> StreamingListViewResponse<ViewType> of(
+            List<SourceType> sources, Function<SourceType, ViewType> viewMapper, int total, LimitOffset limitOffset) {
+        return new StreamingListViewResponse<>(StreamingListView.of(sources, viewMapper), total, limitOffset);
+    }
+
+    public static <ViewType extends ViewObject> StreamingListViewResponse<ViewType> of(
+            Iterator<ViewType> items, int size, int total, LimitOffset limitOffset) {
+        return new StreamingListViewResponse<>(StreamingListView.of(items, size), total, limitOffset);
+    }
+
+    public StreamingListView<ViewType> getResult() {
+        return result;
+    }
+}
@@ -0,0 +1,31 @@
+package gov.nysenate.openleg.client.view.base;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Map;
+
+/**
+ * A view that was serialized ahead of time and stored in a search index.
+ * Serializes to the stored json as is, which allows search results to be served without rebuilding their views.
+ * Only bill search stores views so far.
+ */
+public class SourceView implements ViewObject
+{
+    protected String viewType;
+    protected Map<String, Object> source;
+
+    public SourceView(String viewType, Map<String, Object> source) {
+        this.viewType = viewType;
+        this.source = source;
+    }
+
+    @JsonValue
+    public Map<String, Object> getSource() {
+        return source;
+    }
+
+    @Override
+    public String getViewType() {
+        return viewType;
+    }
+}
@@ -0,0 +1,61 @@
+package gov.nysenate.openleg.client.view.base;
+
+import com.google.common.collect.Iterators;
+import com.google.common.collect.PeekingIterator;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A list view whose items are produced lazily as they are serialized. It serializes to the same json
+ * structure as a {@link ListView}, but since each item is only created once the serializer reaches it,
+ * only a single item needs to be held in memory at a time and output can begin before all items are built.
+ *
+ * The items can only be iterated once, so this view should be serialized a single time.
+ */
+public class StreamingListView<ViewType> implements ViewObject
+{
+    protected final PeekingIterator<ViewType> items;
+    protected final int size;
+
+    /**
+     * Creates a list view that maps each of the given source items into a view as it is serialized.
+     *
+     * @param sources List<SourceType> - the items from which the views are created
+     * @param viewMapper Function<SourceType, ViewType> - creates a view from a source item
+     */
+    public static <SourceType, ViewType extends ViewObject> StreamingListView<ViewType> of(
+            List<SourceType> sources, Function<SourceType, ViewType> viewMapper) {
+        return new StreamingListView<>(Iterators.transform(sources.iterator(), viewMapper::apply), sources.size());
+    }
+
+    /**
+     * Creates a list view from an iterator that produces the given number of views.
+     */
+    public static <ViewType extends ViewObject> StreamingListView<ViewType> of(Iterator<ViewType> items, int size) {
+        return new StreamingListView<>(items, size);
+    }
+
+    private StreamingListView(Iterator<ViewType> items, int size) {
+        this.items = Iterators.peekingIterator(items);
+        this.size = size;
+    }
+
+    public Iterator<ViewType> getItems() {
+        return items;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * The view type is determined by the first item, which will be created ahead of time if necessary.
+     */
+    @Override
+    public String getViewType() {
+        String listContentType = items.hasNext() ? ViewObject.getViewTypeOf(items.peek()) : "empty";
+        return listContentType + " list";
+    }
+}
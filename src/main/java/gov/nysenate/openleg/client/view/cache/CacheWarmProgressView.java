@@ -0,0 +1,60 @@
+package gov.nysenate.openleg.client.view.cache;
+
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.model.cache.CacheWarmProgress;
+
+import java.time.LocalDateTime;
+
+public class CacheWarmProgressView implements ViewObject
+{
+    protected String cacheName;
+    protected String state;
+    protected LocalDateTime startDateTime;
+    protected LocalDateTime endDateTime;
+    protected String errorMessage;
+    protected long size;
+
+    /**
+     * @param progress CacheWarmProgress
+     * @param size long - the number of entries currently in the cache
+     */
+    public CacheWarmProgressView(CacheWarmProgress progress, long size) {
+        if (progress != null) {
+            this.cacheName = progress.getContentCache().name();
+            this.state = progress.getState().name();
+            this.startDateTime = progress.getStartDateTime();
+            this.endDateTime = progress.getEndDateTime();
+            this.errorMessage = progress.getErrorMessage();
+            this.size = size;
+        }
+    }
+
+    @Override
+    public String getViewType() {
+        return "cache-warm-progress";
+    }
+
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public LocalDateTime getStartDateTime() {
+        return startDateTime;
+    }
+
+    public LocalDateTime getEndDateTime() {
+        return endDateTime;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public long getSize() {
+        return size;
+    }
+}
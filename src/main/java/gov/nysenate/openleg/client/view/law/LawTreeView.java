@@ -28,7 +28,7 @@ public class LawTreeView implements ViewObject
             info = new LawInfoView(lawTree.getLawInfo());
             publishedDates = lawTree.getPublishedDates();
             if (fromLocation != null && !fromLocation.isEmpty()) {
-                Optional<LawTreeNode> fromNode = lawTree.getRootNode().findNode(info.lawId + fromLocation, false);
+                Optional<LawTreeNode> fromNode = lawTree.find(info.lawId + fromLocation);
                 if (fromNode.isPresent()) {
                     documents = new LawNodeView(fromNode.get(), depth, docMap);
                 }
@@ -0,0 +1,54 @@
+package gov.nysenate.openleg.client.view.search;
+
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.dao.base.ElasticBulkExecutor;
+
+public class BulkIndexStatsView implements ViewObject
+{
+    protected String index;
+    protected long docs;
+    protected long failures;
+    protected long bytes;
+    protected long bulkMillis;
+    protected double docsPerSecond;
+
+    public BulkIndexStatsView(ElasticBulkExecutor.IndexStats stats) {
+        if (stats != null) {
+            this.index = stats.getIndex();
+            this.docs = stats.getDocs();
+            this.failures = stats.getFailures();
+            this.bytes = stats.getBytes();
+            this.bulkMillis = stats.getBulkMillis();
+            this.docsPerSecond = stats.getDocsPerSecond();
+        }
+    }
+
+    @Override
+    public String getViewType() {
+        return "bulk-index-stats";
+    }
+
+    public String getIndex() {
+        return index;
+    }
+
+    public long getDocs() {
+        return docs;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getBulkMillis() {
+        return bulkMillis;
+    }
+
+    public double getDocsPerSecond() {
+        return docsPerSecond;
+    }
+}
@@ -3,9 +3,11 @@ package gov.nysenate.openleg.client.view.spotcheck;
 import gov.nysenate.openleg.client.view.base.ListView;
 import gov.nysenate.openleg.client.view.base.ViewObject;
 import gov.nysenate.openleg.model.spotcheck.*;
+import gov.nysenate.openleg.util.StringDiffer;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedList;
 
 public class MismatchView<ContentKey> implements ViewObject
 {
@@ -21,6 +23,7 @@ public class MismatchView<ContentKey> implements ViewObject
     protected LocalDateTime referenceDateTime;
     protected String referenceData;
     protected String observedData;
+    protected LinkedList<StringDiffer.Diff> diff;
     protected String notes;
     protected LocalDateTime observedDateTime;
     protected LocalDateTime reportDateTime;
@@ -40,6 +43,7 @@ public class MismatchView<ContentKey> implements ViewObject
         this.referenceDateTime = mismatch.getReferenceId().getRefActiveDateTime();
         this.referenceData = mismatch.getReferenceData();
         this.observedData = mismatch.getObservedData();
+        this.diff = mismatch.getDiff();
         this.notes = mismatch.getNotes();
         this.observedDateTime = mismatch.getObservedDateTime();
         this.firstSeenDateTime = mismatch.getFirstSeenDateTime();
@@ -92,6 +96,10 @@ public class MismatchView<ContentKey> implements ViewObject
         return observedData;
     }
 
+    public LinkedList<StringDiffer.Diff> getDiff() {
+        return diff;
+    }
+
     public String getNotes() {
         return notes;
     }
@@ -12,10 +12,12 @@ import gov.nysenate.openleg.model.agenda.Agenda;
 import gov.nysenate.openleg.model.agenda.AgendaId;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.calendar.Calendar;
 import gov.nysenate.openleg.model.calendar.CalendarId;
 import gov.nysenate.openleg.model.notification.Notification;
 import gov.nysenate.openleg.model.sourcefiles.sobi.SobiFragment;
 import gov.nysenate.openleg.processor.base.IngestCache;
+import gov.nysenate.openleg.processor.base.IngestCacheWeights;
 import gov.nysenate.openleg.util.AsciiArt;
 import gov.nysenate.openleg.util.OpenlegThreadFactory;
 import net.sf.ehcache.config.CacheConfiguration;
@@ -45,8 +47,8 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Calendar;
 
 import static gov.nysenate.openleg.model.notification.NotificationType.EVENT_BUS_EXCEPTION;
 
@@ -205,19 +207,38 @@ public class ApplicationConfig implements CachingConfigurer, SchedulingConfigure
     @Value("${sobi.batch.process.size:100}")
     private int sobiBatchSize;
 
+    /** Max estimated heap (in MB) that the ingest caches may each hold before a flush is triggered. */
+    @Value("${sobi.batch.process.max.heap:256}")
+    private long sobiBatchMaxHeap;
+
+    /** Max time (in seconds) an entity can sit in an ingest cache before a flush is triggered. */
+    @Value("${sobi.batch.process.max.age:300}")
+    private long sobiBatchMaxAge;
+
     @Bean(name = "billIngestCache")
     public IngestCache<BaseBillId, Bill, SobiFragment> billIngestCache() {
-        return new IngestCache<>(sobiBatchSize);
+        return new IngestCache<>(sobiBatchSize, getIngestCacheMaxWeight(), getIngestCacheMaxAge(),
+                IngestCacheWeights::estimateBill);
     }
 
     @Bean(name = "agendaIngestCache")
     public IngestCache<AgendaId, Agenda, SobiFragment> agendaIngestCache() {
-        return new IngestCache<>(100);
+        return new IngestCache<>(100, getIngestCacheMaxWeight(), getIngestCacheMaxAge(),
+                IngestCacheWeights::estimateAgenda);
     }
 
     @Bean(name = "calendarIngestCache")
     public IngestCache<CalendarId, Calendar, SobiFragment> calendarIngestCache() {
-        return new IngestCache<>(100);
+        return new IngestCache<>(100, getIngestCacheMaxWeight(), getIngestCacheMaxAge(),
+                IngestCacheWeights::estimateCalendar);
+    }
+
+    private long getIngestCacheMaxWeight() {
+        return sobiBatchMaxHeap * 1024 * 1024;
+    }
+
+    private Duration getIngestCacheMaxAge() {
+        return sobiBatchMaxAge > 0 ? Duration.ofSeconds(sobiBatchMaxAge) : null;
     }
 
     /**
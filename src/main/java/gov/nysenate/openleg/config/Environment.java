@@ -74,6 +74,21 @@ public class Environment
     /** If SOBI batch is enabled, this specifies the maximum batch size. */
     @Value("${sobi.batch.process.size}") private int sobiBatchSize;
 
+    /** Enable concurrent processing of independent SOBI fragment partitions. */
+    @Value("${sobi.parallel.process.enabled:false}") private boolean sobiParallelEnabled;
+
+    /** If SOBI parallel processing is enabled, this specifies the number of worker threads, at most one per partition. */
+    @Value("${sobi.parallel.process.threads:2}") private int sobiParallelThreads;
+
+    /** Number of laws that can be built and persisted concurrently during an initial law dump. */
+    @Value("${law.process.threads:2}") private int lawProcessThreads;
+
+    /** Estimated heap (in MB) that the laws being built and persisted concurrently may hold. */
+    @Value("${law.process.max.heap:512}") private int lawProcessMaxHeap;
+
+    /** Number of law documents written per JDBC batch. */
+    @Value("${law.process.batch.size:500}") private int lawProcessBatchSize;
+
     /** --- Scheduling Settings --- */
 
     /** Enable processing of data at scheduled intervals. */
@@ -107,6 +122,10 @@ public class Environment
     @Value("${spotcheck.website.bill.data_queue_size:500}")
     private int sensiteBillDataQueueSize;
 
+    /** Number of observations that are saved at a time while generating the nysenate.gov bill report */
+    @Value("${spotcheck.website.bill.save_batch_size:1000}")
+    private int sensiteBillSaveBatchSize;
+
     /** --- Email Settings --- */
 
     /** Imaps host, username, and password for the application's email account*/
@@ -214,6 +233,46 @@ public class Environment
         this.sobiBatchSize = sobiBatchSize;
     }
 
+    public boolean isSobiParallelEnabled() {
+        return sobiParallelEnabled;
+    }
+
+    public void setSobiParallelEnabled(boolean sobiParallelEnabled) {
+        this.sobiParallelEnabled = sobiParallelEnabled;
+    }
+
+    public int getSobiParallelThreads() {
+        return sobiParallelThreads;
+    }
+
+    public void setSobiParallelThreads(int sobiParallelThreads) {
+        this.sobiParallelThreads = sobiParallelThreads;
+    }
+
+    public int getLawProcessThreads() {
+        return lawProcessThreads;
+    }
+
+    public void setLawProcessThreads(int lawProcessThreads) {
+        this.lawProcessThreads = lawProcessThreads;
+    }
+
+    public int getLawProcessMaxHeap() {
+        return lawProcessMaxHeap;
+    }
+
+    public void setLawProcessMaxHeap(int lawProcessMaxHeap) {
+        this.lawProcessMaxHeap = lawProcessMaxHeap;
+    }
+
+    public int getLawProcessBatchSize() {
+        return lawProcessBatchSize;
+    }
+
+    public void setLawProcessBatchSize(int lawProcessBatchSize) {
+        this.lawProcessBatchSize = lawProcessBatchSize;
+    }
+
     public String getApiSecret() {
         return apiSecret;
     }
@@ -410,6 +469,14 @@ public class Environment
         this.sensiteBillDataQueueSize = sensiteBillDataQueueSize;
     }
 
+    public int getSensiteBillSaveBatchSize() {
+        return sensiteBillSaveBatchSize;
+    }
+
+    public void setSensiteBillSaveBatchSize(int sensiteBillSaveBatchSize) {
+        this.sensiteBillSaveBatchSize = sensiteBillSaveBatchSize;
+    }
+
     public String getEmailFromAddress() {
         return emailFromAddress;
     }
@@ -6,6 +6,7 @@ import gov.nysenate.openleg.client.response.base.BaseResponse;
 import gov.nysenate.openleg.client.response.base.ListViewResponse;
 import gov.nysenate.openleg.client.response.base.SimpleResponse;
 import gov.nysenate.openleg.client.view.cache.CacheStatsView;
+import gov.nysenate.openleg.client.view.cache.CacheWarmProgressView;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
 import gov.nysenate.openleg.controller.api.base.InvalidRequestParamEx;
 import gov.nysenate.openleg.dao.base.LimitOffset;
@@ -14,13 +15,14 @@ import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.cache.CacheEvictEvent;
 import gov.nysenate.openleg.model.cache.CacheEvictIdEvent;
-import gov.nysenate.openleg.model.cache.CacheWarmEvent;
 import gov.nysenate.openleg.model.cache.ContentCache;
 import gov.nysenate.openleg.model.calendar.CalendarId;
 import gov.nysenate.openleg.model.entity.Chamber;
 import gov.nysenate.openleg.model.entity.CommitteeSessionId;
 import gov.nysenate.openleg.model.law.LawVersionId;
+import gov.nysenate.openleg.service.base.data.CacheWarmService;
 import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Ehcache;
 import org.apache.shiro.authz.annotation.RequiresAuthentication;
 import org.apache.shiro.authz.annotation.RequiresPermissions;
 import org.slf4j.Logger;
@@ -35,6 +37,7 @@ import org.springframework.web.context.request.WebRequest;
 
 import javax.annotation.PostConstruct;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -48,6 +51,7 @@ public class CacheCtrl extends BaseCtrl
 
     @Autowired private EventBus eventBus;
     @Autowired private CacheManager cacheManager;
+    @Autowired private CacheWarmService cacheWarmService;
 
     @PostConstruct
     private void init() {
@@ -78,13 +82,34 @@ public class CacheCtrl extends BaseCtrl
      * Warm memory caches: (PUT) /api/3/admin/cache/{cacheType}
      * The cacheType can be either 'all' for all caches, or one of the values in the
      * {@link gov.nysenate.openleg.model.cache.ContentCache} enumeration.
+     *
+     * The caches are warmed concurrently in the background, use the cache warming progress api
+     * to check on their status.
      */
     @RequiresPermissions("admin:cacheEdit")
     @RequestMapping(value = "/{cacheType}", method = RequestMethod.PUT)
     public BaseResponse warmCache(@PathVariable String cacheType) {
         Set<ContentCache> targetCaches = getTargetCaches(cacheType);
-        eventBus.post(new CacheWarmEvent(targetCaches));
-        return new SimpleResponse(true, "Cache warming requests completed for " + targetCaches, "cache-warm");
+        cacheWarmService.warmCaches(targetCaches);
+        return new SimpleResponse(true, "Cache warming started for " + targetCaches, "cache-warm");
+    }
+
+    /**
+     * Cache Warming Progress API
+     * --------------------------
+     *
+     * Gets the status of the most recent warming of each cache: (GET) /api/3/admin/cache/warm
+     */
+    @RequiresPermissions("admin:cacheEdit")
+    @RequestMapping(value = "/warm", method = RequestMethod.GET)
+    public BaseResponse getCacheWarmProgress() {
+        List<CacheWarmProgressView> progress = cacheWarmService.getWarmProgress().stream()
+            .map(p -> {
+                Ehcache cache = cacheManager.getEhcache(p.getContentCache().name());
+                return new CacheWarmProgressView(p, cache != null ? cache.getSize() : 0);
+            })
+            .collect(Collectors.toList());
+        return ListViewResponse.of(progress, progress.size(), LimitOffset.ALL);
     }
 
     /**
@@ -111,8 +136,8 @@ public class CacheCtrl extends BaseCtrl
      *
      * The id is specified through required request parameters, which depend on the cacheType
      *
-     * Request params for BILL: printNo (string) - a bill print number
-     *                          session (integer) - session year of the bill
+     * Request params for BILL, BILL_TEXT, BILL_DIFF: printNo (string) - a bill print number
+     *                                                session (integer) - session year of the bill
      *
      * Request params for AGENDA: agendaNo (integer) - an agenda number
      *                            year (integer) - year of the agenda
@@ -161,6 +186,8 @@ public class CacheCtrl extends BaseCtrl
             throws MissingServletRequestParameterException {
         switch (targetCache) {
             case BILL:
+            case BILL_TEXT:
+            case BILL_DIFF:
                 return getBaseBillId(request);
             case AGENDA:
                 return getAgendaId(request);
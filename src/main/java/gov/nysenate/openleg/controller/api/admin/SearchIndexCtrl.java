@@ -7,8 +7,10 @@ import gov.nysenate.openleg.client.response.base.ListViewResponse;
 import gov.nysenate.openleg.client.response.base.SimpleResponse;
 import gov.nysenate.openleg.client.response.error.ErrorCode;
 import gov.nysenate.openleg.client.response.error.ErrorResponse;
+import gov.nysenate.openleg.client.view.search.BulkIndexStatsView;
 import gov.nysenate.openleg.client.view.search.SearchIndexInfoView;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
+import gov.nysenate.openleg.dao.base.ElasticBulkExecutor;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.SearchIndex;
 import gov.nysenate.openleg.model.search.ClearIndexEvent;
@@ -37,6 +39,7 @@ public class SearchIndexCtrl extends BaseCtrl
     private static final Logger logger = LoggerFactory.getLogger(SearchIndexCtrl.class);
 
     @Autowired private EventBus eventBus;
+    @Autowired private ElasticBulkExecutor bulkExecutor;
 
     @PostConstruct
     private void init() {
@@ -96,6 +99,21 @@ public class SearchIndexCtrl extends BaseCtrl
         return ListViewResponse.of(names, names.size(), LimitOffset.ALL);
     }
 
+    /**
+     * Bulk Indexing Stats API
+     *
+     * Gets the cumulative bulk indexing throughput for each index written to since startup:
+     * (GET) /api/3/admin/index/stats
+     */
+    @RequiresPermissions("admin:searchIndexEdit")
+    @RequestMapping(value = "/stats", method = RequestMethod.GET)
+    public ListViewResponse<BulkIndexStatsView> getBulkIndexStats() {
+        List<BulkIndexStatsView> stats = bulkExecutor.getIndexStats().values().stream()
+                .map(BulkIndexStatsView::new)
+                .collect(Collectors.toList());
+        return ListViewResponse.of(stats, stats.size(), LimitOffset.ALL);
+    }
+
     /** --- Internal --- */
 
     private Set<SearchIndex> getTargetIndices(String indexType) throws IllegalArgumentException {
@@ -46,7 +46,7 @@ public class AgendaSearchCtrl extends BaseCtrl
                                       @RequestParam(defaultValue = "") String sort,
                                       @RequestParam(defaultValue = "false") boolean full,
                                       WebRequest webRequest) throws SearchException {
-        LimitOffset limOff = getLimitOffset(webRequest, 25);
+        LimitOffset limOff = getSearchLimitOffset(webRequest, 25);
         SearchResults<CommitteeAgendaId> results = agendaSearch.searchCommitteeAgendas(term, sort, limOff);
         return getAgendaSearchResponse(full, limOff, results);
     }
@@ -61,6 +61,7 @@ public class AgendaSearchCtrl extends BaseCtrl
      *                                  full - Receive full agenda committee views
      *                                  limit - Limit the number of results
      *                                  offset - Start the results from offset
+     *                                  cursor - Page with a cursor instead of the offset, '*' for the first page
      */
     @RequestMapping(value = "/{year:[\\d]{4}}/search")
     public BaseResponse searchAgendas(@PathVariable int year,
@@ -68,7 +69,7 @@ public class AgendaSearchCtrl extends BaseCtrl
                                       @RequestParam(defaultValue = "") String sort,
                                       @RequestParam(defaultValue = "false") boolean full,
                                       WebRequest webRequest) throws SearchException {
-        LimitOffset limOff = getLimitOffset(webRequest, 25);
+        LimitOffset limOff = getSearchLimitOffset(webRequest, 25);
         SearchResults<CommitteeAgendaId> results = agendaSearch.searchCommitteeAgendas(term, year, sort, limOff);
         return getAgendaSearchResponse(full, limOff, results);
     }
@@ -82,6 +83,6 @@ public class AgendaSearchCtrl extends BaseCtrl
                                                  r.getResult().getCommitteeId(), billData)
                         : new CommAgendaSummaryView(r.getResult(), agendaData.getAgenda(r.getResult().getAgendaId())),
                     r.getRank()))
-                .collect(Collectors.toList()), results.getTotalResults(), limOff);
+                .collect(Collectors.toList()), results.getTotalResults(), limOff, results.getNextCursor());
     }
 }
@@ -8,6 +8,7 @@ import gov.nysenate.openleg.client.response.error.ErrorResponse;
 import gov.nysenate.openleg.client.response.error.ViewObjectErrorResponse;
 import gov.nysenate.openleg.client.view.error.InvalidParameterView;
 import gov.nysenate.openleg.client.view.request.ParameterView;
+import gov.nysenate.openleg.dao.base.CursorLimitOffset;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.SortOrder;
 import gov.nysenate.openleg.model.base.Version;
@@ -119,6 +120,35 @@ public abstract class BaseCtrl
         return new LimitOffset(limit, offset);
     }
 
+    /**
+     * Returns a limit + offset for paging through search results.
+     * If a 'cursor' parameter is present, a {@link CursorLimitOffset} is returned which pages using the given
+     * cursor token instead of the offset. A cursor of '*' requests the first page, and each page of results
+     * includes the cursor for the following page.
+     *
+     * @see #getLimitOffset(WebRequest, int)
+     * @param webRequest WebRequest
+     * @param defaultLimit int - The default limit to use
+     * @return LimitOffset
+     */
+    protected LimitOffset getSearchLimitOffset(WebRequest webRequest, int defaultLimit) {
+        LimitOffset limitOffset = getLimitOffset(webRequest, defaultLimit);
+        String cursor = webRequest.getParameter("cursor");
+        if (cursor == null) {
+            return limitOffset;
+        }
+        if (!limitOffset.hasLimit()) {
+            throw new InvalidRequestParamEx("all", "limit", "int", "Must be a number when paging with a cursor");
+        }
+        try {
+            return CursorLimitOffset.fromToken(cursor, limitOffset.getLimit());
+        }
+        catch (IllegalArgumentException ex) {
+            throw new InvalidRequestParamEx(cursor, "cursor", "string",
+                    "Must be '" + CursorLimitOffset.FIRST_PAGE_TOKEN + "' or a cursor returned by a previous search");
+        }
+    }
+
     /**
      * Attempts to parse a date request parameter
      * Throws an InvalidRequestParameterException if the parsing went wrong
@@ -1,46 +1,49 @@
 package gov.nysenate.openleg.controller.api.bill;
 
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
 import gov.nysenate.openleg.client.response.base.BaseResponse;
-import gov.nysenate.openleg.client.response.base.ListViewResponse;
+import gov.nysenate.openleg.client.response.base.StreamingListViewResponse;
 import gov.nysenate.openleg.client.response.base.ViewObjectResponse;
 import gov.nysenate.openleg.client.response.error.ErrorCode;
 import gov.nysenate.openleg.client.response.error.ViewObjectErrorResponse;
 import gov.nysenate.openleg.client.view.base.ViewObject;
 import gov.nysenate.openleg.client.view.bill.*;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
+import gov.nysenate.openleg.controller.pdf.PdfResponseWriter;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.base.Version;
 import gov.nysenate.openleg.model.bill.*;
 import gov.nysenate.openleg.model.search.SearchException;
+import gov.nysenate.openleg.model.search.SearchResult;
 import gov.nysenate.openleg.model.search.SearchResults;
 import gov.nysenate.openleg.service.bill.data.BillAmendNotFoundEx;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
+import gov.nysenate.openleg.service.bill.data.BillDiffService;
 import gov.nysenate.openleg.service.bill.data.BillNotFoundEx;
 import gov.nysenate.openleg.service.bill.search.BillSearchService;
-import gov.nysenate.openleg.util.BillTextUtils;
-import gov.nysenate.openleg.util.StringDiffer;
+import gov.nysenate.openleg.service.pdf.PdfArtifactService;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.WebRequest;
 
-import java.io.ByteArrayOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.Collections;
-import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static gov.nysenate.openleg.controller.api.base.BaseCtrl.BASE_API_PATH;
-import static gov.nysenate.openleg.model.bill.BillTextFormat.HTML;
-import static gov.nysenate.openleg.model.bill.BillTextFormat.PLAIN;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 /**
@@ -52,8 +55,13 @@ public class BillGetCtrl extends BaseCtrl
 {
     private static final Logger logger = LoggerFactory.getLogger(BillGetCtrl.class);
 
+    /** The number of full bills that are retrieved at a time for a bill listing. */
+    private static final int FULL_BILL_BATCH_SIZE = 50;
+
     @Autowired protected BillDataService billData;
+    @Autowired protected BillDiffService billDiffService;
     @Autowired protected BillSearchService billSearch;
+    @Autowired protected PdfArtifactService pdfArtifactService;
 
     protected enum BillViewLevel
     {
@@ -101,20 +109,24 @@ public class BillGetCtrl extends BaseCtrl
         LimitOffset limOff = getLimitOffset(webRequest, 50);
         SearchResults<BaseBillId> results =
             billSearch.searchBills(SessionYear.of(sessionYear), sort, limOff);
+        List<BaseBillId> billIds = results.getResults().stream()
+            .map(SearchResult::getResult)
+            .collect(Collectors.toList());
         // The bill data is retrieved from the data service so the data is always fresh.
-        return ListViewResponse.of(
-            results.getResults().stream()
-                .map(r -> {
-                    BaseBillId baseBillId = r.getResult();
-                    if (idsOnly) {
-                        return new BaseBillIdView(baseBillId);
-                    }
-                    if (full) {
-                        return new BillView(billData.getBill(baseBillId, getFullTextFormats(webRequest)));
-                    }
-                    return new BillInfoView(billData.getBillInfo(baseBillId));
-                })
-                .collect(Collectors.toList()), results.getTotalResults(), limOff);
+        // The views are created as the response is written so large listings are output in bounded memory.
+        if (idsOnly) {
+            return StreamingListViewResponse.of(billIds, BaseBillIdView::new, results.getTotalResults(), limOff);
+        }
+        if (!full) {
+            return StreamingListViewResponse.of(billIds, billId -> new BillInfoView(billData.getBillInfo(billId)),
+                                                results.getTotalResults(), limOff);
+        }
+        // Full bills are fetched in batches so that uncached bills are loaded with one set of queries per batch
+        Set<BillTextFormat> fullTextFormats = getFullTextFormats(webRequest);
+        Iterator<BillView> billViews = Iterators.concat(Iterators.transform(
+            Lists.partition(billIds, FULL_BILL_BATCH_SIZE).iterator(),
+            batch -> getFullBillViews(batch, fullTextFormats)));
+        return StreamingListViewResponse.of(billViews, billIds.size(), results.getTotalResults(), limOff);
     }
 
     /**
@@ -176,6 +188,21 @@ public class BillGetCtrl extends BaseCtrl
         return billData.getBill(baseBillId, Collections.emptySet());
     }
 
+    /**
+     * Fetches a batch of full bills at once, returning an iterator that lazily creates a view for each.
+     * @param billIds List<BaseBillId>
+     * @param fullTextFormats Set<BillTextFormat>
+     * @return Iterator<BillView>
+     */
+    private Iterator<BillView> getFullBillViews(List<BaseBillId> billIds, Set<BillTextFormat> fullTextFormats) {
+        Map<BaseBillId, Bill> bills = billData.getBills(billIds, fullTextFormats);
+        return billIds.stream()
+            .map(billId -> new BillView(bills.containsKey(billId)
+                ? bills.get(billId)
+                : billData.getBill(billId, fullTextFormats)))
+            .iterator();
+    }
+
     /**
      * Single Bill PDF retrieval API
      * -----------------------------
@@ -188,15 +215,11 @@ public class BillGetCtrl extends BaseCtrl
      * Expected Output: PDF response
      */
     @RequestMapping(value = "/{sessionYear:[\\d]{4}}/{printNo}.pdf")
-    public ResponseEntity<byte[]> getBillPdf(@PathVariable int sessionYear, @PathVariable String printNo)
-                           throws Exception {
+    public void getBillPdf(@PathVariable int sessionYear, @PathVariable String printNo,
+                           HttpServletRequest request, HttpServletResponse response)
+                           throws IOException {
         BillId billId = getBillId(printNo, sessionYear, "printNo");
-        Bill bill = billData.getBill(BaseBillId.of(billId), EnumSet.of(PLAIN, HTML));
-        ByteArrayOutputStream pdfBytes = new ByteArrayOutputStream();
-        BillPdfView.writeBillPdf(bill, billId.getVersion(), pdfBytes);
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("application/pdf"));
-        return new ResponseEntity<>(pdfBytes.toByteArray(), headers, HttpStatus.OK);
+        PdfResponseWriter.writePdf(pdfArtifactService.getBillPdf(billId), request, response);
     }
 
     /**
@@ -210,22 +233,12 @@ public class BillGetCtrl extends BaseCtrl
     @RequestMapping(value = "/{sessionYear:[\\d]{4}}/{printNo}/diff/{version1}/{version2}")
     public BaseResponse getBillDiff(@PathVariable int sessionYear, @PathVariable String printNo, @PathVariable String version1,
                             @PathVariable String version2) {
-        StringDiffer stringDiffer = new StringDiffer();
         BaseBillId baseBillId = getBaseBillId(printNo, sessionYear, "printNo");
-        Bill bill = billData.getBill(baseBillId, Collections.singleton(PLAIN));
-        BillAmendment amend1 = bill.getAmendment(parseVersion(version1, "version1"));
-        BillAmendment amend2 = bill.getAmendment(parseVersion(version2, "version2"));
-        String fullText1 = BillTextUtils.formatBillText(bill.isResolution(), amend1.getFullText(PLAIN));
-        String fullText2 = BillTextUtils.formatBillText(bill.isResolution(), amend2.getFullText(PLAIN));
-        LinkedList<StringDiffer.Diff> diffs = stringDiffer.diff_main(fullText1, fullText2);
-        stringDiffer.diff_cleanupEfficiency(diffs);
-        stringDiffer.diff_cleanupSemantic(diffs);
-        stringDiffer.diff_cleanupMerge(diffs);
-        String prettyHtml = stringDiffer.diff_prettyHtml(diffs).replace("&para;", " ");
+        Version v1 = parseVersion(version1, "version1");
+        Version v2 = parseVersion(version2, "version2");
+        String diffHtml = billDiffService.getBillTextDiffHtml(baseBillId, v1, v2);
         return new ViewObjectResponse<>(
-            new BillDiffView(
-                new BaseBillIdView(baseBillId), amend1.getVersion().toString(), amend2.getVersion().toString(),
-                    prettyHtml));
+            new BillDiffView(new BaseBillIdView(baseBillId), v1.toString(), v2.toString(), diffHtml));
     }
 
 
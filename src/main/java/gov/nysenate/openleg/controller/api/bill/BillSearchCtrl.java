@@ -2,6 +2,7 @@ package gov.nysenate.openleg.controller.api.bill;
 
 import gov.nysenate.openleg.client.response.base.BaseResponse;
 import gov.nysenate.openleg.client.response.base.ListViewResponse;
+import gov.nysenate.openleg.client.view.base.ViewObject;
 import gov.nysenate.openleg.client.view.search.SearchResultView;
 import gov.nysenate.openleg.client.view.bill.BillIdView;
 import gov.nysenate.openleg.client.view.bill.BillInfoView;
@@ -12,6 +13,7 @@ import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.BillTextFormat;
 import gov.nysenate.openleg.model.search.SearchException;
+import gov.nysenate.openleg.model.search.SearchResult;
 import gov.nysenate.openleg.model.search.SearchResults;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
 import gov.nysenate.openleg.service.bill.search.BillSearchService;
@@ -50,6 +52,7 @@ public class BillSearchCtrl extends BaseCtrl
      *                      fullTextFormat - Which texts will be included in responses if full is true.
      *                      limit - Limit the number of results (default 25)
      *                      offset - Start results from offset
+     *                      cursor - Page with a cursor instead of the offset, '*' for the first page
      */
     @RequestMapping(value = "/search")
     public BaseResponse globalSearch(@RequestParam(required = true) String term,
@@ -57,7 +60,7 @@ public class BillSearchCtrl extends BaseCtrl
                                      @RequestParam(defaultValue = "false") boolean full,
                                      @RequestParam(defaultValue = "false") boolean idOnly,
                                      WebRequest webRequest) throws SearchException {
-        LimitOffset limOff = getLimitOffset(webRequest, 25);
+        LimitOffset limOff = getSearchLimitOffset(webRequest, 25);
         SearchResults<BaseBillId> results = billSearch.searchBills(term, sort, limOff);
         return getBillSearchResponse(results, full, idOnly, limOff, webRequest);
     }
@@ -76,7 +79,7 @@ public class BillSearchCtrl extends BaseCtrl
                                       @RequestParam(defaultValue = "false") boolean full,
                                       @RequestParam(defaultValue = "false") boolean idOnly,
                                       WebRequest webRequest) throws SearchException {
-        LimitOffset limOff = getLimitOffset(webRequest, 25);
+        LimitOffset limOff = getSearchLimitOffset(webRequest, 25);
         SearchResults<BaseBillId> results = billSearch.searchBills(term, SessionYear.of(sessionYear), sort, limOff);
         return getBillSearchResponse(results, full, idOnly, limOff, webRequest);
     }
@@ -94,7 +97,15 @@ public class BillSearchCtrl extends BaseCtrl
                         ? new BillView(billData.getBill(r.getResult(), fullTextFormats))
                         : (idOnly)
                             ? new BillIdView(r.getResult())
-                            : new BillInfoView(billData.getBillInfo(r.getResult())), r.getRank(), r.getHighlights()))
-                .collect(toList()), results.getTotalResults(), limOff);
+                            : getBillInfoView(r), r.getRank(), r.getHighlights()))
+                .collect(toList()), results.getTotalResults(), limOff, results.getNextCursor());
+    }
+
+    /**
+     * Uses the info view stored in the search index if available to avoid loading the bill.
+     */
+    private ViewObject getBillInfoView(SearchResult<BaseBillId> result) {
+        return billSearch.getIndexedInfoView(result)
+                .orElseGet(() -> new BillInfoView(billData.getBillInfo(result.getResult())));
     }
 }
\ No newline at end of file
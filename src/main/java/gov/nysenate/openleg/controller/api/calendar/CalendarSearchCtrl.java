@@ -49,13 +49,14 @@ public class CalendarSearchCtrl extends BaseCtrl{
      *                                  active list and supplemental entries (default false)
      *                          limit - Limit the number of results (default 100)
      *                          offset - Start results from offset (default 1)
+     *                          cursor - Page with a cursor instead of the offset, '*' for the first page
      */
     @RequestMapping(value = "/search")
     public BaseResponse searchCalendars(@RequestParam(required = true) String term,
                                         @RequestParam(defaultValue = "") String sort,
                                         @RequestParam(defaultValue = "false") boolean detail,
                                         WebRequest webRequest) throws SearchException, InvalidRequestParamEx {
-        LimitOffset limitOffset = getLimitOffset(webRequest, 100);
+        LimitOffset limitOffset = getSearchLimitOffset(webRequest, 100);
         return getCalendarSearchResponse(term, sort, limitOffset, null, detail);
     }
 
@@ -69,6 +70,7 @@ public class CalendarSearchCtrl extends BaseCtrl{
      *                                  active list and supplemental entries (default false)
      *                          limit - Limit the number of results (default 100)
      *                          offset - Start results from offset (default 1)
+     *                          cursor - Page with a cursor instead of the offset, '*' for the first page
      */
     @RequestMapping(value = "/{year:\\d{4}}/search")
     public BaseResponse searchCalendarsOfYear(@PathVariable Integer year,
@@ -76,7 +78,7 @@ public class CalendarSearchCtrl extends BaseCtrl{
                                               @RequestParam(defaultValue = "") String sort,
                                               @RequestParam(defaultValue = "false") boolean detail,
                                       WebRequest webRequest) throws SearchException, InvalidRequestParamEx {
-        LimitOffset limitOffset = getLimitOffset(webRequest, 100);
+        LimitOffset limitOffset = getSearchLimitOffset(webRequest, 100);
         return getCalendarSearchResponse(term, sort, limitOffset, year, detail);
     }
 
@@ -117,6 +119,6 @@ public class CalendarSearchCtrl extends BaseCtrl{
                                 : new SimpleCalendarView(calendarDataService.getCalendar(result.getResult())),
                                 result.getRank()))
                         .collect(Collectors.toList()),
-                results.getTotalResults(), results.getLimitOffset() );
+                results.getTotalResults(), results.getLimitOffset(), results.getNextCursor());
     }
 }
@@ -48,6 +48,7 @@ public class CommitteeSearchCtrl extends BaseCtrl {
      *                          full - Set to true to retrieve full committee responses (false by default)
      *                          limit - Limit the number of results (default 25)
      *                          offset - Start results from offset (default 1)
+     *                          cursor - Page with a cursor instead of the offset, '*' for the first page
      */
     @RequestMapping(value = "/search")
     public BaseResponse searchAllCommittees(@RequestParam(required = true) String term,
@@ -55,7 +56,7 @@ public class CommitteeSearchCtrl extends BaseCtrl {
                                             @RequestParam(defaultValue = "true") boolean current,
                                             @RequestParam(defaultValue = "false") boolean full,
                                             WebRequest webRequest) throws SearchException, CommitteeNotFoundEx {
-        LimitOffset limitOffset = getLimitOffset(webRequest, 50);
+        LimitOffset limitOffset = getSearchLimitOffset(webRequest, 50);
         SearchResults<CommitteeVersionId> searchResults = current
                 ? committeeSearchService.searchAllCurrentCommittees(term, sort, limitOffset)
                 : committeeSearchService.searchAllCommittees(term, sort, limitOffset);
@@ -76,7 +77,7 @@ public class CommitteeSearchCtrl extends BaseCtrl {
                                                    @RequestParam(defaultValue = "false") boolean full,
                                                    WebRequest webRequest) throws SearchException, CommitteeNotFoundEx {
         SessionYear sessionYear = SessionYear.of(year);
-        LimitOffset limitOffset = getLimitOffset(webRequest, 50);
+        LimitOffset limitOffset = getSearchLimitOffset(webRequest, 50);
         SearchResults<CommitteeVersionId> searchResults = current
                 ? committeeSearchService.searchCurrentCommitteesForSession(sessionYear, term, sort, limitOffset)
                 : committeeSearchService.searchCommitteesForSession(sessionYear, term, sort, limitOffset);
@@ -96,7 +97,7 @@ public class CommitteeSearchCtrl extends BaseCtrl {
                                 : new CommitteeVersionIdView(result.getResult()),
                                 result.getRank()))
                         .collect(Collectors.toList()),
-                results.getTotalResults(), results.getLimitOffset()
+                results.getTotalResults(), results.getLimitOffset(), results.getNextCursor()
         );
     }
 }
@@ -42,13 +42,14 @@ public class MemberSearchCtrl extends BaseCtrl
      *                      full - If true, returns the full member view
      *                      limit - Limit the number of results (default 50)
      *                      offset - Start results from offset
+     *                      cursor - Page with a cursor instead of the offset, '*' for the first page
      */
     @RequestMapping(value = "/search")
     public BaseResponse globalSearch(@RequestParam(required = true) String term,
                                      @RequestParam(defaultValue = "") String sort,
                                      @RequestParam(defaultValue = "false") boolean full,
                                      WebRequest webRequest) throws SearchException {
-        LimitOffset limOff = getLimitOffset(webRequest, 50);
+        LimitOffset limOff = getSearchLimitOffset(webRequest, 50);
         SearchResults<Integer> results = memberSearch.searchMembers(term, sort, limOff);
         return getSearchResponse(results, full, limOff);
     }
@@ -63,6 +64,7 @@ public class MemberSearchCtrl extends BaseCtrl
      *                      full - If true, returns the full member view
      *                      limit - Limit the number of results (default 50)
      *                      offset - Start results from offset
+     *                      cursor - Page with a cursor instead of the offset, '*' for the first page
      */
     @RequestMapping(value = "/{sessionYear}/search")
     public BaseResponse globalSearch(@PathVariable int sessionYear,
@@ -70,7 +72,7 @@ public class MemberSearchCtrl extends BaseCtrl
                                      @RequestParam(defaultValue = "") String sort,
                                      @RequestParam(defaultValue = "false") boolean full,
                                      WebRequest webRequest) throws SearchException {
-        LimitOffset limOff = getLimitOffset(webRequest, 50);
+        LimitOffset limOff = getSearchLimitOffset(webRequest, 50);
         SearchResults<Integer> results = memberSearch.searchMembers(term, SessionYear.of(sessionYear), sort, limOff);
         return getSearchResponse(results, full, limOff);
     }
@@ -86,6 +88,6 @@ public class MemberSearchCtrl extends BaseCtrl
             }
             viewtypes.add((full) ? new FullMemberView(member) : new SimpleMemberView(member.getLatestSessionMember().get()));
         }
-        return ListViewResponse.of(viewtypes, results.getTotalResults(), limOff);
+        return ListViewResponse.of(viewtypes, results.getTotalResults(), limOff, results.getNextCursor());
     }
 }
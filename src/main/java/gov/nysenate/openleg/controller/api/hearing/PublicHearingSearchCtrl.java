@@ -41,6 +41,7 @@ public class PublicHearingSearchCtrl extends BaseCtrl
      *                      full - Set to true to retrieve full public hearing responses (false by default)
      *                      limit - Limit the number of results (default 25)
      *                      offset - Start results from offset
+     *                      cursor - Page with a cursor instead of the offset, '*' for the first page
      */
     @RequestMapping(value = "/search")
     public BaseResponse globalSearch(@RequestParam(required = true) String term,
@@ -48,7 +49,7 @@ public class PublicHearingSearchCtrl extends BaseCtrl
                                      @RequestParam(defaultValue = "true") boolean summary,
                                      @RequestParam(defaultValue = "false") boolean full,
                                      WebRequest webRequest) throws SearchException {
-        LimitOffset limOff = getLimitOffset(webRequest, 25);
+        LimitOffset limOff = getSearchLimitOffset(webRequest, 25);
         SearchResults<PublicHearingId> results = hearingSearch.searchPublicHearings(term, sort, limOff);
         return getSearchResponse(full, summary, limOff, results);
     }
@@ -67,7 +68,7 @@ public class PublicHearingSearchCtrl extends BaseCtrl
                                    @RequestParam(defaultValue = "true") boolean summary,
                                    @RequestParam(defaultValue = "false") boolean full,
                                    WebRequest webRequest) throws SearchException {
-        LimitOffset limOff = getLimitOffset(webRequest, 25);
+        LimitOffset limOff = getSearchLimitOffset(webRequest, 25);
         SearchResults<PublicHearingId> results = hearingSearch.searchPublicHearings(term, year, sort, limOff);
         return getSearchResponse(full, summary, limOff, results);
     }
@@ -77,6 +78,6 @@ public class PublicHearingSearchCtrl extends BaseCtrl
                 (full) ? new PublicHearingView(hearingData.getPublicHearing(r.getResult()))
                         : (summary) ? new PublicHearingInfoView(hearingData.getPublicHearing(r.getResult()))
                            : new PublicHearingIdView(r.getResult()), r.getRank(), r.getHighlights()))
-                .collect(toList()), results.getTotalResults(), limOff);
+                .collect(toList()), results.getTotalResults(), limOff, results.getNextCursor());
     }
 }
@@ -2,7 +2,7 @@ package gov.nysenate.openleg.controller.api.law;
 
 import com.google.common.collect.Range;
 import gov.nysenate.openleg.client.response.base.BaseResponse;
-import gov.nysenate.openleg.client.response.base.ListViewResponse;
+import gov.nysenate.openleg.client.response.base.StreamingListViewResponse;
 import gov.nysenate.openleg.client.response.base.ViewObjectResponse;
 import gov.nysenate.openleg.client.response.error.ErrorCode;
 import gov.nysenate.openleg.client.response.error.ErrorResponse;
@@ -11,25 +11,30 @@ import gov.nysenate.openleg.client.view.law.*;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.model.law.*;
+import gov.nysenate.openleg.service.law.data.LawBundleService;
 import gov.nysenate.openleg.service.law.data.LawDataService;
 import gov.nysenate.openleg.service.law.data.LawDocumentNotFoundEx;
 import gov.nysenate.openleg.service.law.data.LawTreeNotFoundEx;
+import gov.nysenate.openleg.util.GzipFileResource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 import static gov.nysenate.openleg.controller.api.base.BaseCtrl.BASE_API_PATH;
-import static java.util.stream.Collectors.collectingAndThen;
-import static java.util.stream.Collectors.toList;
 
 @RestController
 @RequestMapping(value = BASE_API_PATH + "/laws", method = RequestMethod.GET)
@@ -38,6 +43,7 @@ public class LawGetCtrl extends BaseCtrl
     private static final Logger logger = LoggerFactory.getLogger(LawGetCtrl.class);
 
     @Autowired private LawDataService lawDataService;
+    @Autowired private LawBundleService lawBundleService;
 
     /** --- Request Handlers --- */
 
@@ -56,9 +62,8 @@ public class LawGetCtrl extends BaseCtrl
     public BaseResponse getLaws(WebRequest webRequest) {
         LimitOffset limOff = getLimitOffset(webRequest, 0);
         List<LawInfo> lawInfoList = lawDataService.getLawInfos();
-        ListViewResponse<LawInfoView> response = ListViewResponse.of(
-            LimitOffset.limitList(lawInfoList.stream().map(li -> new LawInfoView(li)).collect(toList()), limOff),
-            lawInfoList.size(), limOff);
+        StreamingListViewResponse<LawInfoView> response = StreamingListViewResponse.of(
+            LimitOffset.limitList(lawInfoList, limOff), LawInfoView::new, lawInfoList.size(), limOff);
         response.setMessage("Listing of consolidated and unconsolidated NYS Laws");
         return response;
     }
@@ -77,6 +82,7 @@ public class LawGetCtrl extends BaseCtrl
      * fromLocation (string) - Start the law tree at a certain node based on location id.
      * depth (integer) - Output child nodes up to the specified depth (defaults to the full depth of the tree)
      * full (boolean) - If set to true all document text will also be fetched. (defaults to no document text)
+     *                  Full trees without a fromLocation or depth are served by {@link #getFullLawTree}.
      *
      * Expected output: LawTreeView
      */
@@ -95,6 +101,46 @@ public class LawGetCtrl extends BaseCtrl
         return response;
     }
 
+    /**
+     * Full Law Tree API
+     * -----------------
+     *
+     * Retrieves the full law tree with all document text from a pre-rendered bundle. Handles the requests to
+     * the law tree api with full=true that don't limit the tree by location or depth.
+     *
+     * Usage
+     * (GET) /api/3/laws/{lawId}?full=true
+     *
+     * Optional Params:
+     * date (iso date) - The published date of the law tree (defaults to latest law tree)
+     *
+     * The bundle is served gzip encoded to clients that accept it. Range and conditional requests are supported.
+     *
+     * Expected output: LawTreeView
+     */
+    @RequestMapping(value = "/{lawId}", params = {"full=true", "!fromLocation", "!depth"})
+    public ResponseEntity<Resource> getFullLawTree(@PathVariable String lawId,
+                                                   @RequestParam(required = false) String date,
+                                                   WebRequest webRequest) {
+        LocalDate publishedDate = (date != null) ? parseISODate(date, "date") : null;
+        LawBundle bundle = lawBundleService.getFullLawBundle(lawId, publishedDate);
+        LawVersionId versionId = bundle.getLawVersionId();
+        String acceptEncoding = webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        String eTag = "\"" + versionId.getLawId() + "-" + versionId.getPublishedDate() + "-" + bundle.getLastModified() +
+                      (gzip ? "-gz" : "") + "\"";
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .eTag(eTag)
+                .lastModified(bundle.getLastModified())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return responseBuilder.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(new FileSystemResource(bundle.getFile()));
+        }
+        return responseBuilder.body(new GzipFileResource(bundle.getFile()));
+    }
+
     /**
      * Law Document API
      * ----------------
@@ -136,10 +182,10 @@ public class LawGetCtrl extends BaseCtrl
      * Request Params:
      * @param fromDateTime iso datetime - default 1970-01-01 - The inclusive start time of the specified time period
      * @param toDateTime iso datetime - default today - The inclusive end time of the specified time period
-     * @return {@link ListViewResponse<LawDocIdView>}
+     * @return {@link StreamingListViewResponse<LawDocIdView>}
      */
     @RequestMapping("/repealed")
-    public ListViewResponse<LawDocIdView> getRepealedLaws(
+    public StreamingListViewResponse<LawDocIdView> getRepealedLaws(
             @RequestParam(defaultValue = "1970-01-01") String fromDateTime,
             @RequestParam(required = false) String toDateTime) {
         LocalDateTime parsedStartDate = parseISODateTime(fromDateTime, "fromDateTime");
@@ -150,11 +196,10 @@ public class LawGetCtrl extends BaseCtrl
         Range<LocalDateTime> dateRange = getClosedRange(parsedStartDate, parsedEndDate,
                 "fromDateTime", "toDateTime");
 
-        Set<LawDocId> repealedLawDocs = lawDataService.getRepealedLawDocs(dateRange);
+        List<LawDocId> repealedLawDocs = new ArrayList<>(lawDataService.getRepealedLawDocs(dateRange));
 
-        return repealedLawDocs.stream()
-                .map(LawDocIdView::new)
-                .collect(collectingAndThen(toList(), ListViewResponse::of));
+        return StreamingListViewResponse.of(repealedLawDocs, LawDocIdView::new,
+                repealedLawDocs.size(), LimitOffset.ALL);
     }
 
     /** --- Exception Handlers --- */
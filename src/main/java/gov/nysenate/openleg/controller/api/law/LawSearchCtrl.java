@@ -42,6 +42,7 @@ public class LawSearchCtrl extends BaseCtrl
      * Request Params; term - Lucene query string
      *                 sort - Lucene sort string
      *                 limit, offset - Pagination
+     *                 cursor - Page with a cursor instead of the offset, '*' for the first page
      *
      * Expected Output: List of SearchResultView<LawDocInfoView>>
      */
@@ -55,7 +56,7 @@ public class LawSearchCtrl extends BaseCtrl
     @RequestMapping("/{lawId}/search")
     public BaseResponse searchLaws(@PathVariable String lawId, @RequestParam(required = true) String term,
                                    WebRequest request) throws SearchException {
-        LimitOffset limOff = getLimitOffset(request, 25);
+        LimitOffset limOff = getSearchLimitOffset(request, 25);
         String sort = request.getParameter("sort");
         return getLawDocSearchResults(limOff, lawSearch.searchLawDocs(term, lawId, sort, limOff));
     }
@@ -68,6 +69,6 @@ public class LawSearchCtrl extends BaseCtrl
                 .map(r -> new SearchResultView(
                     new LawDocInfoView(lawData.getLawDocInfo(r.getResult().getDocumentId(), r.getResult().getPublishedDate())),
                         r.getRank(), r.getHighlights()))
-                .collect(toList()), results.getTotalResults(), limOff);
+                .collect(toList()), results.getTotalResults(), limOff, results.getNextCursor());
     }
 }
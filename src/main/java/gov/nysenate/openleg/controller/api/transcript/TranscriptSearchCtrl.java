@@ -42,6 +42,7 @@ public class TranscriptSearchCtrl extends BaseCtrl
      *                      full - Set to true to retrieve full transcript responses (false by default)
      *                      limit - Limit the number of results (default 25)
      *                      offset - Start results from offset
+     *                      cursor - Page with a cursor instead of the offset, '*' for the first page
      */
     @RequestMapping(value = "/search")
     public BaseResponse globalSearch(@RequestParam(required = true) String term,
@@ -49,7 +50,7 @@ public class TranscriptSearchCtrl extends BaseCtrl
                                      @RequestParam(defaultValue = "true") boolean summary,
                                      @RequestParam(defaultValue = "false") boolean full,
                                      WebRequest webRequest) throws SearchException {
-        LimitOffset limOff = getLimitOffset(webRequest, 25);
+        LimitOffset limOff = getSearchLimitOffset(webRequest, 25);
         SearchResults<TranscriptId> results = transcriptSearch.searchTranscripts(term, sort, limOff);
         return getSearchResponse(summary, full, limOff, results);
     }
@@ -68,7 +69,7 @@ public class TranscriptSearchCtrl extends BaseCtrl
                                    @RequestParam(defaultValue = "true") boolean summary,
                                    @RequestParam(defaultValue = "false") boolean full,
                                    WebRequest webRequest) throws SearchException {
-        LimitOffset limOff = getLimitOffset(webRequest, 25);
+        LimitOffset limOff = getSearchLimitOffset(webRequest, 25);
         SearchResults<TranscriptId> results = transcriptSearch.searchTranscripts(term, year, sort, limOff);
         return getSearchResponse(summary, full, limOff, results);
     }
@@ -78,6 +79,6 @@ public class TranscriptSearchCtrl extends BaseCtrl
                 (full) ? new TranscriptView(transcriptData.getTranscript(r.getResult()))
                         : (summary) ? new TranscriptInfoView(transcriptData.getTranscript(r.getResult()))
                         : new TranscriptIdView(r.getResult()), r.getRank(), r.getHighlights()))
-                .collect(toList()), results.getTotalResults(), limOff);
+                .collect(toList()), results.getTotalResults(), limOff, results.getNextCursor());
     }
 }
@@ -0,0 +1,64 @@
+package gov.nysenate.openleg.controller.pdf;
+
+import gov.nysenate.openleg.model.base.PdfArtifact;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes stored pdfs to http responses.
+ *
+ * Conditional requests are answered using the ETag and Last-Modified headers of the pdf. The file itself is handed
+ * to the servlet container using Tomcat's sendfile support when available, which transfers the file to the socket
+ * without copying it through the application. Otherwise the file is transferred through a file channel.
+ */
+public final class PdfResponseWriter
+{
+    private static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private static final String PDF_CONTENT_TYPE = MediaType.APPLICATION_PDF_VALUE;
+
+    private PdfResponseWriter() {}
+
+    /**
+     * Writes the given pdf to the response, or a 304 status if the client's copy is up to date.
+     *
+     * @param pdf PdfArtifact
+     * @param request HttpServletRequest
+     * @param response HttpServletResponse
+     * @throws IOException if the pdf could not be written.
+     */
+    public static void writePdf(PdfArtifact pdf, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        long size = pdf.getSize();
+        // Sets the ETag and Last-Modified headers, as well as the 304 status if the pdf is not modified.
+        if (new ServletWebRequest(request, response).checkNotModified(pdf.getETag(), pdf.getLastModified())) {
+            return;
+        }
+        response.setContentType(PDF_CONTENT_TYPE);
+        response.setContentLengthLong(size);
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTR, pdf.getFile().getAbsolutePath());
+            request.setAttribute(SENDFILE_START_ATTR, 0L);
+            request.setAttribute(SENDFILE_END_ATTR, size);
+            return;
+        }
+        try (FileChannel fileChannel = FileChannel.open(pdf.getFile().toPath(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += fileChannel.transferTo(position, size - position, out);
+            }
+        }
+    }
+}
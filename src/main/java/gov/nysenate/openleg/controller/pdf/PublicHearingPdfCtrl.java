@@ -1,24 +1,19 @@
 package gov.nysenate.openleg.controller.pdf;
 
-import gov.nysenate.openleg.client.view.hearing.PublicHearingPdfView;
-import gov.nysenate.openleg.model.hearing.PublicHearing;
+import gov.nysenate.openleg.model.base.PdfArtifact;
 import gov.nysenate.openleg.model.hearing.PublicHearingId;
-import gov.nysenate.openleg.service.hearing.data.PublicHearingDataService;
 import gov.nysenate.openleg.service.hearing.data.PublicHearingNotFoundEx;
-import org.apache.pdfbox.exceptions.COSVisitorException;
+import gov.nysenate.openleg.service.pdf.PdfArtifactService;
+import gov.nysenate.openleg.service.pdf.PdfRenderException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
 @RestController
@@ -29,7 +24,7 @@ public class PublicHearingPdfCtrl
     private static final Logger logger = LoggerFactory.getLogger(PublicHearingPdfCtrl.class);
 
     @Autowired
-    private PublicHearingDataService hearingData;
+    private PdfArtifactService pdfArtifactService;
 
     /**
      * Single Public Hearing PDF retrieval.
@@ -42,21 +37,17 @@ public class PublicHearingPdfCtrl
      * Expected Output: PDF response.
      */
     @RequestMapping(value = "/{filename}")
-    public ResponseEntity<byte[]> getHearingPdf(@PathVariable String filename, HttpServletResponse response)
+    public void getHearingPdf(@PathVariable String filename,
+                              HttpServletRequest request, HttpServletResponse response)
             throws IOException {
         try {
-            PublicHearing hearing = hearingData.getPublicHearing(new PublicHearingId(filename));
-            ByteArrayOutputStream pdfBytes = new ByteArrayOutputStream();
-            PublicHearingPdfView.writePublicHearingPdf(hearing, pdfBytes);
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.parseMediaType("application/pdf"));
-            return new ResponseEntity<>(pdfBytes.toByteArray(), headers, HttpStatus.OK);
+            PdfArtifact pdf = pdfArtifactService.getPublicHearingPdf(new PublicHearingId(filename));
+            PdfResponseWriter.writePdf(pdf, request, response);
         } catch (PublicHearingNotFoundEx ex) {
             response.sendError(404, ex.getMessage());
-        } catch (COSVisitorException ex) {
-            logger.error("Failed to return transcript PDF", ex);
+        } catch (PdfRenderException ex) {
+            logger.error("Failed to return public hearing PDF", ex);
             response.sendError(404, ex.getMessage());
         }
-        return null;
     }
 }
@@ -0,0 +1,125 @@
+package gov.nysenate.openleg.dao.base;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+/**
+ * A LimitOffset that pages through search results using a cursor rather than an offset.
+ *
+ * The cursor holds the sort values of the last result on the previous page, so the search resumes directly
+ * after that result instead of collecting and skipping every preceding result. This keeps the cost of deep
+ * pages equal to the cost of the first page, and allows paging past the max result window of an index.
+ *
+ * Cursors are passed to clients as opaque tokens. The offset of the page is carried along in the token
+ * so that responses still report their position in the result set.
+ */
+public class CursorLimitOffset extends LimitOffset
+{
+    /** The token used to request the first page of a cursor pagination. */
+    public static final String FIRST_PAGE_TOKEN = "*";
+
+    private static final ObjectMapper tokenMapper = new ObjectMapper();
+
+    private static final String OFFSET_KEY = "o";
+    private static final String SEARCH_AFTER_KEY = "a";
+
+    /** The sort values of the last result on the previous page, empty for the first page. */
+    private final List<Object> searchAfter;
+
+    /** --- Constructors --- */
+
+    public CursorLimitOffset(int limit) {
+        this(limit, 1, Collections.emptyList());
+    }
+
+    public CursorLimitOffset(int limit, int offset, List<Object> searchAfter) {
+        super(limit, offset);
+        this.searchAfter = Collections.unmodifiableList(new ArrayList<>(searchAfter));
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Parses a cursor token produced by {@link #getNextToken(Object[])}.
+     *
+     * @param token String - the cursor token, or {@link #FIRST_PAGE_TOKEN} for the first page.
+     * @param limit int - the number of results per page.
+     * @return CursorLimitOffset
+     * @throws IllegalArgumentException if the token is not valid.
+     */
+    @SuppressWarnings("unchecked")
+    public static CursorLimitOffset fromToken(String token, int limit) {
+        if (FIRST_PAGE_TOKEN.equals(token)) {
+            return new CursorLimitOffset(limit);
+        }
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(token);
+            Map<String, Object> cursor = tokenMapper.readValue(json, new TypeReference<Map<String, Object>>() {});
+            Object offset = cursor.get(OFFSET_KEY);
+            Object searchAfter = cursor.get(SEARCH_AFTER_KEY);
+            if (!(offset instanceof Integer) || !(searchAfter instanceof List) || ((List<?>) searchAfter).isEmpty()) {
+                throw new IllegalArgumentException("Malformed cursor token: " + token);
+            }
+            return new CursorLimitOffset(limit, (Integer) offset, (List<Object>) searchAfter);
+        }
+        catch (IOException | IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor token: " + token, ex);
+        }
+    }
+
+    /**
+     * Creates the token for the page following this one.
+     *
+     * @param lastSortValues Object[] - the sort values of the last result on this page.
+     * @return String
+     */
+    public String getNextToken(Object[] lastSortValues) {
+        Map<String, Object> cursor = new LinkedHashMap<>();
+        cursor.put(OFFSET_KEY, next().getOffsetStart());
+        cursor.put(SEARCH_AFTER_KEY, lastSortValues);
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(tokenMapper.writeValueAsBytes(cursor));
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException("Failed to serialize cursor", ex);
+        }
+    }
+
+    public boolean isFirstPage() {
+        return searchAfter.isEmpty();
+    }
+
+    /** --- Overrides --- */
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CursorLimitOffset)) return false;
+        return super.equals(o) && searchAfter.equals(((CursorLimitOffset) o).searchAfter);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + searchAfter.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("limit", getLimit())
+                .append("offset", getOffsetStart())
+                .append("searchAfter", searchAfter)
+                .toString();
+    }
+
+    /** --- Basic Getters/Setters --- */
+
+    public List<Object> getSearchAfter() {
+        return searchAfter;
+    }
+}
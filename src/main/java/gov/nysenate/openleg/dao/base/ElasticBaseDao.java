@@ -5,17 +5,17 @@ import com.google.common.primitives.Ints;
 import gov.nysenate.openleg.model.search.SearchResult;
 import gov.nysenate.openleg.model.search.SearchResults;
 import gov.nysenate.openleg.util.OutputUtils;
-import org.apache.commons.io.FileUtils;
-import org.apache.commons.lang3.StringUtils;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest.AliasActions;
 import org.elasticsearch.action.admin.indices.create.CreateIndexRequest;
-import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
 import org.elasticsearch.action.admin.indices.get.GetIndexRequest;
-import org.elasticsearch.action.admin.indices.settings.get.GetSettingsRequest;
-import org.elasticsearch.action.admin.indices.settings.get.GetSettingsResponse;
+import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
 import org.elasticsearch.action.admin.indices.settings.put.UpdateSettingsRequest;
-import org.elasticsearch.action.admin.indices.settings.put.UpdateSettingsResponse;
+import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.get.GetRequest;
@@ -27,11 +27,11 @@ import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.action.search.SearchType;
 import org.elasticsearch.client.Request;
 import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.Response;
 import org.elasticsearch.client.Requests;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.xcontent.XContentType;
-import org.elasticsearch.index.IndexNotFoundException;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
@@ -39,6 +39,7 @@ import org.elasticsearch.search.fetch.subphase.FetchSourceContext;
 import org.elasticsearch.search.fetch.subphase.highlight.HighlightBuilder;
 import org.elasticsearch.search.rescore.RescorerBuilder;
 import org.elasticsearch.search.sort.SortBuilder;
+import org.elasticsearch.search.sort.SortBuilders;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -48,10 +49,18 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 
 /**
  * Base class for Elastic Search layer classes to inherit common functionality from.
+ *
+ * Each index returned by {@link #getIndices()} is a pair of aliases over a versioned physical index,
+ * e.g. the 'bills' and 'bills_write' aliases over 'bills_v1546300800000'. Searches and gets use the read alias,
+ * which is the plain index name, while documents are indexed and deleted through the write alias.
+ * A rebuild fills a new physical index and then atomically swaps the aliases over to it, so the existing index
+ * keeps serving searches until the new one is complete.
  */
 public abstract class ElasticBaseDao
 {
@@ -59,16 +68,39 @@ public abstract class ElasticBaseDao
 
     private static final int defaultMaxResultWindow = 10000;
 
-    /** The ideal upper limit for the size of a bulk request */
-    private static final long desiredBulkRequestSize = 5242880L;
+    private static final String refreshIntervalSetting = "index.refresh_interval";
 
-    private static final String refreshIntervalSetting = "refresh_interval";
+    private static final String replicasSetting = "index.number_of_replicas";
+
+    /** Appended to an index name to get the alias that receives writes for the index. */
+    private static final String writeAliasSuffix = "_write";
+
+    /** Separates an index name from the version of a physical index. */
+    private static final String indexVersionSeparator = "_v";
+
+    private static final String ALIAS_API = "/_alias/";
+
+    private static final ObjectMapper aliasResponseMapper = new ObjectMapper();
 
     protected static final String defaultType = "_doc";
 
     private static final String COUNT_API = "/_cat/count/";
 
+    /**
+     * Every document stores its id in this keyword field. Unlike _id, it has doc values, so it can be used to break
+     * ties between equally sorted hits when paging with a cursor without loading the ids into the field data cache.
+     */
+    protected static final String docIdField = "docId";
+
+    /**
+     * The live physical indices of each index that is being rebuilt, by write alias. While an index is rebuilt, its
+     * write alias points to the new index, and every write is also copied to the live indices so that they stay
+     * current if the rebuild is aborted.
+     */
+    private final ConcurrentMap<String, Set<String>> rebuildLiveIndices = new ConcurrentHashMap<>();
+
     @Autowired private RestHighLevelClient searchClient;
+    @Autowired private ElasticBulkExecutor bulkExecutor;
 
     @PostConstruct
     private void init() {
@@ -77,19 +109,59 @@ public abstract class ElasticBaseDao
 
     /* --- Public methods --- */
 
+    /**
+     * Creates any indices that do not exist yet and repairs the aliases of existing ones.
+     */
     public void createIndices() {
-        getIndices().stream()
-                .filter(index -> !indicesExist(index))
-                .forEach(this::createIndex);
+        getIndices().forEach(this::initIndex);
     }
 
+    /**
+     * Replaces each index with a new, empty one.
+     */
     public void purgeIndices() {
         getIndices().forEach(index -> {
-            deleteIndex(index);
-            createIndex(index);
+            logger.info("Purging search index {}", index);
+            String newIndex = createPhysicalIndex(index, getIndexSettings().build());
+            swapIndex(index, newIndex);
         });
     }
 
+    /**
+     * Rebuilds all indices without interrupting searches.
+     *
+     * A new physical index is created for each index, with replicas and periodic refresh disabled to speed up
+     * bulk indexing, and the write alias is pointed at it. The given indexer then writes all documents through the
+     * write aliases while searches are still served from the existing indices. Once it finishes, the settings of
+     * the new indices are restored and the read aliases are atomically moved over, deleting the old indices.
+     *
+     * Updates made during the rebuild are written to both the new and the old indices, see
+     * {@link #safeBulkRequestExecute(BulkRequest)}, so they are visible to searches right away. If the indexer
+     * fails, the new indices are dropped and writes return to the old indices, which are still up to date.
+     * The documents written by the indexer itself are copied to the old indices as well, since they cannot be told
+     * apart from updates, so a rebuild writes each document twice.
+     *
+     * @param indexer Runnable - indexes all documents, blocking until done.
+     */
+    public void rebuildIndices(Runnable indexer) {
+        Map<String, String> newIndices = new LinkedHashMap<>();
+        try {
+            for (String index : getIndices()) {
+                newIndices.put(index, beginRebuild(index));
+            }
+            indexer.run();
+            for (Iterator<Map.Entry<String, String>> it = newIndices.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<String, String> entry = it.next();
+                completeRebuild(entry.getKey(), entry.getValue());
+                it.remove();
+            }
+        }
+        catch (RuntimeException ex) {
+            newIndices.forEach(this::abortRebuild);
+            throw ex;
+        }
+    }
+
     /* --- Abstract methods --- */
 
     /**
@@ -118,6 +190,9 @@ public abstract class ElasticBaseDao
     /**
      * Performs a search with support for various functions.
      *
+     * If the limitOffset is a {@link CursorLimitOffset}, the results are paged using search_after and the
+     * returned {@link SearchResults} contain a cursor token for the next page.
+     *
      * @param indexName         - The name of the index to search.
      * @param query             - The QueryBuilder instance to perform the search with.
      * @param postFilter        - Optional FilterBuilder to filter out the results.
@@ -139,13 +214,29 @@ public abstract class ElasticBaseDao
                                           boolean fetchSource,
                                           Function<SearchHit, T> hitMapper
     ) throws ElasticsearchException {
-        if (indexIsEmpty(indexName)) {
-            return SearchResults.empty();
-        }
-        SearchRequest searchRequest = getSearchRequest(
-                indexName, query, postFilter, highlightedFields, rescorer, sort, limitOffset, fetchSource);
-        SearchResponse searchResponse = getSearchResponse(searchRequest);
-        return getSearchResults(searchResponse, limitOffset, hitMapper);
+        return search(indexName, query, postFilter, highlightedFields, rescorer, sort, limitOffset,
+                new FetchSourceContext(fetchSource), false, hitMapper);
+    }
+
+    /**
+     * Performs a search that attaches the given fields of each hit's indexed source to its {@link SearchResult}.
+     * This allows results to be served directly from the index without loading the matched documents.
+     *
+     * @see #search(String, QueryBuilder, QueryBuilder, List, RescorerBuilder, List, LimitOffset, boolean, Function)
+     * @param sourceFields      - The source fields to fetch and attach to each result.
+     */
+    protected <T> SearchResults<T> search(String indexName,
+                                          QueryBuilder query,
+                                          QueryBuilder postFilter,
+                                          List<HighlightBuilder.Field> highlightedFields,
+                                          RescorerBuilder rescorer,
+                                          List<SortBuilder> sort,
+                                          LimitOffset limitOffset,
+                                          String[] sourceFields,
+                                          Function<SearchHit, T> hitMapper
+    ) throws ElasticsearchException {
+        return search(indexName, query, postFilter, highlightedFields, rescorer, sort, limitOffset,
+                new FetchSourceContext(true, sourceFields, null), true, hitMapper);
     }
 
     /**
@@ -181,8 +272,8 @@ public abstract class ElasticBaseDao
      * @return IndexRequest
      */
     protected IndexRequest getJsonIndexRequest(String indexName, String id, Object object) {
-        return new IndexRequest(indexName, defaultType, id)
-                .source(OutputUtils.toElasticsearchJson(object), XContentType.JSON);
+        return new IndexRequest(getWriteAlias(indexName), defaultType, id)
+                .source(OutputUtils.toElasticsearchJson(object, docIdField, id), XContentType.JSON);
     }
 
     /**
@@ -206,7 +297,11 @@ public abstract class ElasticBaseDao
      */
     protected IndexResponse executeIndexRequest(IndexRequest indexRequest) throws ElasticsearchException {
         try {
-            return searchClient.index(indexRequest, RequestOptions.DEFAULT);
+            IndexResponse response = searchClient.index(indexRequest, RequestOptions.DEFAULT);
+            for (DocWriteRequest<?> liveCopy : getLiveCopies(Collections.singletonList(indexRequest))) {
+                searchClient.index((IndexRequest) liveCopy, RequestOptions.DEFAULT);
+            }
+            return response;
         } catch (IOException ex) {
             throw new ElasticsearchException("Index request failed", ex);
         }
@@ -216,29 +311,38 @@ public abstract class ElasticBaseDao
      * Performs a bulk request execution while making sure that the bulk request is actually valid to
      * prevent exceptions.
      *
-     * Also split the bulk request into smaller bulks if it is too big.
+     * The bulk request is split into smaller bulks which are submitted via the {@link ElasticBulkExecutor}.
+     * Items written to an index that is being rebuilt are also written to its live index.
      * @param bulkRequest BulkRequestBuilder
+     * @return List<BulkItemResponse> - the response for each item in the order of the request
+     * @throws ElasticsearchException if the bulk request fails or items are still rejected after all retries
      */
-    protected void safeBulkRequestExecute(BulkRequest bulkRequest) {
+    protected List<BulkItemResponse> safeBulkRequestExecute(BulkRequest bulkRequest) {
         if (bulkRequest == null || bulkRequest.numberOfActions() == 0) {
-            return;
+            return Collections.emptyList();
         }
-
-        List<BulkRequest> bulkRequests = splitBulkRequest(bulkRequest);
-
-        for (BulkRequest subRequest : bulkRequests) {
-            try {
-                logger.debug("Making bulk request: {} bytes",
-                        StringUtils.leftPad(Long.toString(subRequest.estimatedSizeInBytes()), 9));
-                searchClient.bulk(subRequest, RequestOptions.DEFAULT);
-            } catch (IOException ex) {
-                throw new ElasticsearchException("Bulk request failed", ex);
-            }
+        List<DocWriteRequest<?>> liveCopies = getLiveCopies(bulkRequest.requests());
+        if (liveCopies.isEmpty()) {
+            return bulkExecutor.execute(bulkRequest);
+        }
+        BulkRequest dualRequest = new BulkRequest();
+        dualRequest.timeout(bulkRequest.timeout());
+        dualRequest.setRefreshPolicy(bulkRequest.getRefreshPolicy());
+        bulkRequest.requests().forEach(request -> dualRequest.add(request));
+        liveCopies.forEach(request -> dualRequest.add(request));
+        List<BulkItemResponse> responses = bulkExecutor.execute(dualRequest);
+        int itemCount = bulkRequest.numberOfActions();
+        long copyFailures = responses.subList(itemCount, responses.size()).stream()
+                .filter(BulkItemResponse::isFailed)
+                .count();
+        if (copyFailures > 0) {
+            logger.warn("{} updates made during a rebuild could not be written to the live index", copyFailures);
         }
+        return responses.subList(0, itemCount);
     }
 
     protected DeleteRequest getDeleteRequest(String indexName, String id) {
-        return new DeleteRequest(indexName)
+        return new DeleteRequest(getWriteAlias(indexName))
                 .type(defaultType)
                 .id(id);
     }
@@ -247,6 +351,9 @@ public abstract class ElasticBaseDao
         DeleteRequest deleteRequest = getDeleteRequest(indexName, id);
         try {
             searchClient.delete(deleteRequest, RequestOptions.DEFAULT);
+            for (DocWriteRequest<?> liveCopy : getLiveCopies(Collections.singletonList(deleteRequest))) {
+                searchClient.delete((DeleteRequest) liveCopy, RequestOptions.DEFAULT);
+            }
         }
         catch (IOException ex){
             throw new ElasticsearchException("Delete request failed.", ex);
@@ -261,55 +368,13 @@ public abstract class ElasticBaseDao
     }
 
     /**
-     * Allows for enabling/disabling periodic refreshing for an index.
-     *
-     * Disabling can reduce load during large operations.
-     * It should always be re-enabled when done.
-     * @param indexName
-     * @param enabled
-     */
-    protected void setIndexRefresh(String indexName, boolean enabled) {
-        logger.info("{} index refresh for {}", enabled ? "Enabling" : "Disabling", indexName);
-        Settings settings;
-        if (enabled) {
-            // Set to null to restore default setting
-            settings = Settings.builder().putNull(refreshIntervalSetting).build();
-        } else {
-            settings = Settings.builder().put(refreshIntervalSetting, -1).build();
-        }
-        UpdateSettingsRequest request = new UpdateSettingsRequest(settings, indexName);
-        // Try to set the setting up to 5 times if a failure occurs
-        Throwable ex = null;
-        for (int attempts = 0; attempts < 5; attempts++) {
-            try {
-                UpdateSettingsResponse response = searchClient.indices().putSettings(request, RequestOptions.DEFAULT);
-                if (response.isAcknowledged()) {
-                    return;
-                }
-            } catch (Exception e) {
-                ex = e;
-            }
-            try {
-                Thread.sleep(5000);
-            } catch (InterruptedException e) {
-                logger.error("Attempt to set index refresh interrupted");
-                Thread.currentThread().interrupt();
-                break;
-            }
-        }
-        throw new ElasticsearchException("Failed to set refresh setting to " + enabled + " for index " + indexName, ex);
-    }
-
-    /**
-     * Returns true iff index refresh is the default value for the given index.
+     * Get the name of the alias that documents for the given index are written to.
      *
      * @param indexName String
-     * @return boolean
+     * @return String
      */
-    protected boolean isIndexRefreshDefault(String indexName) {
-        GetSettingsResponse currentIndexSettings = getCurrentIndexSettings(indexName);
-        String currentRefreshInterval = currentIndexSettings.getSetting(indexName, "index." + refreshIntervalSetting);
-        return currentRefreshInterval == null;
+    protected String getWriteAlias(String indexName) {
+        return indexName + writeAliasSuffix;
     }
 
     /**
@@ -351,6 +416,12 @@ public abstract class ElasticBaseDao
             )
     );
 
+    /** Mapping for {@link #docIdField}, a keyword with doc values so that it can be sorted on. */
+    private static final ImmutableMap<String, Object> docIdMapping = ImmutableMap.of(
+            "type", "keyword",
+            "doc_values", true
+    );
+
     protected static final ImmutableMap<String, Object> basicTimeMapping = ImmutableMap.of(
             "type", "date",
             "format", "hour_minute"
@@ -363,6 +434,234 @@ public abstract class ElasticBaseDao
 
     /* --- Internal Methods --- */
 
+    private <T> SearchResults<T> search(String indexName, QueryBuilder query, QueryBuilder postFilter,
+                                        List<HighlightBuilder.Field> highlightedFields, RescorerBuilder rescorer,
+                                        List<SortBuilder> sort, LimitOffset limitOffset,
+                                        FetchSourceContext fetchSource, boolean attachSource,
+                                        Function<SearchHit, T> hitMapper) throws ElasticsearchException {
+        SearchRequest searchRequest = getSearchRequest(
+                indexName, query, postFilter, highlightedFields, rescorer, sort, limitOffset, fetchSource);
+        SearchResponse searchResponse;
+        try {
+            searchResponse = getSearchResponse(searchRequest);
+        }
+        catch (ElasticsearchException ex) {
+            // Searching an empty index can fail, e.g. when sorting by a field that has not been mapped yet.
+            // The index is only checked after a failure to avoid an extra request on every search.
+            try {
+                if (indexIsEmpty(indexName)) {
+                    return SearchResults.empty();
+                }
+            }
+            catch (ElasticsearchException countEx) {
+                ex.addSuppressed(countEx);
+            }
+            throw ex;
+        }
+        return getSearchResults(searchResponse, limitOffset, attachSource, hitMapper);
+    }
+
+    /**
+     * Makes sure that the given index exists with both of its aliases.
+     */
+    private void initIndex(String index) {
+        String writeAlias = getWriteAlias(index);
+        Set<String> readIndices = getAliasedIndices(index);
+        if (readIndices.isEmpty()) {
+            if (!indicesExist(index)) {
+                String newIndex = createPhysicalIndex(index, getIndexSettings().build());
+                updateAliases(new IndicesAliasesRequest()
+                        .addAliasAction(AliasActions.add().index(newIndex).aliases(index, writeAlias)));
+            }
+            else if (getAliasedIndices(writeAlias).isEmpty()) {
+                // An index created before aliases were used, it is replaced by an aliased index on its next rebuild.
+                updateAliases(new IndicesAliasesRequest()
+                        .addAliasAction(AliasActions.add().index(index).alias(writeAlias)));
+            }
+            return;
+        }
+        Set<String> writeIndices = getAliasedIndices(writeAlias);
+        if (!writeIndices.equals(readIndices)) {
+            // A rebuild was interrupted before it could complete or clean up, so return writes to the live index.
+            logger.warn("Write alias {} points to {} instead of {}, restoring", writeAlias, writeIndices, readIndices);
+            IndicesAliasesRequest request = new IndicesAliasesRequest()
+                    .addAliasAction(AliasActions.add().indices(readIndices.toArray(new String[0])).alias(writeAlias));
+            writeIndices.stream()
+                    .filter(writeIndex -> !readIndices.contains(writeIndex))
+                    .forEach(writeIndex -> request.addAliasAction(AliasActions.removeIndex().index(writeIndex)));
+            updateAliases(request);
+        }
+    }
+
+    /**
+     * Creates a new physical index for the given index and points its write alias at it.
+     *
+     * @return String - the name of the new physical index.
+     */
+    private String beginRebuild(String index) {
+        Settings settings = getIndexSettings()
+                .put(replicasSetting, 0)
+                .put(refreshIntervalSetting, -1)
+                .build();
+        String newIndex = createPhysicalIndex(index, settings);
+        logger.info("Rebuilding search index {} into {}", index, newIndex);
+        IndicesAliasesRequest request = new IndicesAliasesRequest();
+        String writeAlias = getWriteAlias(index);
+        Set<String> writeIndices = getAliasedIndices(writeAlias);
+        if (!writeIndices.isEmpty()) {
+            request.addAliasAction(AliasActions.remove().indices(writeIndices.toArray(new String[0])).alias(writeAlias));
+            // Start copying writes before the alias moves, so that no update reaches only the new index
+            rebuildLiveIndices.put(writeAlias, writeIndices);
+        }
+        request.addAliasAction(AliasActions.add().index(newIndex).alias(writeAlias));
+        try {
+            updateAliases(request);
+        }
+        catch (RuntimeException ex) {
+            rebuildLiveIndices.remove(writeAlias);
+            throw ex;
+        }
+        return newIndex;
+    }
+
+    /**
+     * Restores the settings of a rebuilt index and swaps it in for the current index.
+     */
+    private void completeRebuild(String index, String newIndex) {
+        Settings defaultSettings = getIndexSettings().build();
+        Settings.Builder settings = Settings.builder()
+                .put(replicasSetting, defaultSettings.getAsInt(replicasSetting, 0));
+        if (defaultSettings.hasValue(refreshIntervalSetting)) {
+            settings.put(refreshIntervalSetting, defaultSettings.get(refreshIntervalSetting));
+        }
+        else {
+            // Set to null to restore default setting
+            settings.putNull(refreshIntervalSetting);
+        }
+        try {
+            searchClient.indices().putSettings(new UpdateSettingsRequest(settings.build(), newIndex), RequestOptions.DEFAULT);
+            // Make all of the indexed documents searchable before the swap
+            searchClient.indices().refresh(new RefreshRequest(newIndex), RequestOptions.DEFAULT);
+        }
+        catch (IOException ex) {
+            throw new ElasticsearchException("Failed to restore settings of rebuilt index " + newIndex, ex);
+        }
+        // Stop copying writes before the old index is deleted by the swap
+        rebuildLiveIndices.remove(getWriteAlias(index));
+        swapIndex(index, newIndex);
+        logger.info("Swapped rebuilt index {} in for search index {}", newIndex, index);
+    }
+
+    /**
+     * Drops the new physical index of a failed rebuild, returning writes to the current index.
+     */
+    private void abortRebuild(String index, String newIndex) {
+        logger.warn("Aborting rebuild of search index {}, deleting {}", index, newIndex);
+        try {
+            Set<String> currentIndices = getLiveIndices(index);
+            IndicesAliasesRequest request = new IndicesAliasesRequest();
+            if (!currentIndices.isEmpty()) {
+                request.addAliasAction(AliasActions.add()
+                        .indices(currentIndices.toArray(new String[0])).alias(getWriteAlias(index)));
+            }
+            request.addAliasAction(AliasActions.removeIndex().index(newIndex));
+            updateAliases(request);
+            rebuildLiveIndices.remove(getWriteAlias(index));
+        }
+        catch (ElasticsearchException ex) {
+            logger.error("Failed to clean up after aborted rebuild of " + index, ex);
+        }
+    }
+
+    /**
+     * Copies the given write requests to the live indices of any index that is being rebuilt.
+     *
+     * @param requests List<? extends DocWriteRequest<?>> - requests made through the write aliases
+     * @return List<DocWriteRequest<?>> - the copies, empty if none of the indices are being rebuilt
+     */
+    private List<DocWriteRequest<?>> getLiveCopies(List<? extends DocWriteRequest<?>> requests) {
+        if (rebuildLiveIndices.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<DocWriteRequest<?>> copies = new ArrayList<>();
+        for (DocWriteRequest<?> request : requests) {
+            Set<String> liveIndices = rebuildLiveIndices.getOrDefault(request.index(), Collections.emptySet());
+            for (String liveIndex : liveIndices) {
+                if (request instanceof IndexRequest) {
+                    IndexRequest indexRequest = (IndexRequest) request;
+                    copies.add(new IndexRequest(liveIndex, indexRequest.type(), indexRequest.id())
+                            .source(indexRequest.source(), indexRequest.getContentType()));
+                }
+                else if (request instanceof DeleteRequest) {
+                    copies.add(new DeleteRequest(liveIndex, request.type(), request.id()));
+                }
+                else {
+                    throw new IllegalArgumentException("Unsupported write request during a rebuild: " + request);
+                }
+            }
+        }
+        return copies;
+    }
+
+    /**
+     * Atomically points both aliases of the given index at the new physical index and deletes the old one(s).
+     */
+    private void swapIndex(String index, String newIndex) {
+        IndicesAliasesRequest request = new IndicesAliasesRequest()
+                .addAliasAction(AliasActions.add().index(newIndex).aliases(index, getWriteAlias(index)));
+        getLiveIndices(index).stream()
+                .filter(oldIndex -> !oldIndex.equals(newIndex))
+                .forEach(oldIndex -> request.addAliasAction(AliasActions.removeIndex().index(oldIndex)));
+        updateAliases(request);
+    }
+
+    /**
+     * Get the physical indices that currently serve searches for the given index.
+     * This is the index itself if it was created before aliases were used.
+     */
+    private Set<String> getLiveIndices(String index) {
+        Set<String> liveIndices = getAliasedIndices(index);
+        if (liveIndices.isEmpty() && indicesExist(index)) {
+            return Collections.singleton(index);
+        }
+        return liveIndices;
+    }
+
+    /**
+     * Get the names of the physical indices that the given alias points to.
+     *
+     * @param alias String
+     * @return Set<String> - empty if the alias does not exist.
+     */
+    private Set<String> getAliasedIndices(String alias) {
+        Request request = new Request("GET", ALIAS_API + alias);
+        request.addParameter("ignore", "404");
+        try {
+            Response response = searchClient.getLowLevelClient().performRequest(request);
+            if (response.getStatusLine().getStatusCode() == 404) {
+                return Collections.emptySet();
+            }
+            // The response maps each index to its aliases, e.g. {"bills_v1": {"aliases": {"bills": {}}}}
+            Map<String, Object> indices = aliasResponseMapper.readValue(
+                    response.getEntity().getContent(), new TypeReference<Map<String, Object>>() {});
+            return new TreeSet<>(indices.keySet());
+        }
+        catch (IOException ex) {
+            throw new ElasticsearchException("Get alias request failed for " + alias, ex);
+        }
+    }
+
+    private void updateAliases(IndicesAliasesRequest request) {
+        try {
+            if (!searchClient.indices().updateAliases(request, RequestOptions.DEFAULT).isAcknowledged()) {
+                throw new ElasticsearchException("Alias update was not acknowledged: " + request);
+            }
+        }
+        catch (IOException ex) {
+            throw new ElasticsearchException("Alias update request failed.", ex);
+        }
+    }
+
     private boolean indicesExist(String... indices) {
         GetIndexRequest getIndexRequest = new GetIndexRequest()
                 .indices(indices);
@@ -374,36 +673,32 @@ public abstract class ElasticBaseDao
         }
     }
 
-    private void createIndex(String indexName) {
+    /**
+     * Creates a new versioned physical index for the given index.
+     *
+     * @return String - the name of the created index.
+     */
+    private String createPhysicalIndex(String index, Settings settings) {
+        String indexName = index + indexVersionSeparator + System.currentTimeMillis();
         try {
-            CreateIndexRequest createIndexRequest = new CreateIndexRequest(indexName, getIndexSettings().build());
+            CreateIndexRequest createIndexRequest = new CreateIndexRequest(indexName, settings);
 
-            Map customMappingProps = getCustomMappingProperties();
-            if (customMappingProps != null && !customMappingProps.isEmpty()) {
-                Map mapping = packageCustomMappingProperties(customMappingProps);
-                createIndexRequest.mapping(defaultType, mapping);
+            Map<String, Object> mappingProps = new HashMap<>();
+            Map<String, Object> customMappingProps = getCustomMappingProperties();
+            if (customMappingProps != null) {
+                mappingProps.putAll(customMappingProps);
             }
+            mappingProps.put(docIdField, docIdMapping);
+            createIndexRequest.mapping(defaultType, packageCustomMappingProperties(mappingProps));
 
             searchClient.indices().create(createIndexRequest, RequestOptions.DEFAULT);
+            return indexName;
         }
         catch (IOException ex){
             throw new ElasticsearchException("Create index request failed.", ex);
         }
     }
 
-    private void deleteIndex(String index) {
-        try {
-            logger.info("Deleting search index {}", index);
-            searchClient.indices().delete(new DeleteIndexRequest(index), RequestOptions.DEFAULT);
-        }
-        catch (IndexNotFoundException ex) {
-            logger.info("Cannot delete index {} because it doesn't exist.", index);
-        }
-        catch (IOException ex){
-            throw new ElasticsearchException("Delete index request failed.", ex);
-        }
-    }
-
     /**
      * Generates a SearchRequest with support for various functions.
      *
@@ -414,7 +709,7 @@ public abstract class ElasticBaseDao
      * @param rescorer - Optional rescorer that can be used to fine tune the query ranking.
      * @param sort - List of SortBuilders specifying the desired sorting
      * @param limitOffset - Restrict the number of results returned as well as paginate.
-     * @param fetchSource - Will return the indexed source fields when set to true.
+     * @param fetchSource - Specifies which of the indexed source fields are returned, if any.
      * @return SearchRequest
      */
     private SearchRequest getSearchRequest(String indexName,
@@ -424,21 +719,23 @@ public abstract class ElasticBaseDao
                                            RescorerBuilder rescorer,
                                            List<SortBuilder> sort,
                                            LimitOffset limitOffset,
-                                           boolean fetchSource) throws ElasticsearchException {
+                                           FetchSourceContext fetchSource) throws ElasticsearchException {
         limitOffset = adjustLimitOffset(limitOffset);
+        boolean cursorPaging = limitOffset instanceof CursorLimitOffset;
         SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
                 .query(query)
-                .from(limitOffset.getOffsetStart() - 1)
+                .from(cursorPaging ? 0 : limitOffset.getOffsetStart() - 1)
                 .size((limitOffset.hasLimit()) ? limitOffset.getLimit() : Integer.MAX_VALUE)
                 .minScore(0.05f)
-                .fetchSource(new FetchSourceContext(fetchSource));
+                .fetchSource(fetchSource);
 
         if (highlightedFields != null) {
             HighlightBuilder hb = new HighlightBuilder();
             highlightedFields.forEach(hb::field);
             searchSourceBuilder.highlighter(hb);
         }
-        if (rescorer != null) {
+        // Rescoring can't be combined with the field sorts that cursor paging depends on.
+        if (rescorer != null && !cursorPaging) {
             searchSourceBuilder.addRescorer(rescorer);
         }
         // Post filters take effect after the search is completed
@@ -447,6 +744,18 @@ public abstract class ElasticBaseDao
         }
         // Add the sort by fields
         sort.forEach(searchSourceBuilder::sort);
+        if (cursorPaging) {
+            // Cursors resume from the sort values of the last hit, so the sort must be total.
+            if (sort.isEmpty()) {
+                searchSourceBuilder.sort(SortBuilders.scoreSort());
+            }
+            // Documents indexed before the id field was added to the mapping lack it until the index is rebuilt
+            searchSourceBuilder.sort(SortBuilders.fieldSort(docIdField).unmappedType("keyword"));
+            CursorLimitOffset cursor = (CursorLimitOffset) limitOffset;
+            if (!cursor.isFirstPage()) {
+                searchSourceBuilder.searchAfter(cursor.getSearchAfter().toArray());
+            }
+        }
         SearchRequest searchRequest = Requests.searchRequest(indexName)
                 .source(searchSourceBuilder)
                 .searchType(SearchType.QUERY_THEN_FETCH);
@@ -475,29 +784,48 @@ public abstract class ElasticBaseDao
      *
      * @param response a SearchResponse generated by a SearchRequest
      * @param limitOffset the LimitOffset used in the SearchRequest
+     * @param attachSource attaches the fetched source of each hit to its result if true
      * @param hitMapper a function that maps a SearchHit to the desired return type R
      * @return SearchResults<R>
      */
     private <R> SearchResults<R> getSearchResults(SearchResponse response, LimitOffset limitOffset,
-                                                  Function<SearchHit, R> hitMapper) {
+                                                  boolean attachSource, Function<SearchHit, R> hitMapper) {
         limitOffset = adjustLimitOffset(limitOffset);
         List<SearchResult<R>> resultList = new ArrayList<>();
         for (SearchHit hit : response.getHits().getHits()) {
             SearchResult<R> result = new SearchResult<>(
                     hitMapper.apply(hit), // Result
                     (!Float.isNaN(hit.getScore())) ? BigDecimal.valueOf(hit.getScore()) : BigDecimal.ONE, // Rank
-                    hit.getHighlightFields()); // Highlights
+                    hit.getHighlightFields(), // Highlights
+                    (attachSource && hit.hasSource()) ? hit.getSourceAsMap() : null); // Source
             resultList.add(result);
         }
-        return new SearchResults<>(Ints.checkedCast(response.getHits().getTotalHits()), resultList, limitOffset);
+        int totalResults = Ints.checkedCast(response.getHits().getTotalHits());
+        String nextCursor = null;
+        if (limitOffset instanceof CursorLimitOffset) {
+            SearchHit[] hits = response.getHits().getHits();
+            if (hits.length > 0 && limitOffset.getOffsetEnd() < totalResults) {
+                nextCursor = ((CursorLimitOffset) limitOffset).getNextToken(hits[hits.length - 1].getSortValues());
+            }
+        }
+        return new SearchResults<>(totalResults, resultList, limitOffset, nextCursor);
     }
 
     /**
      * Validate and adjust limit offset so that it conforms to the index max result window.
+     * Cursor pages are not constrained by the window apart from their size.
      */
     private LimitOffset adjustLimitOffset(LimitOffset limitOffset) {
         final int maxResultWindow = getMaxResultWindow();
 
+        if (limitOffset instanceof CursorLimitOffset) {
+            CursorLimitOffset cursor = (CursorLimitOffset) limitOffset;
+            if (!cursor.hasLimit() || cursor.getLimit() > maxResultWindow) {
+                return new CursorLimitOffset(maxResultWindow, cursor.getOffsetStart(), cursor.getSearchAfter());
+            }
+            return cursor;
+        }
+
         if (!limitOffset.hasLimit() || limitOffset.getLimit() > maxResultWindow) {
             limitOffset = new LimitOffset(maxResultWindow, limitOffset.getOffsetStart());
         }
@@ -511,7 +839,7 @@ public abstract class ElasticBaseDao
     }
 
     /**
-     * Checks if an index is empty. If it is, it should not be searched, as trying causes errors.
+     * Checks if an index is empty. Searching an empty index can cause errors.
      * @param indexName to check
      * @return if indexName is empty
      */
@@ -535,67 +863,13 @@ public abstract class ElasticBaseDao
         }
     }
 
-    /**
-     * Get the current settings for the given index, including defaults.
-     *
-     * @param indexName String
-     * @return GetSettingsResponse
-     */
-    private GetSettingsResponse getCurrentIndexSettings(String indexName) {
-        GetSettingsRequest request = new GetSettingsRequest().indices(indexName);
-        try {
-            return searchClient.indices().getSettings(request, RequestOptions.DEFAULT);
-        } catch (IOException e) {
-            throw new ElasticsearchException("Failed to get elasticsearch settings");
-        }
-    }
-
-    /**
-     * Attempts to break down a large bulk request into a list of smaller ones.
-     *
-     * The resulting requests may still be larger than the desired size if any discrete requests exceed that size.
-     * @param bulkRequest BulkRequest
-     * @return List<BulkRequest>
-     */
-    private List<BulkRequest> splitBulkRequest(BulkRequest bulkRequest) {
-        long totalSize = bulkRequest.estimatedSizeInBytes();
-        if (totalSize <= desiredBulkRequestSize) {
-            return Collections.singletonList(bulkRequest);
-        }
-
-        Queue<DocWriteRequest> requestQueue = new ArrayDeque<>(bulkRequest.requests());
-        List<BulkRequest> bulkRequests = new ArrayList<>();
-
-        while (!requestQueue.isEmpty()) {
-            BulkRequest openBulk = new BulkRequest();
-            // pack in as many requests from the queue as will fit in the desired size.
-            while (!requestQueue.isEmpty() && openBulk.estimatedSizeInBytes() < desiredBulkRequestSize) {
-                DocWriteRequest nextDoc = requestQueue.peek();
-                // Break early if the next request is an index that will put the current bulk over the desired size.
-                // Still allow it if the current bulk is empty.
-                if (nextDoc instanceof IndexRequest) {
-                    int length = ((IndexRequest) nextDoc).source().length();
-                    if (openBulk.numberOfActions() > 0 &&
-                            openBulk.estimatedSizeInBytes() + length > desiredBulkRequestSize) {
-                        break;
-                    }
-                }
-                openBulk.add(requestQueue.remove());
-            }
-            bulkRequests.add(openBulk);
-        }
-        logger.debug("Large elasticsearch bulk request ({}) will be broken into {} smaller bulk requests",
-                FileUtils.byteCountToDisplaySize(totalSize), bulkRequests.size());
-        return bulkRequests;
-    }
-
     /**
      * Packages a map of custom properties to get the complete mapping request body.
      *
      * @param properties Map
      * @return Map<String, Object>
      */
-    private ImmutableMap<String, Object> packageCustomMappingProperties(Map properties) {
+    private ImmutableMap<String, Object> packageCustomMappingProperties(Map<String, Object> properties) {
         return ImmutableMap.of(
                 defaultType, ImmutableMap.of(
                         "properties", properties
@@ -0,0 +1,446 @@
+package gov.nysenate.openleg.dao.base;
+
+import com.google.common.collect.ImmutableMap;
+import org.apache.commons.io.FileUtils;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.ResponseException;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.rest.RestStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Executes elasticsearch bulk requests on behalf of all the {@link ElasticBaseDao}s.
+ *
+ * Bulk requests are split into sub-requests of a target size. In async mode, up to a configured number of
+ * sub-requests are in flight at once across all daos. The target size adapts to the observed latency: it is halved
+ * whenever a bulk is rejected or exceeds the target latency, and grows gradually while bulks complete well within
+ * it. Items rejected by an overloaded cluster (429) are retried with an exponential backoff, and the request fails
+ * if any are still rejected after the configured number of retries. Throughput is tracked for each index and
+ * exposed via the search index admin api.
+ *
+ * In sync mode the sub-requests are sent one at a time at the initial size.
+ */
+@Component
+public class ElasticBulkExecutor
+{
+    private static final Logger logger = LoggerFactory.getLogger(ElasticBulkExecutor.class);
+
+    /** The target bulk size will not shrink below this. */
+    private static final long minBulkSize = 512 * 1024L;
+
+    /** Approximate size of a bulk item's action metadata, mirrors the estimate used by {@link BulkRequest}. */
+    private static final long requestOverhead = 50;
+
+    /** Base delay before retrying rejected items, doubled on each subsequent attempt. */
+    private static final long retryBackoffMillis = 500;
+
+    @Autowired private RestHighLevelClient searchClient;
+
+    /** Send sub-requests concurrently and adapt their size. */
+    @Value("${elastic.search.bulk.async:true}") private boolean asyncEnabled;
+
+    /** Maximum number of bulk requests in flight at once. */
+    @Value("${elastic.search.bulk.concurrent.requests:2}") private int concurrentRequests;
+
+    /** Initial target size (in MB) of a bulk request. */
+    @Value("${elastic.search.bulk.size:5}") private int initialBulkSizeMb;
+
+    /** Upper limit (in MB) of the adaptive target size. */
+    @Value("${elastic.search.bulk.max.size:20}") private int maxBulkSizeMb;
+
+    /** Bulk requests that take longer than this (in ms) cause the target size to shrink. */
+    @Value("${elastic.search.bulk.target.latency:2000}") private long targetLatencyMillis;
+
+    /** Number of times rejected items are retried. */
+    @Value("${elastic.search.bulk.max.retries:3}") private int maxRetries;
+
+    private Semaphore inFlight;
+
+    private final AtomicLong targetBulkSize = new AtomicLong();
+
+    private final ConcurrentMap<String, IndexStats> indexStats = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    private void init() {
+        inFlight = new Semaphore(asyncEnabled ? Math.max(1, concurrentRequests) : 1);
+        targetBulkSize.set(Math.max(minBulkSize, initialBulkSizeMb * FileUtils.ONE_MB));
+    }
+
+    /** --- Public Methods --- */
+
+    /**
+     * Executes the given bulk request, blocking until all of its items have been processed.
+     *
+     * @param bulkRequest BulkRequest
+     * @return List<BulkItemResponse> - The response for each item in the order of the request. Items can still
+     *                                  fail for reasons other than a rejection, e.g. a mapping error.
+     * @throws ElasticsearchException if a bulk request fails for a reason other than a rejection, or if any items
+     *                                are still rejected after all retries.
+     */
+    public List<BulkItemResponse> execute(BulkRequest bulkRequest) throws ElasticsearchException {
+        List<DocWriteRequest<?>> requests = bulkRequest.requests();
+        BulkItemResponse[] responses = new BulkItemResponse[requests.size()];
+        BulkSummary summary = new BulkSummary();
+        List<Integer> pending = IntStream.range(0, requests.size()).boxed().collect(Collectors.toList());
+        for (int attempt = 0; !pending.isEmpty(); attempt++) {
+            if (attempt > 0) {
+                if (attempt > maxRetries) {
+                    summary.log();
+                    throw new ElasticsearchException("{} bulk items were still rejected after {} retries",
+                            pending.size(), maxRetries);
+                }
+                backoff(attempt);
+            }
+            pending = submit(bulkRequest, pending, responses, summary);
+        }
+        summary.log();
+        return Arrays.asList(responses);
+    }
+
+    /**
+     * @return ImmutableMap<String, IndexStats> - Cumulative bulk stats by index name.
+     */
+    public ImmutableMap<String, IndexStats> getIndexStats() {
+        return ImmutableMap.copyOf(indexStats);
+    }
+
+    /**
+     * @return long - The current target size of a bulk request in bytes.
+     */
+    public long getTargetBulkSize() {
+        return targetBulkSize.get();
+    }
+
+    /** --- Internal Methods --- */
+
+    /**
+     * Splits the pending items into sub-requests of the target size and sends them, waiting for all responses.
+     *
+     * @return List<Integer> - Indices of the items that were rejected and should be retried.
+     */
+    private List<Integer> submit(BulkRequest original, List<Integer> pending, BulkItemResponse[] responses,
+                                 BulkSummary summary) {
+        List<DocWriteRequest<?>> requests = original.requests();
+        Map<List<Integer>, CompletableFuture<BulkResponse>> futures = new LinkedHashMap<>();
+        for (List<Integer> chunk : partition(requests, pending)) {
+            BulkRequest subRequest = new BulkRequest();
+            subRequest.timeout(original.timeout());
+            subRequest.setRefreshPolicy(original.getRefreshPolicy());
+            chunk.forEach(i -> subRequest.add(requests.get(i)));
+            futures.put(chunk, send(subRequest, summary));
+        }
+        List<Integer> retry = new ArrayList<>();
+        Exception failure = null;
+        for (Map.Entry<List<Integer>, CompletableFuture<BulkResponse>> entry : futures.entrySet()) {
+            List<Integer> chunk = entry.getKey();
+            try {
+                BulkItemResponse[] items = entry.getValue().join().getItems();
+                for (int i = 0; i < items.length; i++) {
+                    responses[chunk.get(i)] = items[i];
+                    if (items[i].isFailed()) {
+                        if (items[i].status() == RestStatus.TOO_MANY_REQUESTS) {
+                            retry.add(chunk.get(i));
+                        }
+                        else {
+                            summary.addFailure(items[i]);
+                        }
+                    }
+                }
+            }
+            catch (CompletionException ex) {
+                Exception cause = (ex.getCause() instanceof Exception) ? (Exception) ex.getCause() : ex;
+                if (isRejection(cause)) {
+                    retry.addAll(chunk);
+                }
+                else if (failure == null) {
+                    failure = cause;
+                }
+            }
+        }
+        if (failure != null) {
+            throw new ElasticsearchException("Bulk request failed", failure);
+        }
+        return retry;
+    }
+
+    /**
+     * Sends a bulk request once a slot is available, adjusting the target size and recording stats when it
+     * completes.
+     */
+    private CompletableFuture<BulkResponse> send(BulkRequest bulkRequest, BulkSummary summary) {
+        CompletableFuture<BulkResponse> future = new CompletableFuture<>();
+        try {
+            inFlight.acquire();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(new ElasticsearchException("Interrupted while sending bulk request", ex));
+            return future;
+        }
+        logger.debug("Making bulk request: {} actions, {}", bulkRequest.numberOfActions(),
+                FileUtils.byteCountToDisplaySize(bulkRequest.estimatedSizeInBytes()));
+        long start = System.nanoTime();
+        // Completes the future and releases the slot exactly once, even if the listener code throws or the client
+        // reports a failure after a response
+        AtomicBoolean done = new AtomicBoolean(false);
+        ActionListener<BulkResponse> listener = new ActionListener<BulkResponse>() {
+            @Override
+            public void onResponse(BulkResponse response) {
+                if (!done.compareAndSet(false, true)) {
+                    return;
+                }
+                try {
+                    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    boolean rejected = Arrays.stream(response.getItems())
+                            .anyMatch(item -> item.isFailed() && item.status() == RestStatus.TOO_MANY_REQUESTS);
+                    adjustBulkSize(elapsedMillis, rejected);
+                    record(bulkRequest, response, elapsedMillis, summary);
+                    future.complete(response);
+                }
+                catch (Exception ex) {
+                    future.completeExceptionally(ex);
+                }
+                finally {
+                    inFlight.release();
+                }
+            }
+
+            @Override
+            public void onFailure(Exception ex) {
+                if (!done.compareAndSet(false, true)) {
+                    return;
+                }
+                try {
+                    if (isRejection(ex)) {
+                        adjustBulkSize(Long.MAX_VALUE, true);
+                    }
+                }
+                finally {
+                    inFlight.release();
+                    future.completeExceptionally(ex);
+                }
+            }
+        };
+        try {
+            sendBulk(bulkRequest, listener);
+        }
+        catch (Exception ex) {
+            listener.onFailure(ex);
+        }
+        return future;
+    }
+
+    /**
+     * Sends the bulk request to the cluster, notifying the listener when it completes.
+     * In sync mode, the listener is notified before this returns.
+     */
+    void sendBulk(BulkRequest bulkRequest, ActionListener<BulkResponse> listener) throws IOException {
+        if (asyncEnabled) {
+            searchClient.bulkAsync(bulkRequest, RequestOptions.DEFAULT, listener);
+        }
+        else {
+            listener.onResponse(searchClient.bulk(bulkRequest, RequestOptions.DEFAULT));
+        }
+    }
+
+    /**
+     * Groups the pending items into consecutive chunks that fit within the target bulk size.
+     * A single item that exceeds the target size is sent on its own.
+     */
+    private List<List<Integer>> partition(List<DocWriteRequest<?>> requests, List<Integer> pending) {
+        long maxSize = targetBulkSize.get();
+        List<List<Integer>> chunks = new ArrayList<>();
+        List<Integer> chunk = new ArrayList<>();
+        long chunkSize = 0;
+        for (Integer i : pending) {
+            long size = estimateSize(requests.get(i));
+            if (!chunk.isEmpty() && chunkSize + size > maxSize) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>();
+                chunkSize = 0;
+            }
+            chunk.add(i);
+            chunkSize += size;
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    /**
+     * Halves the target size if the bulk was rejected or slow, grows it by a quarter if it was fast.
+     */
+    private void adjustBulkSize(long elapsedMillis, boolean rejected) {
+        if (!asyncEnabled) {
+            return;
+        }
+        long maxSize = Math.max(minBulkSize, maxBulkSizeMb * FileUtils.ONE_MB);
+        long previous = targetBulkSize.getAndUpdate(size -> {
+            if (rejected || elapsedMillis > targetLatencyMillis) {
+                return Math.max(minBulkSize, size / 2);
+            }
+            if (elapsedMillis < targetLatencyMillis / 2) {
+                return Math.min(maxSize, size + size / 4);
+            }
+            return size;
+        });
+        if (rejected || elapsedMillis > targetLatencyMillis) {
+            logger.debug("Reducing bulk size from {} ({})", FileUtils.byteCountToDisplaySize(previous),
+                    rejected ? "rejected" : elapsedMillis + " ms");
+        }
+    }
+
+    private void record(BulkRequest bulkRequest, BulkResponse response, long elapsedMillis, BulkSummary summary) {
+        List<DocWriteRequest<?>> requests = bulkRequest.requests();
+        BulkItemResponse[] items = response.getItems();
+        Map<String, long[]> countsByIndex = new HashMap<>();
+        for (int i = 0; i < items.length; i++) {
+            long[] counts = countsByIndex.computeIfAbsent(requests.get(i).index(), index -> new long[3]);
+            counts[0] += items[i].isFailed() ? 0 : 1;
+            counts[1] += items[i].isFailed() ? 1 : 0;
+            counts[2] += estimateSize(requests.get(i));
+        }
+        countsByIndex.forEach((index, counts) -> {
+            indexStats.computeIfAbsent(index, IndexStats::new).add(counts[0], counts[1], counts[2], elapsedMillis);
+            summary.add(index, counts[0], counts[2]);
+        });
+    }
+
+    private void backoff(int attempt) {
+        try {
+            Thread.sleep(retryBackoffMillis << (attempt - 1));
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ElasticsearchException("Interrupted while retrying bulk request", ex);
+        }
+    }
+
+    private static long estimateSize(DocWriteRequest<?> request) {
+        if (request instanceof IndexRequest && ((IndexRequest) request).source() != null) {
+            return requestOverhead + ((IndexRequest) request).source().length();
+        }
+        return requestOverhead;
+    }
+
+    private static boolean isRejection(Exception ex) {
+        if (ex instanceof ElasticsearchStatusException) {
+            return ((ElasticsearchStatusException) ex).status() == RestStatus.TOO_MANY_REQUESTS;
+        }
+        if (ex instanceof ResponseException) {
+            return ((ResponseException) ex).getResponse().getStatusLine().getStatusCode() ==
+                    RestStatus.TOO_MANY_REQUESTS.getStatus();
+        }
+        return false;
+    }
+
+    /**
+     * Cumulative bulk indexing stats for a single index.
+     */
+    public static class IndexStats
+    {
+        private final String index;
+        private final LongAdder docs = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder bulkMillis = new LongAdder();
+
+        public IndexStats(String index) {
+            this.index = index;
+        }
+
+        private void add(long docCount, long failureCount, long byteCount, long elapsedMillis) {
+            docs.add(docCount);
+            failures.add(failureCount);
+            bytes.add(byteCount);
+            bulkMillis.add(elapsedMillis);
+        }
+
+        /**
+         * @return double - Documents indexed per second of bulk request time.
+         */
+        public double getDocsPerSecond() {
+            long millis = bulkMillis.sum();
+            return (millis > 0) ? docs.sum() * 1000.0 / millis : 0;
+        }
+
+        public String getIndex() {
+            return index;
+        }
+
+        public long getDocs() {
+            return docs.sum();
+        }
+
+        public long getFailures() {
+            return failures.sum();
+        }
+
+        public long getBytes() {
+            return bytes.sum();
+        }
+
+        public long getBulkMillis() {
+            return bulkMillis.sum();
+        }
+    }
+
+    /**
+     * Accumulates the results of a single {@link #execute(BulkRequest)} call for logging.
+     */
+    private static class BulkSummary
+    {
+        private final long start = System.nanoTime();
+        private final Map<String, long[]> countsByIndex = new ConcurrentHashMap<>();
+        private final LongAdder failures = new LongAdder();
+        private volatile String firstFailure;
+
+        void add(String index, long docCount, long byteCount) {
+            long[] counts = countsByIndex.computeIfAbsent(index, i -> new long[2]);
+            synchronized (counts) {
+                counts[0] += docCount;
+                counts[1] += byteCount;
+            }
+        }
+
+        void addFailure(BulkItemResponse item) {
+            failures.increment();
+            if (firstFailure == null) {
+                firstFailure = item.getIndex() + "/" + item.getId() + ": " + item.getFailureMessage();
+            }
+        }
+
+        void log() {
+            long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            countsByIndex.forEach((index, counts) ->
+                    logger.debug("Bulk indexed {} docs ({}) into {} in {} ms ({} docs/s)", counts[0],
+                            FileUtils.byteCountToDisplaySize(counts[1]), index, millis, counts[0] * 1000 / millis));
+            if (failures.sum() > 0) {
+                logger.warn("{} bulk items failed, first failure - {}", failures.sum(), firstFailure);
+            }
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.google.common.collect.Range;
 import gov.nysenate.openleg.config.Environment;
 import gov.nysenate.openleg.model.base.BaseLegislativeContent;
 import gov.nysenate.openleg.model.base.SessionYear;
+import gov.nysenate.openleg.model.bill.BillId;
 import gov.nysenate.openleg.model.sourcefiles.sobi.SobiFragment;
 import gov.nysenate.openleg.model.updates.UpdateType;
 import gov.nysenate.openleg.util.DateUtils;
@@ -24,6 +25,7 @@ import java.sql.SQLException;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -88,6 +90,18 @@ public abstract class SqlBaseDao
         return params;
     }
 
+    /**
+     * Gets a new parameter map with a 'billIds' param holding a (print no, session year) tuple for each of
+     * the given bill ids. The bill versions are ignored. Intended for use in a clause such as
+     * "WHERE (bill_print_no, bill_session_year) IN (:billIds)", so the collection must not be empty.
+     */
+    protected static MapSqlParameterSource getBaseBillIdsParams(Collection<? extends BillId> billIds) {
+        List<Object[]> tuples = billIds.stream()
+                .map(billId -> new Object[]{billId.getBasePrintNo(), billId.getSession().getYear()})
+                .collect(Collectors.toList());
+        return new MapSqlParameterSource("billIds", tuples);
+    }
+
     /**
      * Applies the published date / modified date column values.
      */
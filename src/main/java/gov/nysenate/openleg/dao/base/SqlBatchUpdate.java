@@ -0,0 +1,70 @@
+package gov.nysenate.openleg.dao.base;
+
+import com.google.common.collect.ImmutableList;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.util.*;
+
+/**
+ * Accumulates parameter sets for a fixed group of write queries so that they can be sent to the
+ * database using JDBC batching rather than one round trip per statement.
+ *
+ * Queries are executed in the order they were given at construction time, regardless of the order
+ * in which parameters were added. This allows related deletes and inserts from many entities to be
+ * grouped together while still, e.g., running all deletes before any inserts.
+ */
+public class SqlBatchUpdate
+{
+    private final ImmutableList<BasicSqlQuery> executionOrder;
+
+    private final Map<BasicSqlQuery, List<SqlParameterSource>> batches = new HashMap<>();
+
+    public SqlBatchUpdate(List<? extends BasicSqlQuery> executionOrder) {
+        this.executionOrder = ImmutableList.copyOf(executionOrder);
+    }
+
+    /**
+     * Queue a statement for the given query.
+     *
+     * @param query BasicSqlQuery - must be one of the queries given at construction
+     * @param params SqlParameterSource
+     */
+    public void add(BasicSqlQuery query, SqlParameterSource params) {
+        if (!executionOrder.contains(query)) {
+            throw new IllegalArgumentException("Query " + query + " is not registered for this batch update");
+        }
+        batches.computeIfAbsent(query, q -> new ArrayList<>()).add(params);
+    }
+
+    /**
+     * @return int - the number of statements that are currently queued
+     */
+    public int size() {
+        return batches.values().stream().mapToInt(List::size).sum();
+    }
+
+    public boolean isEmpty() {
+        return batches.isEmpty();
+    }
+
+    /**
+     * Sends all queued statements to the database, one JDBC batch per query, and clears the queue.
+     *
+     * @param jdbcNamed NamedParameterJdbcTemplate
+     * @param schema String - the schema used to format the queries
+     * @return int - the number of rows affected
+     */
+    public int execute(NamedParameterJdbcTemplate jdbcNamed, String schema) {
+        int affected = 0;
+        for (BasicSqlQuery query : executionOrder) {
+            List<SqlParameterSource> params = batches.get(query);
+            if (params != null && !params.isEmpty()) {
+                int[] counts = jdbcNamed.batchUpdate(query.getSql(schema), params.toArray(new SqlParameterSource[0]));
+                affected += Arrays.stream(counts).filter(count -> count > 0).sum();
+            }
+        }
+        batches.clear();
+        return affected;
+    }
+}
@@ -0,0 +1,47 @@
+package gov.nysenate.openleg.dao.bill.data;
+
+/**
+ * Enumerates the child collections of a bill whose content hash is stored alongside the bill or
+ * bill amendment record. A collection's rows only need to be re-examined and written when its
+ * hash differs from the one last stored.
+ */
+enum BillContentHashType
+{
+    /** --- Stored on the bill record --- */
+
+    PUBLISH_STATUSES("publish_status_hash", "publishStatusHash", false),
+    MILESTONES("milestones_hash", "milestonesHash", false),
+    ACTIONS("actions_hash", "actionsHash", false),
+    COMMITTEES("committees_hash", "committeesHash", false),
+    VETO_MESSAGES("veto_messages_hash", "vetoMessagesHash", false),
+    APPROVAL_MESSAGE("approval_message_hash", "approvalMessageHash", false),
+
+    /** --- Stored on the bill amendment record --- */
+
+    SAME_AS("same_as_hash", "sameAsHash", true),
+    COSPONSORS("cosponsors_hash", "cosponsorsHash", true),
+    MULTISPONSORS("multisponsors_hash", "multisponsorsHash", true),
+    VOTES("votes_hash", "votesHash", true);
+
+    private final String column;
+    private final String paramName;
+    private final boolean amendmentLevel;
+
+    BillContentHashType(String column, String paramName, boolean amendmentLevel) {
+        this.column = column;
+        this.paramName = paramName;
+        this.amendmentLevel = amendmentLevel;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public String getParamName() {
+        return paramName;
+    }
+
+    public boolean isAmendmentLevel() {
+        return amendmentLevel;
+    }
+}
@@ -0,0 +1,133 @@
+package gov.nysenate.openleg.dao.bill.data;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import gov.nysenate.openleg.model.base.PublishStatus;
+import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.bill.*;
+import gov.nysenate.openleg.model.entity.CommitteeVersionId;
+import gov.nysenate.openleg.model.entity.SessionMember;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static gov.nysenate.openleg.dao.bill.data.BillContentHashType.*;
+
+/**
+ * Computes the content hashes for the child collections of a bill (see {@link BillContentHashType}).
+ *
+ * A hash covers only the data that is written to the collection's rows. Fields such as the last
+ * fragment id and modified date are excluded so that reprocessing the same content from a newer
+ * source file yields the same hash.
+ */
+final class BillContentHashes
+{
+    private static final HashFunction hashFunction = Hashing.murmur3_128();
+
+    /** Separates fields and elements so that adjacent values cannot run together. */
+    private static final char SEPARATOR = '\u001F';
+
+    private BillContentHashes() {}
+
+    /**
+     * @param bill Bill
+     * @return EnumMap<BillContentHashType, String> - hashes for each bill level collection
+     */
+    static EnumMap<BillContentHashType, String> ofBill(Bill bill) {
+        EnumMap<BillContentHashType, String> hashes = new EnumMap<>(BillContentHashType.class);
+
+        Hasher pubStatusHasher = hashFunction.newHasher();
+        for (Map.Entry<Version, PublishStatus> entry : new TreeMap<>(bill.getAmendPublishStatusMap()).entrySet()) {
+            PublishStatus status = entry.getValue();
+            put(pubStatusHasher, entry.getKey(), status.isPublished(), status.getEffectDateTime(),
+                    status.isOverride(), status.getNotes());
+        }
+        hashes.put(PUBLISH_STATUSES, pubStatusHasher.hash().toString());
+
+        Hasher milestoneHasher = hashFunction.newHasher();
+        for (BillStatus status : bill.getMilestones()) {
+            put(milestoneHasher, status.getStatusType(), status.getActionDate(), status.getActionSequenceNo(),
+                    status.getCommitteeId(), status.getCalendarNo());
+        }
+        hashes.put(MILESTONES, milestoneHasher.hash().toString());
+
+        Hasher actionHasher = hashFunction.newHasher();
+        for (BillAction action : bill.getActions()) {
+            put(actionHasher, action.getBillId(), action.getChamber(), action.getSequenceNo(),
+                    action.getDate(), action.getText());
+        }
+        hashes.put(ACTIONS, actionHasher.hash().toString());
+
+        Hasher committeeHasher = hashFunction.newHasher();
+        for (CommitteeVersionId committee : new TreeSet<>(bill.getPastCommittees())) {
+            put(committeeHasher, committee);
+        }
+        hashes.put(COMMITTEES, committeeHasher.hash().toString());
+
+        Hasher vetoHasher = hashFunction.newHasher();
+        for (VetoMessage veto : new TreeMap<>(bill.getVetoMessages()).values()) {
+            put(vetoHasher, veto.getVetoId(), veto.getType(), veto.getChapter(), veto.getBillPage(),
+                    veto.getLineStart(), veto.getLineEnd(), veto.getSigner(), veto.getSignedDate(), veto.getMemoText());
+        }
+        hashes.put(VETO_MESSAGES, vetoHasher.hash().toString());
+
+        Hasher approvalHasher = hashFunction.newHasher();
+        ApprovalMessage approval = bill.getApprovalMessage();
+        if (approval != null) {
+            put(approvalHasher, approval.getApprovalId(), approval.getChapter(), approval.getSigner(),
+                    approval.getMemoText());
+        }
+        hashes.put(APPROVAL_MESSAGE, approvalHasher.hash().toString());
+
+        return hashes;
+    }
+
+    /**
+     * @param amendment BillAmendment
+     * @return EnumMap<BillContentHashType, String> - hashes for each amendment level collection
+     */
+    static EnumMap<BillContentHashType, String> ofAmendment(BillAmendment amendment) {
+        EnumMap<BillContentHashType, String> hashes = new EnumMap<>(BillContentHashType.class);
+
+        Hasher sameAsHasher = hashFunction.newHasher();
+        new TreeSet<>(amendment.getSameAs()).forEach(billId -> put(sameAsHasher, billId));
+        hashes.put(SAME_AS, sameAsHasher.hash().toString());
+
+        hashes.put(COSPONSORS, hashMembers(amendment.getCoSponsors()));
+        hashes.put(MULTISPONSORS, hashMembers(amendment.getMultiSponsors()));
+
+        // Order by the full vote id, since votes on the same day can differ only by committee or sequence no
+        Hasher voteHasher = hashFunction.newHasher();
+        for (BillVote vote : new TreeMap<>(amendment.getVotesMap()).values()) {
+            put(voteHasher, vote.getVoteId());
+            for (BillVoteCode code : new TreeSet<>(vote.getMemberVotes().keySet())) {
+                put(voteHasher, code);
+                vote.getMembersByVote(code).stream()
+                        .mapToInt(SessionMember::getSessionMemberId)
+                        .sorted()
+                        .forEach(voteHasher::putInt);
+            }
+        }
+        hashes.put(VOTES, voteHasher.hash().toString());
+
+        return hashes;
+    }
+
+    /** --- Internal Methods --- */
+
+    /** Sponsor order is significant since it is stored as the sequence no. */
+    private static String hashMembers(List<SessionMember> members) {
+        Hasher hasher = hashFunction.newHasher();
+        members.forEach(member -> put(hasher, member != null ? member.getSessionMemberId() : null));
+        return hasher.hash().toString();
+    }
+
+    private static void put(Hasher hasher, Object... fields) {
+        for (Object field : fields) {
+            hasher.putString(Objects.toString(field, ""), StandardCharsets.UTF_8);
+            hasher.putChar(SEPARATOR);
+        }
+        hasher.putChar('\n');
+    }
+}
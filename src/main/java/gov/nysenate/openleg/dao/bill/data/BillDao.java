@@ -6,9 +6,12 @@ import gov.nysenate.openleg.dao.base.SortOrder;
 import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.bill.*;
 import gov.nysenate.openleg.model.sourcefiles.sobi.SobiFragment;
+import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.dao.DataAccessException;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -27,6 +30,18 @@ public interface BillDao
      */
     Bill getBill(BillId billId, Set<BillTextFormat> textFormats) throws DataAccessException;
 
+    /**
+     * Retrieves full Bills for each of the given base bill ids. Rather than querying each table once per bill,
+     * the data for all of the bills is fetched with a single query per table and assembled in memory.
+     *
+     * @param billIds Collection<BaseBillId>
+     * @param textFormats {@link Set<BillTextFormat>} - specifies which text formats are loaded for the bills
+     * @return Map<BaseBillId, Bill> - ordered by the given bill ids. Bills that do not exist are omitted.
+     * @throws DataAccessException
+     */
+    Map<BaseBillId, Bill> getBills(Collection<BaseBillId> billIds, Set<BillTextFormat> textFormats)
+            throws DataAccessException;
+
     /**
      * Retrieves a BillInfo for the given BillId. The query time for a BillInfo will be less than that
      * of a full bill retrieval because it has significantly fewer pieces of data to gather.
@@ -104,6 +119,16 @@ public interface BillDao
      */
     void updateBill(Bill bill, SobiFragment sobiFragment) throws DataAccessException;
 
+    /**
+     * Updates or inserts each of the given bills, associating each with its SobiFragment.
+     * This is equivalent to calling {@link #updateBill(Bill, SobiFragment)} for each bill, except that
+     * writes are batched together and performed within a single transaction.
+     *
+     * @param bills Collection<Pair<Bill, SobiFragment>>
+     * @throws DataAccessException - If there was an error while trying to save the Bills.
+     */
+    void updateBills(Collection<Pair<Bill, SobiFragment>> bills) throws DataAccessException;
+
     /**
      * Queries for budget bills that don't have full text or an alternate pdf entry, returning their ids.
      *
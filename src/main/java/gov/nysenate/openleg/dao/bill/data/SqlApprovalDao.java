@@ -14,7 +14,11 @@ import org.springframework.stereotype.Repository;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Repository
 public class SqlApprovalDao extends SqlBaseDao implements ApprovalDao
@@ -35,6 +39,19 @@ public class SqlApprovalDao extends SqlBaseDao implements ApprovalDao
             SqlApprovalQuery.SELECT_APPROVAL_BY_BILL.getSql(schema()), params, new ApprovalMessageRowMapper());
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<BaseBillId, ApprovalMessage> getApprovalMessages(Collection<BaseBillId> baseBillIds)
+            throws DataAccessException {
+        if (baseBillIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return jdbcNamed.query(SqlApprovalQuery.SELECT_APPROVALS_FOR_BILLS.getSql(schema()),
+                getBaseBillIdsParams(baseBillIds), new ApprovalMessageRowMapper()).stream()
+                .collect(Collectors.toMap(approval -> BaseBillId.of(approval.getBillId()), approval -> approval,
+                        (a, b) -> a));
+    }
+
     /** {@inheritDoc} */
     @Override
     public List<ApprovalMessage> getApprovalMessages(int year) throws DataAccessException {
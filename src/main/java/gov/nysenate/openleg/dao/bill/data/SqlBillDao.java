@@ -1,6 +1,8 @@
 package gov.nysenate.openleg.dao.bill.data;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
 import com.google.common.collect.MapDifference;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Range;
@@ -21,6 +23,7 @@ import gov.nysenate.openleg.service.bill.data.VetoDataService;
 import gov.nysenate.openleg.service.bill.data.VetoNotFoundException;
 import gov.nysenate.openleg.service.entity.member.data.MemberService;
 import org.apache.commons.lang3.text.StrSubstitutor;
+import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,15 +34,18 @@ import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static gov.nysenate.openleg.dao.base.SortOrder.ASC;
+import static gov.nysenate.openleg.dao.bill.data.BillContentHashType.*;
 import static gov.nysenate.openleg.dao.bill.data.SqlBillQuery.*;
 import static gov.nysenate.openleg.model.bill.BillTextFormat.HTML;
 import static gov.nysenate.openleg.model.bill.BillTextFormat.PLAIN;
@@ -56,6 +62,19 @@ public class SqlBillDao extends SqlBaseDao implements BillDao {
                     .put(HTML, "full_text_html")
                     .build();
 
+    /** The order in which batched child table writes are executed. Deletes must precede inserts. */
+    private static final ImmutableList<SqlBillQuery> batchUpdateOrder = ImmutableList.of(
+            DELETE_SAME_AS, DELETE_BILL_COSPONSOR, DELETE_BILL_MULTISPONSOR, DELETE_BILL_VOTES_INFO,
+            DELETE_BILL_MILESTONES, DELETE_BILL_ACTION, DELETE_BILL_COMMITTEE,
+            UPDATE_BILL_COSPONSOR, UPDATE_BILL_MULTISPONSOR, UPDATE_BILL_AMEND_PUBLISH_STATUS,
+            INSERT_BILL_SAME_AS, INSERT_BILL_COSPONSOR, INSERT_BILL_MULTISPONSOR, INSERT_BILL_VOTES_INFO,
+            INSERT_BILL_VOTES_ROLL, INSERT_BILL_AMEND_PUBLISH_STATUS, INSERT_BILL_MILESTONE, INSERT_BILL_ACTION,
+            INSERT_BILL_COMMITTEE
+    );
+
+    /** The maximum number of bills whose data is retrieved with a single set of bulk queries. */
+    private static final int BULK_FETCH_SIZE = 500;
+
     @Autowired private MemberService memberService;
     @Autowired private VetoDataService vetoDataService;
     @Autowired private ApprovalDataService approvalDataService;
@@ -113,6 +132,21 @@ public class SqlBillDao extends SqlBaseDao implements BillDao {
         return bill;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<BaseBillId, Bill> getBills(Collection<BaseBillId> billIds, Set<BillTextFormat> textFormats) {
+        logger.trace("Fetching {} Bills from database...", billIds.size());
+        Map<BaseBillId, Bill> bills = new LinkedHashMap<>();
+        List<BaseBillId> distinctIds = billIds.stream().distinct().collect(Collectors.toList());
+        for (List<BaseBillId> partition : Lists.partition(distinctIds, BULK_FETCH_SIZE)) {
+            Map<BaseBillId, Bill> fetched = fetchBills(partition, textFormats);
+            partition.stream()
+                    .filter(fetched::containsKey)
+                    .forEach(billId -> bills.put(billId, fetched.get(billId)));
+        }
+        return bills;
+    }
+
     /** {@inheritDoc} */
     @Override
     public BillInfo getBillInfo(BillId billId) throws DataAccessException {
@@ -154,44 +188,115 @@ public class SqlBillDao extends SqlBaseDao implements BillDao {
      * reference is used to keep track of changes to the bill.
      */
     @Override
+    @Transactional
     public void updateBill(Bill bill, SobiFragment sobiFragment) {
+        SqlBatchUpdate batch = new SqlBatchUpdate(batchUpdateOrder);
+        updateBill(bill, sobiFragment, batch);
+        batch.execute(jdbcNamed, schema());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The bill and amendment records are upserted individually since their child rows depend on them.
+     * Writes to the child tables (actions, sponsors, votes, etc.) for all the bills are grouped by table
+     * and sent as JDBC batches at the end, within a single transaction.
+     */
+    @Override
+    @Transactional
+    public void updateBills(Collection<Pair<Bill, SobiFragment>> bills) {
+        SqlBatchUpdate batch = new SqlBatchUpdate(batchUpdateOrder);
+        for (Pair<Bill, SobiFragment> billFragment : bills) {
+            updateBill(billFragment.getLeft(), billFragment.getRight(), batch);
+        }
+        logger.debug("Executing {} batched statements for {} bills", batch.size(), bills.size());
+        batch.execute(jdbcNamed, schema());
+    }
+
+    /**
+     * Writes the bill and amendment records and queues up all changes to the bill's child tables
+     * into the given batch.
+     *
+     * Each child collection has a content hash that is stored on the bill or amendment record. A collection
+     * is only read back and diffed against the database when its hash differs from the stored one.
+     */
+    private void updateBill(Bill bill, SobiFragment sobiFragment, SqlBatchUpdate batch) {
         logger.trace("Updating Bill {} in database...", bill);
+        final ImmutableParams baseParams = getBaseParams(bill.getBaseBillId());
+        // Fetch the stored hashes before they are overwritten
+        final Map<BillContentHashType, String> storedBillHashes = getBillContentHashes(baseParams);
+        final Map<Version, Map<BillContentHashType, String>> storedAmendHashes = getBillAmendmentContentHashes(baseParams);
+        final EnumMap<BillContentHashType, String> billHashes = BillContentHashes.ofBill(bill);
         // Update the bill record
-        final ImmutableParams billParams = ImmutableParams.from(getBillParams(bill, sobiFragment));
+        final ImmutableParams billParams = ImmutableParams.from(getBillParams(bill, billHashes, sobiFragment));
         if (jdbcNamed.update(SqlBillQuery.UPDATE_BILL.getSql(schema()), billParams) == 0) {
             jdbcNamed.update(SqlBillQuery.INSERT_BILL.getSql(schema()), billParams);
         }
         // Update the bill amendments
         for (BillAmendment amendment : bill.getAmendmentList()) {
-            final ImmutableParams amendParams = ImmutableParams.from(getBillAmendmentParams(amendment, sobiFragment));
+            final EnumMap<BillContentHashType, String> amendHashes = BillContentHashes.ofAmendment(amendment);
+            final Map<BillContentHashType, String> storedHashes =
+                    storedAmendHashes.getOrDefault(amendment.getVersion(), Collections.emptyMap());
+            final ImmutableParams amendParams =
+                    ImmutableParams.from(getBillAmendmentParams(amendment, amendHashes, sobiFragment));
             if (jdbcNamed.update(SqlBillQuery.UPDATE_BILL_AMENDMENT.getSql(schema()), amendParams) == 0) {
                 jdbcNamed.update(SqlBillQuery.INSERT_BILL_AMENDMENT.getSql(schema()), amendParams);
             }
             // Update the same as bills
-            updateBillSameAs(amendment, sobiFragment, amendParams);
+            if (isModified(SAME_AS, amendHashes, storedHashes)) {
+                updateBillSameAs(amendment, sobiFragment, amendParams, batch);
+            }
             // Update the co-sponsors list
-            updateBillCosponsor(amendment, sobiFragment, amendParams);
+            if (isModified(COSPONSORS, amendHashes, storedHashes)) {
+                updateBillCosponsor(amendment, sobiFragment, amendParams, batch);
+            }
             // Update the multi-sponsors list
-            updateBillMultiSponsor(amendment, sobiFragment, amendParams);
+            if (isModified(MULTISPONSORS, amendHashes, storedHashes)) {
+                updateBillMultiSponsor(amendment, sobiFragment, amendParams, batch);
+            }
             // Update votes
-            updateBillVotes(amendment, sobiFragment, amendParams);
+            if (isModified(VOTES, amendHashes, storedHashes)) {
+                updateBillVotes(amendment, sobiFragment, amendParams, batch);
+            }
         }
         // Update the publish statuses of the amendments
-        updateBillAmendPublishStatus(bill, sobiFragment, billParams);
+        if (isModified(PUBLISH_STATUSES, billHashes, storedBillHashes)) {
+            updateBillAmendPublishStatus(bill, sobiFragment, billParams, batch);
+        }
         // Update the sponsor
         updateBillSponsor(bill, sobiFragment, billParams);
         // Update the milestones
-        updateBillMilestones(bill, sobiFragment, billParams);
+        if (isModified(MILESTONES, billHashes, storedBillHashes)) {
+            updateBillMilestones(bill, sobiFragment, billParams, batch);
+        }
         // Determine which actions need to be inserted/deleted. Individual actions are never updated.
-        updateActions(bill, sobiFragment, billParams);
+        if (isModified(ACTIONS, billHashes, storedBillHashes)) {
+            updateActions(bill, sobiFragment, billParams, batch);
+        }
         // Determine if the previous versions have changed and insert accordingly.
         updatePreviousBillVersion(bill, sobiFragment, billParams);
         // Update associated committees
-        updateBillCommittees(bill, sobiFragment, billParams);
+        if (isModified(COMMITTEES, billHashes, storedBillHashes)) {
+            updateBillCommittees(bill, sobiFragment, billParams, batch);
+        }
         // Update veto messages
-        updateVetoMessages(bill, sobiFragment);
+        if (isModified(VETO_MESSAGES, billHashes, storedBillHashes)) {
+            updateVetoMessages(bill, sobiFragment);
+        }
         // Update approval message
-        updateApprovalMessage(bill, sobiFragment);
+        if (isModified(APPROVAL_MESSAGE, billHashes, storedBillHashes)) {
+            updateApprovalMessage(bill, sobiFragment);
+        }
+    }
+
+    /**
+     * A collection is considered modified if its stored hash is missing (new bill, or written before
+     * hashes were recorded) or differs from the newly computed hash.
+     */
+    private static boolean isModified(BillContentHashType type, Map<BillContentHashType, String> newHashes,
+                                      Map<BillContentHashType, String> storedHashes) {
+        String storedHash = storedHashes.get(type);
+        return storedHash == null || !storedHash.equals(newHashes.get(type));
     }
 
     /** {@inheritDoc} */
@@ -322,13 +427,7 @@ public class SqlBillDao extends SqlBaseDao implements BillDao {
     public LinkedList<BillStatus> getBillMilestones(ImmutableParams baseParams) {
         OrderBy orderBy = new OrderBy("rank", ASC);
         return new LinkedList<>(jdbcNamed.query(SqlBillQuery.GET_BILL_MILESTONES.getSql(schema(), orderBy, LimitOffset.ALL), baseParams,
-                (rs, rowNum) -> {
-                    BillStatus status = new BillStatus(BillStatusType.valueOf(rs.getString("status")), getLocalDateFromRs(rs, "date"));
-                    status.setActionSequenceNo(rs.getInt("action_sequence_no"));
-                    status.setCommitteeId(getCommitteeIdFromRs(rs));
-                    status.setCalendarNo((rs.getInt("cal_no") != 0) ? rs.getInt("cal_no") : null);
-                    return status;
-                }));
+                new BillMilestoneRowMapper()));
     }
 
     /**
@@ -372,6 +471,94 @@ public class SqlBillDao extends SqlBaseDao implements BillDao {
         return voteHandler.getBillVotes();
     }
 
+    /**
+     * Constructs full bills for the given base bill ids, querying each table once for all of the bills.
+     * Bills that do not exist are not included in the returned map.
+     */
+    private Map<BaseBillId, Bill> fetchBills(List<BaseBillId> billIds, Set<BillTextFormat> textFormats) {
+        final MapSqlParameterSource params = getBaseBillIdsParams(billIds);
+        final Map<BaseBillId, Bill> bills = new HashMap<>();
+        jdbcNamed.query(SELECT_BILLS.getSql(schema()), params, new BillRowMapper())
+                .forEach(bill -> bills.put(bill.getBaseBillId(), bill));
+        if (bills.isEmpty()) {
+            return bills;
+        }
+        // Fetch the amendments along with their same as ids, co/multi sponsors, and votes
+        final String amendQuery = applyFullTextFields(SELECT_BILLS_AMENDMENTS_TEMPLATE.getSql(schema()), textFormats);
+        final Map<BillId, BillAmendment> amendments = new HashMap<>();
+        for (BillAmendment amendment : jdbcNamed.query(amendQuery, params, new BillAmendmentRowMapper(textFormats))) {
+            amendment.setSameAs(new HashSet<>());
+            amendment.setCoSponsors(new ArrayList<>());
+            amendment.setMultiSponsors(new ArrayList<>());
+            amendment.setVotesMap(new ArrayList<>());
+            amendments.put(amendment.getBillId(), amendment);
+        }
+        groupByAmendment(SELECT_BILLS_SAME_AS, params, new BillSameAsRowMapper())
+                .forEach((id, sameAs) -> forAmendment(amendments, id, a -> a.setSameAs(new HashSet<>(sameAs))));
+        groupByAmendment(SELECT_BILLS_COSPONSORS, params, new BillMemberRowMapper(memberService))
+                .forEach((id, coSponsors) -> forAmendment(amendments, id, a -> a.setCoSponsors(coSponsors)));
+        groupByAmendment(SELECT_BILLS_MULTISPONSORS, params, new BillMemberRowMapper(memberService))
+                .forEach((id, multiSponsors) -> forAmendment(amendments, id, a -> a.setMultiSponsors(multiSponsors)));
+        BillVoteRowHandler voteHandler = new BillVoteRowHandler(memberService);
+        jdbcNamed.query(SELECT_BILLS_VOTES.getSql(schema()), params, voteHandler);
+        voteHandler.getBillVotes().stream()
+                .collect(Collectors.groupingBy(BillVote::getBillId))
+                .forEach((id, votes) -> forAmendment(amendments, id, a -> a.setVotesMap(votes)));
+        amendments.values().stream()
+                .collect(Collectors.groupingBy(BillAmendment::getBaseBillId))
+                .forEach((id, billAmendments) -> forBill(bills, id, b -> b.addAmendments(billAmendments)));
+
+        // Fetch the bill level data, defaulting to empty values for bills that have no rows
+        final Map<BaseBillId, EnumMap<Version, PublishStatus>> publishStatuses = new HashMap<>();
+        jdbcNamed.query(SELECT_BILLS_AMEND_PUBLISH_STATUSES.getSql(schema()), params, (RowCallbackHandler) rs -> {
+            PublishStatus pubStatus = new PublishStatus(
+                    rs.getBoolean("published"), getLocalDateTimeFromRs(rs, "effect_date_time"),
+                    rs.getBoolean("override"), rs.getString("notes"));
+            publishStatuses.computeIfAbsent(getBaseBillIdFromRs(rs), id -> new EnumMap<>(Version.class))
+                    .put(Version.of(rs.getString("bill_amend_version")), pubStatus);
+        });
+        final Map<BaseBillId, List<BillSponsor>> sponsors =
+                groupByBill(SELECT_BILLS_SPONSORS, params, new BillSponsorRowMapper(memberService));
+        final Map<BaseBillId, List<SessionMember>> addtlSponsors =
+                groupByBill(SELECT_BILLS_ADDTL_SPONSORS, params, new BillMemberRowMapper(memberService));
+        final Map<BaseBillId, List<BillStatus>> milestones =
+                groupByBill(SELECT_BILLS_MILESTONES, params, new BillMilestoneRowMapper());
+        final Map<BaseBillId, List<BillAction>> actions =
+                groupByBill(SELECT_BILLS_ACTIONS, params, new BillActionRowMapper());
+        final Map<BaseBillId, List<BillId>> directPrevVersions =
+                groupByBill(SELECT_BILLS_PREVIOUS_VERSIONS, params, new BillPreviousVersionRowMapper());
+        final Map<BaseBillId, List<BillId>> allPrevVersions =
+                groupByBill(SELECT_BILLS_ALL_PREVIOUS_VERSIONS, params, new BillPreviousVersionRowMapper());
+        final Map<BaseBillId, List<CommitteeVersionId>> committees =
+                groupByBill(SELECT_BILLS_COMMITTEES, params, new BillCommitteeRowMapper());
+        final Map<BaseBillId, List<CommitteeAgendaId>> committeeAgendas =
+                groupByBill(SELECT_BILLS_COMM_AGENDA_IDS, params, (rs, rowNum) ->
+                        new CommitteeAgendaId(new AgendaId(rs.getInt("agenda_no"), rs.getInt("year")),
+                                new CommitteeId(Chamber.SENATE, rs.getString("committee_name"))));
+        final Map<BaseBillId, List<CalendarId>> calendars =
+                groupByBill(SELECT_BILLS_CALENDAR_IDS, params, (rs, rowNum) ->
+                        new CalendarId(rs.getInt("calendar_no"), rs.getInt("calendar_year")));
+        final Map<BaseBillId, Map<VetoId, VetoMessage>> vetoes = vetoDataService.getBillVetoes(bills.keySet());
+        final Map<BaseBillId, ApprovalMessage> approvals = approvalDataService.getApprovalMessages(bills.keySet());
+
+        for (Bill bill : bills.values()) {
+            BaseBillId id = bill.getBaseBillId();
+            bill.setPublishStatuses(publishStatuses.getOrDefault(id, new EnumMap<>(Version.class)));
+            bill.setSponsor(sponsors.containsKey(id) ? sponsors.get(id).get(0) : null);
+            bill.setAdditionalSponsors(addtlSponsors.getOrDefault(id, new ArrayList<>()));
+            bill.setMilestones(new LinkedList<>(milestones.getOrDefault(id, Collections.emptyList())));
+            bill.setActions(actions.getOrDefault(id, new ArrayList<>()));
+            bill.setDirectPreviousVersion(directPrevVersions.containsKey(id) ? directPrevVersions.get(id).get(0) : null);
+            bill.setAllPreviousVersions(new TreeSet<>(allPrevVersions.getOrDefault(id, Collections.emptyList())));
+            bill.setPastCommittees(new TreeSet<>(committees.getOrDefault(id, Collections.emptyList())));
+            bill.setVetoMessages(vetoes.getOrDefault(id, new HashMap<>()));
+            bill.setApprovalMessage(approvals.get(id));
+            bill.setCommitteeAgendas(committeeAgendas.getOrDefault(id, new ArrayList<>()));
+            bill.setCalendars(calendars.getOrDefault(id, new ArrayList<>()));
+        }
+        return bills;
+    }
+
     /**
      * Get veto memos for the bill
      */
@@ -417,7 +604,7 @@ public class SqlBillDao extends SqlBaseDao implements BillDao {
     /**
      * Updates the bill's same as set.
      */
-    protected void updateBillSameAs(BillAmendment amendment, SobiFragment sobiFragment, ImmutableParams amendParams) {
+    protected void updateBillSameAs(BillAmendment amendment, SobiFragment sobiFragment, ImmutableParams amendParams, SqlBatchUpdate batch) {
         Set<BillId> existingSameAs = getSameAsBills(amendParams);
         if (!existingSameAs.equals(amendment.getSameAs())) {
             Set<BillId> newSameAs = new HashSet<>(amendment.getSameAs());
@@ -425,11 +612,11 @@ public class SqlBillDao extends SqlBaseDao implements BillDao {
             existingSameAs.removeAll(amendment.getSameAs()); // Old same as bill ids to delete
             existingSameAs.forEach(billId -> {
                 ImmutableParams sameAsParams = ImmutableParams.from(getBillSameAsParams(amendment, billId, sobiFragment));
-                jdbcNamed.update(SqlBillQuery.DELETE_SAME_AS.getSql(schema()), sameAsParams);
+                batch.add(DELETE_SAME_AS, sameAsParams);
             });
             newSameAs.forEach(billId -> {
                 ImmutableParams sameAsParams = ImmutableParams.from(getBillSameAsParams(amendment, billId, sobiFragment));
-                jdbcNamed.update(SqlBillQuery.INSERT_BILL_SAME_AS.getSql(schema()), sameAsParams);
+                batch.add(INSERT_BILL_SAME_AS, sameAsParams);
             });
         }
     }
@@ -437,7 +624,7 @@ public class SqlBillDao extends SqlBaseDao implements BillDao {
     /**
      * Updates the bill's action list into the database.
      */
-    protected void updateActions(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams) {
+    protected void updateActions(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams, SqlBatchUpdate batch) {
         List<BillAction> existingBillActions = getBillActions(billParams);
         List<BillAction> newBillActions = new ArrayList<>(bill.getActions());
         newBillActions.removeAll(existingBillActions);    // New actions to insert
@@ -445,12 +632,12 @@ public class SqlBillDao extends SqlBaseDao implements BillDao {
         // Delete actions that are not in the updated list
         for (BillAction action : existingBillActions) {
             MapSqlParameterSource actionParams = getBillActionParams(action, sobiFragment);
-            jdbcNamed.update(SqlBillQuery.DELETE_BILL_ACTION.getSql(schema()), actionParams);
+            batch.add(DELETE_BILL_ACTION, actionParams);
         }
         // Insert all new actions
         for (BillAction action : newBillActions) {
             MapSqlParameterSource actionParams = getBillActionParams(action, sobiFragment);
-            jdbcNamed.update(SqlBillQuery.INSERT_BILL_ACTION.getSql(schema()), actionParams);
+            batch.add(INSERT_BILL_ACTION, actionParams);
         }
     }
 
@@ -474,7 +661,7 @@ public class SqlBillDao extends SqlBaseDao implements BillDao {
     /**
      * Update the bill's previous committee set.
      */
-    protected void updateBillCommittees(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams) {
+    protected void updateBillCommittees(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams, SqlBatchUpdate batch) {
         Set<CommitteeVersionId> existingComms = getBillCommittees(billParams);
         if (!existingComms.equals(bill.getPastCommittees())) {
             Set<CommitteeVersionId> newComms = new HashSet<>(bill.getPastCommittees());
@@ -482,11 +669,11 @@ public class SqlBillDao extends SqlBaseDao implements BillDao {
             existingComms.removeAll(bill.getPastCommittees()); // Old committees to delete
             existingComms.forEach(cvid -> {
                 ImmutableParams commParams = ImmutableParams.from(getBillCommitteeParams(bill, cvid, sobiFragment));
-                jdbcNamed.update(SqlBillQuery.DELETE_BILL_COMMITTEE.getSql(schema()), commParams);
+                batch.add(DELETE_BILL_COMMITTEE, commParams);
             });
             newComms.forEach(cvid -> {
                 ImmutableParams commParams = ImmutableParams.from(getBillCommitteeParams(bill, cvid, sobiFragment));
-                jdbcNamed.update(SqlBillQuery.INSERT_BILL_COMMITTEE.getSql(schema()), commParams);
+                batch.add(INSERT_BILL_COMMITTEE, commParams);
             });
         }
     }
@@ -525,17 +712,16 @@ public class SqlBillDao extends SqlBaseDao implements BillDao {
     /**
      * Update the bill milestones list.
      */
-    protected void updateBillMilestones(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams) {
+    protected void updateBillMilestones(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams, SqlBatchUpdate batch) {
         List<BillStatus> existingMilestones = getBillMilestones(billParams);
         List<BillStatus> newMilestones = bill.getMilestones();
         // If old list is not the same as the new list, wipe the old and insert the new. We won't
         // need to keep track of updates for this, so no reason to be precise like cosponsors for example.
         if (!existingMilestones.equals(newMilestones)) {
-            jdbcNamed.update(SqlBillQuery.DELETE_BILL_MILESTONES.getSql(schema()), billParams);
+            batch.add(DELETE_BILL_MILESTONES, billParams);
             int rank = 1;
             for (BillStatus status : newMilestones) {
-                jdbcNamed.update(SqlBillQuery.INSERT_BILL_MILESTONE.getSql(schema()),
-                        getMilestoneParams(bill, status, rank++, sobiFragment));
+                batch.add(INSERT_BILL_MILESTONE, getMilestoneParams(bill, status, rank++, sobiFragment));
             }
         }
     }
@@ -543,7 +729,7 @@ public class SqlBillDao extends SqlBaseDao implements BillDao {
     /**
      * Update the bill's amendment publish statuses.
      */
-    protected void updateBillAmendPublishStatus(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams) {
+    protected void updateBillAmendPublishStatus(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams, SqlBatchUpdate batch) {
         Map<Version, PublishStatus> existingPubStatus = getBillAmendPublishStatuses(billParams);
         Map<Version, PublishStatus> newPubStatus = bill.getAmendPublishStatusMap();
         MapDifference<Version, PublishStatus> diff = Maps.difference(existingPubStatus, newPubStatus);
@@ -554,27 +740,27 @@ public class SqlBillDao extends SqlBaseDao implements BillDao {
                         : LocalDateTime.now();
                 PublishStatus unPubStatus = new PublishStatus(false, dateTime, false, "No longer referenced");
                 MapSqlParameterSource params = getBillPublishStatusParams(bill, version, unPubStatus, sobiFragment);
-                jdbcNamed.update(SqlBillQuery.UPDATE_BILL_AMEND_PUBLISH_STATUS.getSql(schema()), params);
+                batch.add(UPDATE_BILL_AMEND_PUBLISH_STATUS, params);
             }
         });
         // Update changed publish statuses if the existing is not an override
         diff.entriesDiffering().forEach((version, pubStatus) -> {
             if (!pubStatus.leftValue().isOverride()) {
                 MapSqlParameterSource params = getBillPublishStatusParams(bill, version, pubStatus.rightValue(), sobiFragment);
-                jdbcNamed.update(SqlBillQuery.UPDATE_BILL_AMEND_PUBLISH_STATUS.getSql(schema()), params);
+                batch.add(UPDATE_BILL_AMEND_PUBLISH_STATUS, params);
             }
         });
         // Insert new publish statuses
         diff.entriesOnlyOnRight().forEach((version, pubStatus) -> {
             MapSqlParameterSource params = getBillPublishStatusParams(bill, version, pubStatus, sobiFragment);
-            jdbcNamed.update(SqlBillQuery.INSERT_BILL_AMEND_PUBLISH_STATUS.getSql(schema()), params);
+            batch.add(INSERT_BILL_AMEND_PUBLISH_STATUS, params);
         });
     }
 
     /**
      * Update the bill's co sponsor list by deleting, inserting, and updating as needed.
      */
-    protected void updateBillCosponsor(BillAmendment billAmendment, SobiFragment sobiFragment, ImmutableParams amendParams) {
+    protected void updateBillCosponsor(BillAmendment billAmendment, SobiFragment sobiFragment, ImmutableParams amendParams, SqlBatchUpdate batch) {
         List<Integer> existingCoSponsorIds = getCoSponsorIds(amendParams);
         List<Integer> newCoSponsorIds = billAmendment.getCoSponsors().stream()
                 .map(SessionMember::getSessionMemberId)
@@ -583,26 +769,26 @@ public class SqlBillDao extends SqlBaseDao implements BillDao {
         // Delete old cosponsors
         diff.entriesOnlyOnLeft().forEach((smid,ordinal) -> {
             ImmutableParams cspParams = amendParams.add(new MapSqlParameterSource("sessionMemberId", smid));
-            jdbcNamed.update(SqlBillQuery.DELETE_BILL_COSPONSOR.getSql(schema()), cspParams);
+            batch.add(DELETE_BILL_COSPONSOR, cspParams);
         });
         // Update re-ordered cosponsors
         diff.entriesDiffering().forEach((smid,ordinal) -> {
             ImmutableParams cspParams = ImmutableParams.from(
                 getCoMultiSponsorParams(billAmendment, smid, ordinal.rightValue(),sobiFragment));
-            jdbcNamed.update(SqlBillQuery.UPDATE_BILL_COSPONSOR.getSql(schema()), cspParams);
+            batch.add(UPDATE_BILL_COSPONSOR, cspParams);
         });
         // Insert new cosponsors
         diff.entriesOnlyOnRight().forEach((smid,ordinal) -> {
             ImmutableParams cspParams = ImmutableParams.from(
                 getCoMultiSponsorParams(billAmendment, smid, ordinal,sobiFragment));
-            jdbcNamed.update(SqlBillQuery.INSERT_BILL_COSPONSOR.getSql(schema()), cspParams);
+            batch.add(INSERT_BILL_COSPONSOR, cspParams);
         });
     }
 
     /**
      * Update the bill's multi-sponsor list by deleting, inserting, and updating as needed.
      */
-    protected void updateBillMultiSponsor(BillAmendment billAmendment, SobiFragment sobiFragment, ImmutableParams amendParams) {
+    protected void updateBillMultiSponsor(BillAmendment billAmendment, SobiFragment sobiFragment, ImmutableParams amendParams, SqlBatchUpdate batch) {
         List<Integer> existingMultiSponsorIds = getMultiSponsorIds(amendParams);
         List<Integer> newMultiSponsorIds = billAmendment.getMultiSponsors().stream()
                 .map(SessionMember::getSessionMemberId)
@@ -611,26 +797,26 @@ public class SqlBillDao extends SqlBaseDao implements BillDao {
         // Delete old multisponsors
         diff.entriesOnlyOnLeft().forEach((smid,ordinal) -> {
             ImmutableParams mspParams = amendParams.add(new MapSqlParameterSource("sessionMemberId", smid));
-            jdbcNamed.update(SqlBillQuery.DELETE_BILL_MULTISPONSOR.getSql(schema()), mspParams);
+            batch.add(DELETE_BILL_MULTISPONSOR, mspParams);
         });
         // Update re-ordered multisponsors
         diff.entriesDiffering().forEach((smid,ordinal) -> {
             ImmutableParams mspParams = ImmutableParams.from(
                 getCoMultiSponsorParams(billAmendment, smid, ordinal.rightValue(),sobiFragment));
-            jdbcNamed.update(SqlBillQuery.UPDATE_BILL_MULTISPONSOR.getSql(schema()), mspParams);
+            batch.add(UPDATE_BILL_MULTISPONSOR, mspParams);
         });
         // Insert new multisponsors
         diff.entriesOnlyOnRight().forEach((smid,ordinal) -> {
             ImmutableParams mspParams = ImmutableParams.from(
                 getCoMultiSponsorParams(billAmendment, smid, ordinal,sobiFragment));
-            jdbcNamed.update(SqlBillQuery.INSERT_BILL_MULTISPONSOR.getSql(schema()), mspParams);
+            batch.add(INSERT_BILL_MULTISPONSOR, mspParams);
         });
     }
 
     /**
      * Update the bill amendment's list of votes.
      */
-    protected void updateBillVotes(BillAmendment billAmendment, SobiFragment sobiFragment, ImmutableParams amendParams) {
+    protected void updateBillVotes(BillAmendment billAmendment, SobiFragment sobiFragment, ImmutableParams amendParams, SqlBatchUpdate batch) {
         List<BillVote> existingBillVotes = getBillVotes(amendParams);
         List<BillVote> newBillVotes = new ArrayList<>(billAmendment.getVotesList());
         newBillVotes.removeAll(existingBillVotes);
@@ -638,18 +824,20 @@ public class SqlBillDao extends SqlBaseDao implements BillDao {
         // Delete all outdated votes
         for (BillVote billVote : existingBillVotes) {
             MapSqlParameterSource voteInfoParams = getBillVoteInfoParams(billAmendment, billVote, sobiFragment);
-            jdbcNamed.update(SqlBillQuery.DELETE_BILL_VOTES_INFO.getSql(schema()), voteInfoParams);
+            batch.add(DELETE_BILL_VOTES_INFO, voteInfoParams);
         }
         // Insert the new/updated votes
         for (BillVote billVote : newBillVotes) {
             MapSqlParameterSource voteParams = getBillVoteInfoParams(billAmendment, billVote, sobiFragment);
-            jdbcNamed.update(SqlBillQuery.INSERT_BILL_VOTES_INFO.getSql(schema()), voteParams);
+            batch.add(INSERT_BILL_VOTES_INFO, voteParams);
             for (BillVoteCode voteCode : billVote.getMemberVotes().keySet()) {
-                voteParams.addValue("voteCode", voteCode.name().toLowerCase());
                 for (SessionMember member : billVote.getMembersByVote(voteCode)) {
-                    voteParams.addValue("sessionMemberId", member.getSessionMemberId());
-                    voteParams.addValue("memberShortName", member.getLbdcShortName());
-                    jdbcNamed.update(SqlBillQuery.INSERT_BILL_VOTES_ROLL.getSql(schema()), voteParams);
+                    // Each batched roll entry needs its own copy of the params
+                    MapSqlParameterSource rollParams = new MapSqlParameterSource(voteParams.getValues())
+                            .addValue("voteCode", voteCode.name().toLowerCase())
+                            .addValue("sessionMemberId", member.getSessionMemberId())
+                            .addValue("memberShortName", member.getLbdcShortName());
+                    batch.add(INSERT_BILL_VOTES_ROLL, rollParams);
                 }
             }
         }
@@ -675,6 +863,82 @@ public class SqlBillDao extends SqlBaseDao implements BillDao {
 
     /* --- Helper Classes --- */
 
+    /**
+     * Get the content hashes stored on the bill record. Returns an empty map if the bill does not exist yet.
+     */
+    private Map<BillContentHashType, String> getBillContentHashes(ImmutableParams baseParams) {
+        EnumMap<BillContentHashType, String> hashes = new EnumMap<>(BillContentHashType.class);
+        jdbcNamed.query(SqlBillQuery.SELECT_BILL_CONTENT_HASHES.getSql(schema()), baseParams, (ResultSet rs) -> {
+            for (BillContentHashType type : BillContentHashType.values()) {
+                if (!type.isAmendmentLevel() && rs.getString(type.getColumn()) != null) {
+                    hashes.put(type, rs.getString(type.getColumn()));
+                }
+            }
+        });
+        return hashes;
+    }
+
+    /**
+     * Get the content hashes stored on each of the bill's amendment records, keyed by version.
+     */
+    private Map<Version, Map<BillContentHashType, String>> getBillAmendmentContentHashes(ImmutableParams baseParams) {
+        EnumMap<Version, Map<BillContentHashType, String>> hashes = new EnumMap<>(Version.class);
+        jdbcNamed.query(SqlBillQuery.SELECT_BILL_AMENDMENT_CONTENT_HASHES.getSql(schema()), baseParams, (ResultSet rs) -> {
+            EnumMap<BillContentHashType, String> amendHashes = new EnumMap<>(BillContentHashType.class);
+            for (BillContentHashType type : BillContentHashType.values()) {
+                if (type.isAmendmentLevel() && rs.getString(type.getColumn()) != null) {
+                    amendHashes.put(type, rs.getString(type.getColumn()));
+                }
+            }
+            hashes.put(Version.of(rs.getString("bill_amend_version")), amendHashes);
+        });
+        return hashes;
+    }
+
+    /**
+     * Runs a bulk query and groups the mapped rows by the base bill id of each row, preserving row order.
+     */
+    private <T> Map<BaseBillId, List<T>> groupByBill(SqlBillQuery query, SqlParameterSource params,
+                                                     RowMapper<T> rowMapper) {
+        Map<BaseBillId, List<T>> results = new HashMap<>();
+        jdbcNamed.query(query.getSql(schema()), params, (RowCallbackHandler) rs ->
+                results.computeIfAbsent(getBaseBillIdFromRs(rs), id -> new ArrayList<>())
+                        .add(rowMapper.mapRow(rs, rs.getRow())));
+        return results;
+    }
+
+    /**
+     * Runs a bulk query and groups the mapped rows by the amendment bill id of each row, preserving row order.
+     */
+    private <T> Map<BillId, List<T>> groupByAmendment(SqlBillQuery query, SqlParameterSource params,
+                                                      RowMapper<T> rowMapper) {
+        Map<BillId, List<T>> results = new HashMap<>();
+        jdbcNamed.query(query.getSql(schema()), params, (RowCallbackHandler) rs ->
+                results.computeIfAbsent(new BillId(rs.getString("bill_print_no"), rs.getInt("bill_session_year"),
+                                                   rs.getString("bill_amend_version")), id -> new ArrayList<>())
+                        .add(rowMapper.mapRow(rs, rs.getRow())));
+        return results;
+    }
+
+    private static void forAmendment(Map<BillId, BillAmendment> amendments, BillId amendmentId,
+                                     Consumer<BillAmendment> action) {
+        BillAmendment amendment = amendments.get(amendmentId);
+        if (amendment != null) {
+            action.accept(amendment);
+        }
+    }
+
+    private static void forBill(Map<BaseBillId, Bill> bills, BaseBillId billId, Consumer<Bill> action) {
+        Bill bill = bills.get(billId);
+        if (bill != null) {
+            action.accept(bill);
+        }
+    }
+
+    private static BaseBillId getBaseBillIdFromRs(ResultSet rs) throws SQLException {
+        return new BaseBillId(rs.getString("bill_print_no"), rs.getInt("bill_session_year"));
+    }
+
     private List<Integer> getCoSponsorIds(SqlParameterSource params) {
         return jdbcNamed.query(SqlBillQuery.SELECT_BILL_COSPONSORS.getSql(schema()), params,
                 (rs, rowNum) -> rs.getInt("session_member_id"));
@@ -771,6 +1035,17 @@ public class SqlBillDao extends SqlBaseDao implements BillDao {
         }
     }
 
+    private static class BillMilestoneRowMapper implements RowMapper<BillStatus> {
+        @Override
+        public BillStatus mapRow(ResultSet rs, int rowNum) throws SQLException {
+            BillStatus status = new BillStatus(BillStatusType.valueOf(rs.getString("status")), getLocalDateFromRs(rs, "date"));
+            status.setActionSequenceNo(rs.getInt("action_sequence_no"));
+            status.setCommitteeId(getCommitteeIdFromRs(rs));
+            status.setCalendarNo((rs.getInt("cal_no") != 0) ? rs.getInt("cal_no") : null);
+            return status;
+        }
+    }
+
     private static class BillSameAsRowMapper implements RowMapper<BillId> {
         @Override
         public BillId mapRow(ResultSet rs, int rowNum) throws SQLException {
@@ -862,7 +1137,8 @@ public class SqlBillDao extends SqlBaseDao implements BillDao {
      * Returns a MapSqlParameterSource with columns mapped to Bill values for use in update/insert queries on
      * the bill table.
      */
-    private static MapSqlParameterSource getBillParams(Bill bill, SobiFragment fragment) {
+    private static MapSqlParameterSource getBillParams(Bill bill, Map<BillContentHashType, String> hashes,
+                                                       SobiFragment fragment) {
         MapSqlParameterSource params = new MapSqlParameterSource();
         addBillIdParams(bill, params);
         params.addValue("title", bill.getTitle())
@@ -882,6 +1158,7 @@ public class SqlBillDao extends SqlBaseDao implements BillDao {
                 .addValue("reprintOf", bill.getReprintOf() != null ? bill.getReprintOf().getBasePrintNo() : null)
                 .addValue("subPrintNo", bill.getSubstitutedBy() != null ? bill.getSubstitutedBy().getBasePrintNo() : null);
         addModPubDateParams(bill.getModifiedDateTime(), bill.getPublishedDateTime(), params);
+        addContentHashParams(hashes, false, params);
         addLastFragmentParam(fragment, params);
         return params;
     }
@@ -890,7 +1167,9 @@ public class SqlBillDao extends SqlBaseDao implements BillDao {
      * Returns a MapSqlParameterSource with columns mapped to BillAmendment values for use in update/insert
      * queries on the bill amendment table.
      */
-    private static MapSqlParameterSource getBillAmendmentParams(BillAmendment amendment, SobiFragment fragment) {
+    private static MapSqlParameterSource getBillAmendmentParams(BillAmendment amendment,
+                                                                Map<BillContentHashType, String> hashes,
+                                                                SobiFragment fragment) {
         MapSqlParameterSource params = new MapSqlParameterSource();
         addBillIdParams(amendment, params);
         params.addValue("sponsorMemo", amendment.getMemo())
@@ -901,10 +1180,20 @@ public class SqlBillDao extends SqlBaseDao implements BillDao {
                 .addValue("lawSection", amendment.getLawSection())
                 .addValue("lawCode", amendment.getLaw())
                 .addValue("uniBill", amendment.isUniBill());
+        addContentHashParams(hashes, true, params);
         addLastFragmentParam(fragment, params);
         return params;
     }
 
+    private static void addContentHashParams(Map<BillContentHashType, String> hashes, boolean amendmentLevel,
+                                             MapSqlParameterSource params) {
+        for (BillContentHashType type : BillContentHashType.values()) {
+            if (type.isAmendmentLevel() == amendmentLevel) {
+                params.addValue(type.getParamName(), hashes.get(type));
+            }
+        }
+    }
+
     private static MapSqlParameterSource getBillPublishStatusParams(Bill bill, Version version, PublishStatus pubStatus,
                                                                     SobiFragment fragment) {
         MapSqlParameterSource params = new MapSqlParameterSource();
@@ -28,17 +28,27 @@ public enum SqlBillQuery implements BasicSqlQuery
         "    status = :status, status_date = :statusDate, committee_name = :committeeName, " +
         "    committee_chamber = :committeeChamber::chamber, bill_cal_no = :billCalNo, blurb = :blurb, "  +
         "    modified_date_time = :modifiedDateTime, published_date_time = :publishedDateTime, last_fragment_id = :lastFragmentId, " +
-        "    reprint_no = :reprintOf \n" +
+        "    reprint_no = :reprintOf, publish_status_hash = :publishStatusHash, milestones_hash = :milestonesHash,\n" +
+        "    actions_hash = :actionsHash, committees_hash = :committeesHash, veto_messages_hash = :vetoMessagesHash,\n" +
+        "    approval_message_hash = :approvalMessageHash\n" +
         "WHERE bill_print_no = :printNo AND bill_session_year = :sessionYear"
     ),
     INSERT_BILL(
         "INSERT INTO ${schema}." + SqlTable.BILL + "\n" +
         "(bill_print_no, bill_session_year, title, summary, active_version, active_year, sub_bill_print_no, " +
         " program_info, program_info_num, status, status_date, committee_name, committee_chamber, bill_cal_no, blurb," +
-        " modified_date_time, published_date_time, last_fragment_id, reprint_no) \n" +
+        " modified_date_time, published_date_time, last_fragment_id, reprint_no, publish_status_hash, milestones_hash,\n" +
+        " actions_hash, committees_hash, veto_messages_hash, approval_message_hash) \n" +
         "VALUES (:printNo, :sessionYear, :title, :summary, :activeVersion, :activeYear, :subPrintNo, " +
         "        :programInfo, :programInfoNum, :status, :statusDate, :committeeName, :committeeChamber::chamber, :billCalNo, :blurb," +
-        "        :modifiedDateTime, :publishedDateTime, :lastFragmentId, :reprintOf)"
+        "        :modifiedDateTime, :publishedDateTime, :lastFragmentId, :reprintOf, :publishStatusHash, :milestonesHash,\n" +
+        "        :actionsHash, :committeesHash, :vetoMessagesHash, :approvalMessageHash)"
+    ),
+    SELECT_BILL_CONTENT_HASHES(
+        "SELECT publish_status_hash, milestones_hash, actions_hash, committees_hash, veto_messages_hash,\n" +
+        "       approval_message_hash\n" +
+        "FROM ${schema}." + SqlTable.BILL + "\n" +
+        "WHERE bill_print_no = :printNo AND bill_session_year = :sessionYear"
     ),
     ACTIVE_SESSION_YEARS(
         "SELECT min(bill_session_year) as min, max(bill_session_year) as max\n" +
@@ -103,15 +113,24 @@ public enum SqlBillQuery implements BasicSqlQuery
         "SET sponsor_memo = :sponsorMemo, act_clause = :actClause,\n" +
         "    full_text = :fullText, full_text_html = :fullTextHtml,\n" +
         "    stricken = :stricken, uni_bill = :uniBill, last_fragment_id = :lastFragmentId,\n" +
-        "    law_section = :lawSection, law_code = :lawCode\n" +
+        "    law_section = :lawSection, law_code = :lawCode,\n" +
+        "    same_as_hash = :sameAsHash, cosponsors_hash = :cosponsorsHash, multisponsors_hash = :multisponsorsHash,\n" +
+        "    votes_hash = :votesHash\n" +
         "WHERE bill_print_no = :printNo AND bill_session_year = :sessionYear AND bill_amend_version = :version"
     ),
     INSERT_BILL_AMENDMENT(
         "INSERT INTO ${schema}." + SqlTable.BILL_AMENDMENT + "\n" +
         "(bill_print_no, bill_session_year, bill_amend_version, sponsor_memo, act_clause, full_text, full_text_html,\n" +
-        "    stricken, uni_bill, last_fragment_id, law_section, law_code)\n" +
+        "    stricken, uni_bill, last_fragment_id, law_section, law_code,\n" +
+        "    same_as_hash, cosponsors_hash, multisponsors_hash, votes_hash)\n" +
         "VALUES(:printNo, :sessionYear, :version, :sponsorMemo, :actClause, :fullText, :fullTextHtml,\n" +
-        "    :stricken, :uniBill, :lastFragmentId, :lawSection, :lawCode)"
+        "    :stricken, :uniBill, :lastFragmentId, :lawSection, :lawCode,\n" +
+        "    :sameAsHash, :cosponsorsHash, :multisponsorsHash, :votesHash)"
+    ),
+    SELECT_BILL_AMENDMENT_CONTENT_HASHES(
+        "SELECT bill_amend_version, same_as_hash, cosponsors_hash, multisponsors_hash, votes_hash\n" +
+        "FROM ${schema}." + SqlTable.BILL_AMENDMENT + "\n" +
+        "WHERE bill_print_no = :printNo AND bill_session_year = :sessionYear"
     ),
     SELECT_EMPTY_TEXT_BUDGET_BILL_PRINT_NOS (
             "SELECT a.bill_print_no, a.bill_session_year, a.bill_amend_version\n" +
@@ -359,6 +378,101 @@ public enum SqlBillQuery implements BasicSqlQuery
         "FROM ${schema}." + SqlTable.CALENDAR_SUP_ENTRY + " cse\n" +
         "JOIN ${schema}." + SqlTable.CALENDAR_SUPPLEMENTAL + " cs ON cse.calendar_sup_id = cs.id\n" +
         "WHERE bill_print_no = :printNo AND bill_session_year = :sessionYear"
+    ),
+
+    /** --- Bulk Bill Retrieval ---
+     *  These queries fetch the data for many bills at once, where :billIds is a list of
+     *  (bill_print_no, bill_session_year) tuples. */
+
+    SELECT_BILLS(
+        "SELECT * FROM ${schema}." + SqlTable.BILL + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILLS_AMENDMENTS_TEMPLATE(
+        "SELECT bill_print_no, bill_session_year, bill_amend_version,\n" +
+        "       sponsor_memo, act_clause, stricken, uni_bill, law_section, law_code\n" +
+        "       ${fullTextFields}\n" +
+        "FROM ${schema}." + SqlTable.BILL_AMENDMENT + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILLS_AMEND_PUBLISH_STATUSES(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT_PUBLISH_STATUS + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILLS_SPONSORS(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_SPONSOR + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILLS_ADDTL_SPONSORS(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_ADDITIONAL_SPONSOR + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)\n" +
+        "ORDER BY sequence_no ASC"
+    ),
+    SELECT_BILLS_COSPONSORS(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT_COSPONSOR + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)\n" +
+        "ORDER BY sequence_no ASC"
+    ),
+    SELECT_BILLS_MULTISPONSORS(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT_MULTISPONSOR + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)\n" +
+        "ORDER BY sequence_no ASC"
+    ),
+    SELECT_BILLS_VOTES(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT_VOTE_INFO + " info \n" +
+        "JOIN ${schema}." + SqlTable.BILL_AMENDMENT_VOTE_ROLL + " roll ON info.id = roll.vote_id\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILLS_ACTIONS(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT_ACTION + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)\n" +
+        "ORDER BY sequence_no ASC"
+    ),
+    SELECT_BILLS_SAME_AS(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT_SAME_AS + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILLS_COMMITTEES(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_COMMITTEE + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILLS_PREVIOUS_VERSIONS(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_PREVIOUS_VERSION + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)\n" +
+        "ORDER BY prev_bill_session_year DESC"
+    ),
+    SELECT_BILLS_ALL_PREVIOUS_VERSIONS(
+        "WITH RECURSIVE prev_version(root_print_no, root_session_year, bill_id, amend_version, session_year) AS ( \n" +
+        "    SELECT bill_print_no, bill_session_year, prev_bill_print_no, prev_amend_version, prev_bill_session_year \n" +
+        "    FROM ${schema}.bill_previous_version \n" +
+        "    WHERE (bill_print_no, bill_session_year) IN (:billIds) \n" +
+        "    UNION \n" +
+        "    SELECT root_print_no, root_session_year, prev_bill_print_no, prev_amend_version, prev_bill_session_year \n" +
+        "    FROM prev_version, ${schema}.bill_previous_version \n" +
+        "    WHERE bill_print_no = bill_id AND bill_session_year = session_year) \n" +
+        "SELECT root_print_no AS bill_print_no, root_session_year AS bill_session_year, \n" +
+        "       bill_id AS prev_bill_print_no, amend_version AS prev_amend_version, " +
+        "       session_year AS prev_bill_session_year \n" +
+        "FROM prev_version"
+    ),
+    SELECT_BILLS_MILESTONES(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_MILESTONE + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)\n" +
+        "ORDER BY rank ASC"
+    ),
+    SELECT_BILLS_COMM_AGENDA_IDS(
+        "SELECT aici.bill_print_no, aici.bill_session_year, aic.agenda_no, aic.year, aic.committee_name \n" +
+        "FROM ${schema}." + SqlTable.AGENDA_INFO_COMMITTEE_ITEM + " aici\n" +
+        "JOIN ${schema}." + SqlTable.AGENDA_INFO_COMMITTEE + " aic ON aici.info_committee_id = aic.id\n" +
+        "WHERE (aici.bill_print_no, aici.bill_session_year) IN (:billIds)\n" +
+        "ORDER BY aic.meeting_date_time ASC"
+    ),
+    SELECT_BILLS_CALENDAR_IDS(
+        "SELECT cse.bill_print_no, cse.bill_session_year, cs.calendar_no, cs.calendar_year \n" +
+        "FROM ${schema}." + SqlTable.CALENDAR_SUP_ENTRY + " cse\n" +
+        "JOIN ${schema}." + SqlTable.CALENDAR_SUPPLEMENTAL + " cs ON cse.calendar_sup_id = cs.id\n" +
+        "WHERE (cse.bill_print_no, cse.bill_session_year) IN (:billIds)\n" +
+        "ORDER BY cs.calendar_year ASC, cs.calendar_no ASC"
     );
 
     private String sql;
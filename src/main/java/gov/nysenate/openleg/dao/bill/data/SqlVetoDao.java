@@ -19,6 +19,7 @@ import org.springframework.stereotype.Repository;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -51,6 +52,25 @@ public class SqlVetoDao extends SqlBaseDao implements VetoDao
         return vetoMap;
     }
 
+    /** @inheritDoc */
+    @Override
+    public Map<BaseBillId, Map<VetoId,VetoMessage>> getBillVetoes(Collection<BaseBillId> baseBillIds)
+            throws DataAccessException {
+        Map<BaseBillId, Map<VetoId,VetoMessage>> vetoMaps = new HashMap<>();
+        if (baseBillIds.isEmpty()) {
+            return vetoMaps;
+        }
+        OrderBy orderBy = new OrderBy("year", SortOrder.ASC, "veto_number", SortOrder.ASC);
+        List<VetoMessage> vetoMessageList = jdbcNamed.query(
+            SqlVetoQuery.SELECT_VETOES_FOR_BILLS_SQL.getSql(schema(), orderBy, LimitOffset.ALL),
+            getBaseBillIdsParams(baseBillIds), new VetoRowMapper());
+        for (VetoMessage vetoMessage : vetoMessageList) {
+            vetoMaps.computeIfAbsent(BaseBillId.of(vetoMessage.getBillId()), id -> new HashMap<>())
+                    .put(vetoMessage.getVetoId(), vetoMessage);
+        }
+        return vetoMaps;
+    }
+
     /** @inheritDoc */
     @Override
     public void updateVetoMessage(VetoMessage vetoMessage, SobiFragment sobiFragment) throws DataAccessException {
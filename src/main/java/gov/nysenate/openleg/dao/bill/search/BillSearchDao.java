@@ -1,5 +1,6 @@
 package gov.nysenate.openleg.dao.bill.search;
 
+import gov.nysenate.openleg.client.view.bill.BillView;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.Bill;
@@ -43,6 +44,14 @@ public interface BillSearchDao
      */
     public void updateBillIndex(Collection<Bill> bills);
 
+    /**
+     * Updates the bill index with the supplied bill views using a single bulk request.
+     * The views must have been created from bills that only have plain text loaded.
+     *
+     * @param billViews Collection<BillView>
+     */
+    public void indexBillViews(Collection<BillView> billViews);
+
     /**
      * Removes the bill from the search index with the given id.
      *
@@ -1,6 +1,12 @@
 package gov.nysenate.openleg.dao.bill.search;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
+import gov.nysenate.openleg.client.view.bill.BillInfoView;
 import gov.nysenate.openleg.client.view.bill.BillView;
 import gov.nysenate.openleg.dao.base.ElasticBaseDao;
 import gov.nysenate.openleg.dao.base.LimitOffset;
@@ -8,6 +14,7 @@ import gov.nysenate.openleg.dao.base.SearchIndex;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.Bill;
 import gov.nysenate.openleg.model.search.SearchResults;
+import gov.nysenate.openleg.util.OutputUtils;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.index.query.QueryBuilder;
@@ -17,16 +24,14 @@ import org.elasticsearch.search.rescore.RescorerBuilder;
 import org.elasticsearch.search.sort.SortBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 import org.springframework.web.context.request.WebRequest;
 
-import java.time.Duration;
-import java.time.LocalDateTime;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.stream.Collectors;
 
 import static gov.nysenate.openleg.model.bill.BillTextFormat.PLAIN;
 
@@ -39,17 +44,13 @@ public class ElasticBillSearchDao extends ElasticBaseDao implements BillSearchDa
 
     private static final int billMaxResultWindow = 500000;
 
-    /** Period for running the reindex janitor in ms */
-    private static final long reindexJanitorInterval = 300000;
+    /** The field containing the stored bill info view of each bill. */
+    public static final String INFO_VIEW_FIELD = "infoView";
 
-    /** Lock that controls access to lastReindexRequest variable */
-    private static final Object indexRefreshLock = new Object();
+    private static final TypeReference<Map<String, Object>> infoViewType = new TypeReference<Map<String, Object>>() {};
 
-    /** Date that is set while reindexing is occurring, used to ensure that index refreshing isn't disabled indefinitely */
-    private static volatile LocalDateTime lastReindexRequest = LocalDateTime.MIN;
-
-    /** The amount of time allowed after the last reindex request before index refreshing is reenabled */
-    private static final Duration lastReindexTimeoutDuration = Duration.ofMinutes(15);
+    /** If true, a bill info view is stored with each indexed bill and returned with search results. */
+    @Value("${bill.search.source.views:true}") private boolean storeInfoViews;
 
     protected static final List<HighlightBuilder.Field> highlightedFields =
         Arrays.asList(new HighlightBuilder.Field("basePrintNo").numOfFragments(0),
@@ -60,6 +61,11 @@ public class ElasticBillSearchDao extends ElasticBaseDao implements BillSearchDa
     @Override
     public SearchResults<BaseBillId> searchBills(QueryBuilder query, QueryBuilder postFilter, RescorerBuilder rescorer,
                                                  List<SortBuilder> sort, LimitOffset limOff) {
+        if (storeInfoViews) {
+            return search(billIndexName, query, postFilter,
+                    highlightedFields, rescorer, sort, limOff,
+                    new String[]{INFO_VIEW_FIELD}, this::getBaseBillIdFromHit);
+        }
         return search(billIndexName, query, postFilter,
                 highlightedFields, rescorer, sort, limOff,
                 false, this::getBaseBillIdFromHit);
@@ -74,11 +80,18 @@ public class ElasticBillSearchDao extends ElasticBaseDao implements BillSearchDa
     /** {@inheritDoc} */
     @Override
     public void updateBillIndex(Collection<Bill> bills) {
-        BulkRequest bulkRequest = new BulkRequest();
-        bills.stream()
+        indexBillViews(bills.stream()
                 .map(this::stripNonPlainText)
                 .map(BillView::new)
-                .map(bv -> getJsonIndexRequest(billIndexName, toElasticId(bv.toBaseBillId()), bv))
+                .collect(Collectors.toList()));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void indexBillViews(Collection<BillView> billViews) {
+        BulkRequest bulkRequest = new BulkRequest();
+        billViews.stream()
+                .map(bv -> getJsonIndexRequest(billIndexName, toElasticId(bv.toBaseBillId()), toIndexDocument(bv)))
                 .forEach(bulkRequest::add);
         safeBulkRequestExecute(bulkRequest);
     }
@@ -92,56 +105,6 @@ public class ElasticBillSearchDao extends ElasticBaseDao implements BillSearchDa
         }
     }
 
-    /**
-     * Sets up for reindexing by disabling index refresh.
-     */
-    public void reindexSetup() {
-        synchronized (indexRefreshLock) {
-            lastReindexRequest = LocalDateTime.now();
-            setIndexRefresh(billIndexName, false);
-        }
-    }
-
-    /**
-     * Refreshes last reindex request timestamp to indicate that a reindex is still in progress.
-     */
-    public void reaffirmReindexing() {
-        synchronized (indexRefreshLock) {
-            lastReindexRequest = LocalDateTime.now();
-        }
-    }
-
-    /**
-     * Cleans up after reindexing by reenabling index refresh.
-     */
-    public void reindexCleanup() {
-        synchronized (indexRefreshLock) {
-            lastReindexRequest = LocalDateTime.MIN;
-            setIndexRefresh(billIndexName, true);
-        }
-    }
-
-    /**
-     * Method that ensures that index refresh does not remain disabled if it is not reenabled properly in case of errors.
-     */
-    @Scheduled(fixedDelay = reindexJanitorInterval)
-    public void reindexJanitor() {
-        if (isIndexRefreshDefault(billIndexName)) {
-            return;
-        }
-        synchronized (indexRefreshLock) {
-            Duration timeSinceLastReindexRequest = Duration.between(lastReindexRequest, LocalDateTime.now());
-            if (timeSinceLastReindexRequest.compareTo(lastReindexTimeoutDuration) > 0) {
-                logger.warn(
-                        "Index refresh has been disabled for past the timeout duration for index {}.  Reenabling...",
-                        billIndexName);
-                reindexCleanup();
-            } else {
-                logger.info("Index refresh is disabled, but will remain so due to recent reindex requests.");
-            }
-        }
-    }
-
     /**
      * {@inheritDoc}
      */
@@ -162,6 +125,16 @@ public class ElasticBillSearchDao extends ElasticBaseDao implements BillSearchDa
         return billMaxResultWindow;
     }
 
+    /**
+     * The stored bill info views are only returned with search results, so they are kept out of the index.
+     */
+    @Override
+    protected HashMap<String, Object> getCustomMappingProperties() throws IOException {
+        HashMap<String, Object> props = super.getCustomMappingProperties();
+        props.put(INFO_VIEW_FIELD, ImmutableMap.of("type", "object", "enabled", false));
+        return props;
+    }
+
     /**
      * Allocate additional shards for bill index.
      *
@@ -181,6 +154,24 @@ public class ElasticBillSearchDao extends ElasticBaseDao implements BillSearchDa
         return new BaseBillId(IDparts[1], Integer.parseInt(IDparts[0]));
     }
 
+    /**
+     * Wraps the bill view with a copy of its bill info view if info views are being stored.
+     * The info view is serialized up front as it would be by the api, so it can be returned as is.
+     */
+    private Object toIndexDocument(BillView billView) {
+        if (!storeInfoViews) {
+            return billView;
+        }
+        ObjectMapper jsonMapper = OutputUtils.getJsonMapper();
+        try {
+            byte[] infoViewJson = jsonMapper.writerFor(BillInfoView.class).writeValueAsBytes(billView);
+            return new BillIndexDocument(billView, jsonMapper.readValue(infoViewJson, infoViewType));
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException("Failed to serialize info view for " + billView.toBaseBillId(), ex);
+        }
+    }
+
     private String toElasticId(BaseBillId baseBillId) {
         return baseBillId.getSession() + "-" +
                 baseBillId.getBasePrintNo();
@@ -214,4 +205,28 @@ public class ElasticBillSearchDao extends ElasticBaseDao implements BillSearchDa
             throw new IllegalStateException(e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * The document indexed for a bill, consisting of the fields of the bill view and the stored info view.
+     */
+    private static class BillIndexDocument
+    {
+        private final BillView billView;
+        private final Map<String, Object> infoView;
+
+        BillIndexDocument(BillView billView, Map<String, Object> infoView) {
+            this.billView = billView;
+            this.infoView = infoView;
+        }
+
+        @JsonUnwrapped
+        public BillView getBillView() {
+            return billView;
+        }
+
+        @JsonProperty(INFO_VIEW_FIELD)
+        public Map<String, Object> getInfoView() {
+            return infoView;
+        }
+    }
+}
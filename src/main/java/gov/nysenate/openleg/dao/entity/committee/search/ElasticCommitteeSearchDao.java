@@ -132,11 +132,7 @@ public class ElasticCommitteeSearchDao extends ElasticBaseDao implements Committ
     }
 
     private DeleteRequest getCommitteeVersionDeleteRequest(CommitteeVersionId committeeVersionId) {
-        return new DeleteRequest(
-                committeeSearchIndexName,
-                defaultType,
-                generateCommitteeVersionSearchId(committeeVersionId)
-        );
+        return getDeleteRequest(committeeSearchIndexName, generateCommitteeVersionSearchId(committeeVersionId));
     }
 
     /**
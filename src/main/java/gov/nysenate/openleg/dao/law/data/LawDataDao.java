@@ -6,6 +6,7 @@ import org.springframework.dao.DataAccessException;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -92,6 +93,14 @@ public interface LawDataDao
      */
     public void updateLawDocument(LawFile lawFile, LawDocument lawDocument);
 
+    /**
+     * Updates or inserts a collection of LawDocuments using JDBC batches rather than a round trip per document.
+     *
+     * @param lawFile LawFile - The law file source that triggered the update.
+     * @param lawDocuments Collection<LawDocument> - The law documents to persist.
+     */
+    public void updateLawDocuments(LawFile lawFile, Collection<LawDocument> lawDocuments);
+
     /**
      * Updates or inserts the tree structure for the laws via the given LawTree. The law id and the published date
      * in the LawTree will be used as the unique identifiers for the tree.
@@ -14,12 +14,15 @@ import org.springframework.dao.DataRetrievalFailureException;
 import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Repository;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -112,6 +115,29 @@ public class SqlLawDataDao extends SqlBaseDao implements LawDataDao
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void updateLawDocuments(LawFile lawFile, Collection<LawDocument> lawDocuments) {
+        if (lawDocuments.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] lawDocParams = lawDocuments.stream()
+                .map(lawDocument -> getLawDocumentParams(lawFile, lawDocument))
+                .toArray(SqlParameterSource[]::new);
+        // Update the existing documents, then insert the ones that weren't updated
+        int[] counts = jdbcNamed.batchUpdate(SqlLawDataQuery.UPDATE_LAW_DOCUMENT.getSql(schema()), lawDocParams);
+        List<SqlParameterSource> insertParams = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                insertParams.add(lawDocParams[i]);
+            }
+        }
+        if (!insertParams.isEmpty()) {
+            jdbcNamed.batchUpdate(SqlLawDataQuery.INSERT_LAW_DOCUMENT.getSql(schema()),
+                    insertParams.toArray(new SqlParameterSource[0]));
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public void updateLawTree(LawFile lawFile, LawTree lawTree) {
@@ -124,10 +150,10 @@ public class SqlLawDataDao extends SqlBaseDao implements LawDataDao
         // Delete the existing tree if it exists
         jdbcNamed.update(SqlLawDataQuery.DELETE_TREE.getSql(schema()), treeIdParams);
         // Insert all the nodes in the tree
-        lawTree.getRootNode().getAllNodes().forEach(n -> {
-            ImmutableParams treeNodeParams = ImmutableParams.from(getLawTreeNodeParams(lawFile, lawTree, n));
-            jdbcNamed.update(SqlLawDataQuery.INSERT_LAW_TREE.getSql(schema()), treeNodeParams);
-        });
+        SqlParameterSource[] treeNodeParams = lawTree.getRootNode().getAllNodes().stream()
+                .map(n -> getLawTreeNodeParams(lawFile, lawTree, n))
+                .toArray(SqlParameterSource[]::new);
+        jdbcNamed.batchUpdate(SqlLawDataQuery.INSERT_LAW_TREE.getSql(schema()), treeNodeParams);
     }
 
     /**
@@ -177,9 +203,7 @@ public class SqlLawDataDao extends SqlBaseDao implements LawDataDao
                 throw new DataRetrievalFailureException("Failed to construct LawTree, since there was no " +
                                                         "matching root node");
             }
-            LawTree tree = new LawTree(new LawVersionId(lawId, publishedDate), root, info);
-            tree.rebuildLookupMap();
-            return tree;
+            return new LawTree(new LawVersionId(lawId, publishedDate), root, info);
         }
     }
 
@@ -8,6 +8,8 @@ import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.SearchIndex;
 import gov.nysenate.openleg.model.auth.ApiResponse;
 import gov.nysenate.openleg.model.search.SearchResults;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.index.IndexResponse;
 import org.elasticsearch.common.settings.Settings;
@@ -20,6 +22,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -58,10 +61,17 @@ public class ElasticApiLogSearchDao extends ElasticBaseDao implements ApiLogSear
     /** {@inheritDoc} */
     @Override
     public void updateLogIndex(Collection<ApiResponse> apiResponses) {
-        // wrap the non-bulk index method for all responses
-        // afaik, this method is never used
-        // TODO find a way to set auto generated id from bulk response
-        apiResponses.forEach(this::updateLogIndex);
+        List<ApiResponse> responseList = new ArrayList<>(apiResponses);
+        BulkRequest bulkRequest = new BulkRequest();
+        responseList.forEach(apiResponse -> bulkRequest.add(getLogIndexRequest(apiResponse)));
+        List<BulkItemResponse> itemResponses = safeBulkRequestExecute(bulkRequest);
+        // Set the the id of each api response to its autogenerated id
+        for (int i = 0; i < itemResponses.size(); i++) {
+            BulkItemResponse itemResponse = itemResponses.get(i);
+            if (!itemResponse.isFailed()) {
+                responseList.get(i).getBaseRequest().setRequestId(itemResponse.getId());
+            }
+        }
     }
 
     /** {@inheritDoc} */
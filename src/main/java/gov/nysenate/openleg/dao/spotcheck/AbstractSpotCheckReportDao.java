@@ -170,16 +170,27 @@ public abstract class AbstractSpotCheckReportDao<ContentKey> extends SqlBaseDao
      */
     @Override
     public void saveReport(SpotCheckReport<ContentKey> report) {
-        int reportId = insertReport(report);
-        report.setId(reportId);
+        if (report.getId() == 0) {
+            report.setId(insertReport(report));
+        }
+        else {
+            updateReportNotes(report);
+        }
         // Return early if the observations have not been set
         if (report.getObservations() == null) {
             logger.warn("The observations have not been set on this report.");
             return;
         }
+        List<SpotCheckObservation<ContentKey>> observations = report.getUnsavedObservations();
+        if (observations.isEmpty()) {
+            return;
+        }
+        Set<ContentKey> checkedKeys = observations.stream()
+                .map(SpotCheckObservation::getKey)
+                .collect(Collectors.toSet());
 
-        List<DeNormSpotCheckMismatch> reportMismatches = reportToDeNormMismatches(report);
-        List<DeNormSpotCheckMismatch> savedMismatches = getRelevantSavedMismatches(report);
+        List<DeNormSpotCheckMismatch> reportMismatches = reportToDeNormMismatches(report, observations);
+        List<DeNormSpotCheckMismatch> savedMismatches = getRelevantSavedMismatches(report, checkedKeys);
 
         reportMismatches.addAll(MismatchUtils.deriveClosedMismatches(reportMismatches, savedMismatches, report));
         reportMismatches = MismatchUtils.copyIgnoreStatuses(savedMismatches, reportMismatches);
@@ -187,18 +198,20 @@ public abstract class AbstractSpotCheckReportDao<ContentKey> extends SqlBaseDao
         reportMismatches = MismatchUtils.updateFirstSeenDateTime(reportMismatches, savedMismatches);
 
         insertMismatches(reportMismatches);
+        report.markObservationsSaved();
     }
 
     /**
-     * Gets any open mismatches for the content observed in the report
+     * Gets any open mismatches for the given content keys observed in the report
      */
-    private List<DeNormSpotCheckMismatch> getRelevantSavedMismatches(SpotCheckReport<ContentKey> report) {
+    private List<DeNormSpotCheckMismatch> getRelevantSavedMismatches(SpotCheckReport<ContentKey> report,
+                                                                     Set<ContentKey> checkedKeys) {
         MismatchQuery<ContentKey> query = new MismatchQuery<ContentKey>(report.getReportDateTime().toLocalDate(),
                                                 report.getReferenceType().getDataSource(),
                                                 MismatchStatus.OPEN,
                                                 Sets.newHashSet(report.getReferenceType().getContentType()))
                 .withIgnoredStatuses(EnumSet.allOf(SpotCheckMismatchIgnore.class))
-                .withKeys(report.getCheckedKeys());
+                .withKeys(checkedKeys);
         return getMismatches(query, LimitOffset.ALL).getResults();
     }
 
@@ -209,7 +222,17 @@ public abstract class AbstractSpotCheckReportDao<ContentKey> extends SqlBaseDao
         return reportIdHolder.getKey().intValue();
     }
 
+    private void updateReportNotes(SpotCheckReport<ContentKey> report) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", report.getId())
+                .addValue("notes", report.getNotes());
+        String sql = UPDATE_REPORT_NOTES.getSql(schema());
+        jdbcNamed.update(sql, params);
+    }
+
     private void insertMismatches(List<DeNormSpotCheckMismatch> mismatches) {
+        // Compute any missing diffs up front so they are stored with the mismatches instead of on every read.
+        mismatches.parallelStream().forEach(DeNormSpotCheckMismatch::getDiffDelta);
         List<MapSqlParameterSource> params = mismatches.stream()
                 .map(this::mismatchParams)
                 .collect(Collectors.toList());
@@ -238,6 +261,7 @@ public abstract class AbstractSpotCheckReportDao<ContentKey> extends SqlBaseDao
                 .addValue("mismatchStatus", mismatch.getState().name())
                 .addValue("referenceData", mismatch.getReferenceData())
                 .addValue("observedData", mismatch.getObservedData())
+                .addValue("diff", mismatch.getDiffDelta())
                 .addValue("notes", mismatch.getNotes())
                 .addValue("issueIds", toPostgresArray(mismatch.getIssueIds()))
                 .addValue("ignoreLevel", mismatch.getIgnoreStatus().name())
@@ -252,12 +276,13 @@ public abstract class AbstractSpotCheckReportDao<ContentKey> extends SqlBaseDao
     }
 
     /**
-     * Converts SpotCheckMismatches in a SpotCheckReport into DeNormSpotCheckMismaches.
+     * Converts SpotCheckMismatches in the given observations of a SpotCheckReport into DeNormSpotCheckMismaches.
      * Initializes firstSeenDateTime to the observedDateTime.
      */
-    private List<DeNormSpotCheckMismatch> reportToDeNormMismatches(SpotCheckReport<ContentKey> report) {
+    private List<DeNormSpotCheckMismatch> reportToDeNormMismatches(SpotCheckReport<ContentKey> report,
+                                                                   Collection<SpotCheckObservation<ContentKey>> observations) {
         List<DeNormSpotCheckMismatch> mismatches = new ArrayList<>();
-        for (SpotCheckObservation<ContentKey> ob : report.getObservations().values()) {
+        for (SpotCheckObservation<ContentKey> ob : observations) {
             // Skip if no mismatches in the observation
             if (ob.getMismatches().size() == 0) {
                 continue;
@@ -270,6 +295,7 @@ public abstract class AbstractSpotCheckReportDao<ContentKey> extends SqlBaseDao
                 mismatch.setReferenceId(ob.getReferenceId());
                 mismatch.setReferenceData(m.getReferenceData());
                 mismatch.setObservedData(m.getObservedData());
+                mismatch.setDiffDelta(m.getDiffDelta());
                 mismatch.setNotes(m.getNotes());
                 mismatch.setObservedDateTime(ob.getObservedDateTime());
                 mismatch.setReportDateTime(report.getReportDateTime());
@@ -368,6 +394,7 @@ public abstract class AbstractSpotCheckReportDao<ContentKey> extends SqlBaseDao
             mismatch.setContentType(SpotCheckContentType.valueOf(rs.getString("content_type")));
             mismatch.setReferenceData(rs.getString("reference_data"));
             mismatch.setObservedData(rs.getString("observed_data"));
+            mismatch.setDiffDelta(rs.getString("diff"));
             mismatch.setReportDateTime(getLocalDateTimeFromRs(rs, "report_date_time"));
             mismatch.setObservedDateTime(getLocalDateTimeFromRs(rs, "observed_date_time"));
             mismatch.setFirstSeenDateTime(getLocalDateTimeFromRs(rs, "first_seen_date_time"));
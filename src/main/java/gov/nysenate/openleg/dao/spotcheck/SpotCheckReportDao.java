@@ -59,6 +59,10 @@ public interface SpotCheckReportDao<ContentKey>
      * report to account for mismatches from previously saved reports. The mismatch statuses are
      * also modified here using the context of prior reports.
      *
+     * Only the observations added since the report was last saved are saved, so a report can be saved
+     * in batches while it is generated. The data of saved observations is discarded from the report.
+     * The notes of a report that was already saved are updated.
+     *
      * @param report SpotCheckReport<ContentKey> - The report to save into the backing store
      */
     void saveReport(SpotCheckReport<ContentKey> report) throws DataAccessException;
@@ -19,9 +19,15 @@ public enum SqlSpotCheckReportQuery implements BasicSqlQuery
         "VALUES (:reportDateTime, :referenceDateTime, :referenceType, :notes)"
     ),
 
+    UPDATE_REPORT_NOTES(
+        "UPDATE ${schema}." + SqlTable.SPOTCHECK_REPORT + "\n" +
+        "SET notes = :notes\n" +
+        "WHERE id = :id\n"
+    ),
+
     GET_MISMATCH(
         "SELECT m.mismatch_id, m.report_id, m.key as key, m.type, m.state, \n" +
-        "m.datasource, m.content_type, m.reference_type, m.reference_active_date_time, m.reference_data, m.observed_data, m.notes, \n" +
+        "m.datasource, m.content_type, m.reference_type, m.reference_active_date_time, m.reference_data, m.observed_data, m.diff, m.notes, \n" +
         "m.observed_date_time, m.report_date_time, m.ignore_status, m.issue_ids \n" +
         "  FROM ${schema}.spotcheck_mismatch m \n" +
         "  WHERE m.mismatch_id = :mismatchId \n"
@@ -29,7 +35,7 @@ public enum SqlSpotCheckReportQuery implements BasicSqlQuery
 
     GET_MISMATCHES_SELECT(
         "SELECT mismatch_id, report_id, hstore_to_array(key) key_arr, type, state, datasource, content_type, \n" +
-        "  reference_type, reference_active_date_time, reference_data, observed_data, notes, \n" +
+        "  reference_type, reference_active_date_time, reference_data, observed_data, diff, notes, \n" +
         "  observed_date_time, first_seen_date_time, report_date_time, ignore_status, issue_ids, \n" +
         "  count(*) OVER() as total_rows \n" +
         "FROM (" + ACTIVE_MISMATCHES.getSql() + ") active_mismatches \n"
@@ -64,11 +70,11 @@ public enum SqlSpotCheckReportQuery implements BasicSqlQuery
     INSERT_MISMATCH(
         "INSERT INTO ${schema}.spotcheck_mismatch\n" +
         "(key, type, report_id, datasource, content_type, reference_type,\n" +
-        "state, reference_data, observed_data, notes, issue_ids, ignore_status,\n" +
+        "state, reference_data, observed_data, diff, notes, issue_ids, ignore_status,\n" +
         "report_date_time, observed_date_time, reference_active_date_time, first_seen_date_time)\n" +
         "VALUES\n" +
         "(:key::hstore, :mismatchType, :reportId, :datasource, :contentType, :referenceType, \n" +
-        ":mismatchStatus, :referenceData, :observedData, :notes, :issueIds::text[], :ignoreLevel, \n" +
+        ":mismatchStatus, :referenceData, :observedData, :diff, :notes, :issueIds::text[], :ignoreLevel, \n" +
         ":reportDateTime, :observedDateTime, :referenceActiveDateTime, :firstSeenDateTime)\n"
     ),
 
@@ -0,0 +1,60 @@
+package gov.nysenate.openleg.model.base;
+
+import java.io.File;
+
+/**
+ * A pre-rendered pdf document stored on disk.
+ *
+ * Each rendering of a pdf is stored in its own file, and the metadata of the file is recorded when it is stored,
+ * so the headers and content served for an artifact always describe the same rendering.
+ */
+public class PdfArtifact
+{
+    /** The stored pdf file. */
+    private final File file;
+
+    /** The size of the pdf in bytes. */
+    private final long size;
+
+    /** Time in epoch millis when the pdf was rendered. */
+    private final long lastModified;
+
+    /** An entity tag that is unique to this rendering of the pdf. */
+    private final String eTag;
+
+    /** --- Constructors --- */
+
+    public PdfArtifact(File file, long size, long lastModified) {
+        this.file = file;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.eTag = "\"" + file.getName() + "-" + lastModified + "-" + size + "\"";
+    }
+
+    /** --- Basic Getters --- */
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return long - The size of the pdf in bytes.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return long - Time in epoch millis when the pdf was rendered.
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @return String - An entity tag that changes whenever the pdf is rendered again.
+     */
+    public String getETag() {
+        return eTag;
+    }
+}
@@ -3,6 +3,7 @@ package gov.nysenate.openleg.model.bill;
 import gov.nysenate.openleg.model.base.PublishStatus;
 import gov.nysenate.openleg.model.base.Version;
 
+import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -11,8 +12,10 @@ import java.util.*;
  * This is useful for retrieving a quick summary of a bill instead of composing
  * the entire Bill model which may take longer to create.
  */
-public class BillInfo
+public class BillInfo implements Serializable
 {
+    private static final long serialVersionUID = -4437216093571930182L;
+
     protected BillId billId;
     protected Version activeVersion;
     protected int year;
@@ -0,0 +1,64 @@
+package gov.nysenate.openleg.model.cache;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tracks the progress of warming a single {@link ContentCache}.
+ * Instances are updated by the warming thread and read by status requests, hence the volatile fields.
+ */
+public class CacheWarmProgress
+{
+    private final ContentCache contentCache;
+    private volatile CacheWarmState state = CacheWarmState.PENDING;
+    private volatile LocalDateTime startDateTime;
+    private volatile LocalDateTime endDateTime;
+    private volatile String errorMessage;
+
+    public CacheWarmProgress(ContentCache contentCache) {
+        this.contentCache = contentCache;
+    }
+
+    /** --- Functional Getters/Setters --- */
+
+    public void markRunning() {
+        this.startDateTime = LocalDateTime.now();
+        this.state = CacheWarmState.RUNNING;
+    }
+
+    public void markCompleted() {
+        this.endDateTime = LocalDateTime.now();
+        this.state = CacheWarmState.COMPLETED;
+    }
+
+    public void markFailed(Throwable cause) {
+        this.endDateTime = LocalDateTime.now();
+        this.errorMessage = cause.getMessage();
+        this.state = CacheWarmState.FAILED;
+    }
+
+    public boolean isDone() {
+        return state == CacheWarmState.COMPLETED || state == CacheWarmState.FAILED;
+    }
+
+    /** --- Basic Getters --- */
+
+    public ContentCache getContentCache() {
+        return contentCache;
+    }
+
+    public CacheWarmState getState() {
+        return state;
+    }
+
+    public LocalDateTime getStartDateTime() {
+        return startDateTime;
+    }
+
+    public LocalDateTime getEndDateTime() {
+        return endDateTime;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+}
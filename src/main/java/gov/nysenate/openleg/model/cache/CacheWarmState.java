@@ -0,0 +1,9 @@
+package gov.nysenate.openleg.model.cache;
+
+public enum CacheWarmState
+{
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
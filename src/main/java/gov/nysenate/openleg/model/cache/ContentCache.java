@@ -11,6 +11,8 @@ public enum ContentCache
 {
     BILL,
     BILL_INFO,
+    BILL_TEXT,
+    BILL_DIFF,
     AGENDA,
     CALENDAR,
     LAW,
@@ -0,0 +1,41 @@
+package gov.nysenate.openleg.model.law;
+
+import java.io.File;
+
+/**
+ * A pre-rendered, gzip compressed json response containing the full tree and all document text for a specific
+ * version of a law.
+ */
+public class LawBundle
+{
+    /** The version of the law tree contained in the bundle. */
+    private final LawVersionId lawVersionId;
+
+    /** The compressed bundle file. */
+    private final File file;
+
+    /** Time in epoch millis when the bundle was written, read once so that response headers agree. */
+    private final long lastModified;
+
+    /** --- Constructors --- */
+
+    public LawBundle(LawVersionId lawVersionId, File file) {
+        this.lawVersionId = lawVersionId;
+        this.file = file;
+        this.lastModified = file.lastModified();
+    }
+
+    /** --- Basic Getters --- */
+
+    public LawVersionId getLawVersionId() {
+        return lawVersionId;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+}
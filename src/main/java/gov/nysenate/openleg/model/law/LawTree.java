@@ -1,17 +1,26 @@
 package gov.nysenate.openleg.model.law;
 
+import com.google.common.collect.ImmutableMap;
+
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Container for the root node that comprises the hierarchy of components within a law. Tree traversal methods
  * should be implemented on the LawTreeNode, so this class serves more as a container to represent a tree for a given
  * law at a given time.
+ *
+ * The tree is indexed once when it is constructed, so that nodes, siblings and ancestors can be looked up in
+ * constant time. Since the index is built before the tree is published, e.g. to the law tree cache, an unmodified
+ * tree can be read by any number of threads. Trees that are shared must not be modified; use {@link #copy()} to
+ * get a tree that can be. Once a tree is modified, its nodes compute their links on demand and {@link #find(String)}
+ * searches the tree, since the index is never rebuilt.
  */
 public class LawTree
 {
@@ -27,8 +36,11 @@ public class LawTree
     /** Reference to the root tree node (should be the chapter node) */
     protected LawTreeNode rootNode;
 
-    /** Map of doc id to all nodes within this law tree. Necessary for quick lookup. */
-    private Map<String, LawTreeNode> nodeLookupMap;
+    /** Map of doc id to all nodes within this law tree as of its construction. Necessary for quick lookup. */
+    private final ImmutableMap<String, LawTreeNode> nodeLookupMap;
+
+    /** Validity flag shared with the nodes of this tree, cleared when a node is added or deleted after indexing. */
+    private final AtomicBoolean indexValid;
 
     /** --- Constructors --- */
 
@@ -40,18 +52,39 @@ public class LawTree
         this.rootNode = rootNode;
         this.lawInfo = lawInfo;
         this.publishedDates = Arrays.asList(lawVersionId.getPublishedDate());
+        // Index the fully assembled tree. The links set on the nodes are visible to any thread that sees this
+        // tree, since the nodes are reachable through the final lookup map.
+        this.indexValid = new AtomicBoolean(false);
+        Map<String, LawTreeNode> lookupMap = new HashMap<>();
+        rootNode.buildIndex(indexValid, lookupMap);
+        this.nodeLookupMap = ImmutableMap.copyOf(lookupMap);
     }
 
     /** --- Method --- */
 
-    public void rebuildLookupMap() {
-        this.nodeLookupMap = this.rootNode.getAllNodes().stream()
-            .collect(Collectors.toMap(LawTreeNode::getDocumentId, Function.identity()));
+    /**
+     * Finds the node with the given document id, using the index unless the tree was modified since it was built.
+     *
+     * @param documentId String
+     * @return Optional<LawTreeNode>
+     */
+    public Optional<LawTreeNode> find(String documentId) {
+        if (indexValid.get()) {
+            return Optional.ofNullable(nodeLookupMap.get(documentId));
+        }
+        return rootNode.findNode(documentId, false);
     }
 
-    public Optional<LawTreeNode> find(String documentId) {
-        if (this.nodeLookupMap == null) rebuildLookupMap();
-        return Optional.ofNullable(this.nodeLookupMap.get(documentId));
+    /**
+     * Returns a deep copy of this tree, including the doc info of its nodes, which can be modified without
+     * affecting this tree. Used to apply updates to a tree that may be shared, such as a cached tree.
+     *
+     * @return LawTree
+     */
+    public LawTree copy() {
+        LawTree copy = new LawTree(lawVersionId, rootNode.copy(), lawInfo);
+        copy.setPublishedDates(new ArrayList<>(publishedDates));
+        return copy;
     }
 
     /** --- Delegates --- */
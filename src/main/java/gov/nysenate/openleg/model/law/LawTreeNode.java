@@ -1,10 +1,12 @@
 package gov.nysenate.openleg.model.law;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Range;
 import org.apache.commons.lang3.StringUtils;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static java.util.stream.Collectors.toList;
 
@@ -29,6 +31,17 @@ public class LawTreeNode implements Comparable<LawTreeNode>
     /** Instance variable used to cache the section range once computed. */
     private Optional<Range<LawTreeNode>> sectionRange;
 
+    /** Flag shared by all nodes of an indexed tree. Null if this node was never indexed. It is set once every node
+     *  of the tree is linked, and cleared once any node in the tree is modified after indexing. The links below are
+     *  only used while this flag is true. */
+    private AtomicBoolean indexValid;
+
+    /** Precomputed links, set by {@link #buildIndex(AtomicBoolean, Map)}. */
+    private List<LawTreeNode> orderedChildren;
+    private LawTreeNode prevSibling;
+    private LawTreeNode nextSibling;
+    private List<LawTreeNode> ancestors;
+
     /** --- Constructors --- */
 
     public LawTreeNode(LawDocInfo lawDocInfo, int sequenceNo) {
@@ -49,6 +62,39 @@ public class LawTreeNode implements Comparable<LawTreeNode>
         if (node == null) throw new IllegalArgumentException("Cannot add a null child node ");
         node.setParent(this);
         children.put(node.lawDocInfo.documentId, node);
+        invalidateIndex();
+        node.invalidateIndex();
+    }
+
+    /**
+     * Precomputes the ordered child list, sibling links, ancestor list, and section range for this node and all of
+     * its descendants in a single walk of the tree. The precomputed links are used until a node in the tree is
+     * added or deleted, after which every node falls back to computing them on demand.
+     * Called by {@link LawTree} when it is constructed, before the tree is shared.
+     *
+     * @param indexValid AtomicBoolean - Validity flag that will be shared by every node in the tree, set to true
+     *                                   once all nodes are linked.
+     * @param lookupMap Map<String, LawTreeNode> - Populated with each node keyed by its document id.
+     */
+    void buildIndex(AtomicBoolean indexValid, Map<String, LawTreeNode> lookupMap) {
+        this.prevSibling = null;
+        this.nextSibling = null;
+        buildIndex(indexValid, lookupMap, ImmutableList.of());
+        indexValid.set(true);
+    }
+
+    /**
+     * Returns a deep copy of this node and its descendants, including their doc info.
+     *
+     * @return LawTreeNode
+     */
+    LawTreeNode copy() {
+        LawDocInfo docInfo = new LawDocInfo(getDocumentId(), getLawId(), getLocationId(), lawDocInfo.getTitle(),
+                getDocType(), getDocTypeId(), getPublishDate());
+        LawTreeNode copy = new LawTreeNode(docInfo, sequenceNo);
+        copy.setRepealedDate(repealedDate);
+        children.values().forEach(child -> copy.addChild(child.copy()));
+        return copy;
     }
 
     /**
@@ -75,7 +121,7 @@ public class LawTreeNode implements Comparable<LawTreeNode>
      * @return Optional<LawTreeNode>
      */
     public Optional<LawTreeNode> getFromSection() {
-        if (sectionRange == null) {
+        if (sectionRange == null || isIndexStale()) {
             sectionRange = getSectionRange();
         }
         if (sectionRange.isPresent()) {
@@ -89,7 +135,7 @@ public class LawTreeNode implements Comparable<LawTreeNode>
      * @return Optional<LawTreeNode>
      */
     public Optional<LawTreeNode> getToSection() {
-        if (sectionRange == null) {
+        if (sectionRange == null || isIndexStale()) {
             sectionRange = getSectionRange();
         }
         if (sectionRange.isPresent()) {
@@ -104,6 +150,9 @@ public class LawTreeNode implements Comparable<LawTreeNode>
      * @return List<LawTreeNode>
      */
     public List<LawTreeNode> getChildNodeList() {
+        if (isIndexed()) {
+            return orderedChildren;
+        }
         return this.children.values().stream().sorted().collect(toList());
     }
 
@@ -136,6 +185,9 @@ public class LawTreeNode implements Comparable<LawTreeNode>
      * @return Optional<LawTreeNode>
      */
     public Optional<LawTreeNode> getPrevSibling() {
+        if (isIndexed()) {
+            return Optional.ofNullable(prevSibling);
+        }
         if (getParent() != null) {
             List<LawTreeNode> childNodeList = getParent().getChildNodeList();
             int index = childNodeList.indexOf(this);
@@ -151,6 +203,9 @@ public class LawTreeNode implements Comparable<LawTreeNode>
      * @return Optional<LawTreeNode>
      */
     public Optional<LawTreeNode> getNextSibling() {
+        if (isIndexed()) {
+            return Optional.ofNullable(nextSibling);
+        }
         if (getParent() != null) {
             List<LawTreeNode> childNodeList = getParent().getChildNodeList();
             int index = childNodeList.indexOf(this);
@@ -166,6 +221,9 @@ public class LawTreeNode implements Comparable<LawTreeNode>
      * @return LinkedList<LawTreeNode>
      */
     public LinkedList<LawTreeNode> getAllParents() {
+        if (isIndexed()) {
+            return new LinkedList<>(ancestors);
+        }
         LinkedList<LawTreeNode> parents = new LinkedList<>();
         LawTreeNode lawTreeNode = this;
         while (lawTreeNode.getParent() != null) {
@@ -213,6 +271,7 @@ public class LawTreeNode implements Comparable<LawTreeNode>
             LawTreeNode parentNode = lawTreeNode.get().getParent();
             if (parentNode != null) {
                 parentNode.getChildren().remove(documentId);
+                parentNode.invalidateIndex();
             }
         }
         return lawTreeNode;
@@ -242,6 +301,64 @@ public class LawTreeNode implements Comparable<LawTreeNode>
         return sb.toString();
     }
 
+    /**
+     * Recursively sets the precomputed links for this node and its descendants. The section range is computed
+     * bottom-up from the children's ranges, visiting them in the same order as {@link #findFirstSection} and
+     * {@link #findLastSection}.
+     */
+    private void buildIndex(AtomicBoolean indexValid, Map<String, LawTreeNode> lookupMap,
+                            ImmutableList<LawTreeNode> ancestors) {
+        this.indexValid = indexValid;
+        this.ancestors = ancestors;
+        this.orderedChildren = ImmutableList.sortedCopyOf(children.values());
+        lookupMap.put(getDocumentId(), this);
+
+        ImmutableList<LawTreeNode> childAncestors = ImmutableList.<LawTreeNode>builder()
+                .addAll(ancestors).add(this).build();
+        LawTreeNode prev = null;
+        for (LawTreeNode child : orderedChildren) {
+            child.prevSibling = prev;
+            child.nextSibling = null;
+            if (prev != null) {
+                prev.nextSibling = child;
+            }
+            child.buildIndex(indexValid, lookupMap, childAncestors);
+            prev = child;
+        }
+
+        LawTreeNode first = null;
+        LawTreeNode last = null;
+        if (getDocType().equals(LawDocumentType.SECTION)) {
+            first = last = this;
+        }
+        else {
+            for (LawTreeNode child : children.values()) {
+                if (child.sectionRange.isPresent()) {
+                    if (first == null) {
+                        first = child.sectionRange.get().lowerEndpoint();
+                    }
+                    last = child.sectionRange.get().upperEndpoint();
+                }
+            }
+        }
+        this.sectionRange = (first != null) ? Optional.of(Range.closed(first, last)) : Optional.empty();
+    }
+
+    private boolean isIndexed() {
+        return indexValid != null && indexValid.get();
+    }
+
+    private boolean isIndexStale() {
+        return indexValid != null && !indexValid.get();
+    }
+
+    /** Marks the index of the tree this node belongs to as stale so that all nodes stop using precomputed links. */
+    private void invalidateIndex() {
+        if (indexValid != null) {
+            indexValid.set(false);
+        }
+    }
+
     /**
      * Finds the first valid section under this law node.
      * @param node LawTreeNode
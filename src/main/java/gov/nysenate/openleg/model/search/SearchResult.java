@@ -14,6 +14,9 @@ public class SearchResult<ResultType>
 
     protected Map<String, HighlightField> highlights;
 
+    /** The requested fields of the indexed source of the result, null if the source was not requested. */
+    protected Map<String, Object> source;
+
     /** --- Constructor --- */
 
     public SearchResult(ResultType result, BigDecimal rank) {
@@ -21,9 +24,15 @@ public class SearchResult<ResultType>
     }
 
     public SearchResult(ResultType result, BigDecimal rank, Map<String, HighlightField> highlights) {
+        this(result, rank, highlights, null);
+    }
+
+    public SearchResult(ResultType result, BigDecimal rank, Map<String, HighlightField> highlights,
+                        Map<String, Object> source) {
         this.result = result;
         this.rank = rank;
         this.highlights = highlights;
+        this.source = source;
     }
 
     /** --- Overrides --- */
@@ -46,4 +55,8 @@ public class SearchResult<ResultType>
     public Map<String, HighlightField> getHighlights() {
         return highlights;
     }
+
+    public Map<String, Object> getSource() {
+        return source;
+    }
 }
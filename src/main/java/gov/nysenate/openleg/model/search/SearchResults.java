@@ -25,14 +25,24 @@ public class SearchResults<ResultType>
     /** The limit offset value used to generate the results listing. */
     private final LimitOffset limitOffset;
 
+    /** An opaque token used to request the next page of results when paging with a cursor.
+     *  Null if there are no further results or the results were not paged with a cursor. */
+    private final String nextCursor;
+
     private static final SearchResults<Object> EMPTY = new SearchResults<>(0, ImmutableList.of(), LimitOffset.ALL);
 
     /** --- Constructors --- */
 
     public SearchResults(int totalResults, List<SearchResult<ResultType>> results, LimitOffset limitOffset) {
+        this(totalResults, results, limitOffset, null);
+    }
+
+    public SearchResults(int totalResults, List<SearchResult<ResultType>> results, LimitOffset limitOffset,
+                         String nextCursor) {
         this.totalResults = totalResults;
         this.results = results;
         this.limitOffset = limitOffset;
+        this.nextCursor = nextCursor;
     }
 
     /**
@@ -85,4 +95,8 @@ public class SearchResults<ResultType>
     public LimitOffset getLimitOffset() {
         return limitOffset;
     }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package gov.nysenate.openleg.model.sourcefiles.sobi;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * SobiFragmentPartitions group together the fragment types whose processors read and write
+ * the same entities (and therefore the same ingest caches). Fragments from different partitions
+ * share no data and can be processed concurrently, while fragments within a partition must be
+ * processed sequentially in published date order.
+ */
+public enum SobiFragmentPartition
+{
+    /**
+     * Bill data along with agendas and committees. Agenda vote fragments modify both bills and agendas
+     * and committee votes reference committees, so these entities cannot be split apart.
+     */
+    BILL(EnumSet.of(SobiFragmentType.BILL, SobiFragmentType.AGENDA, SobiFragmentType.AGENDA_VOTE,
+                    SobiFragmentType.COMMITTEE, SobiFragmentType.ANNOTATION, SobiFragmentType.ANACT,
+                    SobiFragmentType.APPRMEMO, SobiFragmentType.BILLSTAT, SobiFragmentType.BILLTEXT,
+                    SobiFragmentType.LDBLURB, SobiFragmentType.LDSPON, SobiFragmentType.LDSUMM,
+                    SobiFragmentType.SAMEAS, SobiFragmentType.SENMEMO, SobiFragmentType.VETOMSG,
+                    SobiFragmentType.SENFLVOTE)),
+
+    /** Floor calendars and active lists. */
+    CALENDAR(EnumSet.of(SobiFragmentType.CALENDAR, SobiFragmentType.CALENDAR_ACTIVE));
+
+    private final Set<SobiFragmentType> fragmentTypes;
+
+    SobiFragmentPartition(Set<SobiFragmentType> fragmentTypes) {
+        this.fragmentTypes = fragmentTypes;
+    }
+
+    public Set<SobiFragmentType> getFragmentTypes() {
+        return fragmentTypes;
+    }
+
+    /**
+     * Get the partition that the given fragment type belongs to.
+     * Types that are not explicitly mapped fall into the {@link #BILL} partition.
+     *
+     * @param fragmentType SobiFragmentType
+     * @return SobiFragmentPartition
+     */
+    public static SobiFragmentPartition of(SobiFragmentType fragmentType) {
+        for (SobiFragmentPartition partition : values()) {
+            if (partition.fragmentTypes.contains(fragmentType)) {
+                return partition;
+            }
+        }
+        return BILL;
+    }
+}
@@ -1,9 +1,12 @@
 package gov.nysenate.openleg.model.spotcheck;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.base.Strings;
+import gov.nysenate.openleg.util.StringDiffer;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -37,6 +40,9 @@ public class DeNormSpotCheckMismatch<ContentKey> {
     /** String representation of the observed data (typically openleg processed content) */
     private String observedData;
 
+    /** The simplified diff from the reference to the observed data in delta format. Computed when not stored. */
+    private String diffDelta;
+
     /** Any details about this mismatch. (Optional) */
     private String notes;
 
@@ -71,6 +77,7 @@ public class DeNormSpotCheckMismatch<ContentKey> {
         copy.setReferenceId(referenceId);
         copy.setReferenceData(referenceData);
         copy.setObservedData(observedData);
+        copy.setDiffDelta(diffDelta);
         copy.setNotes(notes);
         copy.setObservedDateTime(observedDateTime);
         copy.setFirstSeenDateTime(firstSeenDateTime);
@@ -136,6 +143,40 @@ public class DeNormSpotCheckMismatch<ContentKey> {
         this.issueIds.remove(issueId);
     }
 
+    /**
+     * @return String - The simplified diff between the reference and observed data in delta format.
+     *                  It is computed from the data if it was not stored with this mismatch.
+     */
+    public String getDiffDelta() {
+        if (diffDelta == null) {
+            diffDelta = SpotCheckMismatch.encodeDiff(computeDiff());
+        }
+        return diffDelta;
+    }
+
+    /**
+     * @return LinkedList<StringDiffer.Diff> - The simplified diff between the reference and observed data,
+     *                                         decoded from the stored delta when possible.
+     */
+    public LinkedList<StringDiffer.Diff> getDiff() {
+        if (diffDelta != null) {
+            try {
+                return SpotCheckMismatch.decodeDiff(Strings.nullToEmpty(referenceData), diffDelta);
+            }
+            catch (IllegalArgumentException ignored) {
+                // The stored delta does not match the reference data, compute the diff again.
+            }
+        }
+        LinkedList<StringDiffer.Diff> diffs = computeDiff();
+        diffDelta = SpotCheckMismatch.encodeDiff(diffs);
+        return diffs;
+    }
+
+    private LinkedList<StringDiffer.Diff> computeDiff() {
+        return SpotCheckMismatch.computeDiff(
+                Strings.nullToEmpty(referenceData), Strings.nullToEmpty(observedData), true);
+    }
+
     /* --- Getters / Setters --- */
 
     public void setMismatchId(int mismatchId) {
@@ -156,10 +197,16 @@ public class DeNormSpotCheckMismatch<ContentKey> {
 
     public void setReferenceData(String referenceData) {
         this.referenceData = referenceData;
+        this.diffDelta = null;
     }
 
     public void setObservedData(String observedData) {
         this.observedData = observedData;
+        this.diffDelta = null;
+    }
+
+    public void setDiffDelta(String diffDelta) {
+        this.diffDelta = diffDelta;
     }
 
     public void setNotes(String notes) {
@@ -34,6 +34,9 @@ public class SpotCheckMismatch
     /** A list of related issue tracker ids */
     protected LinkedHashSet<String> issueIds = new LinkedHashSet<>();
 
+    /** The simplified diff from the reference to the observed data in delta format. Computed when first needed. */
+    protected String diffDelta;
+
     /** --- Constructor --- */
 
     public SpotCheckMismatch(SpotCheckMismatchType mismatchType, Object observedData, Object referenceData) {
@@ -60,6 +63,48 @@ public class SpotCheckMismatch
      * @return LinkedList<StringDiffer.Diff>
      */
     public LinkedList<StringDiffer.Diff> getDiff(boolean simple) {
+        if (simple) {
+            return decodeDiff(referenceData, getDiffDelta());
+        }
+        return computeDiff(referenceData, observedData, false);
+    }
+
+    /**
+     * Computes the simple difference between the reference and target data once, in the compact delta format
+     * of {@link StringDiffer#diff_toDelta(LinkedList)}. This is the form in which mismatch diffs are stored.
+     *
+     * @return String
+     */
+    public String getDiffDelta() {
+        if (diffDelta == null) {
+            diffDelta = encodeDiff(computeDiff(referenceData, observedData, true));
+        }
+        return diffDelta;
+    }
+
+    /**
+     * @return SpotCheckMismatch - A copy of this mismatch without the reference and observed data.
+     */
+    public SpotCheckMismatch withoutData() {
+        SpotCheckMismatch copy = new SpotCheckMismatch(mismatchType, "", "", notes);
+        copy.setMismatchId(mismatchId);
+        copy.setState(state);
+        copy.setIgnoreStatus(ignoreStatus);
+        copy.setIssueIds(issueIds);
+        return copy;
+    }
+
+    /** --- Static Methods --- */
+
+    /**
+     * Computes the difference between the given reference and observed data.
+     *
+     * @param referenceData String
+     * @param observedData String
+     * @param simple boolean - Set to true to make the results of the diff less granular.
+     * @return LinkedList<StringDiffer.Diff>
+     */
+    public static LinkedList<StringDiffer.Diff> computeDiff(String referenceData, String observedData, boolean simple) {
         StringDiffer stringDiffer = new StringDiffer();
         LinkedList<StringDiffer.Diff> diffs = stringDiffer.diff_main(referenceData, observedData);
         if (simple) {
@@ -68,6 +113,28 @@ public class SpotCheckMismatch
         return diffs;
     }
 
+    /**
+     * Encodes a diff in delta format, which only spells out inserted text.
+     *
+     * @param diffs LinkedList<StringDiffer.Diff>
+     * @return String
+     */
+    public static String encodeDiff(LinkedList<StringDiffer.Diff> diffs) {
+        return new StringDiffer().diff_toDelta(diffs);
+    }
+
+    /**
+     * Decodes a diff in delta format against the reference data it was computed from.
+     *
+     * @param referenceData String
+     * @param diffDelta String
+     * @return LinkedList<StringDiffer.Diff>
+     * @throws IllegalArgumentException if the delta was not computed from the given reference data.
+     */
+    public static LinkedList<StringDiffer.Diff> decodeDiff(String referenceData, String diffDelta) {
+        return new StringDiffer().diff_fromDelta(referenceData, diffDelta);
+    }
+
     /** --- Functional Getters / Setters --- */
 
     public boolean isIgnored() {
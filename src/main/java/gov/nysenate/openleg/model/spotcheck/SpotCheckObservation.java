@@ -136,6 +136,16 @@ public class SpotCheckObservation<ContentKey>
         }
     }
 
+    /**
+     * Replaces each mismatch with a copy that does not hold the reference and observed data and drops any
+     * prior mismatches. This frees most of the memory held by an observation that has already been saved,
+     * while keeping the mismatch counts of the observation intact.
+     */
+    public void discardMismatchData() {
+        mismatches.replaceAll((type, mismatch) -> mismatch.withoutData());
+        priorMismatches.clear();
+    }
+
     /**
      * Check to make sure the given mismatch type can be reported by this observation
      * @param type {@link SpotCheckMismatchType}
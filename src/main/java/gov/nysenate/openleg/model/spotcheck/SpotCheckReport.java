@@ -26,6 +26,9 @@ public class SpotCheckReport<ContentKey>
     /** All observations associated with this report. */
     protected Map<ContentKey, SpotCheckObservation<ContentKey>> observations = new HashMap<>();
 
+    /** Keys of the observations that were added since the report was last saved. */
+    protected Set<ContentKey> unsavedKeys = new LinkedHashSet<>();
+
     /** miscellaneous notes pertaining to this report */
     protected String notes;
 
@@ -151,6 +154,7 @@ public class SpotCheckReport<ContentKey>
         observation.setReferenceId(reportId.getReferenceId());
         observation.setObservedDateTime(LocalDateTime.now());
         this.observations.put(observation.getKey(), observation);
+        this.unsavedKeys.add(observation.getKey());
     }
 
     /**
@@ -170,6 +174,30 @@ public class SpotCheckReport<ContentKey>
         return Optional.ofNullable(this.observations).map(Map::size).orElse(0);
     }
 
+    /**
+     * Get the observations that were added since the report was last saved.
+     */
+    public List<SpotCheckObservation<ContentKey>> getUnsavedObservations() {
+        return unsavedKeys.stream().map(observations::get).collect(Collectors.toList());
+    }
+
+    /**
+     * Get the number of observations that were added since the report was last saved.
+     */
+    public int getUnsavedCount() {
+        return unsavedKeys.size();
+    }
+
+    /**
+     * Marks all observations as saved. The reference and observed data of the saved observations is discarded
+     * so that a report that is saved in batches while it is generated only holds the data of one batch,
+     * while the mismatch counts of the report remain available.
+     */
+    public void markObservationsSaved() {
+        unsavedKeys.forEach(key -> observations.get(key).discardMismatchData());
+        unsavedKeys.clear();
+    }
+
     /**
      * Get ContentKey's that were checked by this report.
      * @return
@@ -240,6 +268,7 @@ public class SpotCheckReport<ContentKey>
 
     public void setObservations(Map<ContentKey, SpotCheckObservation<ContentKey>> observations) {
         this.observations = observations;
+        this.unsavedKeys = observations != null ? new LinkedHashSet<>(observations.keySet()) : new LinkedHashSet<>();
     }
 
     public String getNotes() {
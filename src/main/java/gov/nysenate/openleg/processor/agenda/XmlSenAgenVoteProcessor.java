@@ -8,6 +8,7 @@ import gov.nysenate.openleg.model.entity.CommitteeId;
 import gov.nysenate.openleg.model.entity.SessionMember;
 import gov.nysenate.openleg.model.process.DataProcessUnit;
 import gov.nysenate.openleg.model.sourcefiles.sobi.SobiFragment;
+import gov.nysenate.openleg.model.sourcefiles.sobi.SobiFragmentPartition;
 import gov.nysenate.openleg.model.sourcefiles.sobi.SobiFragmentType;
 import gov.nysenate.openleg.processor.base.AbstractDataProcessor;
 import gov.nysenate.openleg.processor.base.ParseError;
@@ -168,7 +169,7 @@ public class XmlSenAgenVoteProcessor extends AbstractDataProcessor implements So
     @Override
     public void checkIngestCache() {
         if (!env.isSobiBatchEnabled() || agendaIngestCache.exceedsCapacity()) {
-            flushAllUpdates();
+            flushPartitionUpdates(SobiFragmentPartition.BILL);
         }
     }
 }
\ No newline at end of file
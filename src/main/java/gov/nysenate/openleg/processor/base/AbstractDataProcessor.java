@@ -19,6 +19,7 @@ import gov.nysenate.openleg.model.process.DataProcessAction;
 import gov.nysenate.openleg.model.process.DataProcessUnit;
 import gov.nysenate.openleg.model.process.DataProcessUnitEvent;
 import gov.nysenate.openleg.model.sourcefiles.sobi.SobiFragment;
+import gov.nysenate.openleg.model.sourcefiles.sobi.SobiFragmentPartition;
 import gov.nysenate.openleg.service.agenda.data.AgendaDataService;
 import gov.nysenate.openleg.service.agenda.event.BulkAgendaUpdateEvent;
 import gov.nysenate.openleg.service.bill.data.ApprovalDataService;
@@ -48,6 +49,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.concurrent.locks.Lock;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -129,24 +131,30 @@ public abstract class AbstractDataProcessor
         Bill baseBill;
         LocalDateTime publishedDateTime = fragment.getPublishedDateTime();
         // Check the cache, or hit the data service otherwise
-        if (billIngestCache.has(baseBillId)) {
-            baseBill = billIngestCache.get(baseBillId).getLeft();
-        }
-        else {
-            try {
-                baseBill = billDataService.getBill(baseBillId, EnumSet.allOf(BillTextFormat.class));
+        Lock cacheLock = billIngestCache.getLock(baseBillId);
+        cacheLock.lock();
+        try {
+            Pair<Bill, SobiFragment> cached = billIngestCache.get(baseBillId);
+            if (cached != null) {
+                baseBill = cached.getLeft();
             }
-            catch (BillNotFoundEx ex) {
-                // Create the bill since it does not exist and add it to the ingest cache.
-                if (!isBaseVersion) {
-                    logger.warn("Bill Amendment {} filed without initial bill.", billId);
+            else {
+                try {
+                    baseBill = billDataService.getBill(baseBillId, EnumSet.allOf(BillTextFormat.class));
+                }
+                catch (BillNotFoundEx ex) {
+                    // Create the bill since it does not exist and add it to the ingest cache.
+                    if (!isBaseVersion) {
+                        logger.warn("Bill Amendment {} filed without initial bill.", billId);
+                    }
+                    baseBill = new Bill(baseBillId);
+                    baseBill.setModifiedDateTime(publishedDateTime);
+                    baseBill.setPublishedDateTime(publishedDateTime);
                 }
-                baseBill = new Bill(baseBillId);
-                baseBill.setModifiedDateTime(publishedDateTime);
-                baseBill.setPublishedDateTime(publishedDateTime);
                 billIngestCache.set(baseBillId, baseBill, fragment);
             }
-            billIngestCache.set(baseBillId, baseBill, fragment);
+        } finally {
+            cacheLock.unlock();
         }
 
         if (!baseBill.hasAmendment(billId.getVersion())) {
@@ -187,14 +195,12 @@ public abstract class AbstractDataProcessor
      */
     protected void flushBillUpdates() {
         if (billIngestCache.getSize() > 0) {
-            logger.info("Flushing {} bills", billIngestCache.getSize());
-            billIngestCache.getCurrentCache().forEach(entry ->
-                billDataService.saveBill(entry.getLeft(), entry.getRight(), false));
+            List<Pair<Bill, SobiFragment>> entries = billIngestCache.drain();
+            logger.info("Flushing {} bills", entries.size());
+            billDataService.saveBills(entries, false);
             logger.debug("Broadcasting bill updates...");
-            List<Bill> bills =
-                billIngestCache.getCurrentCache().stream().map(Pair::getLeft).collect(Collectors.toList());
+            List<Bill> bills = entries.stream().map(Pair::getLeft).collect(Collectors.toList());
             eventBus.post(new BulkBillUpdateEvent(bills, LocalDateTime.now()));
-            billIngestCache.clearCache();
         }
     }
 
@@ -288,13 +294,12 @@ public abstract class AbstractDataProcessor
      */
     protected void flushAgendaUpdates() {
         if (agendaIngestCache.getSize() > 0) {
-            logger.info("Flushing {} agendas", agendaIngestCache.getSize());
-            agendaIngestCache.getCurrentCache().forEach(
+            List<Pair<Agenda, SobiFragment>> entries = agendaIngestCache.drain();
+            logger.info("Flushing {} agendas", entries.size());
+            entries.forEach(
                 entry -> agendaDataService.saveAgenda(entry.getLeft(), entry.getRight(), false));
-            List<Agenda> agendas =
-                agendaIngestCache.getCurrentCache().stream().map(Pair::getLeft).collect(Collectors.toList());
+            List<Agenda> agendas = entries.stream().map(Pair::getLeft).collect(Collectors.toList());
             eventBus.post(new BulkAgendaUpdateEvent(agendas, LocalDateTime.now()));
-            agendaIngestCache.clearCache();
         }
     }
 
@@ -331,13 +336,33 @@ public abstract class AbstractDataProcessor
      */
     protected void flushCalendarUpdates() {
         if (calendarIngestCache.getSize() > 0) {
-            logger.info("Flushing {} calendars", calendarIngestCache.getSize());
-            calendarIngestCache.getCurrentCache().forEach(
+            List<Pair<Calendar, SobiFragment>> entries = calendarIngestCache.drain();
+            logger.info("Flushing {} calendars", entries.size());
+            entries.forEach(
                 entry -> calendarDataService.saveCalendar(entry.getLeft(), entry.getRight(), false));
-            List<Calendar> calendars =
-                calendarIngestCache.getCurrentCache().stream().map(Pair::getLeft).collect(Collectors.toList());
+            List<Calendar> calendars = entries.stream().map(Pair::getLeft).collect(Collectors.toList());
             eventBus.post(new BulkCalendarUpdateEvent(calendars, LocalDateTime.now()));
-            calendarIngestCache.clearCache();
+        }
+    }
+
+    /**
+     * Flushes only the caches that belong to the given fragment partition. Processors should use this
+     * over {@link #flushAllUpdates()} while processing so that they never flush entities that another
+     * partition may be modifying concurrently.
+     *
+     * @param partition SobiFragmentPartition
+     */
+    protected void flushPartitionUpdates(SobiFragmentPartition partition) {
+        switch (partition) {
+            case BILL:
+                flushBillUpdates();
+                flushAgendaUpdates();
+                break;
+            case CALENDAR:
+                flushCalendarUpdates();
+                break;
+            default:
+                throw new IllegalArgumentException("Unhandled fragment partition: " + partition);
         }
     }
 
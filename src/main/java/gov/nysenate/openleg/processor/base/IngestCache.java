@@ -1,31 +1,90 @@
 package gov.nysenate.openleg.processor.base;
 
+import com.google.common.util.concurrent.Striped;
 import org.apache.commons.lang3.tuple.Pair;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collection;
-import java.util.LinkedHashMap;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
 
 /**
  * A generic key-value pair cache to queue updates to the persistence layer so that they can be committed
  * to the file system more efficiently. The latest reference source data is associated with the cached item
  * since the persistence layer may want to know which pieces of source data the modifications came from.
  *
+ * The cache's own structure is safe to share between threads: adding and removing entries is guarded by a
+ * striped lock, which callers can also acquire via {@link #getLock(Object)} to get-or-create an entry
+ * atomically. A flush should be performed using {@link #drain()} so that entries added concurrently to the
+ * flush are not lost.
+ *
+ * The cached values themselves are not guarded. They are mutable and are modified by the caller after being
+ * cached, so a cache must only be modified and drained by one thread at a time. During parallel sobi
+ * processing this is ensured by giving each {@link gov.nysenate.openleg.model.sourcefiles.sobi.SobiFragmentPartition}
+ * its own caches, which are only used by the thread processing that partition.
+ *
+ * The cache signals that it should be flushed (see {@link #exceedsCapacity()}) when any of the following
+ * limits are exceeded:
+ * <ul>
+ *     <li>the number of entries</li>
+ *     <li>the estimated heap size of the cached values, if a weigher and weight limit are set</li>
+ *     <li>the age of the oldest entry, if a max age is set</li>
+ * </ul>
+ *
  * Key - The type for the key used to lookup values
  * Value - The type of values being stored
  * Source - The type that is used to encapsulate the source data
  */
 public class IngestCache<Key, Value, Source>
 {
-    private final Map<Key, Pair<Value, Source>> cache = new LinkedHashMap<>();
+    private static final int DEFAULT_STRIPES = 64;
+
+    private final ConcurrentMap<Key, CacheEntry<Value, Source>> cache = new ConcurrentHashMap<>();
+
+    private final Striped<Lock> locks;
+
+    /** Used to maintain insertion order of entries. */
+    private final AtomicLong sequence = new AtomicLong();
 
     private final int maxCapacity;
 
+    /** The maximum estimated size in bytes of all cached values. A value <= 0 disables this trigger. */
+    private final long maxWeight;
+
+    /** The maximum amount of time an entry can remain un-flushed. A null value disables this trigger. */
+    private final Duration maxAge;
+
+    /** Estimates the size in bytes of a cached value. */
+    private final ToLongFunction<Value> weigher;
+
     /** Keep a reference to the first source in case of processing exceptions. */
-    private Source firstSource;
+    private volatile Source firstSource;
 
     public IngestCache(int capacity) {
+        this(capacity, 0, null, value -> 0);
+    }
+
+    /**
+     * @param capacity int - The maximum number of entries
+     * @param maxWeight long - The maximum estimated size (bytes) of all values, <= 0 for no limit
+     * @param maxAge Duration - The maximum age of the oldest entry, null for no limit
+     * @param weigher ToLongFunction<Value> - Estimates the size of a value in bytes
+     */
+    public IngestCache(int capacity, long maxWeight, Duration maxAge, ToLongFunction<Value> weigher) {
         this.maxCapacity = capacity;
+        this.maxWeight = maxWeight;
+        this.maxAge = maxAge;
+        this.weigher = weigher;
+        this.locks = Striped.lock(DEFAULT_STRIPES);
     }
 
     /**
@@ -36,7 +95,8 @@ public class IngestCache<Key, Value, Source>
      * @return V
      */
     public Pair<Value, Source> get(Key key) {
-        return cache.get(key);
+        CacheEntry<Value, Source> entry = cache.get(key);
+        return (entry != null) ? entry.pair : null;
     }
 
     /**
@@ -49,6 +109,18 @@ public class IngestCache<Key, Value, Source>
         return cache.containsKey(key);
     }
 
+    /**
+     * Returns the lock that guards writes to the given key. Hold this lock to perform a compound
+     * check-then-set operation atomically with respect to other writers of the same key.
+     * The lock does not guard modifications of the cached value.
+     *
+     * @param key Key
+     * @return Lock
+     */
+    public Lock getLock(Key key) {
+        return locks.get(key);
+    }
+
     /**
      * Returns the number of entries currently stored in the cache.
      *
@@ -69,36 +141,117 @@ public class IngestCache<Key, Value, Source>
     }
 
     /**
-     * Indicates if the number of entries stored in the cache is greater than the
-     * set maximum capacity.
+     * Computes the estimated size in bytes of all values currently in the cache.
+     * Values are weighed on each call since they are typically modified after being cached.
+     *
+     * @return long
+     */
+    public long getEstimatedWeight() {
+        return cache.values().stream()
+                .mapToLong(entry -> weigher.applyAsLong(entry.pair.getLeft()))
+                .sum();
+    }
+
+    /**
+     * Returns the amount of time since the oldest entry currently in the cache was first added.
+     *
+     * @return Duration - {@link Duration#ZERO} if the cache is empty
+     */
+    public Duration getOldestEntryAge() {
+        return cache.values().stream()
+                .map(entry -> entry.created)
+                .min(Comparator.naturalOrder())
+                .map(created -> Duration.between(created, Instant.now()))
+                .orElse(Duration.ZERO);
+    }
+
+    /**
+     * Indicates if the cache should be flushed. This is the case if the number of entries stored in
+     * the cache is greater than the set maximum capacity, the estimated weight of the values exceeds
+     * the max weight, or the oldest entry is older than the max age.
      *
      * @return boolean
      */
     public boolean exceedsCapacity() {
-        return (getSize() > getMaxCapacity());
+        if (getSize() > getMaxCapacity()) {
+            return true;
+        }
+        if (cache.isEmpty()) {
+            return false;
+        }
+        if (maxAge != null && getOldestEntryAge().compareTo(maxAge) > 0) {
+            return true;
+        }
+        return maxWeight > 0 && getEstimatedWeight() > maxWeight;
     }
 
     /**
-     * Puts a new entry into the cache.
+     * Puts a new entry into the cache.  If the key is already cached, its value and source are
+     * replaced but its position and age in the cache are retained.
      *
      * @param key Key
      * @param obj Value
      * @param ref Source
      */
     public void set(Key key, Value obj, Source ref) {
-        cache.put(key, Pair.of(obj, ref));
+        Lock lock = getLock(key);
+        lock.lock();
+        try {
+            CacheEntry<Value, Source> existing = cache.get(key);
+            if (existing != null) {
+                cache.put(key, new CacheEntry<>(obj, ref, existing.created, existing.seqNo));
+            } else {
+                cache.put(key, new CacheEntry<>(obj, ref, Instant.now(), sequence.getAndIncrement()));
+            }
+        } finally {
+            lock.unlock();
+        }
         if (firstSource == null && ref != null) {
             firstSource = ref;
         }
     }
 
     /**
-     * Retrieve all entries in the cache as (Value, Source) pairs.
+     * Retrieve all entries in the cache as (Value, Source) pairs, in the order they were first added.
      *
      * @return Collection<Pair<Value, Source>>
      */
     public Collection<Pair<Value, Source>> getCurrentCache() {
-        return cache.values();
+        return cache.values().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.seqNo))
+                .map(entry -> entry.pair)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Removes and returns all entries in the cache as (Value, Source) pairs, in the order they were first
+     * added. Entries that are set while the drain is in progress will either be returned or remain in the
+     * cache, they will never be dropped.
+     *
+     * @return List<Pair<Value, Source>>
+     */
+    public List<Pair<Value, Source>> drain() {
+        List<Key> keys = cache.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().seqNo))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        List<Pair<Value, Source>> drained = keys.stream()
+                .map(key -> {
+                    Lock lock = getLock(key);
+                    lock.lock();
+                    try {
+                        CacheEntry<Value, Source> entry = cache.remove(key);
+                        return entry != null ? entry.pair : null;
+                    } finally {
+                        lock.unlock();
+                    }
+                })
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        if (cache.isEmpty()) {
+            firstSource = null;
+        }
+        return drained;
     }
 
     /**
@@ -108,4 +261,19 @@ public class IngestCache<Key, Value, Source>
         cache.clear();
         firstSource = null;
     }
-}
\ No newline at end of file
+
+    /** --- Internal Classes --- */
+
+    private static class CacheEntry<Value, Source>
+    {
+        private final Pair<Value, Source> pair;
+        private final Instant created;
+        private final long seqNo;
+
+        private CacheEntry(Value value, Source source, Instant created, long seqNo) {
+            this.pair = Pair.of(value, source);
+            this.created = created;
+            this.seqNo = seqNo;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package gov.nysenate.openleg.processor.base;
+
+import gov.nysenate.openleg.model.agenda.Agenda;
+import gov.nysenate.openleg.model.agenda.AgendaInfoAddendum;
+import gov.nysenate.openleg.model.agenda.AgendaInfoCommittee;
+import gov.nysenate.openleg.model.agenda.AgendaVoteAddendum;
+import gov.nysenate.openleg.model.agenda.AgendaVoteCommittee;
+import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.bill.BillAmendment;
+import gov.nysenate.openleg.model.bill.BillTextFormat;
+import gov.nysenate.openleg.model.calendar.Calendar;
+import gov.nysenate.openleg.model.calendar.CalendarActiveList;
+import gov.nysenate.openleg.model.calendar.CalendarSupplemental;
+
+/**
+ * Rough heap size estimators for the values held by the {@link IngestCache}s.
+ *
+ * These are not meant to be exact. Strings are weighed by their length and collections by a fixed
+ * cost per element, which is enough to keep a batch of very large bills (e.g. budget bills with
+ * full text) from exhausting the heap before the entry count limit is reached.
+ */
+public final class IngestCacheWeights
+{
+    /** Approximate overhead of an entity container and its id/metadata objects. */
+    private static final long BASE_OBJECT_BYTES = 1024;
+
+    /** Approximate cost of a single child element such as an action, vote or calendar entry. */
+    private static final long ELEMENT_BYTES = 256;
+
+    private IngestCacheWeights() {}
+
+    public static long estimateBill(Bill bill) {
+        long bytes = BASE_OBJECT_BYTES;
+        bytes += stringBytes(bill.getTitle()) + stringBytes(bill.getSummary()) + stringBytes(bill.getLDBlurb());
+        bytes += ELEMENT_BYTES * (bill.getActions().size() + bill.getMilestones().size()
+                + bill.getVetoMessages().size() + bill.getAdditionalSponsors().size());
+        bytes += bill.getVetoMessages().values().stream().mapToLong(veto -> stringBytes(veto.getMemoText())).sum();
+        if (bill.getApprovalMessage() != null) {
+            bytes += stringBytes(bill.getApprovalMessage().getMemoText());
+        }
+        for (BillAmendment amendment : bill.getAmendmentList()) {
+            bytes += BASE_OBJECT_BYTES;
+            bytes += stringBytes(amendment.getMemo()) + stringBytes(amendment.getActClause());
+            for (BillTextFormat format : amendment.getFullTextFormats()) {
+                bytes += stringBytes(amendment.getFullText(format));
+            }
+            bytes += ELEMENT_BYTES * (amendment.getCoSponsors().size() + amendment.getMultiSponsors().size()
+                    + amendment.getSameAs().size());
+            // Each vote holds a roll of all members that voted
+            bytes += ELEMENT_BYTES * 64L * amendment.getVotesMap().size();
+        }
+        return bytes;
+    }
+
+    public static long estimateAgenda(Agenda agenda) {
+        long bytes = BASE_OBJECT_BYTES;
+        for (AgendaInfoAddendum addendum : agenda.getAgendaInfoAddenda().values()) {
+            for (AgendaInfoCommittee committee : addendum.getCommitteeInfoMap().values()) {
+                bytes += BASE_OBJECT_BYTES + stringBytes(committee.getNotes())
+                        + ELEMENT_BYTES * committee.getItems().size();
+            }
+        }
+        for (AgendaVoteAddendum addendum : agenda.getAgendaVoteAddenda().values()) {
+            for (AgendaVoteCommittee committee : addendum.getCommitteeVoteMap().values()) {
+                bytes += BASE_OBJECT_BYTES + ELEMENT_BYTES * 16L * committee.getVotedBills().size()
+                        + ELEMENT_BYTES * committee.getAttendance().size();
+            }
+        }
+        return bytes;
+    }
+
+    public static long estimateCalendar(Calendar calendar) {
+        long bytes = BASE_OBJECT_BYTES;
+        for (CalendarSupplemental supplemental : calendar.getSupplementalMap().values()) {
+            bytes += BASE_OBJECT_BYTES + ELEMENT_BYTES * supplemental.getAllEntries().size();
+        }
+        for (CalendarActiveList activeList : calendar.getActiveListMap().values()) {
+            bytes += BASE_OBJECT_BYTES + stringBytes(activeList.getNotes())
+                    + ELEMENT_BYTES * activeList.getEntries().size();
+        }
+        return bytes;
+    }
+
+    /**
+     * Strings are roughly 40 bytes of overhead plus two bytes per character.
+     *
+     * @param str CharSequence - may be null
+     * @return long - estimated bytes
+     */
+    public static long stringBytes(CharSequence str) {
+        return (str == null) ? 0 : 40 + 2L * str.length();
+    }
+}
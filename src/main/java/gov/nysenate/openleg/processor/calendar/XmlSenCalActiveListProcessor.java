@@ -8,6 +8,7 @@ import gov.nysenate.openleg.model.calendar.CalendarEntry;
 import gov.nysenate.openleg.model.calendar.CalendarId;
 import gov.nysenate.openleg.model.process.DataProcessUnit;
 import gov.nysenate.openleg.model.sourcefiles.sobi.SobiFragment;
+import gov.nysenate.openleg.model.sourcefiles.sobi.SobiFragmentPartition;
 import gov.nysenate.openleg.model.sourcefiles.sobi.SobiFragmentType;
 import gov.nysenate.openleg.processor.base.AbstractDataProcessor;
 import gov.nysenate.openleg.processor.sobi.SobiProcessor;
@@ -111,7 +112,7 @@ public class XmlSenCalActiveListProcessor extends AbstractDataProcessor implemen
     @Override
     public void checkIngestCache() {
         if (!env.isSobiBatchEnabled() || calendarIngestCache.exceedsCapacity()) {
-            flushAllUpdates();
+            flushPartitionUpdates(SobiFragmentPartition.CALENDAR);
         }
     }
 }
\ No newline at end of file
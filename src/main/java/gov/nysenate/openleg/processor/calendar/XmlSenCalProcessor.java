@@ -6,6 +6,7 @@ import gov.nysenate.openleg.model.bill.BillId;
 import gov.nysenate.openleg.model.calendar.*;
 import gov.nysenate.openleg.model.process.DataProcessUnit;
 import gov.nysenate.openleg.model.sourcefiles.sobi.SobiFragment;
+import gov.nysenate.openleg.model.sourcefiles.sobi.SobiFragmentPartition;
 import gov.nysenate.openleg.model.sourcefiles.sobi.SobiFragmentType;
 import gov.nysenate.openleg.processor.base.AbstractDataProcessor;
 import gov.nysenate.openleg.processor.sobi.SobiProcessor;
@@ -120,7 +121,7 @@ public class XmlSenCalProcessor extends AbstractDataProcessor implements SobiPro
     @Override
     public void checkIngestCache() {
         if (!env.isSobiBatchEnabled() || calendarIngestCache.exceedsCapacity()) {
-            flushAllUpdates();
+            flushPartitionUpdates(SobiFragmentPartition.CALENDAR);
         }
     }
 }
\ No newline at end of file
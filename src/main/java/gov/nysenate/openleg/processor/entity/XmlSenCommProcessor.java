@@ -4,6 +4,7 @@ import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.entity.*;
 import gov.nysenate.openleg.model.process.DataProcessUnit;
 import gov.nysenate.openleg.model.sourcefiles.sobi.SobiFragment;
+import gov.nysenate.openleg.model.sourcefiles.sobi.SobiFragmentPartition;
 import gov.nysenate.openleg.model.sourcefiles.sobi.SobiFragmentType;
 import gov.nysenate.openleg.processor.base.AbstractDataProcessor;
 import gov.nysenate.openleg.processor.sobi.SobiProcessor;
@@ -99,7 +100,7 @@ public class XmlSenCommProcessor extends AbstractDataProcessor implements SobiPr
     @Override
     public void checkIngestCache() {
         if (!env.isSobiBatchEnabled()) {
-            flushAllUpdates();
+            flushPartitionUpdates(SobiFragmentPartition.BILL);
         }
     }
 
@@ -0,0 +1,126 @@
+package gov.nysenate.openleg.processor.law;
+
+import gov.nysenate.openleg.model.law.LawFile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Reads the LawBlocks from a LawFile one at a time. Each block represents all the meta data and text for a
+ * document section in the law file (delineated by the ..SO DOC header). Only the block currently being read is
+ * held in memory, so large law dumps can be processed without loading the whole file up front.
+ *
+ * The reader holds the underlying file open and must be closed once it is no longer needed.
+ */
+public class LawBlockReader implements Iterator<LawBlock>, Closeable
+{
+    /** The law files are most likely sent in CP850 encoding. */
+    protected static final Charset LAWFILE_CHARSET = Charset.forName("CP850");
+
+    /** Pattern for law doc headers.  */
+    protected static final Pattern lawHeader =
+        Pattern.compile("\\.\\.SO DOC ((\\w{3})(.{13}))(.{8}) (.{15}) (?:LAWS\\(((?:UN)?CONSOLIDATED)\\))");
+
+    private final LawFile lawFile;
+
+    private final Stream<String> lines;
+    private final Iterator<String> lineItr;
+
+    /** The block whose text is currently being read. */
+    private LawBlock current;
+
+    /** The next completed block to be returned. */
+    private LawBlock next;
+
+    /** --- Constructors --- */
+
+    public LawBlockReader(LawFile lawFile) throws IOException {
+        this.lawFile = lawFile;
+        this.lines = Files.lines(lawFile.getFile().toPath(), LAWFILE_CHARSET);
+        this.lineItr = lines.iterator();
+    }
+
+    /** --- Implemented Methods --- */
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = readBlock();
+        }
+        return next != null;
+    }
+
+    @Override
+    public LawBlock next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more law blocks in " + lawFile.getFileName());
+        }
+        LawBlock block = next;
+        next = null;
+        return block;
+    }
+
+    @Override
+    public void close() {
+        lines.close();
+    }
+
+    /** --- Internal Methods --- */
+
+    /**
+     * Reads lines until the block currently being read is complete, i.e. the next header or the end of the file
+     * is reached. Blocks that should be ignored are skipped.
+     *
+     * @return LawBlock - the next block, or null if the end of the file has been reached.
+     */
+    private LawBlock readBlock() {
+        while (lineItr.hasNext()) {
+            String line = lineItr.next();
+            Matcher headerMatcher = lawHeader.matcher(line);
+            if (headerMatcher.matches()) {
+                LawBlock completed = current;
+                current = createBlock(line, headerMatcher);
+                if (isIncluded(completed)) {
+                    return complete(completed);
+                }
+            }
+            else {
+                if (current == null) throw new LawParseException("No doc header received prior to line: " + line);
+                current.getText().append(line).append("\\n");
+            }
+        }
+        LawBlock completed = current;
+        current = null;
+        return isIncluded(completed) ? complete(completed) : null;
+    }
+
+    private LawBlock createBlock(String header, Matcher headerMatcher) {
+        LawBlock block = new LawBlock();
+        block.setHeader(header);
+        block.setLawId(headerMatcher.group(2).trim());
+        block.setPublishedDate(lawFile.getPublishedDate());
+        block.setDocumentId(
+            LawDocIdFixer.applyReplacement(headerMatcher.group(1).trim(), lawFile.getPublishedDate()));
+        block.setLocationId(block.getDocumentId().substring(3));
+        block.setMethod(headerMatcher.group(4).trim());
+        block.setConsolidated(headerMatcher.group(6).equals("CONSOLIDATED"));
+        return block;
+    }
+
+    private static boolean isIncluded(LawBlock block) {
+        return block != null && !LawDocIdFixer.ignoreDocument(block.getDocumentId(), block.getPublishedDate());
+    }
+
+    /** Releases the unused capacity of the text buffer before handing off the block. */
+    private static LawBlock complete(LawBlock block) {
+        block.getText().trimToSize();
+        return block;
+    }
+}
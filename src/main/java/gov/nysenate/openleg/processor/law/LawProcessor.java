@@ -1,28 +1,30 @@
 package gov.nysenate.openleg.processor.law;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import gov.nysenate.openleg.model.law.LawDocument;
 import gov.nysenate.openleg.model.law.LawDocumentType;
 import gov.nysenate.openleg.model.law.LawFile;
 import gov.nysenate.openleg.model.law.LawTree;
 import gov.nysenate.openleg.model.law.LawVersionId;
 import gov.nysenate.openleg.model.process.DataProcessUnit;
 import gov.nysenate.openleg.processor.base.AbstractDataProcessor;
+import gov.nysenate.openleg.processor.base.IngestCacheWeights;
 import gov.nysenate.openleg.service.law.data.LawDataService;
 import gov.nysenate.openleg.service.law.data.LawTreeNotFoundEx;
 import gov.nysenate.openleg.service.law.event.BulkLawUpdateEvent;
 import gov.nysenate.openleg.service.law.event.LawTreeUpdateEvent;
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.io.File;
+import javax.annotation.PreDestroy;
 import java.io.IOException;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static gov.nysenate.openleg.model.law.LawDocumentType.*;
 
@@ -34,13 +36,6 @@ public class LawProcessor extends AbstractDataProcessor
 {
     private static final Logger logger = LoggerFactory.getLogger(LawProcessor.class);
 
-    /** The law files are most likely sent in CP850 encoding. */
-    protected static Charset LAWFILE_CHARSET = Charset.forName("CP850");
-
-    /** Pattern for law doc headers.  */
-    protected static Pattern lawHeader =
-        Pattern.compile("\\.\\.SO DOC ((\\w{3})(.{13}))(.{8}) (.{15}) (?:LAWS\\(((?:UN)?CONSOLIDATED)\\))");
-
     /** Hints about the law hierarchy for certain laws that have inconsistent doc id naming. */
     protected static Map<String, List<LawDocumentType>> expectedLawOrdering = new HashMap<>();
     static {
@@ -56,11 +51,23 @@ public class LawProcessor extends AbstractDataProcessor
 
     @Autowired private LawDataService lawDataService;
 
+    /** Worker pool used to build and persist laws concurrently during an initial dump. */
+    private ExecutorService lawExecutor;
+
+    private final ThreadFactory threadFactory = new OpenlegThreadFactory("law-process");
+
     @Override
     public void init() {
         initBase();
     }
 
+    @PreDestroy
+    protected void destroy() {
+        if (lawExecutor != null) {
+            lawExecutor.shutdownNow();
+        }
+    }
+
     /**
      * Performs all the steps required to process and persist the supplied LawFile.
      *
@@ -71,12 +78,11 @@ public class LawProcessor extends AbstractDataProcessor
         DataProcessUnit unit = createDataProcessUnit(lawFile);
         try {
             logger.info("Processing law file {}", lawFile);
-            List<LawBlock> lawBlocks = getLawBlocks(lawFile);
             if (isInitial) {
-                processInitialLaws(lawFile, lawBlocks, unit);
+                processInitialLaws(lawFile, unit);
             }
             else {
-                processLawUpdates(lawFile, lawBlocks, unit);
+                processLawUpdates(lawFile, unit);
             }
         }
         catch (IOException ex) {
@@ -111,26 +117,97 @@ public class LawProcessor extends AbstractDataProcessor
 
     /**
      * The initial laws are parsed such that the order of the documents indicates the structure of the laws
-     * (i.e. there are no master documents).
+     * (i.e. there are no master documents). Each law id is independent of the others, so the blocks are streamed
+     * from the file and, as soon as the blocks for the next law start, the law that was being read is built and
+     * persisted concurrently with the rest of the file. A law is only submitted once its estimated heap usage fits
+     * within the configured budget along with the laws that are already in progress, and its blocks are released
+     * once it has been built.
+     *
+     * The blocks of a law are contiguous within the dump, so aside from the law currently being read, only the
+     * in progress laws are held in memory. A law whose blocks are split up would be persisted in pieces, so it is
+     * treated as a parse error instead.
+     *
+     * If reading the file fails, the laws that have not started are cancelled and the running ones are waited on
+     * before the failure is rethrown.
      *
      * @param lawFile LawFile
-     * @param lawBlocks List<LawBlock>
      */
-    protected void processInitialLaws(LawFile lawFile, List<LawBlock> lawBlocks, DataProcessUnit unit) {
-        Map<String, LawBuilder> lawBuilders = new HashMap<>();
-        for (LawBlock block : lawBlocks) {
-            if (!shouldProcessLaw(block)) continue;
-            // Create the law builder for the law id if it doesn't already exist.
-            if (!lawBuilders.containsKey(block.getLawId())) {
-                LawBuilder lawBuilder = createLawBuilder(new LawVersionId(block.getLawId(), block.getPublishedDate()), null);
-                lawBuilders.put(block.getLawId(), lawBuilder);
-                unit.addMessage("Processing initial docs for " + block.getLawId());
+    protected void processInitialLaws(LawFile lawFile, DataProcessUnit unit) throws IOException {
+        int maxHeapKb = Math.max(1, env.getLawProcessMaxHeap()) * 1024;
+        Semaphore heapBudget = new Semaphore(maxHeapKb);
+        AtomicBoolean cancelled = new AtomicBoolean(false);
+        List<Future<?>> futures = new ArrayList<>();
+        try (LawBlockReader blockReader = new LawBlockReader(lawFile)) {
+            Set<String> readLawIds = new HashSet<>();
+            String lawId = null;
+            List<LawBlock> blocks = new ArrayList<>();
+            while (blockReader.hasNext() && !cancelled.get()) {
+                LawBlock block = blockReader.next();
+                if (!shouldProcessLaw(block)) continue;
+                if (!block.getLawId().equals(lawId)) {
+                    if (lawId != null) {
+                        unit.addMessage("Processing initial docs for " + lawId);
+                        futures.add(submitInitialLaw(lawFile, lawId, blocks, heapBudget, maxHeapKb, cancelled));
+                        blocks = new ArrayList<>();
+                    }
+                    lawId = block.getLawId();
+                    if (!readLawIds.add(lawId)) {
+                        throw new LawParseException("The blocks for law " + lawId + " are not contiguous in " + lawFile);
+                    }
+                }
+                blocks.add(block);
+            }
+            if (lawId != null && !cancelled.get()) {
+                unit.addMessage("Processing initial docs for " + lawId);
+                futures.add(submitInitialLaw(lawFile, lawId, blocks, heapBudget, maxHeapKb, cancelled));
             }
-            // Process the initial block
-            lawBuilders.get(block.getLawId()).addInitialBlock(block, true);
         }
-        // Persist the results
-        persist(lawFile, lawBuilders);
+        catch (IOException | RuntimeException ex) {
+            cancelled.set(true);
+            try {
+                awaitAll(futures, cancelled);
+            }
+            catch (RuntimeException taskEx) {
+                ex.addSuppressed(taskEx);
+            }
+            throw ex;
+        }
+        awaitAll(futures, cancelled);
+    }
+
+    /**
+     * Submits a fully read law to be built and persisted on the law worker pool, blocking until its estimated
+     * heap usage fits within the heap budget. The law is skipped if processing has been cancelled by the time
+     * it starts or is ready to be persisted, and a failure cancels the laws that have not been persisted yet.
+     */
+    private Future<?> submitInitialLaw(LawFile lawFile, String lawId, List<LawBlock> blocks,
+                                       Semaphore heapBudget, int maxHeapKb, AtomicBoolean cancelled) {
+        int heapKb = Math.min(maxHeapKb, estimateHeapKb(blocks));
+        acquire(heapBudget, heapKb);
+        try {
+            return getLawExecutor().submit(() -> {
+                try {
+                    if (cancelled.get()) return;
+                    LawBuilder lawBuilder = createLawBuilder(new LawVersionId(lawId, blocks.get(0).getPublishedDate()), null);
+                    blocks.forEach(block -> lawBuilder.addInitialBlock(block, true));
+                    blocks.clear();
+                    if (cancelled.get()) return;
+                    persist(lawFile, lawId, lawBuilder);
+                }
+                catch (RuntimeException ex) {
+                    cancelled.set(true);
+                    throw ex;
+                }
+                finally {
+                    blocks.clear();
+                    heapBudget.release(heapKb);
+                }
+            });
+        }
+        catch (RejectedExecutionException ex) {
+            heapBudget.release(heapKb);
+            throw ex;
+        }
     }
 
     /**
@@ -139,33 +216,36 @@ public class LawProcessor extends AbstractDataProcessor
      * and REPEALED but we have not encountered those as of yet.
      *
      * @param lawFile LawFile
-     * @param lawBlocks List<LawBlock>
      */
-    protected void processLawUpdates(LawFile lawFile, List<LawBlock> lawBlocks, DataProcessUnit unit) {
+    protected void processLawUpdates(LawFile lawFile, DataProcessUnit unit) throws IOException {
         Map<String, LawBuilder> lawBuilders = new HashMap<>();
         Map<String, LawTree> lawTrees = new HashMap<>();
-        for (LawBlock block : lawBlocks) {
-            if (!shouldProcessLaw(block)) continue;
-            LawVersionId lawVersionId = new LawVersionId(block.getLawId(), block.getPublishedDate());
-            logger.debug("Processing law version id: {}", lawVersionId);
-            // Retrieve the existing law tree if it exists.
-            if (!lawTrees.containsKey(block.getLawId())) {
-                try {
-                    LawTree lawTree = lawDataService.getLawTree(block.getLawId(), block.getPublishedDate());
-                    lawTrees.put(block.getLawId(), lawTree);
+        try (LawBlockReader blockReader = new LawBlockReader(lawFile)) {
+            while (blockReader.hasNext()) {
+                LawBlock block = blockReader.next();
+                if (!shouldProcessLaw(block)) continue;
+                LawVersionId lawVersionId = new LawVersionId(block.getLawId(), block.getPublishedDate());
+                logger.debug("Processing law version id: {}", lawVersionId);
+                // Retrieve the existing law tree if it exists.
+                if (!lawTrees.containsKey(block.getLawId())) {
+                    try {
+                        LawTree lawTree = lawDataService.getLawTree(block.getLawId(), block.getPublishedDate());
+                        // The builder modifies the tree, so it gets a copy rather than the shared cached tree
+                        lawTrees.put(block.getLawId(), lawTree.copy());
+                    }
+                    catch (LawTreeNotFoundEx ex) {
+                        lawTrees.put(block.getLawId(), null);
+                        unit.addException("Update received for a law " + block.getLawId() + " without an existing tree!", logger);
+                    }
                 }
-                catch (LawTreeNotFoundEx ex) {
-                    lawTrees.put(block.getLawId(), null);
-                    unit.addException("Update received for a law " + block.getLawId() + " without an existing tree!", logger);
+                // Create the law builder for the law id if it doesn't already exist.
+                if (!lawBuilders.containsKey(block.getLawId())) {
+                    LawBuilder lawBuilder = createLawBuilder(lawVersionId, lawTrees.get(block.getLawId()));
+                    lawBuilders.put(block.getLawId(), lawBuilder);
                 }
+                // Process the update block
+                lawBuilders.get(block.getLawId()).addUpdateBlock(block);
             }
-            // Create the law builder for the law id if it doesn't already exist.
-            if (!lawBuilders.containsKey(block.getLawId())) {
-                LawBuilder lawBuilder = createLawBuilder(lawVersionId, lawTrees.get(block.getLawId()));
-                lawBuilders.put(block.getLawId(), lawBuilder);
-            }
-            // Process the update block
-            lawBuilders.get(block.getLawId()).addUpdateBlock(block);
         }
         persist(lawFile, lawBuilders);
     }
@@ -177,59 +257,108 @@ public class LawProcessor extends AbstractDataProcessor
      * @param lawBuilders Map<String, LawBuilder>
      */
     private void persist(LawFile lawFile, Map<String, LawBuilder> lawBuilders) {
-        // Persist the results
-        lawBuilders.forEach((lawId, lawBuilder) ->{
-            logger.info("Persisting law documents for {}", lawId);
-            lawBuilder.getProcessedLawDocuments().forEach(d -> lawDataService.saveLawDocument(lawFile, d));
-            eventBus.post(new BulkLawUpdateEvent(lawBuilder.getProcessedLawDocuments()));
-            logger.info("Persisting law tree for {}", lawId);
-            lawDataService.saveLawTree(lawFile, lawBuilder.getProcessedLawTree());
-            eventBus.post(new LawTreeUpdateEvent(lawId));
-        });
+        lawBuilders.forEach((lawId, lawBuilder) -> persist(lawFile, lawId, lawBuilder));
     }
 
     /**
-     * Extracts a collection of LawBlocks from the given LawFile. Each block is represents all the meta data and
-     * text for each document section in the law file (delineated by the ..SO DOC header). The LawBlock is just
-     * a helper object that should be used to construct LawDocuments.
+     * Persists the documents and tree produced by a single law builder. The documents are written in JDBC
+     * batches of the configured size.
      *
-     * @param lawFile LawFile - The LawFile to extract the blocks from.
-     * @return List<ListBlock>
-     * @throws IOException
+     * @param lawFile LawFile - Used to keep track of the source
+     * @param lawId String
+     * @param lawBuilder LawBuilder
+     */
+    private void persist(LawFile lawFile, String lawId, LawBuilder lawBuilder) {
+        logger.info("Persisting law documents for {}", lawId);
+        List<LawDocument> lawDocuments = lawBuilder.getProcessedLawDocuments();
+        int batchSize = Math.max(1, env.getLawProcessBatchSize());
+        Lists.partition(lawDocuments, batchSize).forEach(batch -> lawDataService.saveLawDocuments(lawFile, batch));
+        eventBus.post(new BulkLawUpdateEvent(lawDocuments));
+        logger.info("Persisting law tree for {}", lawId);
+        lawDataService.saveLawTree(lawFile, lawBuilder.getProcessedLawTree());
+        eventBus.post(new LawTreeUpdateEvent(lawId));
+    }
+
+    /**
+     * Roughly estimates the heap (in KB) needed to build and persist a law from the given blocks. The text of
+     * each block is held in the block as well as in the resulting law document.
+     *
+     * @param blocks List<LawBlock>
+     * @return int - at least 1
      */
-    protected List<LawBlock> getLawBlocks(LawFile lawFile) throws IOException {
-        List<LawBlock> rawDocList = new ArrayList<>();
-        logger.debug("Extracting law blocks...");
-        File file = lawFile.getFile();
-        Iterator<String> fileItr = Files.lines(file.toPath(), LAWFILE_CHARSET).iterator();
-        LawBlock block = null;
-        Matcher headerMatcher;
-        while (fileItr.hasNext()) {
-            String line = fileItr.next();
-            headerMatcher = lawHeader.matcher(line);
-            if (headerMatcher.matches()) {
-                if (block != null && !LawDocIdFixer.ignoreDocument(block.getDocumentId(), block.getPublishedDate())) {
-                    rawDocList.add(block);
+    private static int estimateHeapKb(List<LawBlock> blocks) {
+        long bytes = 0;
+        for (LawBlock block : blocks) {
+            bytes += 2 * IngestCacheWeights.stringBytes(block.getText());
+        }
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, bytes / 1024));
+    }
+
+    private static void acquire(Semaphore semaphore, int permits) {
+        try {
+            semaphore.acquire(permits);
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to process laws", ex);
+        }
+    }
+
+    /**
+     * Blocks until every law task has completed. If a task fails (or the wait is interrupted), the laws that
+     * have not started are cancelled and the ones already running are still waited on, so that no law is
+     * persisted after this returns. The first failure is then rethrown.
+     *
+     * Running tasks are not interrupted since they may be part way through persisting a law, which is why the
+     * shared cancelled flag is used rather than {@link Future#cancel(boolean)}.
+     *
+     * @param futures List<Future<?>>
+     * @param cancelled AtomicBoolean - checked by each law task before building and persisting
+     */
+    private static void awaitAll(List<Future<?>> futures, AtomicBoolean cancelled) {
+        RuntimeException failure = null;
+        boolean interrupted = false;
+        for (Future<?> future : futures) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                }
+                catch (InterruptedException ex) {
+                    cancelled.set(true);
+                    interrupted = true;
+                    if (failure == null) {
+                        failure = new IllegalStateException("Interrupted while processing laws", ex);
+                    }
+                }
+                catch (ExecutionException ex) {
+                    cancelled.set(true);
+                    if (failure == null) {
+                        failure = (ex.getCause() instanceof RuntimeException)
+                                ? (RuntimeException) ex.getCause()
+                                : new IllegalStateException("Error while processing law", ex.getCause());
+                    }
+                    break;
                 }
-                block = new LawBlock();
-                block.setHeader(line);
-                block.setLawId(headerMatcher.group(2).trim());
-                block.setPublishedDate(lawFile.getPublishedDate());
-                block.setDocumentId(
-                    LawDocIdFixer.applyReplacement(headerMatcher.group(1).trim(), lawFile.getPublishedDate()));
-                block.setLocationId(block.getDocumentId().substring(3));
-                block.setMethod(headerMatcher.group(4).trim());
-                block.setConsolidated(headerMatcher.group(6).equals("CONSOLIDATED"));
-            }
-            else {
-                if (block == null) throw new LawParseException("No doc header received prior to line: " + line);
-                block.getText().append(line).append("\\n");
             }
         }
-        if (block != null && !LawDocIdFixer.ignoreDocument(block.getDocumentId(), block.getPublishedDate())) {
-            rawDocList.add(block);
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Lazily creates the law worker pool, sized according to the environment config.
+     */
+    private synchronized ExecutorService getLawExecutor() {
+        if (lawExecutor == null) {
+            int threads = Math.max(1, env.getLawProcessThreads());
+            lawExecutor = Executors.newFixedThreadPool(threads, threadFactory);
         }
-        return rawDocList;
+        return lawExecutor;
     }
 
     protected boolean shouldProcessLaw(LawBlock block) {
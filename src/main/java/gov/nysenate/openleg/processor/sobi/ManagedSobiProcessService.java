@@ -17,6 +17,7 @@ import gov.nysenate.openleg.model.process.DataProcessUnitEvent;
 import gov.nysenate.openleg.model.sourcefiles.SourceFile;
 import gov.nysenate.openleg.model.sourcefiles.SourceType;
 import gov.nysenate.openleg.model.sourcefiles.sobi.*;
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,10 +26,18 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
  * This SobiProcessService implementation processes every type of sobi fragment.
@@ -67,6 +76,11 @@ public class ManagedSobiProcessService implements SobiProcessService {
      */
     private ImmutableMap<SobiFragmentType, SobiProcessor> processorMap;
 
+    /** Worker pool used to process fragment partitions when parallel processing is enabled. */
+    private ExecutorService partitionExecutor;
+
+    private final ThreadFactory threadFactory = new OpenlegThreadFactory("sobi-process");
+
     @PostConstruct
     protected void init() {
         eventBus.register(this);
@@ -76,6 +90,13 @@ public class ManagedSobiProcessService implements SobiProcessService {
         sourceFileDaoMap = Maps.uniqueIndex(sourceFileFsDaos, SourceFileFsDao::getSourceType);
     }
 
+    @PreDestroy
+    protected void destroy() {
+        if (partitionExecutor != null) {
+            partitionExecutor.shutdownNow();
+        }
+    }
+
     /** --- Implemented Methods --- */
 
     /**
@@ -148,19 +169,10 @@ public class ManagedSobiProcessService implements SobiProcessService {
         } else if (fragments.size() == 1 && filteredFragments.isEmpty()) {
             logger.info("Ignoring fragment {} due to process config.", fragments.get(0).getFragmentId());
         }
-        for (SobiFragment fragment : filteredFragments) {
-            fragment.startProcessing();
-            sobiFragmentDao.updateSobiFragment(fragment);
-            // Hand off processing to specific implementations based on fragment type.
-            if (processorMap.containsKey(fragment.getType())) {
-                SobiProcessor currentProcessor = processorMap.get(fragment.getType());
-                currentProcessor.process(fragment);
-                currentProcessor.checkIngestCache();
-            } else {
-                logger.error("No processors have been registered to handle: " + fragment);
-            }
-            fragment.setProcessedCount(fragment.getProcessedCount() + 1);
-            fragment.setProcessedDateTime(LocalDateTime.now());
+        if (env.isSobiParallelEnabled()) {
+            processPartitioned(filteredFragments);
+        } else {
+            filteredFragments.forEach(this::processFragment);
         }
         // Perform any necessary post-processing/cleanup
         processorMap.values().forEach(SobiProcessor::postProcess);
@@ -213,6 +225,112 @@ public class ManagedSobiProcessService implements SobiProcessService {
 
     /** --- Internal Methods --- */
 
+    /**
+     * Hands off the given fragment to the processor registered for its type.
+     *
+     * @param fragment SobiFragment
+     */
+    private void processFragment(SobiFragment fragment) {
+        fragment.startProcessing();
+        sobiFragmentDao.updateSobiFragment(fragment);
+        // Hand off processing to specific implementations based on fragment type.
+        if (processorMap.containsKey(fragment.getType())) {
+            SobiProcessor currentProcessor = processorMap.get(fragment.getType());
+            currentProcessor.process(fragment);
+            currentProcessor.checkIngestCache();
+        } else {
+            logger.error("No processors have been registered to handle: " + fragment);
+        }
+        fragment.setProcessedCount(fragment.getProcessedCount() + 1);
+        fragment.setProcessedDateTime(LocalDateTime.now());
+    }
+
+    /**
+     * Splits the fragments into {@link SobiFragmentPartition}s and processes each partition on its own
+     * worker thread. Fragments within a partition retain their original (published date) ordering.
+     * Blocks until every partition has been processed. If a partition fails, the other partitions stop
+     * before their next fragment, and the first failure is thrown once all of them have stopped.
+     *
+     * @param fragments List<SobiFragment> - fragments sorted by published date
+     */
+    private void processPartitioned(List<SobiFragment> fragments) {
+        Map<SobiFragmentPartition, List<SobiFragment>> partitions = fragments.stream()
+                .collect(Collectors.groupingBy(fragment -> SobiFragmentPartition.of(fragment.getType()),
+                        () -> new EnumMap<>(SobiFragmentPartition.class), Collectors.toList()));
+        if (partitions.size() < 2) {
+            fragments.forEach(this::processFragment);
+            return;
+        }
+        ExecutorService executor = getPartitionExecutor();
+        AtomicBoolean failed = new AtomicBoolean(false);
+        List<Future<?>> futures = new ArrayList<>();
+        partitions.forEach((partition, partFragments) -> {
+            logger.debug("Submitting {} fragments for the {} partition", partFragments.size(), partition);
+            futures.add(executor.submit(() -> processPartition(partition, partFragments, failed)));
+        });
+        RuntimeException failure = null;
+        boolean interrupted = false;
+        // Wait for every partition, so none is still writing once the failure is handled
+        for (Future<?> future : futures) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                    failed.set(true);
+                    if (failure == null) {
+                        failure = new IllegalStateException("Interrupted while processing sobi fragment partitions", ex);
+                    }
+                } catch (ExecutionException ex) {
+                    if (failure == null) {
+                        failure = ex.getCause() instanceof RuntimeException
+                                ? (RuntimeException) ex.getCause()
+                                : new IllegalStateException("Error while processing sobi fragment partition", ex.getCause());
+                    }
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Processes the fragments of a partition in order, stopping early if another partition has failed.
+     */
+    private void processPartition(SobiFragmentPartition partition, List<SobiFragment> fragments,
+                                  AtomicBoolean failed) {
+        for (SobiFragment fragment : fragments) {
+            if (failed.get()) {
+                logger.warn("Stopping the {} partition since another partition failed", partition);
+                return;
+            }
+            try {
+                processFragment(fragment);
+            } catch (RuntimeException ex) {
+                failed.set(true);
+                throw ex;
+            }
+        }
+    }
+
+    /**
+     * Lazily creates the partition worker pool, sized according to the environment config.
+     * The pool never exceeds the number of partitions since each partition is processed by a single thread.
+     */
+    private synchronized ExecutorService getPartitionExecutor() {
+        if (partitionExecutor == null) {
+            int threads = Math.min(SobiFragmentPartition.values().length, Math.max(1, env.getSobiParallelThreads()));
+            partitionExecutor = Executors.newFixedThreadPool(threads, threadFactory);
+        }
+        return partitionExecutor;
+    }
+
     /**
      * Gets incoming {@link SourceFile}s from multiple sources
      * @return {@link List<SourceFile>}
@@ -16,6 +16,7 @@ import gov.nysenate.openleg.service.agenda.event.AgendaUpdateEvent;
 import gov.nysenate.openleg.service.agenda.event.BulkAgendaUpdateEvent;
 import gov.nysenate.openleg.service.base.search.ElasticSearchServiceUtils;
 import gov.nysenate.openleg.service.base.search.IndexedSearchService;
+import gov.nysenate.openleg.service.base.search.SearchIndexRebuilder;
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
@@ -27,6 +28,7 @@ import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -41,6 +43,10 @@ public class ElasticAgendaSearchService implements AgendaSearchService, IndexedS
     @Autowired private EventBus eventBus;
     @Autowired private ElasticAgendaSearchDao agendaSearchDao;
     @Autowired private AgendaDataService agendaDataService;
+    @Autowired private SearchIndexRebuilder searchIndexRebuilder;
+
+    /** The number of agendas that are loaded and submitted together during a reindex. */
+    private static final int reindexBatchSize = 25;
 
     @PostConstruct
     protected void init() {
@@ -101,13 +107,13 @@ public class ElasticAgendaSearchService implements AgendaSearchService, IndexedS
     /** {@inheritDoc} */
     @Override
     public void rebuildIndex() {
-        clearIndex();
+        List<AgendaId> agendaIds = new ArrayList<>();
         for (int year = 2009; year <= LocalDate.now().getYear(); year++) {
-            List<AgendaId> agendaIds = agendaDataService.getAgendaIds(year, SortOrder.ASC);
-            List<Agenda> agendas = agendaIds.stream().map(aid -> agendaDataService.getAgenda(aid)).collect(toList());
-            logger.info("Reindexing {} agendas from {}", agendas.size(), year);
-            agendaSearchDao.updateAgendaIndex(agendas);
+            agendaIds.addAll(agendaDataService.getAgendaIds(year, SortOrder.ASC));
         }
+        agendaSearchDao.rebuildIndices(() ->
+                searchIndexRebuilder.rebuild("agenda", agendaIds, reindexBatchSize,
+                        this::loadAgendas, (List<Agenda> agendas) -> agendaSearchDao.updateAgendaIndex(agendas)));
     }
 
     /** {@inheritDoc} */
@@ -163,4 +169,12 @@ public class ElasticAgendaSearchService implements AgendaSearchService, IndexedS
             throw new UnexpectedSearchException(ex.getMessage(), ex);
         }
     }
+
+    /* --- Internal Methods --- */
+
+    private List<Agenda> loadAgendas(List<AgendaId> agendaIds) {
+        return agendaIds.stream()
+                .map(agendaDataService::getAgenda)
+                .collect(toList());
+    }
 }
@@ -0,0 +1,92 @@
+package gov.nysenate.openleg.service.base.data;
+
+import gov.nysenate.openleg.model.cache.CacheWarmEvent;
+import gov.nysenate.openleg.model.cache.CacheWarmProgress;
+import gov.nysenate.openleg.model.cache.ContentCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.Resource;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Coordinates the warming of content caches. Rather than posting a {@link CacheWarmEvent} to the event bus,
+ * where each caching service would warm its caches one after another, each affected caching service is
+ * warmed concurrently on the async executor.
+ *
+ * The progress of the most recent warming of each cache is retained and can be retrieved via
+ * {@link #getWarmProgress()}.
+ */
+@Service
+public class CacheWarmService
+{
+    private static final Logger logger = LoggerFactory.getLogger(CacheWarmService.class);
+
+    @Autowired private List<CachingService<?>> cachingServices;
+    @Resource(name = "openlegAsync") private ThreadPoolTaskExecutor executor;
+
+    /** The progress of the latest warming of each cache. */
+    private final Map<ContentCache, CacheWarmProgress> warmProgress = Collections.synchronizedMap(new EnumMap<>(ContentCache.class));
+
+    /**
+     * Starts warming the given caches, returning immediately.
+     * Caches that are currently being warmed are skipped.
+     *
+     * @param targetCaches Set<ContentCache>
+     * @return CompletableFuture<Void> - completes once all of the caches are done warming
+     */
+    public synchronized CompletableFuture<Void> warmCaches(Set<ContentCache> targetCaches) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (CachingService<?> cachingService : cachingServices) {
+            Set<ContentCache> serviceCaches = cachingService.getContentCaches().stream()
+                    .filter(targetCaches::contains)
+                    .filter(this::isNotWarming)
+                    .collect(Collectors.toCollection(() -> EnumSet.noneOf(ContentCache.class)));
+            if (!serviceCaches.isEmpty()) {
+                futures.add(warmAsync(cachingService, serviceCaches));
+            }
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
+
+    /**
+     * @return List<CacheWarmProgress> - progress for each cache that has been warmed via this service
+     */
+    public List<CacheWarmProgress> getWarmProgress() {
+        synchronized (warmProgress) {
+            return new ArrayList<>(warmProgress.values());
+        }
+    }
+
+    /** --- Internal Methods --- */
+
+    private boolean isNotWarming(ContentCache contentCache) {
+        CacheWarmProgress progress = warmProgress.get(contentCache);
+        return progress == null || progress.isDone();
+    }
+
+    private CompletableFuture<Void> warmAsync(CachingService<?> cachingService, Set<ContentCache> caches) {
+        List<CacheWarmProgress> progressList = caches.stream()
+                .map(CacheWarmProgress::new)
+                .collect(Collectors.toList());
+        progressList.forEach(progress -> warmProgress.put(progress.getContentCache(), progress));
+        return CompletableFuture.runAsync(() -> {
+            logger.info("Warming {} caches", caches);
+            progressList.forEach(CacheWarmProgress::markRunning);
+            try {
+                cachingService.handleCacheWarmEvent(new CacheWarmEvent(caches));
+                progressList.forEach(CacheWarmProgress::markCompleted);
+                logger.info("Done warming {} caches", caches);
+            }
+            catch (RuntimeException ex) {
+                logger.error("Error while warming " + caches + " caches", ex);
+                progressList.forEach(progress -> progress.markFailed(ex));
+            }
+        }, executor);
+    }
+}
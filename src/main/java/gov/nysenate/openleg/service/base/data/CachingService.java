@@ -3,12 +3,16 @@ package gov.nysenate.openleg.service.base.data;
 import gov.nysenate.openleg.model.cache.CacheEvictEvent;
 import gov.nysenate.openleg.model.cache.CacheEvictIdEvent;
 import gov.nysenate.openleg.model.cache.CacheWarmEvent;
+import gov.nysenate.openleg.model.cache.ContentCache;
 import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.CopyStrategyConfiguration;
 import net.sf.ehcache.config.SizeOfPolicyConfiguration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.List;
+import java.util.*;
+import java.util.stream.Collectors;
 
 import static net.sf.ehcache.config.SizeOfPolicyConfiguration.MaxDepthExceededBehavior.CONTINUE;
 
@@ -26,6 +30,20 @@ public interface CachingService<ContentId>
      */
     public List<Ehcache> getCaches();
 
+    /**
+     * (Default Method)
+     * Returns the content caches managed by this service, determined by the names of its caches.
+     */
+    public default Set<ContentCache> getContentCaches() {
+        Set<String> cacheNames = Optional.ofNullable(getCaches()).orElse(Collections.emptyList()).stream()
+                .filter(Objects::nonNull)
+                .map(Ehcache::getName)
+                .collect(Collectors.toSet());
+        return ContentCache.getAllContentCaches().stream()
+                .filter(contentCache -> cacheNames.contains(contentCache.name()))
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(ContentCache.class)));
+    }
+
     /**
      * Evicts a single item from the cache based on the given content id
      */
@@ -82,4 +100,20 @@ public interface CachingService<ContentId>
     public default SizeOfPolicyConfiguration defaultSizeOfPolicy() {
         return new SizeOfPolicyConfiguration().maxDepth(50000).maxDepthExceededBehavior(CONTINUE);
     }
+
+    /**
+     * (Default Method)
+     * Configures the given cache to store its values as compressed, serialized byte arrays.
+     * This trades some cpu time on every read and write for a much smaller heap footprint.
+     *
+     * @see CompressedSerializationCopyStrategy
+     * @param config CacheConfiguration
+     * @return CacheConfiguration - the same configuration
+     */
+    public default CacheConfiguration compressedStorage(CacheConfiguration config) {
+        CopyStrategyConfiguration copyStrategy = new CopyStrategyConfiguration();
+        copyStrategy.setClass(CompressedSerializationCopyStrategy.class.getName());
+        config.addCopyStrategy(copyStrategy);
+        return config.copyOnRead(true).copyOnWrite(true);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,116 @@
+package gov.nysenate.openleg.service.base.data;
+
+import net.sf.ehcache.CacheException;
+import net.sf.ehcache.Element;
+import net.sf.ehcache.store.compound.ReadWriteCopyStrategy;
+
+import java.io.*;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * An Ehcache copy strategy that stores cache values as compressed, serialized byte arrays.
+ *
+ * A large object graph such as a Bill is reduced to a single byte array while it sits in the cache,
+ * which greatly cuts down on both its heap footprint and the number of objects the garbage collector
+ * has to trace. Each read deserializes a fresh copy of the value, so this is best suited for caches
+ * holding a large number of entries that are each read relatively infrequently.
+ *
+ * The cache must have copyOnRead and copyOnWrite enabled for this strategy to be used, and all cached
+ * values must be {@link Serializable}.
+ */
+public class CompressedSerializationCopyStrategy implements ReadWriteCopyStrategy<Element>
+{
+    private static final long serialVersionUID = 2395416217046382750L;
+
+    /** {@inheritDoc} */
+    @Override
+    public Element copyForWrite(Element value, ClassLoader loader) {
+        if (value == null || value.getObjectValue() == null) {
+            return value;
+        }
+        return duplicateWithValue(value, new CompressedValue(compress(value.getObjectValue())));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Element copyForRead(Element storedValue, ClassLoader loader) {
+        if (storedValue == null || !(storedValue.getObjectValue() instanceof CompressedValue)) {
+            return storedValue;
+        }
+        CompressedValue compressed = (CompressedValue) storedValue.getObjectValue();
+        return duplicateWithValue(storedValue, decompress(compressed.bytes, loader));
+    }
+
+    /** --- Internal Methods --- */
+
+    private static byte[] compress(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (ObjectOutputStream out = new ObjectOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+            out.writeObject(value);
+        }
+        catch (IOException ex) {
+            throw new CacheException("Failed to serialize cache value of type " + value.getClass().getName(), ex);
+        }
+        finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object decompress(byte[] bytes, ClassLoader loader) {
+        try (ObjectInputStream in = new LoaderObjectInputStream(
+                new InflaterInputStream(new ByteArrayInputStream(bytes)), loader)) {
+            return in.readObject();
+        }
+        catch (IOException | ClassNotFoundException ex) {
+            throw new CacheException("Failed to deserialize cache value", ex);
+        }
+    }
+
+    private static Element duplicateWithValue(Element element, Object newValue) {
+        return new Element(element.getObjectKey(), newValue, element.getVersion(), element.getCreationTime(),
+                element.getLastAccessTime(), element.getHitCount(), element.usesCacheDefaultLifespan(),
+                element.getTimeToLive(), element.getTimeToIdle(), element.getLastUpdateTime());
+    }
+
+    /** --- Internal Classes --- */
+
+    /** Wraps the stored bytes so they can't be confused with a cached value that is itself a byte array. */
+    private static class CompressedValue implements Serializable
+    {
+        private static final long serialVersionUID = -1651703519834187760L;
+
+        private final byte[] bytes;
+
+        private CompressedValue(byte[] bytes) {
+            this.bytes = bytes;
+        }
+    }
+
+    /** Resolves classes using the cache's class loader if one is provided. */
+    private static class LoaderObjectInputStream extends ObjectInputStream
+    {
+        private final ClassLoader loader;
+
+        private LoaderObjectInputStream(InputStream in, ClassLoader loader) throws IOException {
+            super(in);
+            this.loader = loader;
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            if (loader != null) {
+                try {
+                    return Class.forName(desc.getName(), false, loader);
+                }
+                catch (ClassNotFoundException ignored) {
+                    // Fall back to the default resolution
+                }
+            }
+            return super.resolveClass(desc);
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package gov.nysenate.openleg.service.base.search;
+
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A queue of pending search index updates that is flushed in bulk by a dedicated background worker.
+ *
+ * Updates are keyed so that repeated updates to the same document within the flush window are coalesced
+ * into a single update containing the most recently queued value. An update is flushed once the oldest
+ * pending update has waited for the full window, or as soon as a full batch has accumulated.
+ *
+ * If a flush fails (e.g. elasticsearch is unavailable) the batch is returned to the queue and retried with an
+ * exponential backoff. Adding updates never blocks, so an outage cannot stall data processing. Since there is at
+ * most one pending update per key, the queue is bounded by the number of distinct documents rather than by the
+ * number of updates, so updates should be lightweight (e.g. the document id) and loaded when flushed. A warning
+ * is logged when the number of pending updates reaches the configured threshold.
+ *
+ * Queues are created and shut down by the {@link IndexUpdateQueueFactory}.
+ *
+ * @param <K> The type of the key that identifies the updated document.
+ * @param <T> The type of the queued update.
+ */
+public class IndexUpdateQueue<K, T>
+{
+    private static final Logger logger = LoggerFactory.getLogger(IndexUpdateQueue.class);
+
+    private final String name;
+    private final Function<T, K> keyFunction;
+    private final Consumer<Collection<T>> flushFunction;
+
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final int warnPending;
+    private final long maxBackoffMillis;
+
+    /** The pending updates in the order they were first queued, mapped by key. */
+    private final LinkedHashMap<K, PendingUpdate<T>> pending = new LinkedHashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition updateAvailable = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+
+    private final Thread worker;
+
+    /** Guarded by lock. */
+    private boolean running = true;
+    private boolean flushRequested = false;
+    private boolean flushing = false;
+    private int consecutiveFailures = 0;
+
+    /** --- Constructors --- */
+
+    IndexUpdateQueue(String name, Function<T, K> keyFunction, Consumer<Collection<T>> flushFunction,
+                     long windowMillis, int maxBatchSize, int warnPending, long maxBackoffMillis) {
+        this.name = name;
+        this.keyFunction = keyFunction;
+        this.flushFunction = flushFunction;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(windowMillis, 0));
+        this.maxBatchSize = Math.max(maxBatchSize, 1);
+        this.warnPending = Math.max(warnPending, this.maxBatchSize);
+        this.maxBackoffMillis = Math.max(maxBackoffMillis, 1);
+        this.worker = new OpenlegThreadFactory(name + "-index-queue").newThread(this::run);
+        this.worker.start();
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Queues an update, replacing any pending update with the same key.
+     *
+     * @param update T
+     */
+    public void add(T update) {
+        if (update != null) {
+            addAll(Collections.singletonList(update));
+        }
+    }
+
+    /**
+     * Queues the given updates, replacing any pending updates with the same keys. Does not block.
+     *
+     * @param updates Collection<T>
+     */
+    public void addAll(Collection<T> updates) {
+        lock.lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException(name + " index update queue has been shut down");
+            }
+            for (T update : updates) {
+                if (update == null) {
+                    continue;
+                }
+                K key = keyFunction.apply(update);
+                PendingUpdate<T> existing = pending.get(key);
+                if (existing != null) {
+                    existing.value = update;
+                    continue;
+                }
+                pending.put(key, new PendingUpdate<>(update, System.nanoTime()));
+                if (pending.size() == warnPending) {
+                    logger.warn("{} index update queue has {} pending updates, is elasticsearch keeping up?",
+                            name, pending.size());
+                }
+            }
+            updateAvailable.signal();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Flushes all pending updates without waiting for the window to elapse,
+     * blocking until they have been flushed or the timeout is reached.
+     *
+     * @param timeout long
+     * @param unit TimeUnit
+     * @return boolean - true if all pending updates were flushed
+     */
+    public boolean flush(long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (!pending.isEmpty() || flushing) {
+                if (remaining <= 0 || !worker.isAlive()) {
+                    return false;
+                }
+                flushRequested = true;
+                updateAvailable.signal();
+                remaining = flushed.awaitNanos(remaining);
+            }
+            return true;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return int - the number of updates waiting to be flushed.
+     */
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Flushes the pending updates, waiting up to the given timeout, and stops the worker.
+     * Any updates that could not be flushed in time are discarded.
+     *
+     * @param timeout long
+     * @param unit TimeUnit
+     */
+    void shutdown(long timeout, TimeUnit unit) {
+        try {
+            if (!flush(timeout, unit)) {
+                logger.warn("Discarding {} unflushed {} index update(s) on shutdown", getPendingCount(), name);
+            }
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            running = false;
+            updateAvailable.signalAll();
+        }
+        finally {
+            lock.unlock();
+        }
+        worker.interrupt();
+    }
+
+    /** --- Internal Methods --- */
+
+    private void run() {
+        while (true) {
+            List<T> batch = takeBatch();
+            if (batch == null) {
+                return;
+            }
+            boolean success = flushBatch(batch);
+            lock.lock();
+            try {
+                flushing = false;
+                if (success) {
+                    consecutiveFailures = 0;
+                }
+                else {
+                    consecutiveFailures++;
+                    requeue(batch);
+                }
+                if (pending.isEmpty()) {
+                    flushRequested = false;
+                }
+                flushed.signalAll();
+            }
+            finally {
+                lock.unlock();
+            }
+            if (!success && !backoff()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Waits until a batch is ready to be flushed and removes it from the queue.
+     *
+     * @return List<T> - the batch, or null if the queue has been shut down.
+     */
+    private List<T> takeBatch() {
+        lock.lock();
+        try {
+            while (running) {
+                if (pending.isEmpty()) {
+                    updateAvailable.await();
+                    continue;
+                }
+                long oldestQueued = pending.values().iterator().next().queuedNanos;
+                long waitNanos = oldestQueued + windowNanos - System.nanoTime();
+                if (waitNanos > 0 && !flushRequested && pending.size() < maxBatchSize) {
+                    updateAvailable.awaitNanos(waitNanos);
+                    continue;
+                }
+                List<T> batch = new ArrayList<>(Math.min(pending.size(), maxBatchSize));
+                Iterator<PendingUpdate<T>> pendingItr = pending.values().iterator();
+                while (pendingItr.hasNext() && batch.size() < maxBatchSize) {
+                    batch.add(pendingItr.next().value);
+                    pendingItr.remove();
+                }
+                flushing = true;
+                return batch;
+            }
+            return null;
+        }
+        catch (InterruptedException ex) {
+            return null;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean flushBatch(List<T> batch) {
+        try {
+            flushFunction.accept(batch);
+            return true;
+        }
+        catch (RuntimeException ex) {
+            logger.error("Failed to flush " + batch.size() + " " + name + " index update(s), will retry", ex);
+            return false;
+        }
+    }
+
+    /**
+     * Returns a failed batch to the front of the queue. Updates that were queued again while the batch was
+     * being flushed are newer and take precedence. Returned updates are due immediately.
+     */
+    private void requeue(List<T> batch) {
+        LinkedHashMap<K, PendingUpdate<T>> newer = new LinkedHashMap<>(pending);
+        pending.clear();
+        long due = System.nanoTime() - windowNanos;
+        for (T update : batch) {
+            K key = keyFunction.apply(update);
+            pending.put(key, newer.containsKey(key) ? newer.remove(key) : new PendingUpdate<>(update, due));
+        }
+        pending.putAll(newer);
+    }
+
+    /**
+     * Sleeps for an exponentially increasing period following consecutive flush failures.
+     *
+     * @return boolean - false if the queue was shut down while waiting.
+     */
+    private boolean backoff() {
+        long backoffMillis = Math.min(maxBackoffMillis, 1000L << Math.min(consecutiveFailures - 1, 16));
+        lock.lock();
+        try {
+            long remaining = TimeUnit.MILLISECONDS.toNanos(backoffMillis);
+            while (running && remaining > 0) {
+                remaining = updateAvailable.awaitNanos(remaining);
+            }
+            return running;
+        }
+        catch (InterruptedException ex) {
+            return false;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private static class PendingUpdate<T>
+    {
+        private T value;
+        private final long queuedNanos;
+
+        PendingUpdate(T value, long queuedNanos) {
+            this.value = value;
+            this.queuedNanos = queuedNanos;
+        }
+    }
+}
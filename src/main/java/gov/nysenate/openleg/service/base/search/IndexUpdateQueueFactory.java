@@ -0,0 +1,61 @@
+package gov.nysenate.openleg.service.base.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A service used by the {@link IndexedSearchService}s to create {@link IndexUpdateQueue}s with the configured
+ * window and limits. Any updates that are still pending when the application shuts down are flushed.
+ */
+@Service
+public class IndexUpdateQueueFactory
+{
+    /** Updates to the same document within this many milliseconds are coalesced into a single update. */
+    @Value("${elastic.search.update.window:5000}") private long windowMillis;
+
+    /** The max number of updates that are flushed together. */
+    @Value("${elastic.search.update.batch.size:500}") private int maxBatchSize;
+
+    /** A warning is logged once a queue has this many pending updates. */
+    @Value("${elastic.search.update.warn.pending:20000}") private int warnPending;
+
+    /** The max number of milliseconds to wait before retrying a failed flush. */
+    @Value("${elastic.search.update.max.backoff:60000}") private long maxBackoffMillis;
+
+    /** The max number of milliseconds to wait for each queue to be flushed on shutdown. */
+    @Value("${elastic.search.update.shutdown.timeout:30000}") private long shutdownTimeoutMillis;
+
+    private final List<IndexUpdateQueue<?, ?>> queues = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates a new index update queue with a dedicated worker.
+     *
+     * @param name String - identifies the queue in logs and thread names
+     * @param keyFunction Function<T, K> - maps an update to the key of the document it updates
+     * @param flushFunction Consumer<Collection<T>> - indexes a batch of updates, throwing an exception on failure
+     * @param <K> key type
+     * @param <T> update type
+     * @return {@link IndexUpdateQueue}
+     */
+    public <K, T> IndexUpdateQueue<K, T> createQueue(String name, Function<T, K> keyFunction,
+                                                     Consumer<Collection<T>> flushFunction) {
+        IndexUpdateQueue<K, T> queue = new IndexUpdateQueue<>(name, keyFunction, flushFunction,
+                windowMillis, maxBatchSize, warnPending, maxBackoffMillis);
+        queues.add(queue);
+        return queue;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        queues.forEach(queue -> queue.shutdown(shutdownTimeoutMillis, TimeUnit.MILLISECONDS));
+        queues.clear();
+    }
+}
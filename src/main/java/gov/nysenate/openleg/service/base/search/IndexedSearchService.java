@@ -24,7 +24,8 @@ public interface IndexedSearchService<T>
     public void clearIndex();
 
     /**
-     * Clears and fully constructs the search index(ices) using data from the canonical backing store.
+     * Fully constructs the search index(ices) using data from the canonical backing store.
+     * The existing index(ices) continue to serve searches until the rebuilt ones replace them.
      */
     public void rebuildIndex();
 
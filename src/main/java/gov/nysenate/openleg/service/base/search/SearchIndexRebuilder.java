@@ -0,0 +1,157 @@
+package gov.nysenate.openleg.service.base.search;
+
+import com.google.common.collect.Lists;
+import gov.nysenate.openleg.util.pipeline.Pipeline;
+import gov.nysenate.openleg.util.pipeline.PipelineBuilder;
+import gov.nysenate.openleg.util.pipeline.PipelineFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Rebuilds search indices from the backing store using a pipeline of stages connected by bounded queues:
+ * loading batches of entities, converting them to documents, and bulk submitting the documents to the index.
+ * Each stage runs with its own configurable parallelism, and a stage blocks when the queue to the next stage
+ * is full, so only a limited number of batches are held in memory at once.
+ *
+ * Used by the {@link IndexedSearchService}s to implement {@link IndexedSearchService#rebuildIndex()}.
+ */
+@Service
+public class SearchIndexRebuilder
+{
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexRebuilder.class);
+
+    /** The max number of batches that can wait between each of the reindex stages. */
+    @Value("${search.reindex.queue.size:8}") private int queueSize;
+
+    /** The number of concurrent instances of each reindex stage.
+     *  Each instance occupies a thread of the rebuild's own pipeline for the duration of the reindex. */
+    @Value("${search.reindex.load.threads:3}") private int loadThreads;
+    @Value("${search.reindex.convert.threads:2}") private int convertThreads;
+    @Value("${search.reindex.submit.threads:2}") private int submitThreads;
+
+    @Autowired private PipelineFactory pipelineFactory;
+
+    /**
+     * Rebuilds an index where the loaded entities are submitted directly, i.e. the submitter performs
+     * the conversion to documents.
+     *
+     * @see #rebuild(String, List, int, Function, Function, Consumer)
+     */
+    public <K, T> void rebuild(String name, List<K> ids, int batchSize,
+                               Function<List<K>, List<T>> loader, Consumer<List<T>> submitter) {
+        rebuild(name, ids, batchSize, loader, null, submitter);
+    }
+
+    /**
+     * Indexes the entities with the given ids, blocking until all have been indexed.
+     *
+     * @param name String - a name for the index used in logs
+     * @param ids List<K> - the ids of all entities to index
+     * @param batchSize int - the number of entities that are loaded, converted and submitted together
+     * @param loader Function<List<K>, List<T>> - loads the entities for a batch of ids, omitting any that
+     *                                           should not be indexed. An id may also map to several entities.
+     * @param converter Function<List<T>, List<D>> - converts a batch of entities to documents, may be null
+     *                                              if the submitter accepts the entities
+     * @param submitter Consumer<List<D>> - submits a batch of documents to the index
+     * @param <K> id type
+     * @param <T> entity type
+     * @param <D> document type
+     */
+    @SuppressWarnings("unchecked")
+    public <K, T, D> void rebuild(String name, List<K> ids, int batchSize,
+                                  Function<List<K>, List<T>> loader,
+                                  Function<List<T>, List<D>> converter,
+                                  Consumer<List<D>> submitter) {
+        if (ids.isEmpty()) {
+            logger.info("No {} entities to index", name);
+            return;
+        }
+        RebuildProgress progress = new RebuildProgress(name, ids.size());
+        logger.info("Reindexing {} {} entities in batches of {} using {} load, {} convert, and {} submit threads",
+                ids.size(), name, batchSize, loadThreads, converter != null ? convertThreads : 0, submitThreads);
+        PipelineBuilder<List<T>> loadStage = pipelineFactory.pipelineBuilder(Lists.partition(ids, batchSize))
+                .addTask(batch -> Collections.singletonList(load(batch, loader, progress)), queueSize, loadThreads)
+                .named("load");
+        PipelineBuilder<List<D>> convertStage = converter != null
+                ? loadStage.addTask(entities -> Collections.singletonList(converter.apply(entities)),
+                        queueSize, convertThreads).named("convert")
+                : (PipelineBuilder<List<D>>) (PipelineBuilder<?>) loadStage;
+        Pipeline<Void> pipeline = convertStage
+                .addTask(docs -> submit(docs, submitter, progress), -1, submitThreads)
+                .named("submit")
+                .build();
+        pipeline.run().join();
+        progress.logProgress();
+        pipeline.getMetrics().forEach(metrics -> logger.info("{} reindex stage {}", name, metrics));
+    }
+
+    /* --- Internal Methods --- */
+
+    private <K, T> List<T> load(List<K> batch, Function<List<K>, List<T>> loader, RebuildProgress progress) {
+        List<T> entities = loader.apply(batch);
+        progress.loaded(batch.size());
+        return entities;
+    }
+
+    private <D> Collection<Void> submit(List<D> docs, Consumer<List<D>> submitter, RebuildProgress progress) {
+        if (!docs.isEmpty()) {
+            submitter.accept(docs);
+        }
+        progress.indexed(docs.size());
+        return Collections.emptyList();
+    }
+
+    /**
+     * Tracks the progress of a rebuild, periodically logging the number of loaded ids and indexed documents.
+     */
+    private static class RebuildProgress
+    {
+        /** Progress is logged each time this percentage of the ids has been loaded. */
+        private static final int logIntervalPercent = 5;
+
+        private final String name;
+        private final int total;
+        private final long startTime = System.currentTimeMillis();
+        private final AtomicInteger loaded = new AtomicInteger();
+        private final AtomicInteger indexed = new AtomicInteger();
+        private final AtomicInteger lastLoggedInterval = new AtomicInteger();
+
+        RebuildProgress(String name, int total) {
+            this.name = name;
+            this.total = total;
+        }
+
+        void loaded(int count) {
+            loaded.addAndGet(count);
+            update();
+        }
+
+        void indexed(int count) {
+            indexed.addAndGet(count);
+        }
+
+        void logProgress() {
+            logger.info("{} reindex: {}/{} loaded, {} documents indexed in {}s", name,
+                    loaded.get(), total, indexed.get(), (System.currentTimeMillis() - startTime) / 1000);
+        }
+
+        private void update() {
+            int percent = (int) (loaded.get() * 100L / total);
+            int interval = percent / logIntervalPercent;
+            int lastInterval = lastLoggedInterval.get();
+            if (interval > lastInterval && lastLoggedInterval.compareAndSet(lastInterval, interval)) {
+                logProgress();
+            }
+        }
+    }
+}
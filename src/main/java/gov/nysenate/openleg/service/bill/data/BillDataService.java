@@ -5,9 +5,12 @@ import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.bill.*;
 import gov.nysenate.openleg.model.sourcefiles.sobi.SobiFragment;
+import org.apache.commons.lang3.tuple.Pair;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -42,6 +45,18 @@ public interface BillDataService
      */
     Bill getBill(BaseBillId billId, Set<BillTextFormat> fullTextFormats) throws BillNotFoundEx;
 
+    /**
+     * Retrieve Bill instances for each of the given BillIds. This is much faster than calling
+     * {@link #getBill(BaseBillId, Set)} for each bill id since uncached bills are loaded in bulk.
+     *
+     * Will only include bill texts for the given formats.
+     *
+     * @param billIds Collection<BaseBillId>
+     * @param fullTextFormats {@link Set<BillTextFormat>} formats to include on the bills
+     * @return Map<BaseBillId, Bill> - ordered by the given bill ids. Bills that could not be found are omitted.
+     */
+    Map<BaseBillId, Bill> getBills(Collection<BaseBillId> billIds, Set<BillTextFormat> fullTextFormats);
+
     /**
      * Retrieve a BillInfo instance for the matching BillId. This contains
      * less information that the Bill for purposes of displaying in listings.
@@ -95,6 +110,16 @@ public interface BillDataService
      */
     void saveBill(Bill bill, SobiFragment fragment, boolean postUpdateEvent);
 
+    /**
+     * Saves a collection of Bills in the persistence layer using batched writes. Each bill is
+     * paired with the SobiFragment that last modified it.
+     *
+     * @param bills Collection<Pair<Bill, SobiFragment>>
+     * @param postUpdateEvent boolean - Set to true if this method should post a BillUpdateEvent
+     *                                  for each saved bill.
+     */
+    void saveBills(Collection<Pair<Bill, SobiFragment>> bills, boolean postUpdateEvent);
+
     /**
      * Returns a closed Range containing the session years for which bill data exists.
      * If there are no bills in the database, an empty Optional will be returned instead.
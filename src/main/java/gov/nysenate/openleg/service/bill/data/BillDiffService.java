@@ -0,0 +1,31 @@
+package gov.nysenate.openleg.service.bill.data;
+
+import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.service.bill.event.BillUpdateEvent;
+import gov.nysenate.openleg.service.bill.event.BulkBillUpdateEvent;
+
+/**
+ * Service interface for comparing the full texts of bill amendments.
+ */
+public interface BillDiffService
+{
+    /**
+     * Retrieves an html rendering of the differences between the full texts of two amendments of a bill.
+     *
+     * @param baseBillId BaseBillId
+     * @param version1 Version - The amendment to diff from.
+     * @param version2 Version - The amendment to diff to.
+     * @return String - Html with deletions and insertions marked up.
+     * @throws BillNotFoundEx - If the bill does not exist.
+     * @throws BillAmendNotFoundEx - If either amendment does not exist.
+     */
+    String getBillTextDiffHtml(BaseBillId baseBillId, Version version1, Version version2);
+
+    /**
+     * Discards the stored diffs of the updated bill.
+     */
+    void handleBillUpdate(BillUpdateEvent billUpdateEvent);
+
+    void handleBulkBillUpdate(BulkBillUpdateEvent bulkBillUpdateEvent);
+}
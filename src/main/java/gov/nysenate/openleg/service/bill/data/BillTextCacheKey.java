@@ -0,0 +1,54 @@
+package gov.nysenate.openleg.service.bill.data;
+
+import gov.nysenate.openleg.model.bill.BillId;
+import gov.nysenate.openleg.model.bill.BillTextFormat;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Identifies the full text of a single bill amendment in a given format within the bill text cache.
+ */
+public class BillTextCacheKey implements Serializable
+{
+    private static final long serialVersionUID = 3386274135920447317L;
+
+    private final BillId billId;
+    private final BillTextFormat format;
+
+    public BillTextCacheKey(BillId billId, BillTextFormat format) {
+        this.billId = new BillId(billId.getBasePrintNo(), billId.getSession(), billId.getVersion());
+        this.format = format;
+    }
+
+    /** --- Overrides --- */
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BillTextCacheKey that = (BillTextCacheKey) o;
+        return Objects.equals(billId, that.billId) &&
+                format == that.format;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(billId, format);
+    }
+
+    @Override
+    public String toString() {
+        return billId + "-" + format;
+    }
+
+    /** --- Basic Getters --- */
+
+    public BillId getBillId() {
+        return billId;
+    }
+
+    public BillTextFormat getFormat() {
+        return format;
+    }
+}
@@ -1,5 +1,6 @@
 package gov.nysenate.openleg.service.bill.data;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Range;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
@@ -7,6 +8,7 @@ import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.SortOrder;
 import gov.nysenate.openleg.dao.bill.data.BillDao;
 import gov.nysenate.openleg.model.base.SessionYear;
+import gov.nysenate.openleg.model.base.Version;
 import gov.nysenate.openleg.model.bill.*;
 import gov.nysenate.openleg.model.cache.CacheEvictEvent;
 import gov.nysenate.openleg.model.cache.CacheEvictIdEvent;
@@ -18,6 +20,7 @@ import gov.nysenate.openleg.service.bill.event.BillUpdateEvent;
 import net.sf.ehcache.*;
 import net.sf.ehcache.config.CacheConfiguration;
 import net.sf.ehcache.config.MemoryUnit;
+import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -40,15 +43,21 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
 {
     private static final Logger logger = LoggerFactory.getLogger(CachedBillDataService.class);
 
+    /** The number of bills that are loaded at a time while warming the caches. */
+    private static final int WARM_BATCH_SIZE = 500;
+
     @Autowired private CacheManager cacheManager;
     @Autowired private BillDao billDao;
     @Autowired private EventBus eventBus;
 
     @Value("${bill.cache.size}") private long billCacheSizeMb;
     @Value("${bill-info.cache.size}") private long billInfoCacheSizeMb;
+    @Value("${bill-text.cache.size:100}") private long billTextCacheSizeMb;
+    @Value("${bill.cache.compressed:false}") private boolean compressedBillCache;
 
     private Cache billCache;
     private Cache billInfoCache;
+    private Cache billTextCache;
 
     @PostConstruct
     private void init() {
@@ -61,6 +70,7 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         evictCaches();
         cacheManager.removeCache(ContentCache.BILL.name());
         cacheManager.removeCache(ContentCache.BILL_INFO.name());
+        cacheManager.removeCache(ContentCache.BILL_TEXT.name());
     }
 
     /** --- CachingService implementation --- */
@@ -68,34 +78,46 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
     /** {@inheritDoc} */
     @Override
     public List<Ehcache> getCaches() {
-        return Arrays.asList(billCache, billInfoCache);
+        return Arrays.asList(billCache, billInfoCache, billTextCache);
     }
 
     /** {@inheritDoc} */
     @Override
     public void setupCaches() {
         // Partial bill cache will store Bill instances with the full text fields stripped to save space.
-        this.billCache = new Cache(new CacheConfiguration().name(ContentCache.BILL.name())
+        CacheConfiguration billCacheConfig = new CacheConfiguration().name(ContentCache.BILL.name())
             .eternal(true)
             .maxBytesLocalHeap(billCacheSizeMb, MemoryUnit.MEGABYTES)
-            .sizeOfPolicy(defaultSizeOfPolicy()));
+            .sizeOfPolicy(defaultSizeOfPolicy());
+        this.billCache = new Cache(compressedBillCache ? compressedStorage(billCacheConfig) : billCacheConfig);
         cacheManager.addCache(this.billCache);
         // This can only be called after the cache is added to the cache manager.
         this.billCache.setMemoryStoreEvictionPolicy(new BillCacheEvictionPolicy());
 
         // Bill Info cache will store BillInfo instances to speed up search and listings.
         // If a bill is already stored in the billCache, it's BillInfo does not need to be stored here.
-        this.billInfoCache = new Cache(new CacheConfiguration().name(ContentCache.BILL_INFO.name())
+        CacheConfiguration billInfoCacheConfig = new CacheConfiguration().name(ContentCache.BILL_INFO.name())
             .eternal(true)
             .maxBytesLocalHeap(billInfoCacheSizeMb, MemoryUnit.MEGABYTES)
-            .sizeOfPolicy(defaultSizeOfPolicy()));
+            .sizeOfPolicy(defaultSizeOfPolicy());
+        this.billInfoCache = new Cache(compressedBillCache ? compressedStorage(billInfoCacheConfig) : billInfoCacheConfig);
         cacheManager.addCache(this.billInfoCache);
+
+        // Bill Text cache will store compressed full texts keyed by amendment id and text format so that
+        // bills with text can be served from the cache without querying the database.
+        this.billTextCache = new Cache(new CacheConfiguration().name(ContentCache.BILL_TEXT.name())
+            .eternal(true)
+            .maxBytesLocalHeap(billTextCacheSizeMb, MemoryUnit.MEGABYTES)
+            .sizeOfPolicy(defaultSizeOfPolicy()));
+        cacheManager.addCache(this.billTextCache);
     }
 
     /**
      * Pre-load the bill caches by clearing out each of their contents and then loading:
-     * Bill Cache - Current session year bills only
+     * Bill Cache - Current session year bills only, or bills from all session years if the
+     *              bill caches are compressed
      * Bill Info Cache - Bill Infos from all available session years.
+     * The bill text cache is not pre-loaded, it is filled as bill texts are requested.
      */
     public void warmCaches() {
         evictCaches();
@@ -104,14 +126,17 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         if (sessionRange.isPresent()) {
             SessionYear sessionYear = sessionRange.get().lowerEndpoint();
             while (sessionYear.compareTo(sessionRange.get().upperEndpoint()) <= 0) {
-                if (sessionYear.equals(SessionYear.current())) {
-                    logger.info("Caching Bill instances for current session year: {}", sessionYear);
-                    // Don't load any text because that is not cached.
-                    getBillIds(sessionYear, LimitOffset.ALL).forEach(id -> getBill(id, Collections.emptySet()));
-                }
-                else {
-                    logger.info("Caching Bill Info instances for session year: {}", sessionYear);
-                    getBillIds(sessionYear, LimitOffset.ALL).forEach(this::getBillInfo);
+                List<BaseBillId> billIds = getBillIds(sessionYear, LimitOffset.ALL);
+                boolean cacheFullBills = compressedBillCache || sessionYear.equals(SessionYear.current());
+                logger.info("Caching {} {} instances for session year: {}",
+                        billIds.size(), cacheFullBills ? "Bill" : "Bill Info", sessionYear);
+                for (List<BaseBillId> batch : Lists.partition(billIds, WARM_BATCH_SIZE)) {
+                    if (cacheFullBills) {
+                        warmBills(batch);
+                    }
+                    else {
+                        warmBillInfos(batch);
+                    }
                 }
                 sessionYear = sessionYear.next();
             }
@@ -123,7 +148,8 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
     @Override
     @Subscribe
     public synchronized void handleCacheEvictEvent(CacheEvictEvent evictEvent) {
-        if (evictEvent.affects(ContentCache.BILL) || evictEvent.affects(ContentCache.BILL_INFO)) {
+        if (evictEvent.affects(ContentCache.BILL) || evictEvent.affects(ContentCache.BILL_INFO)
+                || evictEvent.affects(ContentCache.BILL_TEXT)) {
             evictCaches();
         }
     }
@@ -132,7 +158,8 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
     @Subscribe
     @Override
     public void handleCacheEvictIdEvent(CacheEvictIdEvent<BaseBillId> evictIdEvent) {
-        if (evictIdEvent.affects(ContentCache.BILL) || evictIdEvent.affects(ContentCache.BILL_INFO)) {
+        if (evictIdEvent.affects(ContentCache.BILL) || evictIdEvent.affects(ContentCache.BILL_INFO)
+                || evictIdEvent.affects(ContentCache.BILL_TEXT)) {
             evictContent(evictIdEvent.getContentId());
         }
     }
@@ -143,6 +170,7 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         logger.debug("evicting {}", baseBillId);
         billInfoCache.remove(baseBillId);
         billCache.remove(baseBillId);
+        evictBillText(baseBillId);
     }
 
     /** {@inheritDoc} */
@@ -163,14 +191,17 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         }
         try {
             Bill bill;
-            if (billCache.get(billId) != null) {
-                bill = constructBillFromCache(billId, fullTextFormats);
+            // Only fetch each element once since compressed caches deserialize the value on every get
+            Element cachedBill = billCache.get(billId);
+            if (cachedBill != null) {
+                bill = constructBillFromCache((Bill) cachedBill.getObjectValue(), fullTextFormats);
                 logger.debug("Cache hit for bill {}", bill);
             }
             else {
                 logger.debug("Fetching bill {}..", billId);
                 bill = billDao.getBill(billId, fullTextFormats);
                 putStrippedBillInCache(bill);
+                putBillTextInCache(bill, fullTextFormats);
             }
             return bill;
         }
@@ -182,6 +213,43 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<BaseBillId, Bill> getBills(Collection<BaseBillId> billIds, Set<BillTextFormat> fullTextFormats) {
+        if (billIds == null) {
+            throw new IllegalArgumentException("BillIds cannot be null");
+        }
+        Map<BaseBillId, Bill> bills = new LinkedHashMap<>();
+        List<BaseBillId> uncachedIds = new ArrayList<>();
+        for (BaseBillId billId : billIds) {
+            Element cachedBill = billCache.get(billId);
+            if (cachedBill != null) {
+                try {
+                    bills.put(billId, constructBillFromCache((Bill) cachedBill.getObjectValue(), fullTextFormats));
+                }
+                catch (CloneNotSupportedException e) {
+                    throw new CacheException("Failed to cache retrieved Bill: " + e.getMessage());
+                }
+            }
+            else {
+                // Reserve the bill's position in the result ordering
+                bills.put(billId, null);
+                uncachedIds.add(billId);
+            }
+        }
+        if (!uncachedIds.isEmpty()) {
+            logger.debug("Fetching {} uncached bills..", uncachedIds.size());
+            Map<BaseBillId, Bill> fetchedBills = billDao.getBills(uncachedIds, fullTextFormats);
+            fetchedBills.values().forEach(bill -> {
+                putStrippedBillInCache(bill);
+                putBillTextInCache(bill, fullTextFormats);
+            });
+            uncachedIds.forEach(billId -> bills.put(billId, fetchedBills.get(billId)));
+            bills.values().removeIf(Objects::isNull);
+        }
+        return bills;
+    }
+
     /** {@inheritDoc} */
     @Override
     public BillInfo getBillInfo(BaseBillId billId) throws BillNotFoundEx {
@@ -189,11 +257,13 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         if (billId == null) {
             throw new IllegalArgumentException("BillId cannot be null");
         }
-        if (billCache.get(billId) != null) {
-            return new BillInfo((Bill) billCache.get(billId).getObjectValue());
+        Element cachedBill = billCache.get(billId);
+        if (cachedBill != null) {
+            return new BillInfo((Bill) cachedBill.getObjectValue());
         }
-        if (billInfoCache.get(billId) != null) {
-            return (BillInfo) billInfoCache.get(billId).getObjectValue();
+        Element cachedBillInfo = billInfoCache.get(billId);
+        if (cachedBillInfo != null) {
+            return (BillInfo) cachedBillInfo.getObjectValue();
         }
         try {
             BillInfo billInfo = billDao.getBillInfo(billId);
@@ -247,11 +317,27 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         logger.debug("Persisting bill {}", bill);
         billDao.updateBill(bill, fragment);
         putStrippedBillInCache(bill);
+        putBillTextInCache(bill, EnumSet.allOf(BillTextFormat.class));
         if (postUpdateEvent) {
             eventBus.post(new BillUpdateEvent(bill, LocalDateTime.now()));
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void saveBills(Collection<Pair<Bill, SobiFragment>> bills, boolean postUpdateEvent) {
+        logger.debug("Persisting {} bills", bills.size());
+        billDao.updateBills(bills);
+        bills.forEach(billFragment -> {
+            putStrippedBillInCache(billFragment.getLeft());
+            putBillTextInCache(billFragment.getLeft(), EnumSet.allOf(BillTextFormat.class));
+        });
+        if (postUpdateEvent) {
+            bills.forEach(billFragment ->
+                    eventBus.post(new BillUpdateEvent(billFragment.getLeft(), LocalDateTime.now())));
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public Optional<Range<SessionYear>> activeSessionRange() {
@@ -277,34 +363,111 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
     /** --- Internal Methods --- */
 
     /**
-     * Retrieves the bill from the cache. You must check that the bill exists prior to calling this
-     * method. The fulltext and memo are put back into a copy of the cached bill.
+     * Loads a batch of bills into the bill cache using a single bulk fetch. Text is not loaded since
+     * it is cached separately as it is requested.
+     *
+     * @param billIds List<BaseBillId>
+     */
+    private void warmBills(List<BaseBillId> billIds) {
+        getBills(billIds, Collections.emptySet());
+    }
+
+    /**
+     * Loads a batch of bill infos into the bill info cache.
      *
-     * @param billId BaseBillId
+     * @param billIds List<BaseBillId>
+     */
+    private void warmBillInfos(List<BaseBillId> billIds) {
+        billIds.forEach(this::getBillInfo);
+    }
+
+    /**
+     * Constructs a bill from the stripped bill retrieved from the cache. The full texts are put back
+     * into a copy of the cached bill from the bill text cache, falling back to the database if any of
+     * the requested texts are not cached.
+     *
+     * @param strippedBill Bill - the value from the bill cache
      * @param billTextFormats {@link Set<BillTextFormat>}
      * @return Bill
      * @throws CloneNotSupportedException
      */
-    private Bill constructBillFromCache(BaseBillId billId, Set<BillTextFormat> billTextFormats) throws CloneNotSupportedException {
-        Bill cachedBill = (Bill) billCache.get(billId).getObjectValue();
-        cachedBill = cachedBill.shallowClone();
-        billDao.applyText(cachedBill, billTextFormats);
+    private Bill constructBillFromCache(Bill strippedBill, Set<BillTextFormat> billTextFormats) throws CloneNotSupportedException {
+        Bill cachedBill = strippedBill.shallowClone();
+        if (!applyCachedText(cachedBill, billTextFormats)) {
+            logger.debug("Bill text cache miss for {} {}", cachedBill.getBaseBillId(), billTextFormats);
+            billDao.applyText(cachedBill, billTextFormats);
+            putBillTextInCache(cachedBill, billTextFormats);
+        }
         return cachedBill;
     }
 
     /**
-     * In order to cache bills effectively, we strip out the memos and full text from the bill first
-     * to save some heap space.
+     * Sets the full texts of the given formats on each of the bill's amendments using the bill text cache.
+     *
+     * @param bill Bill
+     * @param billTextFormats {@link Set<BillTextFormat>}
+     * @return boolean - true if all of the requested texts were found in the cache
+     */
+    private boolean applyCachedText(Bill bill, Set<BillTextFormat> billTextFormats) {
+        for (BillAmendment amendment : bill.getAmendmentList()) {
+            for (BillTextFormat format : billTextFormats) {
+                Element element = billTextCache.get(new BillTextCacheKey(amendment.getBillId(), format));
+                if (element == null) {
+                    return false;
+                }
+                amendment.setFullText(format, ((CompressedBillText) element.getObjectValue()).getText());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compresses and caches the full texts of the given formats for each of the bill's amendments.
+     * If an amendment does not have text in a format, any cached text for that format is evicted.
+     *
+     * @param bill Bill
+     * @param billTextFormats {@link Set<BillTextFormat>}
+     */
+    private void putBillTextInCache(final Bill bill, Set<BillTextFormat> billTextFormats) {
+        if (bill != null) {
+            for (BillAmendment amendment : bill.getAmendmentList()) {
+                for (BillTextFormat format : billTextFormats) {
+                    BillTextCacheKey key = new BillTextCacheKey(amendment.getBillId(), format);
+                    if (amendment.hasTextInFormat(format)) {
+                        billTextCache.put(new Element(key, CompressedBillText.of(amendment.getFullText(format))));
+                    } else {
+                        billTextCache.remove(key);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the cached texts for all possible amendments of the given bill.
+     *
+     * @param baseBillId BaseBillId
+     */
+    private void evictBillText(BaseBillId baseBillId) {
+        List<BillTextCacheKey> keys = new ArrayList<>();
+        for (Version version : Version.values()) {
+            for (BillTextFormat format : BillTextFormat.values()) {
+                keys.add(new BillTextCacheKey(baseBillId.withVersion(version), format));
+            }
+        }
+        billTextCache.removeAll(keys);
+    }
+
+    /**
+     * In order to cache bills effectively, we strip out the full text from the bill first
+     * to save some heap space. The full text is cached separately in compressed form.
      * @param bill Bill
      */
     private void putStrippedBillInCache(final Bill bill) {
         if (bill != null) {
             try {
                 Bill cacheBill = bill.shallowClone();
-                cacheBill.getAmendmentList().forEach(ba -> {
-                    ba.setMemo("");
-                    ba.clearFullTexts();
-                });
+                cacheBill.getAmendmentList().forEach(BillAmendment::clearFullTexts);
                 this.billCache.put(new Element(cacheBill.getBaseBillId(), cacheBill));
                 // Remove entry from the bill info cache if it exists
                 this.billInfoCache.remove(cacheBill.getBaseBillId());
@@ -0,0 +1,217 @@
+package gov.nysenate.openleg.service.bill.data;
+
+import com.google.common.collect.ImmutableTable;
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.cache.CacheEvictEvent;
+import gov.nysenate.openleg.model.cache.CacheEvictIdEvent;
+import gov.nysenate.openleg.model.cache.CacheWarmEvent;
+import gov.nysenate.openleg.model.cache.ContentCache;
+import gov.nysenate.openleg.service.base.data.CachingService;
+import gov.nysenate.openleg.service.bill.event.BillUpdateEvent;
+import gov.nysenate.openleg.service.bill.event.BulkBillUpdateEvent;
+import gov.nysenate.openleg.util.BillTextUtils;
+import gov.nysenate.openleg.util.StringDiffer;
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.Element;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.MemoryUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static gov.nysenate.openleg.model.bill.BillTextFormat.PLAIN;
+
+/**
+ * Computes bill text diffs line by line, refining each changed block of lines character by character,
+ * and caches the rendered diffs so that repeated requests for the same pair of amendments are free.
+ *
+ * The cache holds one element per bill, a table of the rendered diffs by amendment versions, so that all of the
+ * diffs of an updated bill are evicted at once. A diff that was computed from the text of a bill before it was
+ * evicted must not be cached, so each eviction bumps a generation counter for the bill (striped to bound memory),
+ * and a diff is dropped again if the generation of its bill changed while it was being computed.
+ */
+@Service
+public class CachedBillDiffService implements BillDiffService, CachingService<BaseBillId>
+{
+    private static final Logger logger = LoggerFactory.getLogger(CachedBillDiffService.class);
+
+    /** Number of eviction generation counters, bills are spread over them by hash. */
+    private static final int generationStripes = 1024;
+
+    @Autowired private CacheManager cacheManager;
+    @Autowired private BillDataService billDataService;
+    @Autowired private EventBus eventBus;
+    @Resource(name = "openlegAsync") private ThreadPoolTaskExecutor asyncExecutor;
+
+    @Value("${bill-diff.cache.size:20}") private long billDiffCacheSizeMb;
+    @Value("${bill-diff.parallel.refine:true}") private boolean parallelRefine;
+
+    private Cache billDiffCache;
+
+    /** Eviction generations, a bill's counter is incremented whenever its diffs are evicted. */
+    private final AtomicLongArray evictionGenerations = new AtomicLongArray(generationStripes);
+
+    @PostConstruct
+    private void init() {
+        setupCaches();
+        eventBus.register(this);
+    }
+
+    @PreDestroy
+    private void cleanUp() {
+        evictCaches();
+        cacheManager.removeCache(ContentCache.BILL_DIFF.name());
+    }
+
+    /** --- CachingService implementation --- */
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Ehcache> getCaches() {
+        return Collections.singletonList(billDiffCache);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setupCaches() {
+        this.billDiffCache = new Cache(new CacheConfiguration().name(ContentCache.BILL_DIFF.name())
+            .eternal(true)
+            .maxBytesLocalHeap(billDiffCacheSizeMb, MemoryUnit.MEGABYTES)
+            .sizeOfPolicy(defaultSizeOfPolicy()));
+        cacheManager.addCache(this.billDiffCache);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Subscribe
+    public void handleCacheEvictEvent(CacheEvictEvent evictEvent) {
+        if (evictEvent.affects(ContentCache.BILL_DIFF)) {
+            evictCaches();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Subscribe
+    public void handleCacheEvictIdEvent(CacheEvictIdEvent<BaseBillId> evictIdEvent) {
+        if (evictIdEvent.affects(ContentCache.BILL_DIFF)) {
+            evictContent(evictIdEvent.getContentId());
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void evictContent(BaseBillId baseBillId) {
+        // Bump the generation first so that diffs computed before this eviction are not cached after it
+        evictionGenerations.incrementAndGet(getGenerationStripe(baseBillId));
+        billDiffCache.remove(baseBillId);
+    }
+
+    /**
+     * The bill diff cache is not pre-loaded, it is filled as diffs are requested.
+     */
+    @Override
+    public void warmCaches() {}
+
+    /** {@inheritDoc} */
+    @Override
+    @Subscribe
+    public void handleCacheWarmEvent(CacheWarmEvent warmEvent) {}
+
+    /** --- BillDiffService implementation --- */
+
+    /** {@inheritDoc} */
+    @Override
+    public String getBillTextDiffHtml(BaseBillId baseBillId, Version version1, Version version2) {
+        String cachedDiff = getBillDiffs(baseBillId).get(version1, version2);
+        if (cachedDiff != null) {
+            logger.debug("Cache hit for bill diff {} {}-{}", baseBillId, version1, version2);
+            return cachedDiff;
+        }
+        int stripe = getGenerationStripe(baseBillId);
+        long generation = evictionGenerations.get(stripe);
+        Bill bill = billDataService.getBill(baseBillId, Collections.singleton(PLAIN));
+        String fullText1 = BillTextUtils.formatBillText(bill.isResolution(), bill.getAmendment(version1).getFullText(PLAIN));
+        String fullText2 = BillTextUtils.formatBillText(bill.isResolution(), bill.getAmendment(version2).getFullText(PLAIN));
+        StringDiffer stringDiffer = new StringDiffer();
+        Executor refineExecutor = parallelRefine ? asyncExecutor : Runnable::run;
+        LinkedList<StringDiffer.Diff> diffs = stringDiffer.diff_lines(fullText1, fullText2, refineExecutor);
+        String diffHtml = stringDiffer.diff_prettyHtml(diffs).replace("&para;", " ");
+        cacheDiff(baseBillId, version1, version2, diffHtml);
+        if (evictionGenerations.get(stripe) != generation) {
+            // The bill was evicted while the diff was computed, so the cached diff may be stale
+            billDiffCache.remove(baseBillId);
+        }
+        return diffHtml;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Subscribe
+    public void handleBillUpdate(BillUpdateEvent billUpdateEvent) {
+        evictContent(billUpdateEvent.getBill().getBaseBillId());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Subscribe
+    public void handleBulkBillUpdate(BulkBillUpdateEvent bulkBillUpdateEvent) {
+        bulkBillUpdateEvent.getBills().forEach(bill -> evictContent(bill.getBaseBillId()));
+    }
+
+    /** --- Internal Methods --- */
+
+    private ImmutableTable<Version, Version, String> getBillDiffs(BaseBillId baseBillId) {
+        return getBillDiffs(billDiffCache.get(baseBillId));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ImmutableTable<Version, Version, String> getBillDiffs(Element element) {
+        return (element != null)
+                ? (ImmutableTable<Version, Version, String>) element.getObjectValue()
+                : ImmutableTable.of();
+    }
+
+    /**
+     * Adds a diff to the cached diffs of the bill. Cached tables are never modified, so the table is replaced,
+     * retrying if another diff of the bill was cached concurrently.
+     */
+    private void cacheDiff(BaseBillId baseBillId, Version version1, Version version2, String diffHtml) {
+        while (true) {
+            Element existing = billDiffCache.get(baseBillId);
+            ImmutableTable.Builder<Version, Version, String> diffs = ImmutableTable.builder();
+            getBillDiffs(existing).cellSet().stream()
+                    .filter(cell -> cell.getRowKey() != version1 || cell.getColumnKey() != version2)
+                    .forEach(diffs::put);
+            Element updated = new Element(baseBillId, diffs.put(version1, version2, diffHtml).build());
+            boolean stored = (existing == null)
+                    ? billDiffCache.putIfAbsent(updated) == null
+                    : billDiffCache.replace(existing, updated);
+            if (stored) {
+                return;
+            }
+        }
+    }
+
+    private static int getGenerationStripe(BaseBillId baseBillId) {
+        return (baseBillId.hashCode() & Integer.MAX_VALUE) % generationStripes;
+    }
+}
@@ -0,0 +1,85 @@
+package gov.nysenate.openleg.service.bill.data;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Holds a bill full text in deflated form for storage in the bill text cache.
+ * Bill text is highly repetitive so this typically reduces its heap footprint by 80-90%.
+ *
+ * A null text is stored as-is so that amendments without text in a given format can be
+ * cached as well.
+ */
+public class CompressedBillText implements Serializable
+{
+    private static final long serialVersionUID = -5043817716293551066L;
+
+    private final byte[] data;
+    private final int length;
+
+    private CompressedBillText(byte[] data, int length) {
+        this.data = data;
+        this.length = length;
+    }
+
+    public static CompressedBillText of(String text) {
+        if (text == null) {
+            return new CompressedBillText(null, 0);
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return new CompressedBillText(out.toByteArray(), bytes.length);
+        }
+        finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * @return String - the decompressed text, which may be null
+     * @throws IllegalStateException if the stored data is corrupt
+     */
+    public String getText() {
+        if (data == null) {
+            return null;
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            byte[] bytes = new byte[length];
+            int offset = 0;
+            while (offset < length && !inflater.finished()) {
+                int inflated = inflater.inflate(bytes, offset, length - offset);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated compressed bill text");
+                }
+                offset += inflated;
+            }
+            return new String(bytes, 0, offset, StandardCharsets.UTF_8);
+        }
+        catch (DataFormatException ex) {
+            throw new IllegalStateException("Corrupt compressed bill text", ex);
+        }
+        finally {
+            inflater.end();
+        }
+    }
+
+    /** --- Basic Getters --- */
+
+    public int getCompressedSize() {
+        return (data != null) ? data.length : 0;
+    }
+}
@@ -1,15 +1,19 @@
 package gov.nysenate.openleg.service.bill.search;
 
+import gov.nysenate.openleg.client.view.base.ViewObject;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.Bill;
 import gov.nysenate.openleg.service.base.search.IndexedSearchService;
 import gov.nysenate.openleg.model.search.SearchException;
+import gov.nysenate.openleg.model.search.SearchResult;
 import gov.nysenate.openleg.model.search.SearchResults;
 import gov.nysenate.openleg.service.bill.event.BillUpdateEvent;
 import gov.nysenate.openleg.service.bill.event.BulkBillUpdateEvent;
 
+import java.util.Optional;
+
 public interface BillSearchService
 {
     /**
@@ -40,14 +44,24 @@ public interface BillSearchService
         throws SearchException;
 
     /**
-     * Handle a bill update event by indexing the supplied bill in the update.
+     * Returns the bill info view that was stored in the search index for the given search result.
+     * This view is kept up to date by the indexing process and can be returned in place of a bill info view
+     * constructed from the bill data.
+     *
+     * @param result SearchResult<BaseBillId> - a result returned by one of the searchBills methods.
+     * @return Optional<ViewObject> - empty if no view was stored for the result.
+     */
+    public Optional<ViewObject> getIndexedInfoView(SearchResult<BaseBillId> result);
+
+    /**
+     * Handle a bill update event by queueing the supplied bill to be indexed.
      *
      * @param billUpdateEvent BillUpdateEvent
      */
     public void handleBillUpdate(BillUpdateEvent billUpdateEvent);
 
     /**
-     * Handle a batch bill update event by indexing the supplied bills in the update.
+     * Handle a batch bill update event by queueing the supplied bills to be indexed.
      *
      * @param bulkBillUpdateEvent BulkBillUpdateEvent
      */
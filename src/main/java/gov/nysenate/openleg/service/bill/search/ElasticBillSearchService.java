@@ -3,9 +3,13 @@ package gov.nysenate.openleg.service.bill.search;
 import com.google.common.collect.Range;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
+import gov.nysenate.openleg.client.view.base.SourceView;
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.client.view.bill.BillView;
 import gov.nysenate.openleg.config.Environment;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.SearchIndex;
+import gov.nysenate.openleg.dao.bill.data.BillDao;
 import gov.nysenate.openleg.dao.bill.search.ElasticBillSearchDao;
 import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.bill.BaseBillId;
@@ -13,11 +17,13 @@ import gov.nysenate.openleg.model.bill.Bill;
 import gov.nysenate.openleg.model.bill.BillId;
 import gov.nysenate.openleg.model.search.*;
 import gov.nysenate.openleg.service.base.search.ElasticSearchServiceUtils;
+import gov.nysenate.openleg.service.base.search.IndexUpdateQueue;
+import gov.nysenate.openleg.service.base.search.IndexUpdateQueueFactory;
 import gov.nysenate.openleg.service.base.search.IndexedSearchService;
+import gov.nysenate.openleg.service.base.search.SearchIndexRebuilder;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
 import gov.nysenate.openleg.service.bill.event.BillUpdateEvent;
 import gov.nysenate.openleg.service.bill.event.BulkBillUpdateEvent;
-import gov.nysenate.openleg.util.AsyncUtils;
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
@@ -27,14 +33,11 @@ import org.elasticsearch.search.rescore.RescorerBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
 import java.util.*;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
 import java.util.stream.Collectors;
 
@@ -45,17 +48,23 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
 {
     private static final Logger logger = LoggerFactory.getLogger(ElasticBillSearchService.class);
 
-    private static final int billReindexThreadCount = 4;
-    private static final int billReindexBatchSize = 100;
+    /** The number of bills that are loaded, converted and submitted together during a reindex. */
+    @Value("${bill.reindex.batch.size:100}") private int reindexBatchSize;
 
     @Autowired protected Environment env;
     @Autowired protected EventBus eventBus;
     @Autowired protected ElasticBillSearchDao billSearchDao;
     @Autowired protected BillDataService billDataService;
-    @Autowired private AsyncUtils asyncUtils;
+    @Autowired protected BillDao billDao;
+    @Autowired private SearchIndexRebuilder searchIndexRebuilder;
+    @Autowired private IndexUpdateQueueFactory indexUpdateQueueFactory;
+
+    /** Coalesces bill update events, which are indexed in bulk off of the event bus thread. */
+    private IndexUpdateQueue<BaseBillId, BaseBillId> billUpdateQueue;
 
     @PostConstruct
     protected void init() {
+        billUpdateQueue = indexUpdateQueueFactory.createQueue("bill", billId -> billId, this::indexQueuedBills);
         eventBus.register(this);
     }
 
@@ -110,6 +119,19 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<ViewObject> getIndexedInfoView(SearchResult<BaseBillId> result) {
+        Object infoView = result.getSource() != null
+                ? result.getSource().get(ElasticBillSearchDao.INFO_VIEW_FIELD)
+                : null;
+        if (infoView instanceof Map) {
+            return Optional.of(new SourceView("bill-info", (Map<String, Object>) infoView));
+        }
+        return Optional.empty();
+    }
+
     private String smartSearch(String query) {
         if (query != null && !query.contains(":")) {
             Matcher matcher = BillId.billIdPattern.matcher(query.replaceAll("\\s", ""));
@@ -125,8 +147,8 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
     @Override
     @Subscribe
     public void handleBillUpdate(BillUpdateEvent billUpdateEvent) {
-        if (billUpdateEvent.getBill() != null) {
-            updateIndex(billUpdateEvent.getBill());
+        if (env.isElasticIndexing() && billUpdateEvent.getBill() != null) {
+            billUpdateQueue.add(billUpdateEvent.getBill().getBaseBillId());
         }
     }
 
@@ -134,8 +156,10 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
     @Override
     @Subscribe
     public void handleBulkBillUpdate(BulkBillUpdateEvent bulkBillUpdateEvent) {
-        if (bulkBillUpdateEvent.getBills() != null) {
-            updateIndex(bulkBillUpdateEvent.getBills());
+        if (env.isElasticIndexing() && bulkBillUpdateEvent.getBills() != null) {
+            billUpdateQueue.addAll(bulkBillUpdateEvent.getBills().stream()
+                    .map(Bill::getBaseBillId)
+                    .collect(Collectors.toList()));
         }
     }
 
@@ -184,36 +208,23 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
     /** {@inheritDoc} */
     @Override
     public void rebuildIndex() {
-        clearIndex();
         Optional<Range<SessionYear>> sessions = billDataService.activeSessionRange();
         if (!sessions.isPresent()) {
+            clearIndex();
             logger.info("Can't rebuild the bill search index because there are no bills. Cleared it instead!");
             return;
         }
-        try {
-            // Prep elasticsearch for heavy indexing.
-            billSearchDao.reindexSetup();
-
-            // Load all bill ids into a queue
-            final LinkedBlockingQueue<BaseBillId> billIdQueue = new LinkedBlockingQueue<>();
-            for (SessionYear session = sessions.get().lowerEndpoint();
-                 session.compareTo(SessionYear.current()) < 1;
-                 session = session.next()) {
-                billIdQueue.addAll(billDataService.getBillIds(session, LimitOffset.ALL));
-            }
-
-            // Initialize and run several BillReindexWorkers to index bills from the queue
-            CompletableFuture[] futures = new CompletableFuture[billReindexThreadCount];
-            AtomicBoolean interrupted = new AtomicBoolean(false);
-            for (int workerNo = 0; workerNo < billReindexThreadCount; workerNo++) {
-                futures[workerNo] = asyncUtils.run(new BillReindexWorker(billIdQueue, interrupted));
-            }
-            CompletableFuture.allOf(futures).join();
-            logger.info("Finished bill reindex.");
-        } finally {
-            // Restore normal index settings.
-            billSearchDao.reindexCleanup();
+        List<BaseBillId> billIds = new ArrayList<>();
+        for (SessionYear session = sessions.get().lowerEndpoint();
+             session.compareTo(SessionYear.current()) < 1;
+             session = session.next()) {
+            billIds.addAll(billDataService.getBillIds(session, LimitOffset.ALL));
         }
+        // Bills are loaded directly from the bill dao so that the reindex does not churn the bill cache.
+        billSearchDao.rebuildIndices(() ->
+                searchIndexRebuilder.rebuild("bill", billIds, reindexBatchSize,
+                        this::loadReindexBatch, this::toBillViews, billSearchDao::indexBillViews));
+        logger.info("Finished bill reindex.");
     }
 
     /** {@inheritDoc} */
@@ -248,46 +259,27 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
     }
 
     /**
-     * Runnable that loads and indexes bills from a bill id queue.
+     * Indexes a batch of coalesced bill updates. The bills are loaded when the batch is flushed rather than
+     * when the updates are queued, so the latest saved version of each bill is indexed and the queue does not
+     * retain bills that are still being modified by processing.
      */
-    private class BillReindexWorker implements Runnable {
-
-        /** Job queue of bill ids of bills to be indexed */
-        private final BlockingQueue<BaseBillId> billIdQueue;
-        /** Flag shared between workers that is set to true if one worker experiences an error */
-        private final AtomicBoolean interrupted;
-
-        BillReindexWorker(BlockingQueue<BaseBillId> billIdQueue, AtomicBoolean interrupted) {
-            this.billIdQueue = billIdQueue;
-            this.interrupted = interrupted;
-        }
-
-        @Override
-        public void run() {
-            List<BaseBillId> billIdBatch;
-            try {
-                do {
-                    if (interrupted.get()) {
-                        logger.info("Terminating reindex job due to exception in other worker");
-                        return;
-                    }
-                    billSearchDao.reaffirmReindexing();
-
-                    billIdBatch = new ArrayList<>(billReindexBatchSize);
-                    billIdQueue.drainTo(billIdBatch, billReindexBatchSize);
+    private void indexQueuedBills(Collection<BaseBillId> billIds) {
+        updateIndex(billDataService.getBills(billIds, Collections.singleton(PLAIN)).values());
+    }
 
-                    List<Bill> bills = billIdBatch.stream()
-                            .map((billId) -> billDataService.getBill(billId, Collections.singleton(PLAIN)))
-                            .collect(Collectors.toCollection(() -> new ArrayList<>(billReindexBatchSize)));
+    /**
+     * Loads the indexable bills for a batch of bill ids with plain text only.
+     */
+    private List<Bill> loadReindexBatch(List<BaseBillId> billIdBatch) {
+        return billDao.getBills(billIdBatch, Collections.singleton(PLAIN)).values().stream()
+                .filter(this::isBillIndexable)
+                .collect(Collectors.toList());
+    }
 
-                    updateIndex(bills);
-                } while (!billIdBatch.isEmpty());
-            } catch (Throwable ex) {
-                // Set the interrupted flag if an exception occurs
-                interrupted.set(true);
-                throw ex;
-            }
-        }
+    private List<BillView> toBillViews(List<Bill> bills) {
+        return bills.stream()
+                .map(BillView::new)
+                .collect(Collectors.toList());
     }
 
     /**
@@ -12,6 +12,7 @@ import gov.nysenate.openleg.model.calendar.Calendar;
 import gov.nysenate.openleg.model.calendar.CalendarId;
 import gov.nysenate.openleg.model.search.*;
 import gov.nysenate.openleg.service.base.search.ElasticSearchServiceUtils;
+import gov.nysenate.openleg.service.base.search.SearchIndexRebuilder;
 import gov.nysenate.openleg.service.calendar.data.CalendarDataService;
 import gov.nysenate.openleg.service.calendar.event.BulkCalendarUpdateEvent;
 import gov.nysenate.openleg.service.calendar.event.CalendarUpdateEvent;
@@ -25,6 +26,7 @@ import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -39,6 +41,7 @@ public class ElasticCalendarSearchService implements CalendarSearchService {
     @Autowired private CalendarDataService calendarDataService;
     @Autowired private Environment env;
     @Autowired private EventBus eventBus;
+    @Autowired private SearchIndexRebuilder searchIndexRebuilder;
 
     @PostConstruct
     private void init() {
@@ -101,23 +104,18 @@ public class ElasticCalendarSearchService implements CalendarSearchService {
     /** {@inheritDoc} */
     @Override
     public void rebuildIndex() {
-        clearIndex();
         Optional<Range<Integer>> calendarYearRange =  calendarDataService.getCalendarYearRange();
+        List<Integer> calYears = new ArrayList<>();
         if (calendarYearRange.isPresent()) {
-            int calYear = calendarYearRange.get().lowerEndpoint();
-            logger.info("Starting rebuild with session " + calYear);
-            while (calYear <= LocalDate.now().getYear()) {
-                LimitOffset limOff = new LimitOffset(5);
-                List<Calendar> calendars = calendarDataService.getCalendars(calYear,SortOrder.NONE,limOff);
-                while (!calendars.isEmpty()) {
-                    updateIndex(calendars);
-                    limOff = limOff.next();
-                    calendars = calendarDataService.getCalendars(calYear,SortOrder.NONE,limOff);
-                }
-                calYear++;
-                logger.info("The session year is now " + calYear);
+            for (int calYear = calendarYearRange.get().lowerEndpoint();
+                 calYear <= LocalDate.now().getYear(); calYear++) {
+                calYears.add(calYear);
             }
         }
+        // Calendars can only be listed by year, so the years are loaded and submitted in parallel.
+        calendarSearchDao.rebuildIndices(() ->
+                searchIndexRebuilder.rebuild("calendar", calYears, 1,
+                        this::loadCalendars, (List<Calendar> calendars) -> updateIndex(calendars)));
     }
 
     /** {@inheritDoc} */
@@ -188,4 +186,23 @@ public class ElasticCalendarSearchService implements CalendarSearchService {
         }
         return query;
     }
+
+    /* --- Internal Methods --- */
+
+    /**
+     * Loads all calendars for the given years, a page at a time.
+     */
+    private List<Calendar> loadCalendars(List<Integer> calYears) {
+        List<Calendar> calendars = new ArrayList<>();
+        for (int calYear : calYears) {
+            LimitOffset limOff = LimitOffset.HUNDRED;
+            List<Calendar> page = calendarDataService.getCalendars(calYear, SortOrder.NONE, limOff);
+            while (!page.isEmpty()) {
+                calendars.addAll(page);
+                limOff = limOff.next();
+                page = calendarDataService.getCalendars(calYear, SortOrder.NONE, limOff);
+            }
+        }
+        return calendars;
+    }
 }
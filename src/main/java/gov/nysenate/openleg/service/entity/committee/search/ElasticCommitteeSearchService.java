@@ -10,6 +10,7 @@ import gov.nysenate.openleg.model.entity.CommitteeSessionId;
 import gov.nysenate.openleg.model.entity.CommitteeVersionId;
 import gov.nysenate.openleg.model.search.*;
 import gov.nysenate.openleg.service.base.search.ElasticSearchServiceUtils;
+import gov.nysenate.openleg.service.base.search.SearchIndexRebuilder;
 import gov.nysenate.openleg.service.entity.committee.data.CommitteeDataService;
 import gov.nysenate.openleg.service.entity.committee.event.CommitteeUpdateEvent;
 import org.elasticsearch.ElasticsearchException;
@@ -23,6 +24,8 @@ import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
 import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
 
 @Service
 public class ElasticCommitteeSearchService implements CommitteeSearchService
@@ -38,6 +41,12 @@ public class ElasticCommitteeSearchService implements CommitteeSearchService
     @Autowired
     EventBus eventBus;
 
+    @Autowired
+    SearchIndexRebuilder searchIndexRebuilder;
+
+    /** The number of committee sessions that are submitted together during a reindex. */
+    private static final int reindexBatchSize = 20;
+
     @PostConstruct
     private void init() {
         eventBus.register(this);
@@ -119,8 +128,12 @@ public class ElasticCommitteeSearchService implements CommitteeSearchService
     @Override
     public void rebuildIndex() {
         logger.info("Reindexing committees...");
-        clearIndex();
-        committeeSearchDao.updateCommitteeIndexBulk(committeeDataService.getAllCommitteeSessionIds());
+        // The committee versions of each session are loaded by the dao as they are submitted.
+        List<CommitteeSessionId> sessionIds = committeeDataService.getAllCommitteeSessionIds();
+        committeeSearchDao.rebuildIndices(() ->
+                searchIndexRebuilder.rebuild("committee", sessionIds, reindexBatchSize,
+                        Function.identity(), (List<CommitteeSessionId> batch) ->
+                                committeeSearchDao.updateCommitteeIndexBulk(batch)));
         logger.info("Committee reindex complete.");
     }
 
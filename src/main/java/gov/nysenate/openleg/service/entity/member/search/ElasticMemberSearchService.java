@@ -13,6 +13,7 @@ import gov.nysenate.openleg.model.entity.SessionMember;
 import gov.nysenate.openleg.model.search.*;
 import gov.nysenate.openleg.service.base.search.ElasticSearchServiceUtils;
 import gov.nysenate.openleg.service.base.search.IndexedSearchService;
+import gov.nysenate.openleg.service.base.search.SearchIndexRebuilder;
 import gov.nysenate.openleg.service.entity.member.data.MemberService;
 import gov.nysenate.openleg.service.entity.member.event.BulkMemberUpdateEvent;
 import gov.nysenate.openleg.service.entity.member.event.MemberUpdateEvent;
@@ -29,6 +30,7 @@ import javax.annotation.PostConstruct;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -40,6 +42,10 @@ public class ElasticMemberSearchService implements MemberSearchService, IndexedS
     @Autowired protected EventBus eventBus;
     @Autowired protected ElasticMemberSearchDao memberSearchDao;
     @Autowired protected MemberService memberDataService;
+    @Autowired protected SearchIndexRebuilder searchIndexRebuilder;
+
+    /** The number of members that are submitted together during a reindex. */
+    private static final int reindexBatchSize = 100;
 
     @PostConstruct
     protected void init() {
@@ -126,10 +132,11 @@ public class ElasticMemberSearchService implements MemberSearchService, IndexedS
     /** {@inheritDoc} */
     @Override
     public void rebuildIndex() {
-        clearIndex();
+        // Members are few enough that they are loaded up front, so each batch is submitted as is.
         List<FullMember> members = memberDataService.getAllFullMembers();
-        logger.info("Indexing {} members", members.size());
-        updateIndex(members);
+        memberSearchDao.rebuildIndices(() ->
+                searchIndexRebuilder.rebuild("member", members, reindexBatchSize,
+                        Function.identity(), (List<FullMember> batch) -> updateIndex(batch)));
     }
 
     /** {@inheritDoc} */
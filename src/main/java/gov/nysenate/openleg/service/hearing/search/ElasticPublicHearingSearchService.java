@@ -12,6 +12,7 @@ import gov.nysenate.openleg.model.hearing.PublicHearingId;
 import gov.nysenate.openleg.model.search.*;
 import gov.nysenate.openleg.service.base.search.ElasticSearchServiceUtils;
 import gov.nysenate.openleg.service.base.search.IndexedSearchService;
+import gov.nysenate.openleg.service.base.search.SearchIndexRebuilder;
 import gov.nysenate.openleg.service.hearing.data.PublicHearingDataService;
 import gov.nysenate.openleg.service.hearing.event.BulkPublicHearingUpdateEvent;
 import gov.nysenate.openleg.service.hearing.event.PublicHearingUpdateEvent;
@@ -39,6 +40,10 @@ public class ElasticPublicHearingSearchService implements PublicHearingSearchSer
     @Autowired protected EventBus eventBus;
     @Autowired protected ElasticPublicHearingSearchDao publicHearingSearchDao;
     @Autowired protected PublicHearingDataService publicHearingDataService;
+    @Autowired protected SearchIndexRebuilder searchIndexRebuilder;
+
+    /** The number of public hearings that are loaded and submitted together during a reindex. */
+    private static final int reindexBatchSize = 50;
 
     @PostConstruct
     protected void init() {
@@ -138,18 +143,11 @@ public class ElasticPublicHearingSearchService implements PublicHearingSearchSer
     /** {@inheritDoc} */
     @Override
     public void rebuildIndex() {
-        clearIndex();
-        final int bulkSize = 500;
-        Queue<PublicHearingId> hearingIdQueue =
-                new ArrayDeque<>(publicHearingDataService.getPublicHearingIds(SortOrder.DESC, LimitOffset.ALL));
-        while(!hearingIdQueue.isEmpty()) {
-            List<PublicHearing> publicHearings = new ArrayList<>(bulkSize);
-            for (int i = 0; i < bulkSize && !hearingIdQueue.isEmpty(); i++) {
-                PublicHearingId hid = hearingIdQueue.remove();
-                publicHearings.add(publicHearingDataService.getPublicHearing(hid));
-            }
-            updateIndex(publicHearings);
-        }
+        List<PublicHearingId> hearingIds =
+                publicHearingDataService.getPublicHearingIds(SortOrder.DESC, LimitOffset.ALL);
+        publicHearingSearchDao.rebuildIndices(() ->
+                searchIndexRebuilder.rebuild("public hearing", hearingIds, reindexBatchSize,
+                        this::loadPublicHearings, (List<PublicHearing> hearings) -> updateIndex(hearings)));
         logger.info("Finished reindexing public hearings.");
     }
 
@@ -171,4 +169,12 @@ public class ElasticPublicHearingSearchService implements PublicHearingSearchSer
             clearIndex();
         }
     }
+
+    /* --- Internal Methods --- */
+
+    private List<PublicHearing> loadPublicHearings(List<PublicHearingId> hearingIds) {
+        return hearingIds.stream()
+                .map(publicHearingDataService::getPublicHearing)
+                .collect(Collectors.toList());
+    }
 }
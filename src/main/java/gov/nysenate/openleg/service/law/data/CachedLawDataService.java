@@ -225,4 +225,12 @@ public class CachedLawDataService implements LawDataService, CachingService<LawV
         if (lawFile == null) throw new IllegalArgumentException("Supplied lawFile cannot be null");
         lawDataDao.updateLawDocument(lawFile, lawDocument);
     }
+
+    /** {@inheritDoc} */
+    @Override
+    public void saveLawDocuments(LawFile lawFile, Collection<LawDocument> lawDocuments) {
+        if (lawDocuments == null) throw new IllegalArgumentException("Supplied lawDocuments cannot be null");
+        if (lawFile == null) throw new IllegalArgumentException("Supplied lawFile cannot be null");
+        lawDataDao.updateLawDocuments(lawFile, lawDocuments);
+    }
 }
@@ -0,0 +1,152 @@
+package gov.nysenate.openleg.service.law.data;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import gov.nysenate.openleg.client.response.base.ViewObjectResponse;
+import gov.nysenate.openleg.client.view.law.LawTreeView;
+import gov.nysenate.openleg.config.Environment;
+import gov.nysenate.openleg.model.law.LawBundle;
+import gov.nysenate.openleg.model.law.LawDocument;
+import gov.nysenate.openleg.model.law.LawTree;
+import gov.nysenate.openleg.model.law.LawVersionId;
+import gov.nysenate.openleg.service.law.event.LawTreeUpdateEvent;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stores the full law bundles as gzip compressed json files on disk, one per law version. Since a law version
+ * is immutable once processed, a bundle is rendered once and served as is until the law is reprocessed.
+ * Bundles are rendered on request, so law processing only has to discard the stale bundles of updated laws.
+ */
+@Service
+public class FsLawBundleService implements LawBundleService
+{
+    private static final Logger logger = LoggerFactory.getLogger(FsLawBundleService.class);
+
+    private static final String BUNDLE_DIR_NAME = "law-bundles";
+    private static final String BUNDLE_EXTENSION = ".json.gz";
+
+    @Autowired private Environment env;
+    @Autowired private EventBus eventBus;
+    @Autowired private LawDataService lawDataService;
+    @Autowired private ObjectMapper objectMapper;
+
+    private File bundleDir;
+
+    /** Used to ensure that each bundle is only rendered by one thread at a time. */
+    private final ConcurrentMap<LawVersionId, Object> renderLocks = new ConcurrentHashMap<>();
+
+    /** Counts the updates to each law, so that a bundle rendered from data that was updated meanwhile is discarded.
+     *  Each counter also serves as the lock for replacing or deleting the bundles of its law. */
+    private final ConcurrentMap<String, AtomicLong> lawGenerations = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    private void init() {
+        bundleDir = new File(env.getBaseDir(), BUNDLE_DIR_NAME);
+        eventBus.register(this);
+    }
+
+    /** --- LawBundleService implementation --- */
+
+    /** {@inheritDoc} */
+    @Override
+    public LawBundle getFullLawBundle(String lawId, LocalDate endPublishedDate) throws LawTreeNotFoundEx {
+        while (true) {
+            long generation = getGeneration(lawId).get();
+            LawTree lawTree = lawDataService.getLawTree(lawId, endPublishedDate);
+            LawVersionId lawVersionId = lawTree.getLawVersionId();
+            File bundleFile = getBundleFile(lawVersionId);
+            if (bundleFile.exists()) {
+                return new LawBundle(lawVersionId, bundleFile);
+            }
+            synchronized (renderLocks.computeIfAbsent(lawVersionId, id -> new Object())) {
+                if (bundleFile.exists() || renderBundle(lawTree, bundleFile, generation)) {
+                    return new LawBundle(lawVersionId, bundleFile);
+                }
+            }
+            logger.info("Law {} was updated while rendering its bundle, rendering again", lawId);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Only deletes the stale bundles, the new bundle is rendered by the next request for it.
+     */
+    @Subscribe
+    @Override
+    public void handleLawTreeUpdate(LawTreeUpdateEvent lawTreeUpdateEvent) {
+        String lawId = lawTreeUpdateEvent.getLawChapterId();
+        AtomicLong generation = getGeneration(lawId);
+        synchronized (generation) {
+            generation.incrementAndGet();
+            File[] bundleFiles = bundleDir.listFiles((dir, name) -> name.startsWith(lawId + "-"));
+            if (bundleFiles != null) {
+                for (File bundleFile : bundleFiles) {
+                    FileUtils.deleteQuietly(bundleFile);
+                }
+            }
+        }
+    }
+
+    /** --- Internal Methods --- */
+
+    private AtomicLong getGeneration(String lawId) {
+        return lawGenerations.computeIfAbsent(lawId, id -> new AtomicLong());
+    }
+
+    private File getBundleFile(LawVersionId lawVersionId) {
+        return new File(bundleDir, lawVersionId.getLawId() + "-" + lawVersionId.getPublishedDate() + BUNDLE_EXTENSION);
+    }
+
+    /**
+     * Renders the full law response for the given tree into a temp file which then replaces the bundle file,
+     * so a partially written bundle is never served.
+     *
+     * @return boolean - false if the law was updated since the given generation, in which case the rendered
+     *                   bundle may be stale and is discarded.
+     */
+    private boolean renderBundle(LawTree lawTree, File bundleFile, long generation) {
+        logger.info("Rendering full law bundle for {}", lawTree.getLawVersionId());
+        Map<String, LawDocument> lawDocs = lawDataService.getLawDocuments(lawTree.getLawId(), lawTree.getPublishedDate());
+        ViewObjectResponse<LawTreeView> response = new ViewObjectResponse<>(new LawTreeView(lawTree, null, null, lawDocs),
+                "The document structure for " + lawTree.getLawId() + " law");
+        File tempFile = null;
+        try {
+            FileUtils.forceMkdir(bundleDir);
+            tempFile = File.createTempFile(bundleFile.getName(), ".tmp", bundleDir);
+            try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+                objectMapper.writeValue(out, response);
+            }
+            AtomicLong currentGeneration = getGeneration(lawTree.getLawId());
+            synchronized (currentGeneration) {
+                if (currentGeneration.get() != generation) {
+                    FileUtils.deleteQuietly(tempFile);
+                    return false;
+                }
+                Files.move(tempFile.toPath(), bundleFile.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return true;
+        }
+        catch (IOException ex) {
+            FileUtils.deleteQuietly(tempFile);
+            throw new UncheckedIOException("Failed to write full law bundle " + bundleFile, ex);
+        }
+    }
+}
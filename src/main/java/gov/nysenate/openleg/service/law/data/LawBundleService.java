@@ -0,0 +1,30 @@
+package gov.nysenate.openleg.service.law.data;
+
+import gov.nysenate.openleg.model.law.LawBundle;
+import gov.nysenate.openleg.service.law.event.LawTreeUpdateEvent;
+
+import java.time.LocalDate;
+
+/**
+ * Service interface for retrieving pre-rendered full law bundles.
+ */
+public interface LawBundleService
+{
+    /**
+     * Retrieves the bundle containing the full tree and document text of the law tree that was active on the
+     * given date, rendering it first if it does not exist yet.
+     *
+     * @param lawId String - Three letter law id.
+     * @param endPublishedDate LocalDate - Gets the law tree that was active on this date (null for latest).
+     * @return LawBundle
+     * @throws LawTreeNotFoundEx - If there is no law tree for the given law id and date.
+     */
+    LawBundle getFullLawBundle(String lawId, LocalDate endPublishedDate) throws LawTreeNotFoundEx;
+
+    /**
+     * Discards the existing bundles of the updated law. New bundles are rendered when they are next requested.
+     *
+     * @param lawTreeUpdateEvent LawTreeUpdateEvent
+     */
+    void handleLawTreeUpdate(LawTreeUpdateEvent lawTreeUpdateEvent);
+}
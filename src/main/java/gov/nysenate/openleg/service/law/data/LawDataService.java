@@ -5,6 +5,7 @@ import gov.nysenate.openleg.model.law.*;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -97,4 +98,12 @@ public interface LawDataService
      * @param lawDocument LawDocument - The LawDocument to persist.
      */
     void saveLawDocument(LawFile lawFile, LawDocument lawDocument);
+
+    /**
+     * Persists a batch of LawDocuments into the backing store with LawFile used as a reference to the source data.
+     *
+     * @param lawFile LawFile - The LawFile instance that represents the source data.
+     * @param lawDocuments Collection<LawDocument> - The LawDocuments to persist.
+     */
+    void saveLawDocuments(LawFile lawFile, Collection<LawDocument> lawDocuments);
 }
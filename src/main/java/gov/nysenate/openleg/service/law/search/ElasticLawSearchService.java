@@ -15,6 +15,7 @@ import gov.nysenate.openleg.model.law.LawTree;
 import gov.nysenate.openleg.model.search.*;
 import gov.nysenate.openleg.service.base.search.ElasticSearchServiceUtils;
 import gov.nysenate.openleg.service.base.search.IndexedSearchService;
+import gov.nysenate.openleg.service.base.search.SearchIndexRebuilder;
 import gov.nysenate.openleg.service.law.data.LawDataService;
 import gov.nysenate.openleg.service.law.event.BulkLawUpdateEvent;
 import gov.nysenate.openleg.service.law.event.LawTreeUpdateEvent;
@@ -46,6 +47,7 @@ public class ElasticLawSearchService implements LawSearchService, IndexedSearchS
     @Autowired private ElasticLawSearchDao lawSearchDao;
     @Autowired private LawDataDao lawDataDao;
     @Autowired private LawDataService lawDataService;
+    @Autowired private SearchIndexRebuilder searchIndexRebuilder;
 
     @PostConstruct
     private void init() {
@@ -136,11 +138,14 @@ public class ElasticLawSearchService implements LawSearchService, IndexedSearchS
     @Override
     public void rebuildIndex() {
         logger.info("Handling law search re-indexing");
-        clearIndex();
-        lawDataDao.getLawInfos().stream()
+        List<String> lawIds = lawDataDao.getLawInfos().stream()
                 .map(LawInfo::getLawId)
                 .sorted()
-                .forEach(this::indexLawChapter);
+                .collect(Collectors.toList());
+        // Each law chapter is loaded and submitted on its own since chapters can contain thousands of documents.
+        lawSearchDao.rebuildIndices(() ->
+                searchIndexRebuilder.rebuild("law", lawIds, 1,
+                        this::loadLawChapters, (List<LawDocument> lawDocs) -> updateIndex(lawDocs)));
         logger.info("Completed law search re-index");
     }
 
@@ -188,6 +193,15 @@ public class ElasticLawSearchService implements LawSearchService, IndexedSearchS
         updateIndex(lawDocs);
     }
 
+    /**
+     * Loads the documents in the given law chapters as of today.
+     */
+    private List<LawDocument> loadLawChapters(List<String> lawIds) {
+        return lawIds.stream()
+                .flatMap(lawId -> lawDataService.getLawDocuments(lawId, LocalDate.now()).values().stream())
+                .collect(Collectors.toList());
+    }
+
     /**
      * Determines if a law document can be indexed.
      *
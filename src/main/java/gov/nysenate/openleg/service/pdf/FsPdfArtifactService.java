@@ -0,0 +1,361 @@
+package gov.nysenate.openleg.service.pdf;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import com.google.common.util.concurrent.Striped;
+import gov.nysenate.openleg.client.view.bill.BillPdfView;
+import gov.nysenate.openleg.client.view.hearing.PublicHearingPdfView;
+import gov.nysenate.openleg.client.view.transcript.TranscriptPdfView;
+import gov.nysenate.openleg.config.Environment;
+import gov.nysenate.openleg.model.base.PdfArtifact;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.bill.BillAmendment;
+import gov.nysenate.openleg.model.bill.BillId;
+import gov.nysenate.openleg.model.hearing.PublicHearingId;
+import gov.nysenate.openleg.model.transcript.Transcript;
+import gov.nysenate.openleg.model.transcript.TranscriptId;
+import gov.nysenate.openleg.service.bill.data.BillDataService;
+import gov.nysenate.openleg.service.bill.event.BillUpdateEvent;
+import gov.nysenate.openleg.service.bill.event.BulkBillUpdateEvent;
+import gov.nysenate.openleg.service.hearing.data.PublicHearingDataService;
+import gov.nysenate.openleg.service.hearing.event.PublicHearingUpdateEvent;
+import gov.nysenate.openleg.service.transcript.data.TranscriptDataService;
+import gov.nysenate.openleg.service.transcript.event.BulkTranscriptUpdateEvent;
+import gov.nysenate.openleg.service.transcript.event.TranscriptUpdateEvent;
+import gov.nysenate.openleg.util.AsyncUtils;
+import org.apache.commons.io.FileUtils;
+import org.apache.pdfbox.exceptions.COSVisitorException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+
+import static gov.nysenate.openleg.model.bill.BillTextFormat.HTML;
+import static gov.nysenate.openleg.model.bill.BillTextFormat.PLAIN;
+
+/**
+ * Stores rendered pdfs on disk so that repeated requests for the same document are served from a file instead
+ * of being rendered again. Pdfs are rendered on the first request and kept until the total size of the stored pdfs
+ * exceeds a configured limit, at which point the least recently requested pdfs are discarded.
+ *
+ * When a bill, transcript or hearing is updated, its stored pdfs are discarded and rendered again in the background,
+ * so documents that are in demand remain available without rendering on request.
+ *
+ * Each rendering is written to a new file named after its render time, so a rendering is never overwritten.
+ * The files of discarded and evicted pdfs are deleted after a delay, allowing responses that already
+ * hold the {@link PdfArtifact} to finish serving the file.
+ */
+@Service
+public class FsPdfArtifactService implements PdfArtifactService
+{
+    private static final Logger logger = LoggerFactory.getLogger(FsPdfArtifactService.class);
+
+    private static final String PDF_DIR_NAME = "pdf-artifacts";
+    private static final String BILL_DIR_NAME = "bills";
+    private static final String TRANSCRIPT_DIR_NAME = "transcripts";
+    private static final String HEARING_DIR_NAME = "hearings";
+    private static final String PDF_EXTENSION = ".pdf";
+
+    /** The max total size of the stored pdfs in megabytes. */
+    @Value("${pdf.artifact.max.size.mb:1024}") private long maxSizeMb;
+
+    /** The time in seconds that the file of a discarded or evicted pdf is kept before it is deleted. */
+    @Value("${pdf.artifact.delete.delay.sec:60}") private long deleteDelaySec;
+
+    @Autowired private Environment env;
+    @Autowired private TaskScheduler taskScheduler;
+    @Autowired private EventBus eventBus;
+    @Autowired private AsyncUtils asyncUtils;
+    @Autowired private BillDataService billDataService;
+    @Autowired private TranscriptDataService transcriptDataService;
+    @Autowired private PublicHearingDataService publicHearingDataService;
+
+    private File pdfDir;
+
+    /** The stored pdfs by their path relative to the pdf dir, in least recently requested order. */
+    private final LinkedHashMap<String, PdfArtifact> storedPdfs = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** The total size in bytes of the stored pdfs, guarded by the lock on storedPdfs. */
+    private long totalSize = 0;
+
+    /** The render time of the last rendered pdf, used to give every rendering a unique file name. */
+    private final AtomicLong lastRenderTime = new AtomicLong();
+
+    /** Used to ensure that each pdf is only rendered or discarded by one thread at a time. */
+    private final Striped<Lock> renderLocks = Striped.lock(64);
+
+    /** Pdfs that are waiting to be rendered in the background, used to coalesce repeated updates. */
+    private final Set<String> pendingRenders = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    private void init() throws IOException {
+        pdfDir = new File(env.getBaseDir(), PDF_DIR_NAME);
+        // Stored pdfs are not tracked across restarts and may have been rendered by an older version of the views.
+        FileUtils.deleteDirectory(pdfDir);
+        FileUtils.forceMkdir(pdfDir);
+        eventBus.register(this);
+    }
+
+    /** --- PdfArtifactService implementation --- */
+
+    /** {@inheritDoc} */
+    @Override
+    public PdfArtifact getBillPdf(BillId billId) {
+        return getArtifact(getBillPath(billId), out -> {
+            Bill bill = billDataService.getBill(BaseBillId.of(billId), EnumSet.of(PLAIN, HTML));
+            BillPdfView.writeBillPdf(bill, billId.getVersion(), out);
+        });
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public PdfArtifact getTranscriptPdf(TranscriptId transcriptId) {
+        return getArtifact(getTranscriptPath(transcriptId), out ->
+                TranscriptPdfView.writeTranscriptPdf(transcriptDataService.getTranscript(transcriptId), out));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public PdfArtifact getPublicHearingPdf(PublicHearingId publicHearingId) {
+        return getArtifact(getHearingPath(publicHearingId), out ->
+                PublicHearingPdfView.writePublicHearingPdf(
+                        publicHearingDataService.getPublicHearing(publicHearingId), out));
+    }
+
+    /** {@inheritDoc} */
+    @Subscribe
+    @Override
+    public void handleBillUpdate(BillUpdateEvent billUpdateEvent) {
+        refreshBillPdfs(billUpdateEvent.getBill());
+    }
+
+    /** {@inheritDoc} */
+    @Subscribe
+    @Override
+    public void handleBulkBillUpdate(BulkBillUpdateEvent bulkBillUpdateEvent) {
+        bulkBillUpdateEvent.getBills().forEach(this::refreshBillPdfs);
+    }
+
+    /** {@inheritDoc} */
+    @Subscribe
+    @Override
+    public void handleTranscriptUpdate(TranscriptUpdateEvent transcriptUpdateEvent) {
+        refreshTranscriptPdf(transcriptUpdateEvent.getTranscript());
+    }
+
+    /** {@inheritDoc} */
+    @Subscribe
+    @Override
+    public void handleBulkTranscriptUpdate(BulkTranscriptUpdateEvent bulkTranscriptUpdateEvent) {
+        bulkTranscriptUpdateEvent.getTranscripts().forEach(this::refreshTranscriptPdf);
+    }
+
+    /** {@inheritDoc} */
+    @Subscribe
+    @Override
+    public void handlePublicHearingUpdate(PublicHearingUpdateEvent publicHearingUpdateEvent) {
+        PublicHearingId hearingId = publicHearingUpdateEvent.getPublicHearing().getId();
+        refresh(getHearingPath(hearingId), () -> getPublicHearingPdf(hearingId));
+    }
+
+    /** --- Internal Methods --- */
+
+    /**
+     * Writes a pdf document to the given stream.
+     */
+    @FunctionalInterface
+    interface PdfRenderer
+    {
+        void render(OutputStream out) throws IOException, COSVisitorException;
+    }
+
+    private void refreshBillPdfs(Bill bill) {
+        if (bill == null) {
+            return;
+        }
+        bill.getAmendmentList().stream()
+                .map(BillAmendment::getBillId)
+                .forEach(billId -> refresh(getBillPath(billId), () -> getBillPdf(billId)));
+    }
+
+    private void refreshTranscriptPdf(Transcript transcript) {
+        TranscriptId transcriptId = transcript.getTranscriptId();
+        refresh(getTranscriptPath(transcriptId), () -> getTranscriptPdf(transcriptId));
+    }
+
+    /**
+     * Discards the pdf at the given path and, if it was stored, renders it again in the background.
+     * Pdfs that were never requested are not rendered.
+     */
+    void refresh(String path, Runnable render) {
+        if (discard(path) && pendingRenders.add(path)) {
+            asyncUtils.run(() -> {
+                pendingRenders.remove(path);
+                try {
+                    render.run();
+                }
+                catch (RuntimeException ex) {
+                    logger.warn("Failed to render updated pdf " + path, ex);
+                }
+            });
+        }
+    }
+
+    /**
+     * Gets the stored pdf at the given path, rendering it first if it is not stored.
+     */
+    PdfArtifact getArtifact(String path, PdfRenderer renderer) {
+        PdfArtifact artifact = getStored(path);
+        if (artifact != null) {
+            return artifact;
+        }
+        List<PdfArtifact> evicted = Collections.emptyList();
+        Lock lock = renderLocks.get(path);
+        lock.lock();
+        try {
+            artifact = getStored(path);
+            if (artifact == null) {
+                artifact = render(path, renderer);
+                evicted = store(path, artifact);
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+        evicted.forEach(this::scheduleDelete);
+        return artifact;
+    }
+
+    /**
+     * Renders the pdf into a new file named after the render time, so an existing rendering is never replaced.
+     */
+    private PdfArtifact render(String path, PdfRenderer renderer) {
+        logger.debug("Rendering pdf {}", path);
+        long renderTime = lastRenderTime.updateAndGet(last -> Math.max(last + 1, System.currentTimeMillis()));
+        File pdfFile = new File(pdfDir, getRenderPath(path, renderTime));
+        boolean rendered = false;
+        try {
+            FileUtils.forceMkdir(pdfFile.getParentFile());
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(pdfFile))) {
+                renderer.render(out);
+            }
+            rendered = true;
+            return new PdfArtifact(pdfFile, pdfFile.length(), renderTime);
+        }
+        catch (IOException | COSVisitorException ex) {
+            throw new PdfRenderException("Failed to render pdf " + path, ex);
+        }
+        finally {
+            if (!rendered) {
+                FileUtils.deleteQuietly(pdfFile);
+            }
+        }
+    }
+
+    private PdfArtifact getStored(String path) {
+        synchronized (storedPdfs) {
+            return storedPdfs.get(path);
+        }
+    }
+
+    /**
+     * Records a rendered pdf, evicting the least recently requested pdfs if the size limit is exceeded.
+     *
+     * @return List<PdfArtifact> - the evicted pdfs, whose files are deleted by {@link #scheduleDelete(PdfArtifact)}
+     *                             once the render lock of the stored pdf is released.
+     */
+    private List<PdfArtifact> store(String path, PdfArtifact artifact) {
+        long maxSize = maxSizeMb * 1024 * 1024;
+        List<PdfArtifact> evicted = new ArrayList<>();
+        synchronized (storedPdfs) {
+            PdfArtifact prevArtifact = storedPdfs.put(path, artifact);
+            totalSize += artifact.getSize();
+            if (prevArtifact != null) {
+                totalSize -= prevArtifact.getSize();
+                evicted.add(prevArtifact);
+            }
+            Iterator<PdfArtifact> it = storedPdfs.values().iterator();
+            // The newly stored pdf is last in the iteration order, so it is never evicted
+            while (totalSize > maxSize && storedPdfs.size() > 1) {
+                PdfArtifact eldest = it.next();
+                totalSize -= eldest.getSize();
+                evicted.add(eldest);
+                it.remove();
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Deletes the file of a discarded or evicted pdf once the delete delay has passed.
+     * The file of a rendering is never stored again, so it can be deleted without holding its render lock.
+     */
+    private void scheduleDelete(PdfArtifact artifact) {
+        Date deleteTime = new Date(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(deleteDelaySec));
+        taskScheduler.schedule(() -> FileUtils.deleteQuietly(artifact.getFile()), deleteTime);
+    }
+
+    /**
+     * Discards the pdf at the given path.
+     * Waits for any render of the pdf that is in progress, so a rendering of outdated data is not kept.
+     *
+     * @return boolean - true if the pdf was stored.
+     */
+    private boolean discard(String path) {
+        PdfArtifact artifact;
+        Lock lock = renderLocks.get(path);
+        lock.lock();
+        try {
+            synchronized (storedPdfs) {
+                artifact = storedPdfs.remove(path);
+                if (artifact == null) {
+                    return false;
+                }
+                totalSize -= artifact.getSize();
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+        scheduleDelete(artifact);
+        return true;
+    }
+
+    /**
+     * Get the path of a rendering of the pdf at the given path, relative to the pdf dir.
+     */
+    private static String getRenderPath(String path, long renderTime) {
+        return path.substring(0, path.length() - PDF_EXTENSION.length()) + "-" + renderTime + PDF_EXTENSION;
+    }
+
+    private static String getBillPath(BillId billId) {
+        return BILL_DIR_NAME + File.separator + billId.getSession().getYear() + "-" + billId.getBasePrintNo() + "-" +
+                billId.getVersion().name() + PDF_EXTENSION;
+    }
+
+    private static String getTranscriptPath(TranscriptId transcriptId) {
+        return TRANSCRIPT_DIR_NAME + File.separator + toFileName(transcriptId.getFilename()) + PDF_EXTENSION;
+    }
+
+    private static String getHearingPath(PublicHearingId publicHearingId) {
+        return HEARING_DIR_NAME + File.separator + toFileName(publicHearingId.getFileName()) + PDF_EXTENSION;
+    }
+
+    /**
+     * Replaces any characters that could be unsafe in a file name.
+     */
+    private static String toFileName(String name) {
+        return name.replaceAll("[^\\w.-]", "_");
+    }
+}
@@ -0,0 +1,67 @@
+package gov.nysenate.openleg.service.pdf;
+
+import gov.nysenate.openleg.model.base.PdfArtifact;
+import gov.nysenate.openleg.model.bill.BillId;
+import gov.nysenate.openleg.model.hearing.PublicHearingId;
+import gov.nysenate.openleg.model.transcript.TranscriptId;
+import gov.nysenate.openleg.service.bill.event.BillUpdateEvent;
+import gov.nysenate.openleg.service.bill.event.BulkBillUpdateEvent;
+import gov.nysenate.openleg.service.hearing.event.PublicHearingUpdateEvent;
+import gov.nysenate.openleg.service.transcript.event.BulkTranscriptUpdateEvent;
+import gov.nysenate.openleg.service.transcript.event.TranscriptUpdateEvent;
+
+/**
+ * Service interface for retrieving pre-rendered pdfs of bills, transcripts and public hearings.
+ */
+public interface PdfArtifactService
+{
+    /**
+     * Retrieves the pdf of the full text of a bill amendment, rendering it first if it is not stored.
+     *
+     * @param billId BillId - The version of the id determines the amendment.
+     * @return PdfArtifact
+     * @throws gov.nysenate.openleg.service.bill.data.BillNotFoundEx - If the bill does not exist.
+     * @throws gov.nysenate.openleg.service.bill.data.BillAmendNotFoundEx - If the amendment does not exist.
+     * @throws PdfRenderException - If the pdf could not be rendered.
+     */
+    PdfArtifact getBillPdf(BillId billId);
+
+    /**
+     * Retrieves the pdf of a transcript, rendering it first if it is not stored.
+     *
+     * @param transcriptId TranscriptId
+     * @return PdfArtifact
+     * @throws gov.nysenate.openleg.model.transcript.TranscriptNotFoundEx - If the transcript does not exist.
+     * @throws PdfRenderException - If the pdf could not be rendered.
+     */
+    PdfArtifact getTranscriptPdf(TranscriptId transcriptId);
+
+    /**
+     * Retrieves the pdf of a public hearing, rendering it first if it is not stored.
+     *
+     * @param publicHearingId PublicHearingId
+     * @return PdfArtifact
+     * @throws gov.nysenate.openleg.service.hearing.data.PublicHearingNotFoundEx - If the hearing does not exist.
+     * @throws PdfRenderException - If the pdf could not be rendered.
+     */
+    PdfArtifact getPublicHearingPdf(PublicHearingId publicHearingId);
+
+    /**
+     * Discards the stored pdfs of the updated bill and renders them again in the background.
+     */
+    void handleBillUpdate(BillUpdateEvent billUpdateEvent);
+
+    void handleBulkBillUpdate(BulkBillUpdateEvent bulkBillUpdateEvent);
+
+    /**
+     * Discards the stored pdf of the updated transcript and renders it again in the background.
+     */
+    void handleTranscriptUpdate(TranscriptUpdateEvent transcriptUpdateEvent);
+
+    void handleBulkTranscriptUpdate(BulkTranscriptUpdateEvent bulkTranscriptUpdateEvent);
+
+    /**
+     * Discards the stored pdf of the updated public hearing and renders it again in the background.
+     */
+    void handlePublicHearingUpdate(PublicHearingUpdateEvent publicHearingUpdateEvent);
+}
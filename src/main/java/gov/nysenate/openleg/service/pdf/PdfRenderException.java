@@ -0,0 +1,13 @@
+package gov.nysenate.openleg.service.pdf;
+
+/**
+ * Thrown when a pdf could not be rendered or stored.
+ */
+public class PdfRenderException extends RuntimeException
+{
+    private static final long serialVersionUID = -1582305271393562174L;
+
+    public PdfRenderException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
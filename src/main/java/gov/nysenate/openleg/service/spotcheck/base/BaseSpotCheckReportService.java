@@ -95,11 +95,14 @@ public abstract class BaseSpotCheckReportService<ContentKey> implements SpotChec
     /* --- Internal methods --- */
 
     /**
-     * Generate and post {@link SpotcheckMismatchEvent} for all generated mismatches
+     * Generate and post {@link SpotcheckMismatchEvent} for all generated mismatches that have not been saved yet
      * @param report {@link SpotCheckReport}
      */
     private void sendMismatchEvents(SpotCheckReport<ContentKey> report) {
-        for (SpotCheckObservation<ContentKey> observation : report.getObservations().values()) {
+        if (report.getObservations() == null) {
+            return;
+        }
+        for (SpotCheckObservation<ContentKey> observation : report.getUnsavedObservations()) {
             for (SpotCheckMismatch mismatch : observation.getMismatches().values()) {
                 eventBus.post(new SpotcheckMismatchEvent<>(
                         LocalDateTime.now(),
@@ -41,6 +41,9 @@ public interface SpotCheckReportService<ContentKey>
      * prior reports are taken into account when setting the statuses. Any exception encountered when
      * saving this will propagate through.
      *
+     * Observations that were saved by a previous call are not saved again, allowing a report to be saved
+     * in batches as it is generated. Saved batches are kept if generating the rest of the report fails.
+     *
      * @param report SpotCheckReport<ContentKey> - The report to save in the backing store.
      */
     void saveReport(SpotCheckReport<ContentKey> report);
@@ -1,6 +1,5 @@
 package gov.nysenate.openleg.service.spotcheck.senatesite.bill;
 
-import com.google.common.collect.ImmutableList;
 import gov.nysenate.openleg.config.Environment;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.bill.reference.senatesite.SenateSiteDao;
@@ -30,7 +29,6 @@ import org.springframework.stereotype.Service;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -82,44 +80,49 @@ public class BillReportService extends BaseSpotCheckReportService<BillId> {
         report.setNotes(billDump.getDumpId().getNotes());
         try {
             generateReport(billDump, report);
-        } finally {
-            logger.info("archiving bill dump...");
-            senateSiteDao.setProcessed(billDump);
+        } catch (Exception ex) {
+            markIncomplete(report, ex);
+            throw ex;
         }
+        logger.info("archiving bill dump...");
+        senateSiteDao.setProcessed(billDump);
         return report;
     }
 
     /* --- Internal Methods --- */
 
     /**
-     * Populate report with observations given senate site dump
+     * Populate report with observations given senate site dump.
+     * Observations are saved in batches as they are produced, so only one batch of observations is held in memory
+     * and the batches saved before any failure are kept.
      */
     private void generateReport(SenateSiteDump billDump, SpotCheckReport<BillId> report) {
 
-        // Set up a pipeline: dump parsing -> bill retrieval -> checking
+        // Set up a pipeline: dump parsing -> bill retrieval -> checking -> saving
 
         BillChecker billChecker = new BillChecker(getBillIdsForSession(billDump));
 
         int refQueueSize = env.getSensiteBillRefQueueSize();
         int dataQueueSize = env.getSensiteBillDataQueueSize();
 
-        Pipeline<SpotCheckObservation<BillId>> pipeline =
+        Pipeline<Void> pipeline =
                 pipelineFactory.pipelineBuilder(billDump.getDumpFragments())
                         .addTask(new FragmentParser(), refQueueSize)
                         .addTask(new BillLoader(), dataQueueSize, 2)
-                        .addTask(billChecker)
+                        .addTask(billChecker, dataQueueSize)
+                        .addTask(new ObservationSaver(report, env.getSensiteBillSaveBatchSize()))
                         .build();
 
-        // Wait for pipeline to finish and add observations to report
-        CompletableFuture<ImmutableList<SpotCheckObservation<BillId>>> obsFuture = pipeline.run();
-        List<SpotCheckObservation<BillId>> observations;
+        // Wait for pipeline to finish
         try {
             // Allow maximum 1 hour for asynchronous report execution
-            observations = obsFuture.get(1, TimeUnit.HOURS);
+            pipeline.run().get(1, TimeUnit.HOURS);
         } catch (TimeoutException | InterruptedException | ExecutionException ex) {
-            throw new SpotCheckException("Error occurred while running NYSenate.gov bill spotcheck", ex);
+            pipeline.cancel();
+            int savedCount = report.getObservedCount() - report.getUnsavedCount();
+            throw new SpotCheckException("Error occurred while running NYSenate.gov bill spotcheck after saving " +
+                    savedCount + " observations", ex);
         }
-        report.addObservations(observations);
 
         // Record ref missing mismatches from unchecked openleg bills
         generateRefMissingObs(billChecker.getUncheckedBaseBillIds(), billChecker.getUncheckedBillIds(), report);
@@ -210,6 +213,56 @@ public class BillReportService extends BaseSpotCheckReportService<BillId> {
         }
     }
 
+    /**
+     * Adds {@link SpotCheckObservation}s to the report, saving the report each time a batch of observations
+     * has accumulated. Each save serves as a checkpoint, after which only the mismatch counts of the saved
+     * observations are kept in memory.
+     */
+    private class ObservationSaver implements Function<SpotCheckObservation<BillId>, Collection<Void>> {
+
+        private final SpotCheckReport<BillId> report;
+        private final int batchSize;
+
+        public ObservationSaver(SpotCheckReport<BillId> report, int batchSize) {
+            this.report = report;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public Collection<Void> apply(SpotCheckObservation<BillId> observation) {
+            // A cancelled pipeline may still be saving while a failure is recorded on the report
+            synchronized (report) {
+                report.addObservation(observation);
+                if (report.getUnsavedCount() >= batchSize) {
+                    saveReport(report);
+                    logger.info("Saved {} observations to NYSenate.gov bill report {}",
+                            report.getObservedCount(), report.getId());
+                }
+            }
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Records the failure in the notes of a report that failed part way through, so that the observations saved
+     * before the failure are not taken for a complete report. The dump is not archived, so the next run starts
+     * a new report from it.
+     */
+    private void markIncomplete(SpotCheckReport<BillId> report, Exception ex) {
+        synchronized (report) {
+            int savedCount = report.getObservedCount() - report.getUnsavedCount();
+            String dumpNotes = report.getNotes();
+            report.setNotes("INCOMPLETE: the report failed after saving " + savedCount + " observations (" +
+                    ex.getMessage() + "), the dump is left pending to be rerun." +
+                    (dumpNotes != null ? " " + dumpNotes : ""));
+            try {
+                saveReport(report);
+            } catch (RuntimeException saveEx) {
+                ex.addSuppressed(saveEx);
+            }
+        }
+    }
+
     private SenateSiteDump getMostRecentDump() throws IOException, ReferenceDataNotFoundEx {
         return senateSiteDao.getPendingDumps(SpotCheckRefType.SENATE_SITE_BILLS).stream()
                 .filter(SenateSiteDump::isComplete)
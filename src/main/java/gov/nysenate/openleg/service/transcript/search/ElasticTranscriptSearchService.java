@@ -12,6 +12,7 @@ import gov.nysenate.openleg.model.transcript.Transcript;
 import gov.nysenate.openleg.model.transcript.TranscriptId;
 import gov.nysenate.openleg.service.base.search.ElasticSearchServiceUtils;
 import gov.nysenate.openleg.service.base.search.IndexedSearchService;
+import gov.nysenate.openleg.service.base.search.SearchIndexRebuilder;
 import gov.nysenate.openleg.service.transcript.data.TranscriptDataService;
 import gov.nysenate.openleg.service.transcript.event.BulkTranscriptUpdateEvent;
 import gov.nysenate.openleg.service.transcript.event.TranscriptUpdateEvent;
@@ -39,6 +40,10 @@ public class ElasticTranscriptSearchService implements TranscriptSearchService,
     @Autowired protected EventBus eventBus;
     @Autowired protected ElasticTranscriptSearchDao transcriptSearchDao;
     @Autowired protected TranscriptDataService transcriptDataService;
+    @Autowired protected SearchIndexRebuilder searchIndexRebuilder;
+
+    /** The number of transcripts that are loaded and submitted together during a reindex. */
+    private static final int reindexBatchSize = 50;
 
     @PostConstruct
     protected void init() {
@@ -139,18 +144,10 @@ public class ElasticTranscriptSearchService implements TranscriptSearchService,
     /** {@inheritDoc} */
     @Override
     public void rebuildIndex() {
-        clearIndex();
-        final int bulkSize = 500;
-        Queue<TranscriptId> transcriptIdQueue =
-                new ArrayDeque<>(transcriptDataService.getTranscriptIds(SortOrder.DESC, LimitOffset.ALL));
-        while(!transcriptIdQueue.isEmpty()) {
-            List<Transcript> transcripts = new ArrayList<>(bulkSize);
-            for (int i = 0; i < bulkSize && !transcriptIdQueue.isEmpty(); i++) {
-                TranscriptId tid = transcriptIdQueue.remove();
-                transcripts.add(transcriptDataService.getTranscript(tid));
-            }
-            updateIndex(transcripts);
-        }
+        List<TranscriptId> transcriptIds = transcriptDataService.getTranscriptIds(SortOrder.DESC, LimitOffset.ALL);
+        transcriptSearchDao.rebuildIndices(() ->
+                searchIndexRebuilder.rebuild("transcript", transcriptIds, reindexBatchSize,
+                        this::loadTranscripts, (List<Transcript> transcripts) -> updateIndex(transcripts)));
         logger.info("Finished reindexing transcripts.");
     }
 
@@ -172,4 +169,12 @@ public class ElasticTranscriptSearchService implements TranscriptSearchService,
             clearIndex();
         }
     }
+
+    /* --- Internal Methods --- */
+
+    private List<Transcript> loadTranscripts(List<TranscriptId> transcriptIds) {
+        return transcriptIds.stream()
+                .map(transcriptDataService::getTranscript)
+                .collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,72 @@
+package gov.nysenate.openleg.util;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.*;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Exposes the decompressed content of a gzip file as a {@link org.springframework.core.io.Resource}.
+ *
+ * The content length is read from the gzip trailer, so the content is never decompressed in memory. This
+ * allows the resource to be served with HTTP range support, where skipping to a range decompresses and
+ * discards the preceding bytes. Only single member gzip files under 4 GB are supported.
+ */
+public class GzipFileResource extends AbstractResource
+{
+    private final File file;
+
+    public GzipFileResource(File file) {
+        this.file = file;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return new GZIPInputStream(new BufferedInputStream(new FileInputStream(file)));
+    }
+
+    /**
+     * Returns the uncompressed size, which is stored as the last four bytes (little endian) of the gzip file.
+     */
+    @Override
+    public long contentLength() throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            if (raf.length() < 4) {
+                throw new IOException("Invalid gzip file " + file);
+            }
+            raf.seek(raf.length() - 4);
+            long size = 0;
+            for (int i = 0; i < 4; i++) {
+                size |= (long) raf.read() << (8 * i);
+            }
+            return size;
+        }
+    }
+
+    @Override
+    public boolean exists() {
+        return file.exists();
+    }
+
+    @Override
+    public long lastModified() {
+        return file.lastModified();
+    }
+
+    @Override
+    public String getDescription() {
+        return "gzip file [" + file.getAbsolutePath() + "]";
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other ||
+               (other instanceof GzipFileResource && file.equals(((GzipFileResource) other).file));
+    }
+
+    @Override
+    public int hashCode() {
+        return file.hashCode();
+    }
+}
@@ -2,9 +2,11 @@ package gov.nysenate.openleg.util;
 
 import com.fasterxml.jackson.core.JsonGenerationException;
 import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.datatype.guava.GuavaModule;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import gov.nysenate.openleg.client.view.base.MapView;
@@ -57,6 +59,28 @@ public abstract class OutputUtils
         return mapToJson(object, elasticsearchJsonMapper);
     }
 
+    /**
+     * Given an object, this method will attempt to serialize it into JSON suitable for ElasticSearch
+     * indexing, with the given field added to the top level of the document.
+     * @param object Object
+     * @param fieldName String
+     * @param value String - the value of the added field, the field is omitted if null
+     * @return String - Json or empty string if failed.
+     */
+    public static String toElasticsearchJson(Object object, String fieldName, String value) {
+        try {
+            JsonNode node = elasticsearchJsonMapper.valueToTree(object);
+            if (value != null && node instanceof ObjectNode) {
+                ((ObjectNode) node).put(fieldName, value);
+            }
+            return mapToJson(node, elasticsearchJsonMapper);
+        }
+        catch (IllegalArgumentException ex) {
+            logger.error("Failed to map json: " + ex.getMessage());
+        }
+        return "";
+    }
+
     private static String mapToJson(Object object, ObjectMapper objectMapper){
         try {
             return objectMapper.writeValueAsString(object);
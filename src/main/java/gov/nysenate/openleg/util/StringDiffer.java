@@ -4,6 +4,8 @@ import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -274,15 +276,7 @@ public class StringDiffer
     private LinkedList<Diff> diff_lineMode(String text1, String text2,
                                            long deadline) {
         // Scan the text on a line-by-line basis first.
-        LinesToCharsResult b = diff_linesToChars(text1, text2);
-        text1 = b.chars1;
-        text2 = b.chars2;
-        List<String> linearray = b.lineArray;
-
-        LinkedList<Diff> diffs = diff_main(text1, text2, false, deadline);
-
-        // Convert the diff back to original text.
-        diff_charsToLines(diffs, linearray);
+        LinkedList<Diff> diffs = diff_lineDiffs(text1, text2, deadline);
         // Eliminate freak matches (e.g. blank lines)
         diff_cleanupSemantic(diffs);
 
@@ -332,6 +326,198 @@ public class StringDiffer
         return diffs;
     }
 
+    /**
+     * Find the differences between two line oriented texts.
+     * The texts are first diffed line by line with no deadline, which is cheap
+     * since each line is reduced to a single character.  Each replacement block
+     * is then refined character by character, with its own deadline of
+     * Diff_Timeout, so a large text can no longer exhaust a single deadline.
+     * The refinements run on the given executor so that large texts with many
+     * changed blocks can be refined in parallel.
+     * @param text1 Old string to be diffed.
+     * @param text2 New string to be diffed.
+     * @param refineExecutor Executor to refine the replacement blocks on.
+     * @return LinkedList of Diff objects, cleaned up for display.
+     */
+    public LinkedList<Diff> diff_lines(String text1, String text2,
+                                       Executor refineExecutor) {
+        if (text1 == null || text2 == null) {
+            throw new IllegalArgumentException("Null inputs. (diff_lines)");
+        }
+        LinkedList<Diff> lineDiffs = diff_lineDiffs(text1, text2, Long.MAX_VALUE);
+        // Eliminate freak matches (e.g. blank lines)
+        diff_cleanupSemantic(lineDiffs);
+
+        // Gather the equalities and the replacement blocks to refine, in order.
+        List<CompletableFuture<LinkedList<Diff>>> blocks =
+                new ArrayList<CompletableFuture<LinkedList<Diff>>>();
+        // Add a dummy entry at the end.
+        lineDiffs.add(new Diff(Operation.EQUAL, ""));
+        StringBuilder text_delete = new StringBuilder();
+        StringBuilder text_insert = new StringBuilder();
+        for (Diff thisDiff : lineDiffs) {
+            switch (thisDiff.operation) {
+                case INSERT:
+                    text_insert.append(thisDiff.text);
+                    break;
+                case DELETE:
+                    text_delete.append(thisDiff.text);
+                    break;
+                case EQUAL:
+                    if (text_delete.length() > 0 && text_insert.length() > 0) {
+                        final String deleted = text_delete.toString();
+                        final String inserted = text_insert.toString();
+                        blocks.add(CompletableFuture.supplyAsync(
+                                () -> diff_refine(deleted, inserted), refineExecutor));
+                    } else if (text_delete.length() > 0) {
+                        blocks.add(CompletableFuture.completedFuture(new LinkedList<Diff>(
+                                Collections.singletonList(new Diff(Operation.DELETE, text_delete.toString())))));
+                    } else if (text_insert.length() > 0) {
+                        blocks.add(CompletableFuture.completedFuture(new LinkedList<Diff>(
+                                Collections.singletonList(new Diff(Operation.INSERT, text_insert.toString())))));
+                    }
+                    if (thisDiff.text.length() != 0) {
+                        blocks.add(CompletableFuture.completedFuture(new LinkedList<Diff>(
+                                Collections.singletonList(thisDiff))));
+                    }
+                    text_delete.setLength(0);
+                    text_insert.setLength(0);
+                    break;
+            }
+        }
+
+        LinkedList<Diff> diffs = new LinkedList<Diff>();
+        for (CompletableFuture<LinkedList<Diff>> block : blocks) {
+            diffs.addAll(block.join());
+        }
+        diff_cleanupMerge(diffs);
+        return diffs;
+    }
+
+    /**
+     * Diff two texts line by line, without refining the changed lines.
+     * Each unique line is encoded as a single character, so texts with more
+     * unique lines than there are characters are diffed in chunks instead.
+     * @param text1 Old string to be diffed.
+     * @param text2 New string to be diffed.
+     * @param deadline Time when the diff should be complete by.
+     * @return LinkedList of Diff objects, each made of whole lines.
+     */
+    private LinkedList<Diff> diff_lineDiffs(String text1, String text2,
+                                            long deadline) {
+        LinesToCharsResult b = diff_linesToChars(text1, text2);
+        // The zeroth element of the line array is blank and is never encoded.
+        if (b.lineArray.size() - 1 > Character.MAX_VALUE) {
+            return diff_lineChunks(text1, text2, deadline);
+        }
+        LinkedList<Diff> diffs = diff_main(b.chars1, b.chars2, false, deadline);
+        // Convert the diff back to original text.
+        diff_charsToLines(diffs, b.lineArray);
+        return diffs;
+    }
+
+    /**
+     * Diff two texts with too many unique lines to encode line by line.
+     * The lines that both texts start and end with are equal, and the lines in
+     * between are split into the same number of chunks in each text, each small
+     * enough to be encoded.  The chunks are diffed pairwise, so a change that
+     * straddles the chunk boundaries may produce a non-minimal diff.
+     * @param text1 Old string to be diffed.
+     * @param text2 New string to be diffed.
+     * @param deadline Time when the diff should be complete by.
+     * @return LinkedList of Diff objects.
+     */
+    private LinkedList<Diff> diff_lineChunks(String text1, String text2,
+                                             long deadline) {
+        List<String> lines1 = diff_splitLines(text1);
+        List<String> lines2 = diff_splitLines(text2);
+        int minLength = Math.min(lines1.size(), lines2.size());
+        int prefixLength = 0;
+        while (prefixLength < minLength
+                && lines1.get(prefixLength).equals(lines2.get(prefixLength))) {
+            prefixLength++;
+        }
+        int suffixLength = 0;
+        while (suffixLength < minLength - prefixLength
+                && lines1.get(lines1.size() - 1 - suffixLength)
+                .equals(lines2.get(lines2.size() - 1 - suffixLength))) {
+            suffixLength++;
+        }
+        int length1 = lines1.size() - prefixLength - suffixLength;
+        int length2 = lines2.size() - prefixLength - suffixLength;
+        // Half the encodable lines per chunk, so that a pair of chunks never exceeds the limit.
+        int chunkCount = (length1 + length2) / (Character.MAX_VALUE / 2) + 1;
+
+        LinkedList<Diff> diffs = new LinkedList<Diff>();
+        if (prefixLength > 0) {
+            diffs.add(new Diff(Operation.EQUAL, diff_joinLines(lines1, 0, prefixLength)));
+        }
+        for (int i = 0; i < chunkCount; i++) {
+            String chunk1 = diff_joinLines(lines1,
+                    prefixLength + (int) ((long) length1 * i / chunkCount),
+                    prefixLength + (int) ((long) length1 * (i + 1) / chunkCount));
+            String chunk2 = diff_joinLines(lines2,
+                    prefixLength + (int) ((long) length2 * i / chunkCount),
+                    prefixLength + (int) ((long) length2 * (i + 1) / chunkCount));
+            diffs.addAll(diff_lineDiffs(chunk1, chunk2, deadline));
+        }
+        if (suffixLength > 0) {
+            diffs.add(new Diff(Operation.EQUAL,
+                    diff_joinLines(lines1, lines1.size() - suffixLength, lines1.size())));
+        }
+        // Merge the diffs at the chunk boundaries.
+        diff_cleanupMerge(diffs);
+        return diffs;
+    }
+
+    /**
+     * Split a text into lines, each including its trailing newline.
+     * @param text String to split.
+     * @return List of lines.
+     */
+    private List<String> diff_splitLines(String text) {
+        List<String> lines = new ArrayList<String>();
+        int lineStart = 0;
+        while (lineStart < text.length()) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd == -1) {
+                lineEnd = text.length() - 1;
+            }
+            lines.add(text.substring(lineStart, lineEnd + 1));
+            lineStart = lineEnd + 1;
+        }
+        return lines;
+    }
+
+    /**
+     * Join a range of lines back into text.
+     * @param lines List of lines, each including its trailing newline.
+     * @param start Index of the first line to join.
+     * @param end Index after the last line to join.
+     * @return The joined text.
+     */
+    private String diff_joinLines(List<String> lines, int start, int end) {
+        StringBuilder text = new StringBuilder();
+        for (String line : lines.subList(start, end)) {
+            text.append(line);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Diff a single replacement block character by character and clean it up
+     * for display.
+     * @param text1 Deleted text of the block.
+     * @param text2 Inserted text of the block.
+     * @return LinkedList of Diff objects.
+     */
+    private LinkedList<Diff> diff_refine(String text1, String text2) {
+        LinkedList<Diff> diffs = diff_main(text1, text2, false);
+        diff_cleanupEfficiency(diffs);
+        diff_cleanupSemantic(diffs);
+        return diffs;
+    }
+
     /**
      * Find the 'middle snake' of a diff, split the problem in two
      * and return the recursively constructed diff.
@@ -1,19 +1,33 @@
 package gov.nysenate.openleg.util.pipeline;
 
 import com.google.common.collect.ImmutableList;
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
- * Runs a sequence of tasks on a number of objects,
- * with each task executing in parallel.
+ * Runs a sequence of stages on a number of objects,
+ * with each stage executing in parallel on its own set of workers.
+ *
+ * Stages are connected by {@link PipelineQueue}s, and each stage finishes once the stage before it has finished
+ * and its input queue is drained.  The parallelism of each stage can be changed while the pipeline runs,
+ * and {@link #getMetrics()} reports the queue depth and latency of each stage.
+ *
+ * Workers block on the queues, so each pipeline runs on its own thread pool with a thread for every worker.
+ * Sharing an executor with other tasks could leave a stage waiting for a thread held by a blocked worker.
+ *
+ * The pipeline is cancelled if a stage throws an exception or the future returned by {@link #run()} is cancelled.
+ * Cancellation is cooperative: no new inputs are started, and blocked workers are woken,
+ * but inputs that are being processed are allowed to finish.
  *
  * @see PipelineFactory for instantiation details.
  *
@@ -23,56 +37,132 @@ public class Pipeline<T> {
 
     private static final Logger logger = LoggerFactory.getLogger(Pipeline.class);
 
-    private LinkedList<PipelineTask> tasks;
-    private Executor executor;
+    private final LinkedList<PipelineStage<?, ?>> stages;
+    private final PipelineQueue<T> outputQueue;
+    /** The maximum total parallelism of the stages, which is the number of threads in the pool. */
+    private final int maxWorkers;
+    private ThreadPoolExecutor executor = null;
     private CompletableFuture<ImmutableList<T>> result = null;
 
-    Pipeline(Collection<PipelineTask> tasks, Executor executor) {
-        this.tasks = new LinkedList<>(tasks);
-        this.executor = executor;
+    Pipeline(Collection<PipelineStage<?, ?>> stages, PipelineQueue<T> outputQueue, int maxWorkers) {
+        this.stages = new LinkedList<>(stages);
+        this.outputQueue = outputQueue;
+        this.maxWorkers = maxWorkers;
     }
 
     /**
      * Sets the pipeline in motion, returning a future that is completed when everything is processed.
+     * Cancelling the future cancels the pipeline.
      *
-     * @return CompletableFuture<ImmutableList<R>>
+     * @return CompletableFuture<ImmutableList<T>> - the outputs of the last stage.
+     *         Completed exceptionally with a {@link PipelineException} if a stage fails.
      */
-    public CompletableFuture<ImmutableList<T>> run() {
-        if (tasks.isEmpty()) {
-            return CompletableFuture.completedFuture(ImmutableList.of());
+    public synchronized CompletableFuture<ImmutableList<T>> run() {
+        if (result != null) {
+            throw new IllegalStateException("A pipeline can only be run once.");
         }
-
-        LinkedList<CompletableFuture<Void>> futures = new LinkedList<>();
-        for (PipelineTask task : tasks) {
-            CompletableFuture<Void> cf = CompletableFuture.runAsync(task, executor)
-                    .exceptionally(ex -> handleTaskException(ex, tasks));
-            futures.add(cf);
+        if (stages.isEmpty()) {
+            result = CompletableFuture.completedFuture(ImmutableList.of());
+            return result;
         }
-        // Set the result future to return the result of the last task when its future completes
-        PipelineTask<?, T> lastTask = tasks.getLast();
-        CompletableFuture<Void> lastTaskFuture = futures.getLast();
-        result = lastTaskFuture.thenApply(v -> lastTask.getOutputs());
+        // Surplus workers of a shrunk stage may briefly overlap new workers of a grown stage, which then wait
+        // in the executor queue until the surplus workers exit
+        executor = new ThreadPoolExecutor(maxWorkers, maxWorkers, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new OpenlegThreadFactory("pipeline"));
+        result = new CompletableFuture<>();
+        stages.getLast().getCompletion().thenRun(() -> result.complete(getOutputs()));
+        result.whenComplete((outputs, ex) -> {
+            if (ex != null) {
+                stages.forEach(PipelineStage::stop);
+            }
+            executor.shutdown();
+            if (logger.isDebugEnabled()) {
+                getMetrics().forEach(metrics -> logger.debug("Pipeline stage {}", metrics));
+            }
+        });
 
-        // Send the signal for tasks to start and return the result future
-        tasks.descendingIterator().forEachRemaining(PipelineTask::startTask);
+        // Start the stages from last to first so that consumers are ready before their producers
+        stages.descendingIterator().forEachRemaining(stage -> stage.start(executor, this::handleStageException));
         return result;
     }
 
+    /**
+     * Cancels the pipeline.  This is equivalent to cancelling the future returned by {@link #run()}.
+     *
+     * @return boolean - true if the pipeline was running and is now cancelled
+     */
+    public synchronized boolean cancel() {
+        return result != null && result.cancel(false);
+    }
+
+    /**
+     * Changes the number of workers for the named stage.
+     * The total parallelism of all stages cannot exceed the pipeline's max workers, see
+     * {@link PipelineBuilder#maxWorkers(int)}.
+     *
+     * @param stageName String - the stage name, see {@link PipelineBuilder#named(String)}
+     * @param parallelism int - the new number of workers, must be at least 1
+     * @throws IllegalArgumentException if there is no stage with the given name,
+     *                                  or the new parallelism would exceed the max workers
+     */
+    public synchronized void setParallelism(String stageName, int parallelism) {
+        PipelineStage<?, ?> stage = stages.stream()
+                .filter(s -> s.getName().equals(stageName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No pipeline stage named " + stageName));
+        int totalParallelism = stages.stream()
+                .mapToInt(s -> s == stage ? parallelism : s.getParallelism())
+                .sum();
+        if (totalParallelism > maxWorkers) {
+            throw new IllegalArgumentException("Setting the parallelism of " + stageName + " to " + parallelism +
+                    " would exceed the pipeline's max of " + maxWorkers + " workers");
+        }
+        stage.setParallelism(parallelism);
+    }
+
+    /**
+     * @return int - the maximum total parallelism of the stages
+     */
+    public int getMaxWorkers() {
+        return maxWorkers;
+    }
+
+    /**
+     * @return List<PipelineStageMetrics> - the current metrics of each stage, in pipeline order
+     */
+    public List<PipelineStageMetrics> getMetrics() {
+        return stages.stream()
+                .map(PipelineStage::getMetrics)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Waits for the threads of a completed or cancelled pipeline to exit.
+     *
+     * @return boolean - true if the threads exited, false if the timeout elapsed or the pipeline was never run
+     */
+    boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor != null && executor.awaitTermination(timeout, unit);
+    }
+
     /* --- Internal Methods --- */
 
     /**
-     * Handles an exception thrown by one of the pipeline tasks.
+     * Handles an exception thrown by one of the pipeline stages,
+     * causing the result future to terminate, which stops all of the stages.
      *
      * @param ex Throwable
-     * @param tasks {@link List<PipelineTask>}
-     * @return Void
      */
-    private Void handleTaskException(Throwable ex, LinkedList<PipelineTask> tasks) {
-        // Cause the result future to terminate and throw an exception.
-        Optional.ofNullable(result)
-                .ifPresent(r -> r.completeExceptionally(ex));
-        // Set the termination flag for each of the pipeline tasks
-        tasks.descendingIterator().forEachRemaining(PipelineTask::terminate);
-        return null;
+    private void handleStageException(Throwable ex) {
+        result.completeExceptionally(ex instanceof PipelineException ? ex : new PipelineException(ex));
+    }
+
+    /**
+     * Remove and return the results in the output queue.
+     */
+    private ImmutableList<T> getOutputs() {
+        List<T> outputs = new LinkedList<>();
+        outputQueue.drainTo(outputs);
+        return ImmutableList.copyOf(outputs);
     }
 }
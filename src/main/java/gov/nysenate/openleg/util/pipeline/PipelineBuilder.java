@@ -3,11 +3,6 @@ package gov.nysenate.openleg.util.pipeline;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.Executor;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 
 /**
@@ -17,37 +12,35 @@ import java.util.function.Function;
  */
 public class PipelineBuilder<T> {
 
-    private final Executor executor;
+    private List<PipelineStage<?, ?>> stages;
 
-    private List<PipelineTask> tasks;
+    private PipelineStage<?, T> lastStage = null;
 
-    private PipelineTask<?, T> lastTask = null;
+    /** The queue consumed by the next added task, i.e. the output queue of the last stage or the pipeline input. */
+    private final PipelineQueue<T> nextInputQueue;
 
-    private final BlockingQueue inputQueue;
+    /** Limits the total parallelism of the stages when they are grown at runtime. */
+    private int maxWorkers = 0;
 
-    private final AtomicBoolean inputFinal;
-
-    PipelineBuilder(Executor executor, BlockingQueue<T> inputQueue, AtomicBoolean inputFinal) {
-        this.executor = executor;
-        this.tasks = new LinkedList<>();
-        this.inputQueue = inputQueue;
-        this.inputFinal = inputFinal;
+    PipelineBuilder(PipelineQueue<T> inputQueue) {
+        this.stages = new LinkedList<>();
+        this.nextInputQueue = inputQueue;
     }
 
     /**
-     * Create a new pipeline builder from an existing one and a new set of pipeline tasks.
+     * Create a new pipeline builder from an existing one and a new pipeline stage.
      *
      * @param pb {@link PipelineBuilder}
-     * @param newTasks {@link PipelineTask}
+     * @param newStage {@link PipelineStage}
+     * @param outputQueue {@link PipelineQueue} - the output queue of the new stage
      */
-    private PipelineBuilder(PipelineBuilder<?> pb, LinkedList<PipelineTask<?, T>> newTasks) {
-        this.executor = pb.executor;
-        this.tasks = pb.tasks;
-        this.inputQueue = pb.inputQueue;
-        this.inputFinal = pb.inputFinal;
-
-        this.tasks.addAll(newTasks);
-        this.lastTask = newTasks.getLast();
+    private PipelineBuilder(PipelineBuilder<?> pb, PipelineStage<?, T> newStage, PipelineQueue<T> outputQueue) {
+        this.stages = pb.stages;
+        this.nextInputQueue = outputQueue;
+        this.maxWorkers = pb.maxWorkers;
+
+        this.stages.add(newStage);
+        this.lastStage = newStage;
     }
 
     /**
@@ -57,6 +50,7 @@ public class PipelineBuilder<T> {
      * Multiple instances of the task can be requested,
      * all consuming from the same set of inputs,
      * and writing to the same set of outputs.
+     * The number of instances can be changed while the pipeline runs, see {@link Pipeline#setParallelism}.
      *
      * @param task Function<R, Collection<E>> - the task to be performed
      * @param outputCapacity int - sets an upper limit for the number of results in the output queue
@@ -69,27 +63,10 @@ public class PipelineBuilder<T> {
         if (instances < 1) {
             throw new IllegalStateException("You must create at least one instance of a task.");
         }
-        final BlockingQueue<T> inputQueue;
-        if (lastTask == null) {
-            inputQueue = (BlockingQueue<T>) this.inputQueue;
-        } else {
-            inputQueue = lastTask.getOutputQueue();
-        }
-        BlockingQueue<E> outputQueue;
-        if (outputCapacity > 0) {
-            outputQueue = new ArrayBlockingQueue<>(outputCapacity);
-        } else {
-            outputQueue = new LinkedBlockingQueue<>();
-        }
-        LinkedList<PipelineTask<?, E>> newTasks = new LinkedList<>();
-        PipelineTask prevTask = lastTask;
-        for (int i = 0; i < instances; i++) {
-            final AtomicBoolean prevFinished = prevTask == null ? this.inputFinal : prevTask.getFinished();
-            PipelineTask<T, E> newTask = new PipelineTask<>(task, inputQueue, outputQueue, prevFinished);
-            prevTask = newTask;
-            newTasks.add(newTask);
-        }
-        return new PipelineBuilder<>(this, newTasks);
+        PipelineQueue<E> outputQueue = new PipelineQueue<>(outputCapacity);
+        PipelineStage<T, E> newStage = new PipelineStage<>(getDefaultName(task), task,
+                nextInputQueue, outputQueue, instances);
+        return new PipelineBuilder<>(this, newStage, outputQueue);
     }
 
     /**
@@ -118,13 +95,70 @@ public class PipelineBuilder<T> {
         return addTask(task, -1);
     }
 
+    /**
+     * Names the last added task, for use in metrics, logs and {@link Pipeline#setParallelism}.
+     * Tasks are named after their class by default, or by their position if the class is anonymous.
+     *
+     * @param name String
+     * @return {@link PipelineBuilder}
+     */
+    public PipelineBuilder<T> named(String name) {
+        getLastStage().setName(name);
+        return this;
+    }
+
+    /**
+     * Makes the last added task write its results in the order that it received its inputs,
+     * even when multiple instances of the task are running.
+     * The pipeline output is in input order if every task with multiple instances is ordered.
+     * An instance that finishes ahead of an earlier input waits for it before taking another input,
+     * so a slow input holds up the other instances instead of letting their outputs pile up.
+     *
+     * @return {@link PipelineBuilder}
+     */
+    public PipelineBuilder<T> ordered() {
+        getLastStage().setOrdered(true);
+        return this;
+    }
+
+    /**
+     * Sets the maximum total number of workers across all tasks, allowing tasks to be grown at runtime
+     * with {@link Pipeline#setParallelism}.  The pipeline runs a thread for each worker.
+     * Defaults to the total number of task instances, which is also the minimum.
+     *
+     * @param maxWorkers int
+     * @return {@link PipelineBuilder}
+     */
+    public PipelineBuilder<T> maxWorkers(int maxWorkers) {
+        this.maxWorkers = maxWorkers;
+        return this;
+    }
+
     /**
      * Constructs the pipeline and returns it
      *
      * @return {@link Pipeline}
      */
     public Pipeline<T> build() {
-        return new Pipeline<>(tasks, executor);
+        int totalInstances = stages.stream().mapToInt(PipelineStage::getParallelism).sum();
+        return new Pipeline<>(stages, nextInputQueue, Math.max(maxWorkers, totalInstances));
+    }
+
+    /* --- Internal Methods --- */
+
+    private PipelineStage<?, T> getLastStage() {
+        if (lastStage == null) {
+            throw new IllegalStateException("A task must be added first.");
+        }
+        return lastStage;
+    }
+
+    private String getDefaultName(Function<?, ?> task) {
+        Class<?> taskClass = task.getClass();
+        if (taskClass.isAnonymousClass() || taskClass.isSynthetic()) {
+            return "stage " + (stages.size() + 1);
+        }
+        return taskClass.getSimpleName();
     }
 
 }
@@ -1,22 +1,16 @@
 package gov.nysenate.openleg.util.pipeline;
 
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
-import javax.annotation.Resource;
 import java.util.Collection;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * A service used to create {@link Pipeline}s using the configured async Executor.
+ * A service used to create {@link Pipeline}s.
+ * Each pipeline runs on its own threads, so pipelines cannot starve each other or the async executor.
  */
 @Service
 public class PipelineFactory {
 
-    @Resource(name = "openlegAsync") private ThreadPoolTaskExecutor executor;
-
     /**
      * Build a pipeline with a fixed input.
      *
@@ -25,21 +19,20 @@ public class PipelineFactory {
      * @return {@link PipelineBuilder}
      */
     public <T> PipelineBuilder<T> pipelineBuilder(Collection<T> input) {
-        BlockingQueue<T> inputQueue = new ArrayBlockingQueue<>(input.size(), false, input);
-        return new PipelineBuilder<>(executor, inputQueue, new AtomicBoolean(true));
+        return new PipelineBuilder<>(PipelineQueue.of(input));
     }
 
     /**
      * Build a pipeline with a dynamic input.
      *
-     * Will continue processing until the given AtomicBoolean is set to false.
+     * Will continue processing until the given queue is closed.
+     * A bounded queue blocks the producer while the pipeline is behind.
      *
-     * @param inputQueue {@link BlockingQueue}
-     * @param inputFinal {@link AtomicBoolean}
+     * @param inputQueue {@link PipelineQueue}
      * @param <T> input type
      * @return {@link PipelineBuilder}
      */
-    public <T> PipelineBuilder<T> pipelineBuilder(BlockingQueue<T> inputQueue, AtomicBoolean inputFinal) {
-        return new PipelineBuilder<>(executor, inputQueue, inputFinal);
+    public <T> PipelineBuilder<T> pipelineBuilder(PipelineQueue<T> inputQueue) {
+        return new PipelineBuilder<>(inputQueue);
     }
 }
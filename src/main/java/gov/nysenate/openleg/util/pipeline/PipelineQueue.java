@@ -0,0 +1,212 @@
+package gov.nysenate.openleg.util.pipeline;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A FIFO queue connecting two stages of a {@link Pipeline}, or feeding the first stage.
+ *
+ * Consumers block until an element is available or the queue is closed, and producers block while a bounded queue
+ * is full, so no polling is needed to detect the end of the input.  Cancelling the queue wakes all blocked
+ * producers and consumers.
+ *
+ * @param <E>
+ */
+public class PipelineQueue<E> {
+
+    private final ArrayDeque<E> elements = new ArrayDeque<>();
+    private final int capacity;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    /** Set when no more elements will be added. */
+    private boolean closed = false;
+    /** Set when the pipeline is cancelled or fails. */
+    private boolean cancelled = false;
+
+    /** The number of elements taken so far, used to index the taken elements. */
+    private long takeCount = 0;
+    /** The largest number of elements that were waiting in the queue at once. */
+    private int maxDepth = 0;
+
+    /**
+     * Creates a queue that blocks producers when it holds the given number of elements.
+     *
+     * @param capacity int - a capacity of 0 or less creates an unbounded queue
+     */
+    public PipelineQueue(int capacity) {
+        this.capacity = capacity > 0 ? capacity : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Creates an unbounded queue.
+     */
+    public PipelineQueue() {
+        this(-1);
+    }
+
+    /**
+     * Creates a closed queue containing the given elements.
+     *
+     * @param elements {@link Collection}
+     * @param <E>
+     * @return PipelineQueue<E>
+     */
+    static <E> PipelineQueue<E> of(Collection<E> elements) {
+        PipelineQueue<E> queue = new PipelineQueue<>();
+        queue.elements.addAll(elements);
+        queue.maxDepth = elements.size();
+        queue.closed = true;
+        return queue;
+    }
+
+    /**
+     * Adds an element to the queue, waiting for space if the queue is full.
+     *
+     * @param element E
+     * @throws InterruptedException if interrupted while waiting
+     * @throws IllegalStateException if the queue was closed
+     * @throws CancellationException if the pipeline was cancelled
+     */
+    public void put(E element) throws InterruptedException {
+        if (element == null) {
+            throw new NullPointerException("Pipeline queues do not accept null elements");
+        }
+        lock.lockInterruptibly();
+        try {
+            while (elements.size() >= capacity && !cancelled) {
+                notFull.await();
+            }
+            checkCancelled();
+            if (closed) {
+                throw new IllegalStateException("Cannot add to a closed pipeline queue");
+            }
+            elements.add(element);
+            maxDepth = Math.max(maxDepth, elements.size());
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Signals that no more elements will be added.
+     * Consumers finish once the remaining elements are taken.
+     */
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return int - the number of elements currently waiting in the queue
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return elements.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* --- Package Private Methods --- */
+
+    /**
+     * Takes the next element, waiting until one is available.
+     *
+     * @return Taken<E> - the element and its position in the queue, or null if the queue is closed and empty
+     * @throws InterruptedException if interrupted while waiting
+     * @throws CancellationException if the pipeline was cancelled
+     */
+    Taken<E> take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (elements.isEmpty() && !closed && !cancelled) {
+                notEmpty.await();
+            }
+            checkCancelled();
+            if (elements.isEmpty()) {
+                return null;
+            }
+            E element = elements.poll();
+            notFull.signal();
+            return new Taken<>(element, takeCount++);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops the queue, waking all blocked producers and consumers.
+     */
+    void cancel() {
+        lock.lock();
+        try {
+            cancelled = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all elements from the queue, adding them to the given list.
+     */
+    void drainTo(List<E> list) {
+        lock.lock();
+        try {
+            list.addAll(elements);
+            elements.clear();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    int getMaxDepth() {
+        lock.lock();
+        try {
+            return maxDepth;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* --- Internal Methods --- */
+
+    private void checkCancelled() {
+        if (cancelled) {
+            throw new CancellationException("The pipeline was cancelled");
+        }
+    }
+
+    /**
+     * An element taken from the queue along with the order in which it was taken.
+     */
+    static class Taken<E> {
+        final E element;
+        final long index;
+
+        private Taken(E element, long index) {
+            this.element = element;
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package gov.nysenate.openleg.util.pipeline;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A stage of a {@link Pipeline} that applies a task to each object in its input queue,
+ * writing the results to its output queue.
+ *
+ * The stage runs a number of workers on the pipeline's executor, all consuming from the same input queue
+ * and writing to the same output queue.  The number of workers can be changed while the stage is running.
+ * The stage finishes and closes its output queue once its input queue is closed and drained.
+ *
+ * @param <T>
+ * @param <R>
+ */
+class PipelineStage<T, R> {
+
+    private static final Logger logger = LoggerFactory.getLogger(PipelineStage.class);
+
+    private String name;
+    private final Function<T, Collection<R>> task;
+    private final PipelineQueue<T> inputQueue;
+    private final PipelineQueue<R> outputQueue;
+    private Executor executor;
+
+    /** If true, the outputs are written in the order the inputs were taken from the input queue. */
+    private boolean ordered = false;
+    /** Guards nextOutputIndex, and is waited on by workers of ordered stages until their outputs are next. */
+    private final Object outputOrderLock = new Object();
+    /** The index of the input whose outputs are written next by an ordered stage. */
+    private long nextOutputIndex = 0;
+
+    /** The requested number of workers. */
+    private int parallelism;
+    /** The number of workers that are submitted to the executor and have not exited. */
+    private int activeWorkers = 0;
+    private boolean started = false;
+    private boolean finished = false;
+    /** Set when the pipeline fails or is cancelled, signalling the workers to stop. */
+    private volatile boolean stopped = false;
+
+    private Consumer<Throwable> failureHandler;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    private final LongAdder processedCount = new LongAdder();
+    private final LongAdder outputCount = new LongAdder();
+    private final LongAdder totalTaskNanos = new LongAdder();
+    private final AtomicLong maxTaskNanos = new AtomicLong();
+    private final LongAdder inputWaitNanos = new LongAdder();
+    private final LongAdder outputWaitNanos = new LongAdder();
+
+    PipelineStage(String name, Function<T, Collection<R>> task,
+                  PipelineQueue<T> inputQueue, PipelineQueue<R> outputQueue, int parallelism) {
+        this.name = name;
+        this.task = task;
+        this.inputQueue = inputQueue;
+        this.outputQueue = outputQueue;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Submits the workers of this stage to the executor.
+     *
+     * @param executor Executor - runs the workers, must have a thread available for each of them
+     * @param failureHandler Consumer<Throwable> - called if the task throws an exception
+     */
+    synchronized void start(Executor executor, Consumer<Throwable> failureHandler) {
+        this.executor = executor;
+        this.failureHandler = failureHandler;
+        this.started = true;
+        addWorkers(parallelism);
+    }
+
+    /**
+     * Sets the number of workers for this stage.
+     * Additional workers are started immediately, while surplus workers exit after processing their current input.
+     *
+     * @param parallelism int
+     */
+    synchronized void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("A pipeline stage must have at least one worker.");
+        }
+        this.parallelism = parallelism;
+        if (started && !finished && !stopped && parallelism > activeWorkers) {
+            addWorkers(parallelism - activeWorkers);
+        }
+    }
+
+    /**
+     * Signals the workers to stop, waking any that are blocked on the input or output queue.
+     * Workers that are processing an input stop once the task returns.
+     */
+    void stop() {
+        stopped = true;
+        inputQueue.cancel();
+        outputQueue.cancel();
+        synchronized (outputOrderLock) {
+            outputOrderLock.notifyAll();
+        }
+    }
+
+    /**
+     * @return CompletableFuture<Void> - completed when all inputs are processed and the output queue is closed
+     */
+    CompletableFuture<Void> getCompletion() {
+        return completion;
+    }
+
+    synchronized PipelineStageMetrics getMetrics() {
+        return new PipelineStageMetrics(name, parallelism, activeWorkers, finished,
+                inputQueue.size(), inputQueue.getMaxDepth(), inputQueue.getCapacity(),
+                processedCount.sum(), outputCount.sum(), totalTaskNanos.sum(), maxTaskNanos.get(),
+                inputWaitNanos.sum(), outputWaitNanos.sum());
+    }
+
+    synchronized int getParallelism() {
+        return parallelism;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    void setName(String name) {
+        this.name = name;
+    }
+
+    void setOrdered(boolean ordered) {
+        this.ordered = ordered;
+    }
+
+    /* --- Internal Methods --- */
+
+    private void addWorkers(int count) {
+        for (int i = 0; i < count; i++) {
+            activeWorkers++;
+            try {
+                executor.execute(this::work);
+            } catch (RejectedExecutionException ex) {
+                activeWorkers--;
+                failureHandler.accept(ex);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Run by each worker, taking inputs and processing them until the input queue is finished,
+     * the stage has more workers than requested, or the pipeline is stopped.
+     */
+    private void work() {
+        boolean retired = false;
+        boolean inputFinished = false;
+        try {
+            while (!(retired = retireIfSurplus())) {
+                long waitStart = System.nanoTime();
+                PipelineQueue.Taken<T> input = inputQueue.take();
+                inputWaitNanos.add(System.nanoTime() - waitStart);
+                if (input == null) {
+                    inputFinished = true;
+                    break;
+                }
+                process(input);
+            }
+        } catch (CancellationException ex) {
+            if (!stopped) {
+                failureHandler.accept(ex);
+            }
+        } catch (InterruptedException ex) {
+            logger.error("Pipeline stage {} was interrupted", name);
+            Thread.currentThread().interrupt();
+            failureHandler.accept(new PipelineException(ex));
+        } catch (Throwable ex) {
+            logger.error("Encountered exception in pipeline stage: {}", name);
+            failureHandler.accept(ex);
+        } finally {
+            if (!retired) {
+                workerExited(inputFinished);
+            }
+        }
+    }
+
+    private void process(PipelineQueue.Taken<T> input) throws InterruptedException {
+        long taskStart = System.nanoTime();
+        Collection<R> outputs = task.apply(input.element);
+        long taskNanos = System.nanoTime() - taskStart;
+        totalTaskNanos.add(taskNanos);
+        maxTaskNanos.accumulateAndGet(taskNanos, Math::max);
+        processedCount.increment();
+        if (ordered) {
+            addOrderedOutputs(input.index, outputs);
+        } else {
+            addOutputs(outputs);
+        }
+    }
+
+    /**
+     * Blocks the worker until the outputs of all earlier inputs are written, then writes the outputs.
+     * At most one set of outputs per worker is held, since a waiting worker does not take another input.
+     *
+     * @throws CancellationException if the stage is stopped while waiting
+     */
+    private void addOrderedOutputs(long index, Collection<R> outputs) throws InterruptedException {
+        synchronized (outputOrderLock) {
+            while (nextOutputIndex != index) {
+                if (stopped) {
+                    throw new CancellationException("Pipeline stage " + name + " was stopped");
+                }
+                outputOrderLock.wait();
+            }
+            addOutputs(outputs);
+            nextOutputIndex++;
+            outputOrderLock.notifyAll();
+        }
+    }
+
+    private void addOutputs(Collection<R> outputs) throws InterruptedException {
+        for (R output : outputs) {
+            long waitStart = System.nanoTime();
+            outputQueue.put(output);
+            outputWaitNanos.add(System.nanoTime() - waitStart);
+            outputCount.increment();
+        }
+    }
+
+    /**
+     * Removes the calling worker if the stage is stopped or has more workers than requested.
+     * The last worker is never retired this way, so the stage is always finished by a worker that saw the
+     * end of the input.
+     *
+     * @return true iff the calling worker should exit
+     */
+    private synchronized boolean retireIfSurplus() {
+        if (stopped || activeWorkers > parallelism) {
+            activeWorkers--;
+            return true;
+        }
+        return false;
+    }
+
+    private synchronized void workerExited(boolean inputFinished) {
+        activeWorkers--;
+        if (inputFinished && activeWorkers == 0 && !finished) {
+            finished = true;
+            outputQueue.close();
+            completion.complete(null);
+        }
+    }
+}
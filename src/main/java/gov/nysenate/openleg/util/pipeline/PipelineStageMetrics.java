@@ -0,0 +1,127 @@
+package gov.nysenate.openleg.util.pipeline;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A snapshot of the throughput and queueing statistics of a single {@link Pipeline} stage.
+ *
+ * Time spent waiting for input indicates that the stage is starved by the stages before it,
+ * while time spent waiting on output indicates back-pressure from a full queue to the next stage.
+ */
+public class PipelineStageMetrics {
+
+    private final String stageName;
+    private final int parallelism;
+    private final int activeWorkers;
+    private final boolean finished;
+
+    private final int queueDepth;
+    private final int maxQueueDepth;
+    private final int queueCapacity;
+
+    private final long processedCount;
+    private final long outputCount;
+    private final long totalTaskNanos;
+    private final long maxTaskNanos;
+    private final long inputWaitNanos;
+    private final long outputWaitNanos;
+
+    PipelineStageMetrics(String stageName, int parallelism, int activeWorkers, boolean finished,
+                         int queueDepth, int maxQueueDepth, int queueCapacity,
+                         long processedCount, long outputCount, long totalTaskNanos, long maxTaskNanos,
+                         long inputWaitNanos, long outputWaitNanos) {
+        this.stageName = stageName;
+        this.parallelism = parallelism;
+        this.activeWorkers = activeWorkers;
+        this.finished = finished;
+        this.queueDepth = queueDepth;
+        this.maxQueueDepth = maxQueueDepth;
+        this.queueCapacity = queueCapacity;
+        this.processedCount = processedCount;
+        this.outputCount = outputCount;
+        this.totalTaskNanos = totalTaskNanos;
+        this.maxTaskNanos = maxTaskNanos;
+        this.inputWaitNanos = inputWaitNanos;
+        this.outputWaitNanos = outputWaitNanos;
+    }
+
+    /**
+     * @return double - the mean time in ms that the stage took to process an input
+     */
+    public double getAverageLatencyMillis() {
+        return processedCount == 0 ? 0 : (double) totalTaskNanos / processedCount / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * @return long - the longest time in ms that the stage took to process an input
+     */
+    public long getMaxLatencyMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxTaskNanos);
+    }
+
+    /**
+     * @return long - the total time in ms that the workers of this stage spent waiting for input
+     */
+    public long getInputWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(inputWaitNanos);
+    }
+
+    /**
+     * @return long - the total time in ms that the workers of this stage were blocked by a full output queue
+     */
+    public long getOutputWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(outputWaitNanos);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: parallelism %d (%d active)%s, queue depth %d (max %d of %s), " +
+                        "processed %d -> %d outputs, latency avg %.1f ms max %d ms, " +
+                        "waited %d ms for input %d ms for output",
+                stageName, parallelism, activeWorkers, finished ? ", finished" : "",
+                queueDepth, maxQueueDepth, queueCapacity == Integer.MAX_VALUE ? "unbounded" : queueCapacity,
+                processedCount, outputCount, getAverageLatencyMillis(), getMaxLatencyMillis(),
+                getInputWaitMillis(), getOutputWaitMillis());
+    }
+
+    /* --- Basic Getters --- */
+
+    public String getStageName() {
+        return stageName;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public int getActiveWorkers() {
+        return activeWorkers;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /** The number of inputs currently waiting in the stage's input queue */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /** The largest number of inputs that waited in the stage's input queue at once */
+    public int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    /** The capacity of the stage's input queue, {@link Integer#MAX_VALUE} if unbounded */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public long getProcessedCount() {
+        return processedCount;
+    }
+
+    public long getOutputCount() {
+        return outputCount;
+    }
+}
@@ -0,0 +1,19 @@
+-- Adds content hashes for the child collections of bills and bill amendments.
+-- A child table is only re-read and diffed during a bill update when the hash of its collection changes.
+-- Since the hash columns are part of the bill/bill_amendment records, changes to them are also
+-- captured by the log_bill_updates trigger and show up in bill update digests.
+-- Existing rows start with null hashes, which are always treated as modified.
+
+ALTER TABLE master.bill
+  ADD COLUMN publish_status_hash text,
+  ADD COLUMN milestones_hash text,
+  ADD COLUMN actions_hash text,
+  ADD COLUMN committees_hash text,
+  ADD COLUMN veto_messages_hash text,
+  ADD COLUMN approval_message_hash text;
+
+ALTER TABLE master.bill_amendment
+  ADD COLUMN same_as_hash text,
+  ADD COLUMN cosponsors_hash text,
+  ADD COLUMN multisponsors_hash text,
+  ADD COLUMN votes_hash text;
@@ -0,0 +1,6 @@
+-- Stores the diff between the reference and observed data of each spotcheck mismatch.
+-- Diffs are computed once when a report is saved and kept in the compact delta format of StringDiffer,
+-- which only spells out inserted text. Existing rows start with a null diff, which is computed on read.
+
+ALTER TABLE master.spotcheck_mismatch
+  ADD COLUMN diff text;
@@ -0,0 +1,62 @@
+package gov.nysenate.openleg.client.view.base;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.guava.GuavaModule;
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+@Category(UnitTest.class)
+public class StreamingListViewTest
+{
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new GuavaModule());
+
+    @Test
+    public void testSerializesLikeListView() throws Exception {
+        List<Integer> sources = Arrays.asList(1, 2, 3);
+        ListView<NumberView> listView = ListView.of(sources.stream().map(NumberView::new).collect(Collectors.toList()));
+        StreamingListView<NumberView> streamingView = StreamingListView.of(sources, NumberView::new);
+        assertEquals(listView.getViewType(), streamingView.getViewType());
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(listView)),
+                     objectMapper.readTree(objectMapper.writeValueAsString(streamingView)));
+    }
+
+    @Test
+    public void testItemsCreatedLazily() {
+        List<Integer> created = new ArrayList<>();
+        StreamingListView<NumberView> streamingView = StreamingListView.of(Arrays.asList(1, 2, 3), i -> {
+            created.add(i);
+            return new NumberView(i);
+        });
+        // Only the first item is needed to determine the view type
+        assertEquals("number list", streamingView.getViewType());
+        assertEquals(Arrays.asList(1), created);
+        streamingView.getItems().forEachRemaining(view -> {});
+        assertEquals(Arrays.asList(1, 2, 3), created);
+    }
+
+    public static class NumberView implements ViewObject
+    {
+        private final int number;
+
+        public NumberView(int number) {
+            this.number = number;
+        }
+
+        public int getNumber() {
+            return number;
+        }
+
+        @Override
+        public String getViewType() {
+            return "number";
+        }
+    }
+}
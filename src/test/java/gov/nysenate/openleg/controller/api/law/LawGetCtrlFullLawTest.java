@@ -0,0 +1,103 @@
+package gov.nysenate.openleg.controller.api.law;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.law.LawBundle;
+import gov.nysenate.openleg.model.law.LawVersionId;
+import gov.nysenate.openleg.service.law.data.LawBundleService;
+import gov.nysenate.openleg.service.law.event.LawTreeUpdateEvent;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.standaloneSetup;
+
+@Category(UnitTest.class)
+public class LawGetCtrlFullLawTest
+{
+    private static final String CONTENT = "{\"success\":true}";
+    private static final long LAST_MODIFIED = 1_550_000_000_000L;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private MockMvc mockMvc;
+
+    @Before
+    public void setUp() throws Exception {
+        File bundleFile = tempFolder.newFile("ABC-2019-03-01.json.gz");
+        try (OutputStream out = new GZIPOutputStream(new FileOutputStream(bundleFile))) {
+            out.write(CONTENT.getBytes(StandardCharsets.UTF_8));
+        }
+        assertTrue(bundleFile.setLastModified(LAST_MODIFIED));
+        LawBundle bundle = new LawBundle(new LawVersionId("ABC", LocalDate.of(2019, 3, 1)), bundleFile);
+
+        LawGetCtrl lawGetCtrl = new LawGetCtrl();
+        ReflectionTestUtils.setField(lawGetCtrl, "lawBundleService", new LawBundleService() {
+            @Override
+            public LawBundle getFullLawBundle(String lawId, LocalDate endPublishedDate) {
+                return bundle;
+            }
+
+            @Override
+            public void handleLawTreeUpdate(LawTreeUpdateEvent lawTreeUpdateEvent) {}
+        });
+        mockMvc = standaloneSetup(lawGetCtrl).build();
+    }
+
+    @Test
+    public void testGzipBundleHeaders() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/3/laws/ABC").param("full", "true")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, LAST_MODIFIED))
+                .andReturn();
+        String eTag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        assertEquals("\"ABC-2019-03-01-" + LAST_MODIFIED + "-gz\"", eTag);
+    }
+
+    @Test
+    public void testPlainBundle() throws Exception {
+        mockMvc.perform(get("/api/3/laws/ABC").param("full", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"ABC-2019-03-01-" + LAST_MODIFIED + "\""))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, CONTENT.length()))
+                .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    public void testConditionalRequests() throws Exception {
+        mockMvc.perform(get("/api/3/laws/ABC").param("full", "true")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"ABC-2019-03-01-" + LAST_MODIFIED + "\""))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/3/laws/ABC").param("full", "true")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"ABC-2019-03-01-" + (LAST_MODIFIED - 1000) + "\""))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/3/laws/ABC").param("full", "true")
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, LAST_MODIFIED))
+                .andExpect(status().isNotModified());
+        // The gzip and plain responses are different representations, so their tags must not match each other
+        mockMvc.perform(get("/api/3/laws/ABC").param("full", "true")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"ABC-2019-03-01-" + LAST_MODIFIED + "\""))
+                .andExpect(status().isOk());
+    }
+}
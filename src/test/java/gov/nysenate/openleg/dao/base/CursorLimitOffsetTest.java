@@ -0,0 +1,39 @@
+package gov.nysenate.openleg.dao.base;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class CursorLimitOffsetTest
+{
+    @Test
+    public void testFirstPage() throws Exception {
+        CursorLimitOffset lo = CursorLimitOffset.fromToken(CursorLimitOffset.FIRST_PAGE_TOKEN, 25);
+        assertTrue(lo.isFirstPage());
+        assertEquals(25, lo.getLimit());
+        assertEquals(1, lo.getOffsetStart());
+    }
+
+    @Test
+    public void testNextTokenRoundTrip() throws Exception {
+        CursorLimitOffset first = new CursorLimitOffset(25);
+        String token = first.getNextToken(new Object[]{1.5, 2015L, "S1234-2015"});
+        CursorLimitOffset second = CursorLimitOffset.fromToken(token, 25);
+        assertFalse(second.isFirstPage());
+        assertEquals(26, second.getOffsetStart());
+        assertEquals(Arrays.asList(1.5, 2015, "S1234-2015"), second.getSearchAfter());
+
+        CursorLimitOffset third = CursorLimitOffset.fromToken(second.getNextToken(new Object[]{"x"}), 25);
+        assertEquals(51, third.getOffsetStart());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidToken() throws Exception {
+        CursorLimitOffset.fromToken("not a cursor", 25);
+    }
+}
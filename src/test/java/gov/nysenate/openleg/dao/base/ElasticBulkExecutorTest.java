@@ -0,0 +1,199 @@
+package gov.nysenate.openleg.dao.base;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.index.shard.ShardId;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class ElasticBulkExecutorTest
+{
+    private static final long KB = 1024;
+    private static final long MB = 1024 * KB;
+
+    @Test(timeout = 10000)
+    public void testSplitsRequestIntoTargetSize() throws Exception {
+        TestBulkExecutor executor = new TestBulkExecutor(true, 1, TestBulkExecutor::accept);
+        List<BulkItemResponse> responses = executor.execute(createBulk(5, 300 * KB));
+
+        assertEquals(2, executor.sentRequests.size());
+        assertEquals(3, executor.sentRequests.get(0).numberOfActions());
+        assertEquals(2, executor.sentRequests.get(1).numberOfActions());
+        assertEquals(5, responses.size());
+        for (int i = 0; i < responses.size(); i++) {
+            assertFalse(responses.get(i).isFailed());
+            assertEquals("doc" + i, responses.get(i).getId());
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testRetriesRejectedItems() throws Exception {
+        List<Long> targetSizes = new ArrayList<>();
+        TestBulkExecutor executor = new TestBulkExecutor(true, 1, null);
+        executor.responder = request -> {
+            targetSizes.add(executor.getTargetBulkSize());
+            if (targetSizes.size() == 1) {
+                // Reject the second item of the first bulk
+                BulkItemResponse[] items = TestBulkExecutor.accept(request).getItems();
+                items[1] = reject(request.requests().get(1));
+                return new BulkResponse(items, 1);
+            }
+            return TestBulkExecutor.accept(request);
+        };
+        List<BulkItemResponse> responses = executor.execute(createBulk(3, KB));
+
+        assertEquals(2, executor.sentRequests.size());
+        assertEquals(1, executor.sentRequests.get(1).numberOfActions());
+        assertEquals("doc1", executor.sentRequests.get(1).requests().get(0).id());
+        assertTrue(responses.stream().noneMatch(BulkItemResponse::isFailed));
+        // The rejection halves the target size before the retry
+        assertEquals(Long.valueOf(MB), targetSizes.get(0));
+        assertEquals(Long.valueOf(512 * KB), targetSizes.get(1));
+    }
+
+    @Test(timeout = 10000)
+    public void testGivesUpAfterMaxRetries() throws Exception {
+        TestBulkExecutor executor = new TestBulkExecutor(true, 1, request -> {
+            BulkItemResponse[] items = new BulkItemResponse[request.numberOfActions()];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = reject(request.requests().get(i));
+            }
+            return new BulkResponse(items, 1);
+        });
+        ReflectionTestUtils.setField(executor, "maxRetries", 1);
+        try {
+            executor.execute(createBulk(2, KB));
+            fail("The rejected items should fail the request");
+        } catch (ElasticsearchException expected) {}
+
+        assertEquals(2, executor.sentRequests.size());
+        assertEquals(4, executor.getIndexStats().get("test").getFailures());
+    }
+
+    @Test(timeout = 10000)
+    public void testBulkSizeAdaptsToLatency() throws Exception {
+        TestBulkExecutor executor = new TestBulkExecutor(true, 4, TestBulkExecutor::accept);
+        ReflectionTestUtils.setField(executor, "targetLatencyMillis", 100L);
+
+        executor.responder = request -> {
+            sleep(150);
+            return TestBulkExecutor.accept(request);
+        };
+        executor.execute(createBulk(1, KB));
+        assertEquals(2 * MB, executor.getTargetBulkSize());
+
+        executor.responder = TestBulkExecutor::accept;
+        executor.execute(createBulk(1, KB));
+        assertEquals(2 * MB + 512 * KB, executor.getTargetBulkSize());
+    }
+
+    @Test(timeout = 10000)
+    public void testSyncModeSurvivesRuntimeException() throws Exception {
+        TestBulkExecutor executor = new TestBulkExecutor(false, 1, request -> {
+            throw new IllegalStateException("client failure");
+        });
+        try {
+            executor.execute(createBulk(1, KB));
+            fail("The client failure should be thrown");
+        } catch (ElasticsearchException ex) {
+            assertTrue(ex.getCause() instanceof IllegalStateException);
+        }
+        // The slot must have been released, otherwise this would block
+        executor.responder = TestBulkExecutor::accept;
+        assertFalse(executor.execute(createBulk(1, KB)).get(0).isFailed());
+    }
+
+    @Test(timeout = 10000)
+    public void testListenerExceptionFailsRequest() throws Exception {
+        // A response with more items than the request causes an exception while recording stats
+        TestBulkExecutor executor = new TestBulkExecutor(true, 1, request -> {
+            BulkRequest larger = createBulk(request.numberOfActions() + 1, KB);
+            return TestBulkExecutor.accept(larger);
+        });
+        try {
+            executor.execute(createBulk(1, KB));
+            fail("The listener exception should be thrown");
+        } catch (ElasticsearchException expected) {}
+        executor.responder = TestBulkExecutor::accept;
+        assertFalse(executor.execute(createBulk(1, KB)).get(0).isFailed());
+    }
+
+    /** --- Internal Methods --- */
+
+    private static BulkRequest createBulk(int docCount, long docSize) {
+        BulkRequest bulkRequest = new BulkRequest();
+        for (int i = 0; i < docCount; i++) {
+            bulkRequest.add(new IndexRequest("test", "doc", "doc" + i).source(new byte[(int) docSize], XContentType.JSON));
+        }
+        return bulkRequest;
+    }
+
+    private static BulkItemResponse reject(DocWriteRequest<?> request) {
+        return new BulkItemResponse(0, DocWriteRequest.OpType.INDEX, new BulkItemResponse.Failure(
+                request.index(), request.type(), request.id(), new EsRejectedExecutionException("rejected")));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    /**
+     * Answers bulk requests with the given responder instead of sending them to a cluster.
+     */
+    private static class TestBulkExecutor extends ElasticBulkExecutor
+    {
+        private final List<BulkRequest> sentRequests = new ArrayList<>();
+        private volatile Function<BulkRequest, BulkResponse> responder;
+
+        TestBulkExecutor(boolean async, int initialBulkSizeMb, Function<BulkRequest, BulkResponse> responder) {
+            this.responder = responder;
+            ReflectionTestUtils.setField(this, "asyncEnabled", async);
+            ReflectionTestUtils.setField(this, "concurrentRequests", 2);
+            ReflectionTestUtils.setField(this, "initialBulkSizeMb", initialBulkSizeMb);
+            ReflectionTestUtils.setField(this, "maxBulkSizeMb", 20);
+            ReflectionTestUtils.setField(this, "targetLatencyMillis", 2000L);
+            ReflectionTestUtils.setField(this, "maxRetries", 3);
+            ReflectionTestUtils.invokeMethod(this, "init");
+        }
+
+        @Override
+        void sendBulk(BulkRequest bulkRequest, ActionListener<BulkResponse> listener) {
+            synchronized (sentRequests) {
+                sentRequests.add(bulkRequest);
+            }
+            listener.onResponse(responder.apply(bulkRequest));
+        }
+
+        static BulkResponse accept(BulkRequest request) {
+            List<DocWriteRequest<?>> requests = request.requests();
+            BulkItemResponse[] items = new BulkItemResponse[requests.size()];
+            for (int i = 0; i < items.length; i++) {
+                DocWriteRequest<?> item = requests.get(i);
+                items[i] = new BulkItemResponse(i, DocWriteRequest.OpType.INDEX, new IndexResponse(
+                        new ShardId(item.index(), "_na_", 0), item.type(), item.id(), 1, 1, 1, true));
+            }
+            return new BulkResponse(items, 1);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package gov.nysenate.openleg.dao.bill.data;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.bill.*;
+import gov.nysenate.openleg.model.entity.Chamber;
+import gov.nysenate.openleg.model.entity.CommitteeId;
+import gov.nysenate.openleg.model.entity.SessionMember;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class BillContentHashesTest
+{
+    private static final BaseBillId billId = new BaseBillId("S1234", 2019);
+
+    @Test
+    public void testSameContentSameHashes() {
+        assertEquals(BillContentHashes.ofBill(createBill()), BillContentHashes.ofBill(createBill()));
+    }
+
+    @Test
+    public void testOnlyChangedCollectionHashChanges() {
+        EnumMap<BillContentHashType, String> before = BillContentHashes.ofBill(createBill());
+        Bill modified = createBill();
+        modified.addAction(new BillAction(LocalDate.of(2019, 2, 1), "AMEND AND RECOMMIT TO FINANCE",
+                Chamber.SENATE, 2, billId.withVersion(modified.getActiveVersion())));
+        EnumMap<BillContentHashType, String> after = BillContentHashes.ofBill(modified);
+
+        for (BillContentHashType type : before.keySet()) {
+            if (type == BillContentHashType.ACTIONS) {
+                assertNotEquals(before.get(type), after.get(type));
+            } else {
+                assertEquals(type.name(), before.get(type), after.get(type));
+            }
+        }
+    }
+
+    @Test
+    public void testSameDayVoteChangeChangesHash() {
+        String before = votesHash(BillVoteCode.AYE, BillVoteCode.AYE);
+        assertEquals(before, votesHash(BillVoteCode.AYE, BillVoteCode.AYE));
+        assertNotEquals(before, votesHash(BillVoteCode.NAY, BillVoteCode.AYE));
+        assertNotEquals(before, votesHash(BillVoteCode.AYE, BillVoteCode.NAY));
+    }
+
+    private static Bill createBill() {
+        Bill bill = new Bill(billId);
+        bill.addAction(new BillAction(LocalDate.of(2019, 1, 9), "REFERRED TO FINANCE",
+                Chamber.SENATE, 1, billId.withVersion(bill.getActiveVersion())));
+        return bill;
+    }
+
+    /** Hashes an amendment with two committee votes on the same day that differ only by committee. */
+    private static String votesHash(BillVoteCode financeVoteCode, BillVoteCode healthVoteCode) {
+        BillAmendment amendment = new BillAmendment(billId, Version.ORIGINAL);
+        LocalDate voteDate = LocalDate.of(2019, 2, 4);
+        BillVote financeVote = new BillVote(amendment.getBillId(), voteDate, BillVoteType.COMMITTEE, 1,
+                new CommitteeId(Chamber.SENATE, "Finance"));
+        financeVote.addMemberVote(financeVoteCode, createMember(1));
+        BillVote healthVote = new BillVote(amendment.getBillId(), voteDate, BillVoteType.COMMITTEE, 1,
+                new CommitteeId(Chamber.SENATE, "Health"));
+        healthVote.addMemberVote(healthVoteCode, createMember(2));
+        amendment.updateVote(financeVote);
+        amendment.updateVote(healthVote);
+        return BillContentHashes.ofAmendment(amendment).get(BillContentHashType.VOTES);
+    }
+
+    private static SessionMember createMember(int sessionMemberId) {
+        SessionMember member = new SessionMember();
+        member.setSessionMemberId(sessionMemberId);
+        return member;
+    }
+}
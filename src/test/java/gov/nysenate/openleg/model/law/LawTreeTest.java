@@ -0,0 +1,100 @@
+package gov.nysenate.openleg.model.law;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class LawTreeTest
+{
+    private static final LocalDate PUB_DATE = LocalDate.of(2014, 9, 22);
+
+    private LawTree tree;
+    private LawTreeNode article1, article2, sec1, sec2, sec3;
+
+    @Before
+    public void setUp() {
+        LawTreeNode root = node("TST-CH", LawDocumentType.CHAPTER, 1);
+        article1 = node("TST-A1", LawDocumentType.ARTICLE, 2);
+        article2 = node("TST-A2", LawDocumentType.ARTICLE, 5);
+        sec1 = node("TST1", LawDocumentType.SECTION, 3);
+        sec2 = node("TST2", LawDocumentType.SECTION, 4);
+        sec3 = node("TST3", LawDocumentType.SECTION, 6);
+        root.addChild(article1);
+        root.addChild(article2);
+        article1.addChild(sec1);
+        article1.addChild(sec2);
+        article2.addChild(sec3);
+        LawInfo info = new LawInfo();
+        info.setLawId("TST");
+        tree = new LawTree(new LawVersionId("TST", PUB_DATE), root, info);
+    }
+
+    @Test
+    public void testFind() {
+        assertEquals(sec2, tree.find("TST2").get());
+        assertEquals(tree.getRootNode(), tree.find("TST-CH").get());
+        assertFalse(tree.find("TST4").isPresent());
+    }
+
+    @Test
+    public void testSiblingsAndParents() {
+        assertEquals(sec2, sec1.getNextSibling().get());
+        assertEquals(sec1, sec2.getPrevSibling().get());
+        assertFalse(sec1.getPrevSibling().isPresent());
+        assertFalse(sec2.getNextSibling().isPresent());
+        assertEquals(article2, article1.getNextSibling().get());
+        assertEquals(Arrays.asList(tree.getRootNode(), article2), sec3.getAllParents());
+        assertTrue(tree.getRootNode().getAllParents().isEmpty());
+    }
+
+    @Test
+    public void testSectionRange() {
+        assertEquals(sec1, article1.getFromSection().get());
+        assertEquals(sec2, article1.getToSection().get());
+        assertEquals(sec3, article2.getFromSection().get());
+        assertEquals(sec1, tree.getRootNode().getFromSection().get());
+        assertEquals(sec3, tree.getRootNode().getToSection().get());
+    }
+
+    @Test
+    public void testModificationInvalidatesIndex() {
+        LawTreeNode sec4 = node("TST4", LawDocumentType.SECTION, 7);
+        article2.addChild(sec4);
+        assertEquals(sec4, sec3.getNextSibling().get());
+        assertEquals(sec4, article2.getToSection().get());
+        assertEquals(sec4, tree.find("TST4").get());
+
+        tree.getRootNode().findNode("TST1", true);
+        assertFalse(sec2.getPrevSibling().isPresent());
+        assertFalse(tree.find("TST1").isPresent());
+        assertEquals(Arrays.asList("TST2"),
+                article1.getChildNodeList().stream().map(LawTreeNode::getDocumentId).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testCopyDoesNotModifyTree() {
+        LawTree copy = tree.copy();
+        copy.getRootNode().findNode("TST1", true);
+        copy.find("TST2").get().getLawDocInfo().setPublishedDate(PUB_DATE.plusDays(1));
+
+        assertFalse(copy.find("TST1").isPresent());
+        assertEquals(sec1, tree.find("TST1").get());
+        assertEquals(sec2, sec1.getNextSibling().get());
+        assertEquals(PUB_DATE, sec2.getLawDocInfo().getPublishedDate());
+        assertNotSame(sec2, copy.find("TST2").get());
+        assertEquals(Arrays.asList("TST-CH", "TST-A2"), copy.find("TST3").get().getAllParents().stream()
+                .map(LawTreeNode::getDocumentId).collect(Collectors.toList()));
+    }
+
+    private static LawTreeNode node(String docId, LawDocumentType type, int sequenceNo) {
+        return new LawTreeNode(new LawDocInfo(docId, "TST", docId.substring(3), "", type, docId, PUB_DATE), sequenceNo);
+    }
+}
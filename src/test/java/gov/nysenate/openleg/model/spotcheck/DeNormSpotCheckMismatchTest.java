@@ -0,0 +1,49 @@
+package gov.nysenate.openleg.model.spotcheck;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.bill.BillId;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class DeNormSpotCheckMismatchTest
+{
+    private static final String REFERENCE = "An act to amend the tax law, in relation to 100% of fees\n  §2. This act";
+    private static final String OBSERVED = "An act to amend the tax law; in relation to 50% of fees & costs\n  §2. This act";
+
+    @Test
+    public void testStoredDiffMatchesComputedDiff() throws Exception {
+        SpotCheckMismatch reportMismatch =
+                new SpotCheckMismatch(SpotCheckMismatchType.BILL_TITLE, OBSERVED, REFERENCE);
+        DeNormSpotCheckMismatch<BillId> mismatch = createMismatch(REFERENCE, OBSERVED);
+        mismatch.setDiffDelta(reportMismatch.getDiffDelta());
+        assertEquals(SpotCheckMismatch.computeDiff(REFERENCE, OBSERVED, true), mismatch.getDiff());
+    }
+
+    @Test
+    public void testStaleDiffIsRecomputed() throws Exception {
+        DeNormSpotCheckMismatch<BillId> mismatch = createMismatch(REFERENCE, OBSERVED);
+        mismatch.setDiffDelta("=5\t+stale");
+        assertEquals(SpotCheckMismatch.computeDiff(REFERENCE, OBSERVED, true), mismatch.getDiff());
+        assertEquals(SpotCheckMismatch.encodeDiff(mismatch.getDiff()), mismatch.getDiffDelta());
+    }
+
+    @Test
+    public void testCopyKeepsDiff() throws Exception {
+        DeNormSpotCheckMismatch<BillId> mismatch = createMismatch(REFERENCE, OBSERVED);
+        String diffDelta = mismatch.getDiffDelta();
+        assertEquals(diffDelta, mismatch.copy().getDiffDelta());
+        mismatch.setObservedData(REFERENCE);
+        assertEquals("=" + REFERENCE.length(), mismatch.getDiffDelta());
+    }
+
+    private DeNormSpotCheckMismatch<BillId> createMismatch(String referenceData, String observedData) {
+        DeNormSpotCheckMismatch<BillId> mismatch = new DeNormSpotCheckMismatch<>(
+                new BillId("S100", 2017), SpotCheckMismatchType.BILL_TITLE, SpotCheckDataSource.LBDC);
+        mismatch.setReferenceData(referenceData);
+        mismatch.setObservedData(observedData);
+        return mismatch;
+    }
+}
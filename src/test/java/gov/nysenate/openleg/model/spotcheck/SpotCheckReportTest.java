@@ -0,0 +1,46 @@
+package gov.nysenate.openleg.model.spotcheck;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.bill.BillId;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.time.LocalDateTime;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class SpotCheckReportTest
+{
+    @Test
+    public void testSavedObservationsKeepCounts() throws Exception {
+        SpotCheckReport<BillId> report = new SpotCheckReport<>(new SpotCheckReportId(
+                SpotCheckRefType.SENATE_SITE_BILLS, LocalDateTime.now(), LocalDateTime.now()));
+        report.addObservation(createObservation(report, new BillId("S100", 2017), "reference title"));
+        report.addEmptyObservation(new BillId("S200", 2017));
+        assertEquals(2, report.getUnsavedCount());
+        assertEquals(1, report.getOpenMismatchCount(false));
+
+        report.markObservationsSaved();
+        assertEquals(0, report.getUnsavedCount());
+        assertTrue(report.getUnsavedObservations().isEmpty());
+        assertEquals(2, report.getObservedCount());
+        assertEquals(1, report.getOpenMismatchCount(false));
+        SpotCheckMismatch saved = report.getObservations().get(new BillId("S100", 2017))
+                .getMismatches().get(SpotCheckMismatchType.BILL_TITLE);
+        assertEquals("", saved.getReferenceData());
+        assertEquals("", saved.getObservedData());
+
+        report.addObservation(createObservation(report, new BillId("S300", 2017), "another title"));
+        assertEquals(1, report.getUnsavedCount());
+        assertEquals(new BillId("S300", 2017), report.getUnsavedObservations().get(0).getKey());
+    }
+
+    private SpotCheckObservation<BillId> createObservation(SpotCheckReport<BillId> report, BillId billId,
+                                                           String referenceTitle) {
+        SpotCheckObservation<BillId> observation =
+                new SpotCheckObservation<>(report.getReportId().getReferenceId(), billId);
+        observation.addMismatch(new SpotCheckMismatch(SpotCheckMismatchType.BILL_TITLE, "title", referenceTitle));
+        return observation;
+    }
+}
@@ -0,0 +1,61 @@
+package gov.nysenate.openleg.processor.base;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class IngestCacheTest
+{
+    @Test
+    public void testEntryCapacity() {
+        IngestCache<Integer, String, String> cache = new IngestCache<>(2);
+        cache.set(1, "a", "src1");
+        cache.set(2, "b", "src2");
+        assertFalse(cache.exceedsCapacity());
+        cache.set(3, "c", "src3");
+        assertTrue(cache.exceedsCapacity());
+    }
+
+    @Test
+    public void testWeightCapacity() {
+        IngestCache<Integer, String, String> cache = new IngestCache<>(100, 10, null, String::length);
+        cache.set(1, "12345", "src");
+        assertFalse(cache.exceedsCapacity());
+        cache.set(2, "123456", "src");
+        assertEquals(11, cache.getEstimatedWeight());
+        assertTrue(cache.exceedsCapacity());
+    }
+
+    @Test
+    public void testAgeCapacity() throws InterruptedException {
+        IngestCache<Integer, String, String> cache = new IngestCache<>(100, 0, Duration.ofMillis(5), s -> 0);
+        assertFalse(cache.exceedsCapacity());
+        cache.set(1, "a", "src");
+        Thread.sleep(20);
+        assertTrue(cache.exceedsCapacity());
+    }
+
+    @Test
+    public void testDrainRetainsInsertionOrder() {
+        IngestCache<Integer, String, String> cache = new IngestCache<>(100);
+        cache.set(3, "c", "src1");
+        cache.set(1, "a", "src2");
+        cache.set(2, "b", "src3");
+        // Replacing a value should not change its position
+        cache.set(3, "c2", "src4");
+        List<String> drained = cache.drain().stream().map(Pair::getLeft).collect(Collectors.toList());
+        assertEquals(3, drained.size());
+        assertEquals("c2", drained.get(0));
+        assertEquals("a", drained.get(1));
+        assertEquals("b", drained.get(2));
+        assertEquals(0, cache.getSize());
+    }
+}
@@ -0,0 +1,67 @@
+package gov.nysenate.openleg.processor.law;
+
+import com.google.common.collect.Lists;
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.law.LawFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class LawBlockReaderTest
+{
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testReadBlocks() throws Exception {
+        LawFile lawFile = createLawFile(
+                header("ABC-CH", ""), "Chapter title",
+                header("ABC1", ""), "Section 1 line 1", "Section 1 line 2",
+                header("DEF2", "*DELETE*"));
+        try (LawBlockReader reader = new LawBlockReader(lawFile)) {
+            List<LawBlock> blocks = Lists.newArrayList(reader);
+            assertEquals(3, blocks.size());
+
+            LawBlock section = blocks.get(1);
+            assertEquals("ABC", section.getLawId());
+            assertEquals("ABC1", section.getDocumentId());
+            assertEquals("1", section.getLocationId());
+            assertEquals("", section.getMethod());
+            assertTrue(section.isConsolidated());
+            assertEquals(LocalDate.of(2014, 9, 22), section.getPublishedDate());
+            assertEquals("Section 1 line 1\\nSection 1 line 2\\n", section.getText().toString());
+
+            assertEquals("DEF2", blocks.get(2).getDocumentId());
+            assertEquals("*DELETE*", blocks.get(2).getMethod());
+            assertEquals(0, blocks.get(2).getText().length());
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test(expected = LawParseException.class)
+    public void testTextWithoutHeader() throws Exception {
+        try (LawBlockReader reader = new LawBlockReader(createLawFile("Orphaned text", header("ABC1", "")))) {
+            reader.next();
+        }
+    }
+
+    private LawFile createLawFile(String... lines) throws Exception {
+        File file = tempFolder.newFile("20140922.UPDATE");
+        Files.write(file.toPath(), Arrays.asList(lines), LawBlockReader.LAWFILE_CHARSET);
+        return new LawFile(file);
+    }
+
+    private static String header(String documentId, String method) {
+        return String.format("..SO DOC %-16s%-8s %-15s LAWS(CONSOLIDATED)", documentId, method, "");
+    }
+}
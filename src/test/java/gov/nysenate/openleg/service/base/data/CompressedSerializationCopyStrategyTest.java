@@ -0,0 +1,49 @@
+package gov.nysenate.openleg.service.base.data;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.bill.BillInfo;
+import net.sf.ehcache.Element;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.time.LocalDateTime;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class CompressedSerializationCopyStrategyTest
+{
+    private final CompressedSerializationCopyStrategy copyStrategy = new CompressedSerializationCopyStrategy();
+
+    @Test
+    public void testBillRoundTrip() {
+        BaseBillId billId = new BaseBillId("S1234", 2019);
+        Bill bill = new Bill(billId);
+        bill.setTitle("An act to amend the tax law");
+        bill.setPublishedDateTime(LocalDateTime.of(2019, 1, 9, 12, 30));
+
+        Element stored = copyStrategy.copyForWrite(new Element(billId, bill), null);
+        assertFalse(stored.getObjectValue() instanceof Bill);
+        assertEquals(billId, stored.getObjectKey());
+
+        Bill read = (Bill) copyStrategy.copyForRead(stored, null).getObjectValue();
+        assertNotSame(bill, read);
+        assertEquals(bill.getTitle(), read.getTitle());
+        // Fields from the legislative content base class must survive serialization
+        assertEquals(bill.getPublishedDateTime(), read.getPublishedDateTime());
+        assertEquals(bill.getSession(), read.getSession());
+    }
+
+    @Test
+    public void testBillInfoRoundTrip() {
+        Bill bill = new Bill(new BaseBillId("A500", 2017));
+        bill.setSummary("Summary");
+        BillInfo info = new BillInfo(bill);
+        Element stored = copyStrategy.copyForWrite(new Element(info.getBillId(), info), null);
+        BillInfo read = (BillInfo) copyStrategy.copyForRead(stored, null).getObjectValue();
+        assertEquals(info.getBillId(), read.getBillId());
+        assertEquals(info.getSummary(), read.getSummary());
+    }
+}
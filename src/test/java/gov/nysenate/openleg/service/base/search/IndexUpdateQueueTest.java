@@ -0,0 +1,87 @@
+package gov.nysenate.openleg.service.base.search;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class IndexUpdateQueueTest
+{
+    private final List<List<String>> flushedBatches = new CopyOnWriteArrayList<>();
+
+    private IndexUpdateQueue<Character, String> queue;
+
+    @After
+    public void tearDown() {
+        if (queue != null) {
+            queue.shutdown(1, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testCoalescesUpdatesWithinWindow() throws Exception {
+        queue = createQueue(batch -> flushedBatches.add(new ArrayList<>(batch)), 100);
+        queue.addAll(Arrays.asList("a1", "b1", "a2"));
+        queue.add("a3");
+        assertTrue(queue.flush(5, TimeUnit.SECONDS));
+        assertEquals(1, flushedBatches.size());
+        assertEquals(Arrays.asList("a3", "b1"), flushedBatches.get(0));
+    }
+
+    @Test
+    public void testFlushesInBatches() throws Exception {
+        queue = createQueue(batch -> flushedBatches.add(new ArrayList<>(batch)), 2);
+        queue.addAll(Arrays.asList("a", "b", "c", "d", "e"));
+        assertTrue(queue.flush(5, TimeUnit.SECONDS));
+        assertEquals(3, flushedBatches.size());
+        flushedBatches.forEach(batch -> assertTrue(batch.size() <= 2));
+    }
+
+    @Test
+    public void testRetriesFailedFlush() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        queue = createQueue(batch -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("unavailable");
+            }
+            flushedBatches.add(new ArrayList<>(batch));
+        }, 100);
+        queue.add("a1");
+        assertTrue(queue.flush(5, TimeUnit.SECONDS));
+        assertEquals(2, attempts.get());
+        assertEquals(Arrays.asList("a1"), flushedBatches.get(0));
+        assertEquals(0, queue.getPendingCount());
+    }
+
+    @Test(timeout = 10000)
+    public void testAddDoesNotBlockWhileFlushesFail() throws Exception {
+        queue = createQueue(batch -> {
+            throw new IllegalStateException("unavailable");
+        }, 2);
+        for (int i = 0; i < 300; i++) {
+            queue.add(String.valueOf((char) ('a' + i)));
+        }
+        // Every update is retained apart from a batch that may be in flight
+        assertTrue(queue.getPendingCount() >= 298);
+        queue.add("a2");
+        assertTrue(queue.getPendingCount() <= 300);
+    }
+
+    private IndexUpdateQueue<Character, String> createQueue(Consumer<Collection<String>> flushFunction,
+                                                           int maxBatchSize) {
+        return new IndexUpdateQueue<>("test", update -> update.charAt(0), flushFunction,
+                60000, maxBatchSize, 100, 10);
+    }
+}
@@ -0,0 +1,26 @@
+package gov.nysenate.openleg.service.bill.data;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class CompressedBillTextTest
+{
+    @Test
+    public void testRoundTrip() {
+        String text = StringUtils.repeat("Section 1. The tax law is amended to read as follows: § ", 500);
+        CompressedBillText compressed = CompressedBillText.of(text);
+        assertEquals(text, compressed.getText());
+        assertTrue(compressed.getCompressedSize() < text.length() / 10);
+    }
+
+    @Test
+    public void testEmptyAndNullText() {
+        assertEquals("", CompressedBillText.of("").getText());
+        assertNull(CompressedBillText.of(null).getText());
+    }
+}
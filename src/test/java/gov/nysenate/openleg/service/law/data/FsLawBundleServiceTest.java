@@ -0,0 +1,161 @@
+package gov.nysenate.openleg.service.law.data;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.google.common.collect.Range;
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.law.*;
+import gov.nysenate.openleg.service.law.event.LawTreeUpdateEvent;
+import org.apache.commons.io.IOUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class FsLawBundleServiceTest
+{
+    private static final LocalDate PUBLISHED_DATE = LocalDate.of(2019, 3, 1);
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private StubLawDataService lawDataService;
+    private FsLawBundleService bundleService;
+    private File bundleDir;
+
+    @Before
+    public void setUp() throws Exception {
+        bundleDir = new File(tempFolder.getRoot(), "law-bundles");
+        lawDataService = new StubLawDataService();
+        bundleService = new FsLawBundleService();
+        ReflectionTestUtils.setField(bundleService, "bundleDir", bundleDir);
+        ReflectionTestUtils.setField(bundleService, "lawDataService", lawDataService);
+        ReflectionTestUtils.setField(bundleService, "objectMapper", new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    @Test
+    public void testBundleIsRenderedOnce() throws Exception {
+        LawBundle bundle = bundleService.getFullLawBundle("ABC", null);
+        assertEquals(new LawVersionId("ABC", PUBLISHED_DATE), bundle.getLawVersionId());
+        assertTrue(readBundle(bundle).contains("Chapter text"));
+        assertEquals(1, lawDataService.documentLoads);
+
+        LawBundle cached = bundleService.getFullLawBundle("ABC", null);
+        assertEquals(bundle.getFile(), cached.getFile());
+        assertEquals(bundle.getLastModified(), cached.getLastModified());
+        assertEquals(1, lawDataService.documentLoads);
+    }
+
+    @Test
+    public void testUpdateOnlyDeletesBundles() throws Exception {
+        LawBundle bundle = bundleService.getFullLawBundle("ABC", null);
+        lawDataService.text = "Amended chapter text";
+        bundleService.handleLawTreeUpdate(new LawTreeUpdateEvent("ABC"));
+        assertFalse(bundle.getFile().exists());
+        assertEquals(1, lawDataService.documentLoads);
+
+        LawBundle updated = bundleService.getFullLawBundle("ABC", null);
+        assertTrue(readBundle(updated).contains("Amended chapter text"));
+        assertEquals(2, lawDataService.documentLoads);
+    }
+
+    @Test
+    public void testBundleRenderedDuringUpdateIsDiscarded() throws Exception {
+        lawDataService.onDocumentLoad = () -> {
+            // Simulate law processing updating the law while its bundle is rendered
+            lawDataService.onDocumentLoad = null;
+            lawDataService.text = "Amended chapter text";
+            bundleService.handleLawTreeUpdate(new LawTreeUpdateEvent("ABC"));
+        };
+        LawBundle bundle = bundleService.getFullLawBundle("ABC", null);
+        assertTrue(readBundle(bundle).contains("Amended chapter text"));
+        assertEquals(2, lawDataService.documentLoads);
+        assertEquals(1, bundleDir.listFiles().length);
+    }
+
+    private static String readBundle(LawBundle bundle) throws Exception {
+        try (InputStream in = new GZIPInputStream(new FileInputStream(bundle.getFile()))) {
+            return IOUtils.toString(in, StandardCharsets.UTF_8);
+        }
+    }
+
+    /** Serves a law with a single chapter document, counting the loads of the document text. */
+    private static class StubLawDataService implements LawDataService
+    {
+        private String text = "Chapter text";
+        private int documentLoads = 0;
+        private Runnable onDocumentLoad = null;
+
+        private final LawDocInfo chapterInfo = new LawDocInfo("ABC-CH", "ABC", "-CH", "Chapter",
+                LawDocumentType.CHAPTER, "CH", PUBLISHED_DATE);
+
+        @Override
+        public LawTree getLawTree(String lawId, LocalDate endPublishedDate) {
+            LawInfo lawInfo = new LawInfo();
+            lawInfo.setLawId(lawId);
+            lawInfo.setName("Test Law");
+            lawInfo.setType(LawType.CONSOLIDATED);
+            return new LawTree(new LawVersionId(lawId, PUBLISHED_DATE), new LawTreeNode(chapterInfo, 1), lawInfo);
+        }
+
+        @Override
+        public Map<String, LawDocument> getLawDocuments(String lawId, LocalDate endPublishedDate) {
+            documentLoads++;
+            Map<String, LawDocument> docs = Collections.singletonMap(chapterInfo.getDocumentId(),
+                    new LawDocument(chapterInfo, text));
+            if (onDocumentLoad != null) {
+                onDocumentLoad.run();
+            }
+            return docs;
+        }
+
+        @Override
+        public List<LawInfo> getLawInfos() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public LawDocument getLawDocument(String documentId, LocalDate endPublishedDate) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public LawDocInfo getLawDocInfo(String documentId, LocalDate endPublishedDate) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Set<LawDocId> getRepealedLawDocs(Range<LocalDateTime> dateRange) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void saveLawTree(LawFile lawFile, LawTree lawTree) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void saveLawDocument(LawFile lawFile, LawDocument lawDocument) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void saveLawDocuments(LawFile lawFile, Collection<LawDocument> lawDocuments) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
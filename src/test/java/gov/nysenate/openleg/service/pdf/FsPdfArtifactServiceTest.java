@@ -0,0 +1,155 @@
+package gov.nysenate.openleg.service.pdf;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.base.PdfArtifact;
+import gov.nysenate.openleg.util.AsyncUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class FsPdfArtifactServiceTest
+{
+    private static final int KB = 1024;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private FsPdfArtifactService pdfService;
+
+    /** Deletions scheduled by the service, which are run by the tests to simulate the delete delay passing. */
+    private final List<Runnable> scheduledDeletes = new ArrayList<>();
+
+    private int renderCount = 0;
+
+    @Before
+    public void setUp() {
+        pdfService = new FsPdfArtifactService();
+        ReflectionTestUtils.setField(pdfService, "pdfDir", tempFolder.getRoot());
+        ReflectionTestUtils.setField(pdfService, "maxSizeMb", 1L);
+        ReflectionTestUtils.setField(pdfService, "taskScheduler", new ThreadPoolTaskScheduler() {
+            @Override
+            public ScheduledFuture<?> schedule(Runnable task, Date startTime) {
+                scheduledDeletes.add(task);
+                return null;
+            }
+        });
+        ReflectionTestUtils.setField(pdfService, "asyncUtils", new AsyncUtils() {
+            @Override
+            public CompletableFuture<Void> run(Runnable runnable) {
+                runnable.run();
+                return CompletableFuture.completedFuture(null);
+            }
+        });
+    }
+
+    @Test
+    public void testStoredPdfIsRenderedOnce() {
+        PdfArtifact pdf = getPdf("bills/a.pdf", 100 * KB);
+        assertTrue(pdf.getFile().exists());
+        assertEquals(100 * KB, pdf.getSize());
+        assertEquals(pdf.getSize(), pdf.getFile().length());
+
+        PdfArtifact stored = getPdf("bills/a.pdf", 200 * KB);
+        assertSame(pdf, stored);
+        assertEquals(1, renderCount);
+    }
+
+    @Test
+    public void testEvictedPdfIsDeletedAfterDelay() {
+        PdfArtifact a = getPdf("bills/a.pdf", 400 * KB);
+        PdfArtifact b = getPdf("bills/b.pdf", 400 * KB);
+        getPdf("bills/a.pdf", 400 * KB);
+        // Exceeds the 1 MB limit, evicting b as the least recently requested pdf
+        PdfArtifact c = getPdf("bills/c.pdf", 400 * KB);
+        assertEquals(3, renderCount);
+        assertEquals(1, scheduledDeletes.size());
+
+        // The evicted file is still available to responses that are serving it
+        assertTrue(b.getFile().exists());
+        runScheduledDeletes();
+        assertFalse(b.getFile().exists());
+        assertTrue(a.getFile().exists());
+        assertTrue(c.getFile().exists());
+
+        PdfArtifact rerendered = getPdf("bills/b.pdf", 400 * KB);
+        assertEquals(4, renderCount);
+        assertNotEquals(b.getFile(), rerendered.getFile());
+        assertNotEquals(b.getETag(), rerendered.getETag());
+    }
+
+    @Test
+    public void testRefreshRendersNewFile() {
+        PdfArtifact pdf = getPdf("bills/a.pdf", 100 * KB);
+        String eTag = pdf.getETag();
+        long lastModified = pdf.getLastModified();
+
+        pdfService.refresh("bills/a.pdf", () -> getPdf("bills/a.pdf", 200 * KB));
+        assertEquals(2, renderCount);
+        PdfArtifact refreshed = getPdf("bills/a.pdf", 300 * KB);
+        assertEquals(2, renderCount);
+        assertEquals(200 * KB, refreshed.getSize());
+        assertNotEquals(pdf.getFile(), refreshed.getFile());
+        assertNotEquals(eTag, refreshed.getETag());
+        assertTrue(refreshed.getLastModified() > lastModified);
+
+        // The metadata of the old rendering does not change while its file is still being served
+        assertTrue(pdf.getFile().exists());
+        assertEquals(eTag, pdf.getETag());
+        assertEquals(lastModified, pdf.getLastModified());
+        assertEquals(100 * KB, pdf.getSize());
+        runScheduledDeletes();
+        assertFalse(pdf.getFile().exists());
+        assertTrue(refreshed.getFile().exists());
+        assertEquals(100 * KB, pdf.getSize());
+    }
+
+    @Test
+    public void testRefreshIgnoresUnrequestedPdf() {
+        pdfService.refresh("bills/a.pdf", () -> getPdf("bills/a.pdf", 100 * KB));
+        assertEquals(0, renderCount);
+        assertTrue(scheduledDeletes.isEmpty());
+    }
+
+    @Test
+    public void testFailedRenderLeavesNoFile() throws Exception {
+        try {
+            pdfService.getArtifact("bills/a.pdf", out -> {
+                out.write(new byte[KB]);
+                throw new IllegalStateException("render failure");
+            });
+            fail("The render failure should be thrown");
+        }
+        catch (IllegalStateException expected) {}
+        File[] files = new File(tempFolder.getRoot(), "bills").listFiles();
+        assertNotNull(files);
+        assertEquals(0, files.length);
+    }
+
+    /** --- Internal Methods --- */
+
+    private PdfArtifact getPdf(String path, int size) {
+        return pdfService.getArtifact(path, out -> {
+            renderCount++;
+            out.write(new byte[size]);
+        });
+    }
+
+    private void runScheduledDeletes() {
+        scheduledDeletes.forEach(Runnable::run);
+        scheduledDeletes.clear();
+    }
+}
@@ -0,0 +1,84 @@
+package gov.nysenate.openleg.util;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.LinkedList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static gov.nysenate.openleg.util.StringDiffer.Operation.*;
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class StringDifferTest
+{
+    private static final String TEXT1 = "Section 1. The public health law is amended.\n" +
+            "The commissioner shall report annually.\n" +
+            "This act shall take effect immediately.\n";
+    private static final String TEXT2 = "Section 1. The public health law is amended.\n" +
+            "The commissioner shall report quarterly.\n" +
+            "This act shall take effect immediately.\n" +
+            "Section 2. Severability.\n";
+
+    @Test
+    public void testLineDiffReproducesTexts() throws Exception {
+        StringDiffer differ = new StringDiffer();
+        LinkedList<StringDiffer.Diff> diffs = differ.diff_lines(TEXT1, TEXT2, Runnable::run);
+        assertEquals(TEXT1, differ.diff_text1(diffs));
+        assertEquals(TEXT2, differ.diff_text2(diffs));
+    }
+
+    @Test
+    public void testLineDiffRefinesChangedLines() throws Exception {
+        StringDiffer differ = new StringDiffer();
+        LinkedList<StringDiffer.Diff> diffs = differ.diff_lines(TEXT1, TEXT2, Runnable::run);
+        assertTrue(diffs.contains(new StringDiffer.Diff(DELETE, "annual")));
+        assertTrue(diffs.contains(new StringDiffer.Diff(INSERT, "quarter")));
+        assertEquals(new StringDiffer.Diff(INSERT, "Section 2. Severability.\n"), diffs.getLast());
+    }
+
+    @Test
+    public void testParallelRefinementMatchesSequential() throws Exception {
+        StringBuilder text1 = new StringBuilder();
+        StringBuilder text2 = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            text1.append("line ").append(i).append(" of the original text\n");
+            text2.append("line ").append(i).append(i % 10 == 0 ? " of the amended text\n" : " of the original text\n");
+        }
+        StringDiffer differ = new StringDiffer();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            assertEquals(differ.diff_lines(text1.toString(), text2.toString(), Runnable::run),
+                         differ.diff_lines(text1.toString(), text2.toString(), executor));
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testLineDiffWithMoreLinesThanCharacters() throws Exception {
+        // More unique lines than can be encoded as characters, with changes near
+        // both ends so that most of the lines are diffed in chunks.
+        int lineCount = Character.MAX_VALUE + 5000;
+        StringBuilder text1 = new StringBuilder();
+        StringBuilder text2 = new StringBuilder();
+        for (int i = 0; i < lineCount; i++) {
+            text1.append("line ").append(i).append('\n');
+            if (i == 10 || i == lineCount - 10) {
+                text2.append("amended line ").append(i).append('\n');
+            } else {
+                text2.append("line ").append(i).append('\n');
+            }
+        }
+        StringDiffer differ = new StringDiffer();
+        LinkedList<StringDiffer.Diff> diffs = differ.diff_lines(text1.toString(), text2.toString(), Runnable::run);
+        assertEquals(text1.toString(), differ.diff_text1(diffs));
+        assertEquals(text2.toString(), differ.diff_text2(diffs));
+        assertEquals(2, diffs.stream().filter(diff -> diff.operation == INSERT).count());
+        assertEquals(0, diffs.stream().filter(diff -> diff.operation == DELETE).count());
+        assertTrue(diffs.contains(new StringDiffer.Diff(INSERT, "amended ")));
+    }
+}
@@ -0,0 +1,175 @@
+package gov.nysenate.openleg.util.pipeline;
+
+import com.google.common.collect.ImmutableList;
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class PipelineTest
+{
+    @Test
+    public void testOrderedOutput() throws Exception {
+        List<Integer> inputs = IntStream.range(0, 200).boxed().collect(Collectors.toList());
+        Pipeline<Integer> pipeline = new PipelineBuilder<>(PipelineQueue.of(inputs))
+                .addTask(i -> {
+                    sleep(i % 3);
+                    return Collections.singletonList(i * 2);
+                }, 5, 4)
+                .ordered()
+                .addTask(i -> Collections.singletonList(i + 1))
+                .build();
+        ImmutableList<Integer> outputs = pipeline.run().get(10, TimeUnit.SECONDS);
+        assertEquals(inputs.stream().map(i -> i * 2 + 1).collect(Collectors.toList()), outputs);
+    }
+
+    @Test
+    public void testOrderedOutputWaitsForSlowInput() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger taskCount = new AtomicInteger();
+        List<Integer> inputs = IntStream.range(0, 50).boxed().collect(Collectors.toList());
+        Pipeline<Integer> pipeline = new PipelineBuilder<>(PipelineQueue.of(inputs))
+                .addTask(i -> {
+                    taskCount.incrementAndGet();
+                    if (i == 0) {
+                        try {
+                            release.await();
+                        } catch (InterruptedException ex) {
+                            throw new RuntimeException(ex);
+                        }
+                    }
+                    return Collections.singletonList(i);
+                }, -1, 3)
+                .ordered()
+                .build();
+        CompletableFuture<ImmutableList<Integer>> result = pipeline.run();
+        while (pipeline.getMetrics().get(0).getProcessedCount() < 2) {
+            sleep(1);
+        }
+        sleep(100);
+        // The other workers each hold one set of outputs and wait for the slow input instead of taking more inputs
+        assertEquals(2, pipeline.getMetrics().get(0).getProcessedCount());
+        assertEquals(3, taskCount.get());
+        assertEquals(0, pipeline.getMetrics().get(0).getOutputCount());
+
+        // Stopping the pipeline wakes the waiting workers
+        assertTrue(pipeline.cancel());
+        release.countDown();
+        assertTrue(result.isCancelled());
+        assertTrue("Workers should exit once cancelled", pipeline.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testDynamicInputAndParallelism() throws Exception {
+        PipelineQueue<Integer> input = new PipelineQueue<>(2);
+        Pipeline<Integer> pipeline = new PipelineBuilder<>(input)
+                .addTask(Collections::singletonList)
+                .named("copy")
+                .maxWorkers(3)
+                .build();
+        CompletableFuture<ImmutableList<Integer>> result = pipeline.run();
+        pipeline.setParallelism("copy", 3);
+        for (int i = 0; i < 50; i++) {
+            input.put(i);
+        }
+        pipeline.setParallelism("copy", 1);
+        assertFalse(result.isDone());
+        input.close();
+
+        assertEquals(50, result.get(10, TimeUnit.SECONDS).size());
+        PipelineStageMetrics metrics = pipeline.getMetrics().get(0);
+        assertEquals("copy", metrics.getStageName());
+        assertEquals(50, metrics.getProcessedCount());
+        assertEquals(50, metrics.getOutputCount());
+        assertEquals(0, metrics.getQueueDepth());
+        assertTrue(metrics.getMaxQueueDepth() <= 2);
+        assertTrue(metrics.isFinished());
+        assertTrue(pipeline.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testParallelismIsLimitedByMaxWorkers() throws Exception {
+        PipelineQueue<Integer> input = new PipelineQueue<>();
+        Pipeline<Integer> pipeline = new PipelineBuilder<>(input)
+                .addTask(Collections::singletonList, 1, 2)
+                .named("first")
+                .addTask(Collections::singletonList)
+                .named("second")
+                .build();
+        assertEquals(3, pipeline.getMaxWorkers());
+        pipeline.run();
+        try {
+            pipeline.setParallelism("second", 2);
+            fail("The pipeline should not grow past its max workers");
+        } catch (IllegalArgumentException expected) {}
+        // Workers can be moved between stages
+        pipeline.setParallelism("first", 1);
+        pipeline.setParallelism("second", 2);
+        input.close();
+    }
+
+    @Test
+    public void testFailureStopsPipeline() throws Exception {
+        List<Integer> inputs = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        Pipeline<Integer> pipeline = new PipelineBuilder<>(PipelineQueue.of(inputs))
+                .addTask(Collections::singletonList, 1, 2)
+                .addTask(i -> {
+                    if (i == 10) {
+                        throw new IllegalStateException("bad input");
+                    }
+                    return Collections.singletonList(i);
+                })
+                .build();
+        try {
+            pipeline.run().get(10, TimeUnit.SECONDS);
+            fail("The pipeline should have failed");
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof PipelineException);
+            assertTrue(ex.getCause().getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void testCancellation() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        PipelineQueue<Integer> input = new PipelineQueue<>();
+        Pipeline<Integer> pipeline = new PipelineBuilder<>(input)
+                .addTask(i -> {
+                    started.countDown();
+                    return Collections.singletonList(i);
+                }, 1)
+                .addTask(Collections::singletonList)
+                .build();
+        CompletableFuture<ImmutableList<Integer>> result = pipeline.run();
+        input.put(1);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        assertTrue(pipeline.cancel());
+        assertTrue(result.isCancelled());
+        try {
+            input.put(2);
+            fail("Adding to a cancelled pipeline should fail");
+        } catch (CancellationException expected) {}
+        assertTrue("Workers should exit once cancelled", pipeline.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+}